@@ -0,0 +1,87 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import com.fbc.ai.repository.vector.QuantizationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OffHeapVectorStore 에서 질의 64개를 질의마다 검색할 때와 배치 검색할 때의 질의 1건당 시간을 비교합니다. (순차 스캔)
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="BatchSearch"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=4g")
+@State(Scope.Benchmark)
+public class BatchSearchBenchmark {
+
+    private static final int DIMENSIONS = 1536;
+    private static final int QUERIES = 64;
+
+    @Param({"100000"})
+    public int chunks;
+
+    private OffHeapVectorStore store;
+    private List<String> queries;
+    private SearchRequest options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new OffHeapVectorStore(new HashingEmbeddingModel(DIMENSIONS), new TokenCountBatchingStrategy(),
+                QuantizationMode.NONE, 1, null);
+        List<Document> batch = new ArrayList<>(1000);
+        for (int i = 0; i < chunks; i++) {
+            batch.add(new Document("chunk-" + i, "문서 청크 " + i + " 호텔 서비스 안내와 영화 줄거리 " + (i * 31 % 997), Map.of()));
+            if (batch.size() == 1000) {
+                store.add(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store.add(batch);
+        }
+        queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add("호텔 체크인 시간 안내 " + i);
+        }
+        options = SearchRequest.builder().topK(10).build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public List<List<Document>> perQuery() {
+        List<List<Document>> results = new ArrayList<>(QUERIES);
+        for (String query : queries) {
+            results.add(store.similaritySearch(SearchRequest.from(options).query(query).build()));
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public List<List<Document>> batch() {
+        return store.similaritySearch(queries, options);
+    }
+}
@@ -0,0 +1,83 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.DistanceKernel;
+import com.fbc.ai.repository.vector.DistanceKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1536차원 내적 계산을 스칼라 커널과 vector 폭별 SIMD 커널로 비교합니다.
+ *
+ * <ul>
+ *     <li>dotArray : float[] 끼리 (HNSW)</li>
+ *     <li>dotPage : off-heap 행렬 페이지(direct ByteBuffer)와 float[] (OffHeapVectorStore)</li>
+ * </ul>
+ *
+ * SIMD lane 폭은 SPECIES_PREFERRED 이므로 -XX:MaxVectorSize 로 바꿔 가며 비교합니다. (16 = 128bit, 32 = 256bit, 64 = 512bit)
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="DistanceKernel -jvmArgsAppend -XX:MaxVectorSize=32"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class DistanceKernelBenchmark {
+
+    private static final int ROWS = 64;
+
+    @Param({"1536"})
+    public int dimensions;
+
+    @Param({"scalar", "simd"})
+    public String kernelName;
+
+    private DistanceKernel kernel;
+    private float[] query;
+    private float[] row;
+    private ByteBuffer page;
+    private int nextRow;
+
+    @Setup
+    public void setUp() {
+        kernel = DistanceKernels.select(kernelName);
+        Random random = new Random(42);
+        query = new float[dimensions];
+        row = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            query[i] = (float) random.nextGaussian();
+            row[i] = (float) random.nextGaussian();
+        }
+        page = ByteBuffer.allocateDirect(ROWS * dimensions * Float.BYTES).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < ROWS * dimensions; i++) {
+            page.putFloat(i * Float.BYTES, (float) random.nextGaussian());
+        }
+    }
+
+    @Benchmark
+    public float dotArray() {
+        return kernel.dot(query, row);
+    }
+
+    @Benchmark
+    public float dotPage() {
+        int current = nextRow;
+        nextRow = (current + 1) % ROWS;
+        return kernel.dot(page, current * dimensions * Float.BYTES, query);
+    }
+}
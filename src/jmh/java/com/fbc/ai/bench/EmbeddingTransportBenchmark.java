@@ -0,0 +1,111 @@
+package com.fbc.ai.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbc.ai.service.embedding.Base64EmbeddingModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 임베딩 응답(텍스트 {@code texts} 개, 1536차원) 1건의 디코딩 시간을 응답 형식별로 비교합니다.
+ *
+ * <ul>
+ *     <li>floatJson : 기존 경로 (encoding_format=float, Spring AI OpenAiApi.EmbeddingList 로 숫자 배열 파싱)</li>
+ *     <li>base64Json : Base64EmbeddingModel 경로 (encoding_format=base64, byte[] 로 디코딩 후 float[] 복사)</li>
+ * </ul>
+ *
+ * 응답 크기(bytes-on-the-wire)는 Setup 에서 출력합니다. 응답 JSON 은 OpenAI 와 같은 모양으로 만들고,
+ * float 형식의 숫자는 OpenAI 처럼 float32 값을 double 로 출력한 문자열(예: -0.006929283495992422)을 사용합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="EmbeddingTransport -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddingTransportBenchmark {
+
+    private static final int DIMENSIONS = 1536;
+
+    @Param({"16"})
+    public int texts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] floatResponse;
+    private byte[] base64Response;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder floatJson = new StringBuilder("{\"object\":\"list\",\"data\":[");
+        StringBuilder base64Json = new StringBuilder("{\"object\":\"list\",\"data\":[");
+        for (int i = 0; i < texts; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) (random.nextGaussian() * 0.025);
+            }
+            String separator = i == 0 ? "" : ",";
+            floatJson.append(separator).append("{\"object\":\"embedding\",\"index\":").append(i).append(",\"embedding\":[");
+            for (int d = 0; d < DIMENSIONS; d++) {
+                floatJson.append(d == 0 ? "" : ",").append((double) vector[d]);
+            }
+            floatJson.append("]}");
+
+            ByteBuffer buffer = ByteBuffer.allocate(DIMENSIONS * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asFloatBuffer().put(vector);
+            base64Json.append(separator).append("{\"object\":\"embedding\",\"index\":").append(i)
+                    .append(",\"embedding\":\"").append(Base64.getEncoder().encodeToString(buffer.array())).append("\"}");
+        }
+        String tail = "],\"model\":\"text-embedding-ada-002\",\"usage\":{\"prompt_tokens\":" + texts * 8
+                + ",\"total_tokens\":" + texts * 8 + "}}";
+        floatResponse = floatJson.append(tail).toString().getBytes(StandardCharsets.UTF_8);
+        base64Response = base64Json.append(tail).toString().getBytes(StandardCharsets.UTF_8);
+        System.out.printf("%n응답 크기 (texts=%d) - float: %,d bytes, base64: %,d bytes (%.1f%%)%n", texts,
+                floatResponse.length, base64Response.length, 100.0 * base64Response.length / floatResponse.length);
+    }
+
+    @Benchmark
+    public List<float[]> floatJson() throws IOException {
+        OpenAiApi.EmbeddingList<OpenAiApi.Embedding> response = objectMapper.readValue(floatResponse,
+                new TypeReference<OpenAiApi.EmbeddingList<OpenAiApi.Embedding>>() {
+                });
+        List<float[]> vectors = new ArrayList<>(response.data().size());
+        for (OpenAiApi.Embedding embedding : response.data()) {
+            vectors.add(embedding.embedding());
+        }
+        return vectors;
+    }
+
+    @Benchmark
+    public List<float[]> base64Json() throws IOException {
+        Base64EmbeddingModel.Base64EmbeddingList response = objectMapper.readValue(base64Response,
+                Base64EmbeddingModel.Base64EmbeddingList.class);
+        List<float[]> vectors = new ArrayList<>(response.data().size());
+        for (Base64EmbeddingModel.Base64Embedding embedding : response.data()) {
+            vectors.add(Base64EmbeddingModel.toVector(embedding.embedding()));
+        }
+        return vectors;
+    }
+}
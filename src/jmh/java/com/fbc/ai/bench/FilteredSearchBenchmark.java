@@ -0,0 +1,99 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import com.fbc.ai.repository.vector.QuantizationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OffHeapVectorStore 에서 bucket_id 필터 검색의 지연 시간을 비교합니다. (순차 스캔)
+ *
+ * <ul>
+ *     <li>indexed : bucket_id IN (...) - 메타데이터 비트맵 색인으로 후보 행만 스캔</li>
+ *     <li>predicate : 색인하지 않은 키(bucket) 로 같은 조건 - 전체 행에 SpEL 필터 적용</li>
+ *     <li>unfiltered : 필터 없는 전체 스캔</li>
+ * </ul>
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="FilteredSearch"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=4g")
+@State(Scope.Benchmark)
+public class FilteredSearchBenchmark {
+
+    private static final int DIMENSIONS = 1536;
+
+    @Param({"100000"})
+    public int chunks;
+
+    /** 전체 버킷 수. 질의는 이 중 2개 버킷으로 제한 */
+    @Param({"10", "100"})
+    public int buckets;
+
+    private OffHeapVectorStore store;
+    private SearchRequest indexedRequest;
+    private SearchRequest predicateRequest;
+    private SearchRequest unfilteredRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new OffHeapVectorStore(new HashingEmbeddingModel(DIMENSIONS), new TokenCountBatchingStrategy(),
+                QuantizationMode.NONE, 1, null);
+        List<Document> batch = new ArrayList<>(1000);
+        for (int i = 0; i < chunks; i++) {
+            String bucketId = "bucket-" + (i % buckets);
+            batch.add(new Document("chunk-" + i, "문서 청크 " + i + " 호텔 서비스 안내와 영화 줄거리 " + (i * 31 % 997),
+                    Map.of("bucket_id", bucketId, "bucket", bucketId)));
+            if (batch.size() == 1000) {
+                store.add(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store.add(batch);
+        }
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        indexedRequest = SearchRequest.builder().query("호텔 체크인 시간 안내").topK(10)
+                .filterExpression(b.in("bucket_id", "bucket-0", "bucket-1").build()).build();
+        predicateRequest = SearchRequest.builder().query("호텔 체크인 시간 안내").topK(10)
+                .filterExpression(b.in("bucket", "bucket-0", "bucket-1").build()).build();
+        unfilteredRequest = SearchRequest.builder().query("호텔 체크인 시간 안내").topK(10).build();
+    }
+
+    @Benchmark
+    public List<Document> indexed() {
+        return store.similaritySearch(indexedRequest);
+    }
+
+    @Benchmark
+    public List<Document> predicate() {
+        return store.similaritySearch(predicateRequest);
+    }
+
+    @Benchmark
+    public List<Document> unfiltered() {
+        return store.similaritySearch(unfilteredRequest);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fbc.ai.bench;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 로컬 임베딩 모델.
+ *
+ * OpenAI 호출 없이 문자 bigram 을 feature hashing 하여 고정 차원 벡터를 만듭니다.
+ * 같은 문자열은 항상 같은 벡터가 되고, 글자를 많이 공유하는 문장끼리 코사인 유사도가 높게 나옵니다.
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+        for (int i = 0; i < request.getInstructions().size(); i++) {
+            embeddings.add(new Embedding(embed(request.getInstructions().get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i + 1 < text.length(); i++) {
+            int h = (text.charAt(i) * 31 + text.charAt(i + 1)) * 0x9E3779B9;
+            int index = Math.floorMod(h ^ (h >>> 15), dimensions);
+            vector[index] += ((h & 1) == 0) ? 1f : -1f;
+        }
+        // 빈 문자열/한 글자 입력도 0벡터가 되지 않도록 한다
+        vector[Math.floorMod(text.hashCode(), dimensions)] += 0.5f;
+        return vector;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+}
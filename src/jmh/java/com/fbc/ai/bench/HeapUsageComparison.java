@@ -0,0 +1,97 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * SimpleVectorStore 와 OffHeapVectorStore 의 힙/off-heap 사용량 및 검색 중 GC 횟수를 비교합니다.
+ *
+ * 실행: ./gradlew jmh -PbenchMain=com.fbc.ai.bench.HeapUsageComparison -PjmhArgs="20000"
+ */
+public class HeapUsageComparison {
+
+    private static final int DIMENSIONS = 1536;
+    private static final int QUERIES = 200;
+
+    public static void main(String[] args) {
+        int chunks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        EmbeddingModel embeddingModel = new HashingEmbeddingModel(DIMENSIONS);
+
+        System.out.printf("chunks=%d, dimensions=%d, queries=%d%n", chunks, DIMENSIONS, QUERIES);
+        System.out.printf("%-20s %12s %12s %10s %12s%n", "backend", "heap(MB)", "direct(MB)", "gc count", "query(ms)");
+        measure("SimpleVectorStore", chunks, embeddingModel, model -> SimpleVectorStore.builder(model).build());
+        measure("OffHeapVectorStore", chunks, embeddingModel, OffHeapVectorStore::new);
+    }
+
+    private static void measure(String name, int chunks, EmbeddingModel embeddingModel,
+                                Function<EmbeddingModel, VectorStore> factory) {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+
+        VectorStore store = factory.apply(embeddingModel);
+        List<Document> batch = new ArrayList<>(1000);
+        for (int i = 0; i < chunks; i++) {
+            batch.add(new Document("chunk-" + i, sampleText(i), Map.of("bucket_id", "bucket-" + (i % 10))));
+            if (batch.size() == 1000) {
+                store.add(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store.add(batch);
+        }
+
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+
+        long gcBefore = gcCount();
+        long started = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            store.similaritySearch(SearchRequest.builder().query(sampleText(i * 7)).topK(5).build());
+        }
+        double queryMillis = (System.nanoTime() - started) / 1_000_000.0 / QUERIES;
+        long gc = gcCount() - gcBefore;
+
+        System.out.printf("%-20s %12.1f %12.1f %10d %12.2f%n",
+                name, heap / 1024.0 / 1024.0, direct / 1024.0 / 1024.0, gc, queryMillis);
+        // 측정이 끝날 때까지 스토어가 수거되지 않도록 유지
+        java.lang.ref.Reference.reachabilityFence(store);
+    }
+
+    private static String sampleText(int seed) {
+        return "문서 청크 " + seed + " 인공지능 산업 동향과 호텔 서비스 안내, 영화 줄거리 요약 " + (seed * 31 % 997);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+}
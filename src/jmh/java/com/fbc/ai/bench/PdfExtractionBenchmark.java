@@ -0,0 +1,104 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.document.SpooledMultipartFile;
+import com.fbc.ai.document.parser.ParallelPdfExtractor;
+import com.fbc.ai.document.parser.PdfDocumentParser;
+import com.fbc.ai.service.document.DocumentProcessingServiceImpl;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 번들 PDF(SPRi AI Brief)의 페이지를 copies 번 반복한 큰 PDF 의 텍스트 추출 시간을 병렬도별로 비교합니다.
+ * parallelism=1 은 기존과 같이 한 스레드에서 처음부터 끝까지 추출합니다.
+ *
+ * <ul>
+ *     <li>pageParser : PdfDocumentParser.parse (페이지별 레이아웃 추출, RAG 업로드 경로)</li>
+ *     <li>textStripper : DocumentProcessingServiceImpl.extractTextFromPdf (PDFTextStripper, 인메모리 벡터 스토어 경로)</li>
+ * </ul>
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="PdfExtraction -p parallelism=1,2,4,8"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfExtractionBenchmark {
+
+    @Param({"25"})
+    public int copies;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private Path pdfPath;
+    private SpooledMultipartFile upload;
+    private ParallelPdfExtractor extractor;
+    private PdfDocumentParser parser;
+    private DocumentProcessingServiceImpl processingService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] source;
+        try (InputStream in = new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf").getInputStream()) {
+            source = in.readAllBytes();
+        }
+        pdfPath = Files.createTempFile("pdf-bench-", ".pdf");
+        try (PDDocument original = Loader.loadPDF(source); PDDocument replicated = new PDDocument()) {
+            for (int i = 0; i < copies; i++) {
+                for (PDPage page : original.getPages()) {
+                    replicated.importPage(page);
+                }
+            }
+            replicated.save(pdfPath.toFile());
+            System.out.printf("%nPDF %d페이지, %,d bytes, 사용 가능 코어 %d%n", replicated.getNumberOfPages(),
+                    Files.size(pdfPath), Runtime.getRuntime().availableProcessors());
+        }
+        upload = new SpooledMultipartFile(pdfPath, "file", "replicated.pdf", "application/pdf");
+        extractor = new ParallelPdfExtractor(parallelism, 16);
+        parser = new PdfDocumentParser(extractor);
+        processingService = new DocumentProcessingServiceImpl(extractor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        extractor.close();
+        Files.deleteIfExists(pdfPath);
+    }
+
+    @Benchmark
+    public List<Document> pageParser() throws IOException {
+        return parser.parse(upload);
+    }
+
+    @Benchmark
+    public String textStripper() {
+        File file = pdfPath.toFile();
+        return processingService.extractTextFromPdf(file);
+    }
+}
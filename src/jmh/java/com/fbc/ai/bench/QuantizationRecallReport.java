@@ -0,0 +1,126 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import com.fbc.ai.repository.vector.QuantizationMode;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 양자화 방식별 recall@k 와 검색 지연 시간을 비교합니다.
+ *
+ * 번들 말뭉치(movie_plots_korean.txt, hotel_data.txt)를 문장 단위로 나눈 뒤 문장을 이어 붙여 청크 수를 늘리고,
+ * 문장 일부를 질의로 사용합니다. 정답은 양자화하지 않은(NONE) 전체 스캔 결과이며,
+ * 같은 점수의 청크가 많으므로 정답 k 번째 점수 이상인 결과를 적중으로 셉니다. (재계산된 점수는 원본 코사인 값)
+ *
+ * 실행: ./gradlew jmh -PbenchMain=com.fbc.ai.bench.QuantizationRecallReport -PjmhArgs="20000"
+ */
+public class QuantizationRecallReport {
+
+    private static final int DIMENSIONS = 1536;
+    private static final int QUERIES = 200;
+    private static final int TOP_K = 10;
+
+    public static void main(String[] args) throws IOException {
+        int chunks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        EmbeddingModel embeddingModel = new HashingEmbeddingModel(DIMENSIONS);
+
+        List<String> sentences = new ArrayList<>();
+        sentences.addAll(sentences("/movie_plots_korean.txt"));
+        sentences.addAll(sentences("/hotel_data.txt"));
+
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            String text = sentences.get(i % sentences.size()) + " " + sentences.get(random.nextInt(sentences.size()));
+            documents.add(new Document("chunk-" + i, text, Map.of()));
+        }
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            String sentence = sentences.get(random.nextInt(sentences.size()));
+            int length = Math.min(sentence.length(), 12 + random.nextInt(20));
+            int from = random.nextInt(sentence.length() - length + 1);
+            queries.add(sentence.substring(from, from + length));
+        }
+
+        System.out.printf("sentences=%d, chunks=%d, dimensions=%d, queries=%d, topK=%d%n",
+                sentences.size(), chunks, DIMENSIONS, QUERIES, TOP_K);
+        System.out.printf("%-8s %8s %14s %12s %12s%n", "mode", "rescore", "code(B/chunk)", "recall@k", "query(ms)");
+
+        OffHeapVectorStore exact = build(embeddingModel, documents, QuantizationMode.NONE, 1);
+        double[] truth = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            List<Document> results = search(exact, queries.get(i));
+            truth[i] = results.isEmpty() ? Double.NEGATIVE_INFINITY : results.get(results.size() - 1).getScore();
+        }
+        report("NONE", 1, exact, (long) DIMENSIONS * Float.BYTES * exact.size(), queries, truth);
+
+        for (int multiplier : new int[]{1, 2, 4}) {
+            OffHeapVectorStore store = build(embeddingModel, documents, QuantizationMode.INT8, multiplier);
+            report("INT8", multiplier, store, store.quantizedBytes(), queries, truth);
+        }
+        for (int multiplier : new int[]{1, 4, 10, 20}) {
+            OffHeapVectorStore store = build(embeddingModel, documents, QuantizationMode.BINARY, multiplier);
+            report("BINARY", multiplier, store, store.quantizedBytes(), queries, truth);
+        }
+    }
+
+    private static OffHeapVectorStore build(EmbeddingModel embeddingModel, List<Document> documents,
+                                            QuantizationMode mode, int multiplier) {
+        OffHeapVectorStore store = new OffHeapVectorStore(embeddingModel, new TokenCountBatchingStrategy(), mode, multiplier);
+        for (int from = 0; from < documents.size(); from += 1000) {
+            store.add(documents.subList(from, Math.min(from + 1000, documents.size())));
+        }
+        return store;
+    }
+
+    private static void report(String mode, int multiplier, OffHeapVectorStore store, long codeBytes,
+                               List<String> queries, double[] truth) {
+        // JIT 워밍업
+        for (int i = 0; i < 20; i++) {
+            search(store, queries.get(i));
+        }
+        double recall = 0.0;
+        long elapsed = 0L;
+        for (int i = 0; i < queries.size(); i++) {
+            long started = System.nanoTime();
+            List<Document> found = search(store, queries.get(i));
+            elapsed += System.nanoTime() - started;
+
+            double kthScore = truth[i] - 1e-6;
+            long hits = found.stream().filter(document -> document.getScore() >= kthScore).count();
+            recall += (double) hits / TOP_K;
+        }
+        System.out.printf("%-8s %8s %14.1f %12.3f %12.2f%n", mode, "x" + multiplier,
+                (double) codeBytes / store.size(), recall / queries.size(), elapsed / 1_000_000.0 / queries.size());
+    }
+
+    private static List<Document> search(OffHeapVectorStore store, String query) {
+        return store.similaritySearch(SearchRequest.builder().query(query).topK(TOP_K).build());
+    }
+
+    private static List<String> sentences(String resource) throws IOException {
+        try (InputStream in = QuantizationRecallReport.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("리소스를 찾을 수 없습니다: " + resource);
+            }
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            List<String> sentences = new ArrayList<>();
+            for (String sentence : content.split("(?<=[.!?])\\s+|\\n")) {
+                if (sentence.strip().length() >= 10) {
+                    sentences.add(sentence.strip());
+                }
+            }
+            return sentences;
+        }
+    }
+}
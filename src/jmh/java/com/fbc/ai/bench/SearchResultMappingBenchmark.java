@@ -0,0 +1,116 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.domain.dto.DocumentDtoUtil;
+import com.fbc.ai.domain.dto.DocumentSearchResultDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * InMemoryDocumentVectorStore.similaritySearch 결과 매핑의 검색 결과 1건당 비용을 비교합니다.
+ *
+ * <ul>
+ *     <li>reflective : 기존 구현 (getDocument/getMetadata/getContent/getScore 리플렉션 호출, 메타데이터 2회 복사)</li>
+ *     <li>typed : Document 를 직접 읽는 DocumentDtoUtil.toDocumentSearchResultDto</li>
+ * </ul>
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="SearchResultMapping -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchResultMappingBenchmark {
+
+    private static final int HITS = 10;
+
+    private List<Document> results;
+
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>(HITS);
+        for (int i = 0; i < HITS; i++) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("id", "document-" + i);
+            metadata.put("bucket_id", "bucket-" + (i % 3));
+            metadata.put("file_name", "file-" + i + ".pdf");
+            metadata.put("content_type", "application/pdf");
+            metadata.put("distance", 0.1 * i);
+            results.add(Document.builder()
+                    .id("chunk-" + i)
+                    .text("검색 결과 본문 " + i)
+                    .metadata(metadata)
+                    .score(1.0 - 0.1 * i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS)
+    public List<DocumentSearchResultDto> reflective() {
+        List<?> hits = results;
+        return hits.stream()
+                .map(result -> {
+                    String id = "unknown";
+                    String content = "";
+                    Map<String, Object> resultMetadata = new HashMap<>();
+                    double score = 0.0;
+
+                    try {
+                        Object document = result.getClass().getMethod("getDocument").invoke(result);
+                        if (document != null) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> metadata = (Map<String, Object>) document.getClass().getMethod("getMetadata").invoke(document);
+                            if (metadata != null) {
+                                id = metadata.getOrDefault("id", "unknown").toString();
+                                resultMetadata = new HashMap<>(metadata);
+                                resultMetadata.remove("id");
+                            }
+
+                            Object contentObj = document.getClass().getMethod("getContent").invoke(document);
+                            if (contentObj != null) {
+                                content = contentObj.toString();
+                            }
+                        }
+
+                        Object scoreObj = result.getClass().getMethod("getScore").invoke(result);
+                        if (scoreObj != null) {
+                            score = (Double) scoreObj;
+                        }
+                    } catch (Exception e) {
+                        // 기존 구현과 같이 기본값 사용
+                    }
+
+                    return new DocumentSearchResultDto(id, content, resultMetadata, score);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS)
+    public List<DocumentSearchResultDto> typed() {
+        List<DocumentSearchResultDto> mapped = new ArrayList<>(results.size());
+        for (Document result : results) {
+            mapped.add(DocumentDtoUtil.toDocumentSearchResultDto(result));
+        }
+        return mapped;
+    }
+}
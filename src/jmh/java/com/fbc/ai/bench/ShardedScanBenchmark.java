@@ -0,0 +1,84 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import com.fbc.ai.repository.vector.QuantizationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OffHeapVectorStore 전체 스캔(정확 검색)의 샤드 병렬 처리 스레드 수별 검색 지연 시간을 측정합니다.
+ * threads=1 은 호출 스레드에서 순차 스캔합니다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="ShardedScan -p threads=1,8,16,32"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=4g")
+@State(Scope.Benchmark)
+public class ShardedScanBenchmark {
+
+    private static final int DIMENSIONS = 1536;
+
+    @Param({"100000"})
+    public int chunks;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private OffHeapVectorStore store;
+    private SearchRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        store = new OffHeapVectorStore(new HashingEmbeddingModel(DIMENSIONS), new TokenCountBatchingStrategy(),
+                QuantizationMode.NONE, 1, pool);
+        List<Document> batch = new ArrayList<>(1000);
+        for (int i = 0; i < chunks; i++) {
+            batch.add(new Document("chunk-" + i, "문서 청크 " + i + " 호텔 서비스 안내와 영화 줄거리 " + (i * 31 % 997), Map.of()));
+            if (batch.size() == 1000) {
+                store.add(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store.add(batch);
+        }
+        request = SearchRequest.builder().query("호텔 체크인 시간 안내").topK(10).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<Document> exactSearch() {
+        return store.similaritySearch(request);
+    }
+}
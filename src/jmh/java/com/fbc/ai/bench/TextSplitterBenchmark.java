@@ -0,0 +1,89 @@
+package com.fbc.ai.bench;
+
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 번들 PDF(SPRi AI Brief)에서 추출한 한국어 텍스트를 copies 번 이어 붙인 문서를 분할하는 시간을 비교합니다.
+ * 분할 설정은 InMemoryDocumentVectorStore.addDocument 와 같습니다. (512 토큰, 최소 350자)
+ *
+ * <ul>
+ *     <li>tokenTextSplitter : 기존처럼 호출마다 TokenTextSplitter 를 만들어 분할</li>
+ *     <li>offsetTokenTextSplitter : 공유 인코더로 한 번 인코딩하고 문자 위치로 자르는 OffsetTokenTextSplitter</li>
+ *     <li>offsetSpans : 청크 문자열과 Document 를 만들지 않고 경계(Span)만 구함</li>
+ * </ul>
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="TextSplitterBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextSplitterBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private String text;
+    private Document document;
+    private OffsetTokenTextSplitter offsetSplitter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String pdfText;
+        try (InputStream in = new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf").getInputStream();
+             PDDocument pdf = Loader.loadPDF(in.readAllBytes())) {
+            pdfText = new PDFTextStripper().getText(pdf);
+        }
+        text = pdfText.repeat(copies);
+        document = new Document(text);
+        offsetSplitter = new OffsetTokenTextSplitter(512, 350, 5, 10000, true);
+        System.out.printf("%n텍스트 %,d자, 청크 %d개%n", text.length(), offsetSplitter.split(text).size());
+    }
+
+    @Benchmark
+    public List<Document> tokenTextSplitter() {
+        TokenTextSplitter splitter = TokenTextSplitter.builder()
+                .withChunkSize(512)
+                .withMinChunkSizeChars(350)
+                .withMinChunkLengthToEmbed(5)
+                .withMaxNumChunks(10000)
+                .withKeepSeparator(true)
+                .build();
+        return splitter.split(document);
+    }
+
+    @Benchmark
+    public List<Document> offsetTokenTextSplitter() {
+        return offsetSplitter.split(document);
+    }
+
+    @Benchmark
+    public List<OffsetTokenTextSplitter.Span> offsetSpans() {
+        return offsetSplitter.split(text);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.service.embedding.EmbeddingRateLimiter;
+import com.fbc.ai.service.rag.CorpusCheckpointStore;
+import com.fbc.ai.service.rag.JdbcCorpusCheckpointStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 코퍼스 적재기(CorpusLoader) 설정
+ *
+ * rag.loader.rate-limit 으로 OpenAI 임베딩 할당량(RPM/TPM)을, rag.loader.checkpoint 로 적재 위치 테이블을 지정합니다.
+ */
+@Slf4j
+@Configuration
+public class CorpusLoaderConfig {
+
+    @Value("${rag.loader.rate-limit.requests-per-minute:3000}")
+    private int requestsPerMinute;
+
+    @Value("${rag.loader.rate-limit.tokens-per-minute:1000000}")
+    private int tokensPerMinute;
+
+    @Value("${rag.loader.checkpoint.table-name:corpus_load_checkpoint}")
+    private String tableName;
+
+    @Value("${rag.loader.checkpoint.initialize-schema:true}")
+    private boolean initializeSchema;
+
+    /**
+     * 코퍼스 적재 임베딩 요청의 속도 제한기 빈 등록
+     */
+    @Bean
+    public EmbeddingRateLimiter corpusEmbeddingRateLimiter() {
+        return new EmbeddingRateLimiter(requestsPerMinute, tokensPerMinute);
+    }
+
+    /**
+     * JDBC 적재 위치 저장소 빈 등록
+     */
+    @Bean
+    public CorpusCheckpointStore corpusCheckpointStore(JdbcTemplate jdbcTemplate) {
+        JdbcCorpusCheckpointStore store = new JdbcCorpusCheckpointStore(jdbcTemplate, tableName);
+        if (initializeSchema) {
+            try {
+                store.initializeSchema();
+            } catch (DataAccessException e) {
+                // 적재기를 켜지 않으면 테이블이 없어도 되므로 기동은 계속한다
+                log.warn("코퍼스 적재 위치 테이블 생성 실패: {} - {}", tableName, e.getMessage());
+            }
+        }
+        return store;
+    }
+}
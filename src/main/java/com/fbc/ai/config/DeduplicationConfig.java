@@ -0,0 +1,48 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.repository.dedup.MinHashLshIndex;
+import com.fbc.ai.service.rag.ChunkDeduplicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 문서 업로드 시 임베딩 전에 거의 같은 청크를 걸러내는 중복 제거(MinHash/LSH) 설정
+ *
+ * rag.dedup.enabled 가 true 일 때만 등록됩니다. (기본값 false, 꺼져 있으면 모든 청크를 저장)
+ * rag.dedup.scope 가 bucket 이면 같은 버킷 안에서만, global 이면 모든 버킷에서 중복을 찾습니다.
+ * rag.dedup.threshold 로 중복으로 보는 최소 Jaccard 유사도를, num-hashes / bands / shingle-size 로 MinHash 파라미터를 조정합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rag.dedup.enabled", havingValue = "true")
+public class DeduplicationConfig {
+
+    @Value("${rag.dedup.scope:bucket}")
+    private String scope;
+
+    @Value("${rag.dedup.threshold:0.85}")
+    private double threshold;
+
+    @Value("${rag.dedup.num-hashes:128}")
+    private int numHashes;
+
+    @Value("${rag.dedup.bands:32}")
+    private int bands;
+
+    @Value("${rag.dedup.shingle-size:5}")
+    private int shingleSize;
+
+    /**
+     * 중복 청크 제거기 빈 등록 (지표 rag.ingest.dedup.chunks / rag.ingest.dedup.tokens)
+     */
+    @Bean
+    public ChunkDeduplicator chunkDeduplicator(ObjectProvider<MeterRegistry> meterRegistry) {
+        ChunkDeduplicator deduplicator = new ChunkDeduplicator(
+                new MinHashLshIndex(threshold, numHashes, bands, shingleSize), ChunkDeduplicator.Scope.of(scope));
+        meterRegistry.ifAvailable(deduplicator::bindTo);
+        return deduplicator;
+    }
+}
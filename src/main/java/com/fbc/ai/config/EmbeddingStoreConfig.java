@@ -0,0 +1,45 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.service.embedding.EmbeddingStore;
+import com.fbc.ai.service.embedding.JdbcEmbeddingStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 청크 임베딩 저장소(content hash → embedding) 설정
+ *
+ * embedding.store.enabled 가 true 면 EmbeddingService 가 문서 임베딩 전에 이 저장소를 조회합니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "embedding.store.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddingStoreConfig {
+
+    @Value("${embedding.store.table-name:embedding_store}")
+    private String tableName;
+
+    @Value("${embedding.store.initialize-schema:true}")
+    private boolean initializeSchema;
+
+    /**
+     * JDBC 청크 임베딩 저장소 빈 등록
+     */
+    @Bean
+    public EmbeddingStore embeddingStore(JdbcTemplate jdbcTemplate) {
+        JdbcEmbeddingStore store = new JdbcEmbeddingStore(jdbcTemplate, tableName);
+        if (initializeSchema) {
+            try {
+                store.initializeSchema();
+            } catch (DataAccessException e) {
+                // 저장소 조회/저장이 실패하면 StoredEmbeddingModel 이 모든 청크를 임베딩하므로 기동은 계속한다
+                log.warn("임베딩 저장소 테이블 생성 실패: {} - {}", tableName, e.getMessage());
+            }
+        }
+        return store;
+    }
+}
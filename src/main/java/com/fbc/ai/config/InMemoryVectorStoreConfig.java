@@ -0,0 +1,92 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.repository.vector.DistanceKernel;
+import com.fbc.ai.repository.vector.DistanceKernels;
+import com.fbc.ai.repository.vector.HnswVectorStore;
+import com.fbc.ai.repository.vector.OffHeapVectorStore;
+import com.fbc.ai.repository.vector.QuantizationMode;
+import com.fbc.ai.service.EmbeddingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * InMemoryDocumentVectorStore 가 사용하는 인메모리 VectorStore 설정
+ *
+ * vector.inmemory.backend 값으로 구현을 선택합니다.
+ * <ul>
+ *     <li>simple : Spring AI SimpleVectorStore (기본값)</li>
+ *     <li>offheap : 임베딩을 off-heap 행렬에 보관하는 OffHeapVectorStore</li>
+ *     <li>hnsw : HNSW 그래프 기반 근사 검색 HnswVectorStore</li>
+ * </ul>
+ * offheap 은 vector.inmemory.quantization (none | int8 | binary) 으로 압축 코드 검색을 켤 수 있고,
+ * vector.inmemory.search-parallelism 으로 샤드 병렬 스캔에 사용할 스레드 수를 정합니다. (0 이면 공용 ForkJoinPool)
+ * 내적 계산 커널은 vector.inmemory.kernel (auto | simd | scalar) 로 기동 시 선택합니다.
+ */
+@Slf4j
+@Configuration
+public class InMemoryVectorStoreConfig {
+
+    @Value("${vector.inmemory.backend:simple}")
+    private String backend;
+
+    @Value("${vector.inmemory.quantization:none}")
+    private String quantization;
+
+    @Value("${vector.inmemory.rescore-multiplier:4}")
+    private int rescoreMultiplier;
+
+    @Value("${vector.inmemory.search-parallelism:0}")
+    private int searchParallelism;
+
+    @Value("${vector.inmemory.kernel:auto}")
+    private String kernel;
+
+    @Value("${vector.inmemory.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${vector.inmemory.hnsw.ef-construction:200}")
+    private int hnswEfConstruction;
+
+    @Value("${vector.inmemory.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    /**
+     * offheap 백엔드의 샤드 병렬 스캔 스레드 풀 빈 등록 (search-parallelism 이 0 이면 공용 ForkJoinPool)
+     * 컨텍스트가 닫힐 때 전용 풀을 종료합니다. (공용 풀은 shutdown 이 무시됨)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool inMemorySearchPool() {
+        return searchParallelism > 0 ? new ForkJoinPool(searchParallelism) : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * 인메모리 VectorStore 빈 등록
+     */
+    @Bean
+    public VectorStore inMemoryVectorStore(EmbeddingService embeddingService, ForkJoinPool inMemorySearchPool) {
+        EmbeddingModel embeddingModel = embeddingService.getEmbeddingModel();
+        DistanceKernel distanceKernel = DistanceKernels.select(kernel);
+        log.info("인메모리 벡터 스토어 생성 - backend: {}, quantization: {}", backend, quantization);
+        return switch (backend.toLowerCase()) {
+            // Spring AI의 인메모리 SimpleVectorStore 생성
+            case "simple" -> SimpleVectorStore.builder(embeddingModel).build();
+            // 임베딩을 힙 밖에 보관하여 GC 부담을 줄인 VectorStore
+            case "offheap" -> new OffHeapVectorStore(embeddingModel, new TokenCountBatchingStrategy(),
+                    QuantizationMode.from(quantization), rescoreMultiplier,
+                    inMemorySearchPool,
+                    distanceKernel);
+            // 전체 스캔 대신 HNSW 그래프를 탐색하는 근사 검색 VectorStore
+            case "hnsw" -> new HnswVectorStore(embeddingModel, new TokenCountBatchingStrategy(),
+                    hnswM, hnswEfConstruction, hnswEfSearch, distanceKernel);
+            default -> throw new IllegalArgumentException("지원하지 않는 vector.inmemory.backend 값입니다: " + backend);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.rag.ChunkDeduplicator;
+import com.fbc.ai.service.rag.StreamingIngestionPipeline;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 문서 업로드(RagServiceImpl.uploadFile) 적재 파이프라인 설정
+ *
+ * rag.ingest.batch-size / concurrency / page-buffer 로 배치 크기, 동시 임베딩 배치 수, 페이지 버퍼 크기를 조정하고
+ * rag.ingest.chunk-overlap 으로 이웃 청크가 겹치는 토큰 수를 조정합니다.
+ * 중복 제거기(DeduplicationConfig)가 있으면 임베딩 전에 거의 같은 청크를 걸러냅니다.
+ */
+@Configuration
+public class IngestionConfig {
+
+    @Value("${rag.ingest.batch-size:32}")
+    private int batchSize;
+
+    @Value("${rag.ingest.concurrency:4}")
+    private int concurrency;
+
+    @Value("${rag.ingest.page-buffer:8}")
+    private int pageBuffer;
+
+    @Value("${rag.ingest.chunk-overlap:0}")
+    private int chunkOverlap;
+
+    /**
+     * vector_store 테이블에 적재하는 스트리밍 파이프라인 빈 등록
+     */
+    @Bean
+    public StreamingIngestionPipeline ingestionPipeline(VectorStore vectorStore, Bm25Index bm25Index,
+                                                        ObjectProvider<ChunkDeduplicator> deduplicator) {
+        // 1000 토큰 단위로 자른다. (# 2.단계 : 문서분할)
+        OffsetTokenTextSplitter splitter = new OffsetTokenTextSplitter(1000, 400, 10, 5000, true, chunkOverlap);
+        return new StreamingIngestionPipeline(vectorStore, bm25Index, deduplicator.getIfAvailable(), splitter,
+                batchSize, concurrency, pageBuffer);
+    }
+}
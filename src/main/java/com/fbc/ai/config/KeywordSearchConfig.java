@@ -0,0 +1,29 @@
+package com.fbc.ai.config;
+
+import com.fbc.ai.repository.keyword.Bm25Index;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 하이브리드(BM25 + 벡터) 검색에 사용하는 키워드 색인 설정
+ *
+ * rag.hybrid.bm25.k1 / rag.hybrid.bm25.b 로 BM25 파라미터를 조정합니다.
+ */
+@Configuration
+public class KeywordSearchConfig {
+
+    @Value("${rag.hybrid.bm25.k1:1.2}")
+    private float k1;
+
+    @Value("${rag.hybrid.bm25.b:0.75}")
+    private float b;
+
+    /**
+     * RagServiceImpl 이 업로드한 청크 본문을 색인하는 BM25 역색인 빈 등록
+     */
+    @Bean
+    public Bm25Index bm25Index() {
+        return new Bm25Index(k1, b);
+    }
+}
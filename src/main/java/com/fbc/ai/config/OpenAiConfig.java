@@ -1,5 +1,6 @@
 package com.fbc.ai.config;
 
+import com.fbc.ai.service.EmbeddingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
@@ -10,6 +11,7 @@ import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.ai.embedding.EmbeddingModel;
@@ -69,6 +71,18 @@ public class OpenAiConfig {
         return defaultModel;
     }
 
+    /**
+     * 기본 EmbeddingModel 빈 등록
+     *
+     * EmbeddingService 의 질의 임베딩 캐시를 거치는 모델을 기본으로 지정하여
+     * 자동 구성된 vector_store 와 아래 pgvector 스토어들이 같은 캐시를 사용합니다.
+     */
+    @Bean
+    @Primary
+    public EmbeddingModel embeddingModel(EmbeddingService embeddingService) {
+        return embeddingService.getEmbeddingModel();
+    }
+
     /**
      * hotel_vector_store 테이블(VectorStore)
      * @param jdbcTemplate
@@ -0,0 +1,144 @@
+package com.fbc.ai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기동 직후 백그라운드 스레드에서 예열 작업(OpenAI/Google 연결, 벡터 스토어 검색, 프롬프트 템플릿)을 실행하고,
+ * 끝날 때까지 readiness 를 REFUSING_TRAFFIC 으로 둡니다.
+ *
+ * Spring Boot 는 ApplicationReadyEvent 직후 ReadinessState.ACCEPTING_TRAFFIC 을 발행하므로, 그때 예열이 끝나지 않았으면
+ * 곧바로 REFUSING_TRAFFIC 으로 되돌리고 예열이 끝나면(또는 warmup.timeout 이 지나면) ACCEPTING_TRAFFIC 을 발행합니다.
+ * 같은 ACCEPTING_TRAFFIC 이벤트를 받는 리스너 순서에 따라 되돌린 상태가 덮일 수 있으므로, 이 빈은 readiness 헬스 그룹의
+ * 지표(startupWarmup)로도 등록되어 예열이 끝날 때까지 OUT_OF_SERVICE 를 냅니다.
+ * 로드밸런서는 /actuator/health/readiness 로 예열이 끝난 인스턴스에만 요청을 보냅니다.
+ * 예열 작업이 실패해도 로그만 남기고 준비 상태로 넘어갑니다.
+ */
+@Slf4j
+public class StartupWarmup implements HealthIndicator {
+
+    private final ApplicationEventPublisher publisher;
+    private final Map<String, Runnable> tasks;
+    private final Duration timeout;
+    private final int threads;
+    private final List<String> pending;
+    private boolean warm;
+    private boolean refused;
+    private ExecutorService executor;
+
+    /**
+     * @param publisher 가용성 이벤트 발행자 (ApplicationContext)
+     * @param tasks     이름 → 예열 작업 (작업마다 스레드 1개에서 실행, 비어 있으면 바로 준비 상태)
+     * @param timeout   이 시간이 지나면 남은 작업을 기다리지 않고 준비 상태로 넘어감
+     * @param threads   동시에 실행하는 예열 작업 수
+     */
+    public StartupWarmup(ApplicationEventPublisher publisher, Map<String, Runnable> tasks, Duration timeout, int threads) {
+        this.publisher = publisher;
+        this.tasks = new LinkedHashMap<>(tasks);
+        this.timeout = timeout;
+        this.threads = Math.max(1, threads);
+        this.pending = new ArrayList<>(tasks.keySet());
+        this.warm = tasks.isEmpty();
+    }
+
+    /**
+     * 컨텍스트가 올라오면 예열을 시작합니다. (요청 수신 전, ApplicationReadyEvent 보다 앞)
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (isWarm()) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        log.info("기동 예열 시작 - 작업: {}", tasks.keySet());
+        tasks.forEach((name, task) -> futures.add(CompletableFuture.runAsync(() -> run(name, task), executor)));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    synchronized (pending) {
+                        if (pending.isEmpty()) {
+                            log.info("기동 예열 완료 - {}ms", elapsed);
+                        } else {
+                            log.warn("기동 예열 시간 초과 - {}ms, 끝나지 않은 작업: {}", elapsed, pending);
+                        }
+                    }
+                    executor.shutdownNow();
+                    markWarm();
+                });
+    }
+
+    /**
+     * 예열이 끝나기 전에 들어온 ACCEPTING_TRAFFIC 을 REFUSING_TRAFFIC 으로 되돌립니다.
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        synchronized (this) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !warm) {
+                refused = true;
+                log.info("기동 예열 중 - 예열이 끝날 때까지 요청을 받지 않습니다.");
+                AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }
+    }
+
+    public synchronized boolean isWarm() {
+        return warm;
+    }
+
+    @Override
+    public Health health() {
+        if (isWarm()) {
+            return Health.up().build();
+        }
+        synchronized (pending) {
+            return Health.outOfService().withDetail("pending", List.copyOf(pending)).build();
+        }
+    }
+
+    private synchronized void markWarm() {
+        warm = true;
+        // 되돌린 적이 없으면 Spring Boot 가 기동을 마칠 때 직접 ACCEPTING_TRAFFIC 을 발행한다
+        if (refused) {
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private void run(String name, Runnable task) {
+        long started = System.nanoTime();
+        try {
+            task.run();
+            log.info("예열 작업 완료 - {}: {}ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            log.warn("예열 작업 실패 - {}: {}", name, e.getMessage());
+        } finally {
+            synchronized (pending) {
+                pending.remove(name);
+            }
+        }
+    }
+}
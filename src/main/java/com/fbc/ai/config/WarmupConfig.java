@@ -0,0 +1,134 @@
+package com.fbc.ai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기동 예열(StartupWarmup) 설정
+ *
+ * <ul>
+ *     <li>openai : 질의 임베딩 1건으로 OpenAI 연결(TLS, 커넥션 풀)을 미리 열고, warmup.chat 이 true 면 1토큰 채팅도 보냄</li>
+ *     <li>google : Google API 호스트에 연결해 HttpURLConnection keep-alive 캐시에 연결을 남김 (google.api-key 가 있을 때만)</li>
+ *     <li>vector-store, hotel-vector-store, movie-vector-store : 예시 질문으로 검색 (pgvector 커넥션, HNSW 인덱스 페이지, 검색 경로 JIT)</li>
+ *     <li>prompt-templates : 컨트롤러가 쓰는 프롬프트 템플릿 렌더링 (StringTemplate 로딩, JIT)</li>
+ * </ul>
+ * 검색은 같은 질문을 warmup.iterations 번 반복하지만 질의 임베딩 캐시 덕분에 OpenAI 는 질문마다 한 번만 호출합니다.
+ */
+@Slf4j
+@Configuration
+public class WarmupConfig {
+
+    private static final List<String> HOTEL_QUESTIONS = List.of("체크인 시간은 언제인가요?", "주차가 가능한가요?");
+    private static final List<String> MOVIE_QUESTIONS = List.of("우주를 배경으로 한 영화 추천해줘", "가족이 함께 볼 만한 영화");
+    private static final List<String> RAG_QUESTIONS = List.of("생성형 AI 시장 전망", "에이전틱 AI 동향");
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.timeout:60s}")
+    private Duration timeout;
+
+    @Value("${warmup.threads:2}")
+    private int threads;
+
+    @Value("${warmup.iterations:20}")
+    private int iterations;
+
+    @Value("${warmup.chat:false}")
+    private boolean warmChat;
+
+    @Value("${google.api-key:#{null}}")
+    private String googleApiKey;
+
+    @Value("classpath:/sql-prompt-template.st")
+    private Resource sqlPromptTemplateResource;
+
+    @Value("classpath:/prompt.txt")
+    private Resource systemPromptResource;
+
+    /**
+     * 기동 예열 빈 등록 (readiness 헬스 지표 startupWarmup)
+     */
+    @Bean
+    public StartupWarmup startupWarmup(ApplicationEventPublisher publisher,
+                                       EmbeddingModel embeddingModel,
+                                       ChatModel chatModel,
+                                       VectorStore vectorStore,
+                                       @Qualifier("hotelVectorStore") VectorStore hotelVectorStore,
+                                       @Qualifier("movieVectorStore") VectorStore movieVectorStore) {
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        if (enabled) {
+            tasks.put("openai", () -> {
+                embeddingModel.embed("warm-up");
+                if (warmChat) {
+                    chatModel.call(new Prompt("ping", OpenAiChatOptions.builder().maxTokens(1).build()));
+                }
+            });
+            if (StringUtils.hasText(googleApiKey)) {
+                tasks.put("google", () -> openConnection("https://www.googleapis.com/"));
+            }
+            tasks.put("vector-store", () -> search(vectorStore, RAG_QUESTIONS));
+            tasks.put("hotel-vector-store", () -> search(hotelVectorStore, HOTEL_QUESTIONS));
+            tasks.put("movie-vector-store", () -> search(movieVectorStore, MOVIE_QUESTIONS));
+            tasks.put("prompt-templates", this::renderPromptTemplates);
+        }
+        return new StartupWarmup(publisher, tasks, timeout, threads);
+    }
+
+    private void search(VectorStore store, List<String> questions) {
+        for (int i = 0; i < iterations; i++) {
+            for (String question : questions) {
+                store.similaritySearch(SearchRequest.builder().query(question).topK(4).build());
+            }
+        }
+    }
+
+    private void renderPromptTemplates() {
+        for (int i = 0; i < iterations; i++) {
+            new PromptTemplate(sqlPromptTemplateResource).render(Map.of("question", "예열 질문", "ddl", "CREATE TABLE t (id INT)"));
+            new PromptTemplate(systemPromptResource).render(Map.of("subject", "예열", "tone", "친절한"));
+            new PromptTemplate("{input} 에 대해 다음 문서를 참고해 답하세요.\n{documents}")
+                    .render(Map.of("input", "예열 질문", "documents", "예열 문서"));
+        }
+    }
+
+    /**
+     * SearchServiceImpl, GoogleApiUtils 처럼 new RestTemplate()(HttpURLConnection) 으로 요청하고 응답 본문을 끝까지 읽어
+     * 연결이 JVM 전역 keep-alive 캐시에 남도록 한다. (응답 상태는 상관없음)
+     */
+    private static void openConnection(String url) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setErrorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+        restTemplate.execute(url, HttpMethod.GET, null,
+                response -> StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8).length());
+    }
+}
@@ -1,58 +1,64 @@
 package com.fbc.ai.config.loader;
 
-import jakarta.annotation.PostConstruct;
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.service.rag.CorpusLoader;
+import com.fbc.ai.service.rag.CorpusSource;
+import com.fbc.ai.service.rag.SemanticAnswerCache;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.document.Document;
-import org.springframework.ai.transformer.splitter.TextSplitter;
-import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
-import org.springframework.jdbc.core.simple.JdbcClient;
 
-import java.nio.file.Files;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * hotel_vector_store 테이블에 hotel_data.txt 파일을 로드하여 임베딩 처리
+ *
+ * rag.loader.hotel.enabled 가 true 면 기동 후 CorpusLoader 스레드에서 한 줄을 문서 1개로 적재합니다.
+ * 중간에 멈추면 다음 기동 때 마지막으로 저장한 줄 다음부터 이어서 적재합니다.
+ * 청크 ID 가 줄 위치로 정해져 본문이 바뀌어도 검색된 청크 ID 집합이 같으므로, 적재하고 나면 호텔 답변 캐시를 비웁니다.
  */
 @Slf4j
 @Configuration
 public class HotelLoader {
     @Qualifier("hotelVectorStore")
     private  final VectorStore hotelVectorStore;
-    private final JdbcClient jdbcClient;
+    private final CorpusLoader corpusLoader;
+    private final SemanticAnswerCache answerCache;
 
     @Value("classpath:hotel_data.txt")
     Resource resource;
 
-    public HotelLoader(VectorStore vectorStore, VectorStore hotelVectorStore, JdbcClient jdbcClient) {
+    @Value("${rag.loader.hotel.enabled:false}")
+    private boolean enabled;
+
+    public HotelLoader(VectorStore hotelVectorStore, CorpusLoader corpusLoader, SemanticAnswerCache answerCache) {
         this.hotelVectorStore = hotelVectorStore;
-        this.jdbcClient = jdbcClient;
+        this.corpusLoader = corpusLoader;
+        this.answerCache = answerCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (enabled) {
+            load(CorpusSource.lines("hotel_data.txt", resource));
+        }
     }
 
-    @PostConstruct
-    public void init() throws Exception {
-//        Integer count=jdbcClient.sql("select count(*) from hotel_vector_store")
-//                .query(Integer.class)
-//                .single();
-//        log.info("No of Records in the PG Vector Store="+count);
-//        if(count==0){
-//            List<Document> documents = Files.lines(resource.getFile().toPath())
-//                    .map(Document::new)
-//                    .collect(Collectors.toList());
-//            TextSplitter textSplitter = new TokenTextSplitter();
-//            for(Document document : documents) {
-//                List<Document> splitteddocs = textSplitter.split(document);
-//                log.info("before adding document: {}", document.getText());
-//                hotelVectorStore.add(splitteddocs); //임베딩
-//                log.info("Added document: {}", document.getText());
-//                Thread.sleep(1000); // 1초
-//            }
-//            log.info("Application is ready to Serve the Requests");
-//        }
+    /**
+     * 호텔 코퍼스를 적재합니다. 이미 끝까지 적재되어 건너뛴 경우가 아니면(실패해도 일부 배치는 저장되었을 수 있음)
+     * 적재가 끝난 뒤 호텔 답변 캐시를 비웁니다.
+     */
+    public CompletableFuture<CorpusLoader.Result> load(CorpusSource source) {
+        return corpusLoader.submit(source, hotelVectorStore, new OffsetTokenTextSplitter())
+                .whenComplete((result, error) -> {
+                    if (error != null || !result.skipped()) {
+                        answerCache.invalidateNamespace(SemanticAnswerCache.NAMESPACE_HOTEL);
+                    }
+                });
     }
 }
@@ -0,0 +1,89 @@
+package com.fbc.ai.config.loader;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.rag.ChunkDeduplicator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 기동 시 vector_store 테이블의 청크 본문을 읽어 BM25 색인과 중복 제거(MinHash) 색인을 다시 만듭니다.
+ *
+ * 두 색인은 메모리에만 있으므로, 재시작 전에 업로드한 문서도 하이브리드 검색과 중복 판단에 포함되도록 합니다.
+ * (임베딩은 다시 계산하지 않음) DB 에 연결할 수 없으면 경고만 남기고 벡터 검색만 사용합니다.
+ */
+@Slf4j
+@Configuration
+public class KeywordIndexLoader {
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final Bm25Index bm25Index;
+    private final JdbcClient jdbcClient;
+    private final ObjectMapper objectMapper;
+    private final ChunkDeduplicator deduplicator;
+
+    @Value("${rag.hybrid.enabled:true}")
+    private boolean hybridEnabled;
+
+    @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+    private String tableName;
+
+    public KeywordIndexLoader(Bm25Index bm25Index, JdbcClient jdbcClient, ObjectMapper objectMapper,
+                              ObjectProvider<ChunkDeduplicator> deduplicator) {
+        this.bm25Index = bm25Index;
+        this.jdbcClient = jdbcClient;
+        this.objectMapper = objectMapper;
+        this.deduplicator = deduplicator.getIfAvailable();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!hybridEnabled && deduplicator == null) {
+            return;
+        }
+        try {
+            List<Document> documents = jdbcClient.sql("SELECT id, content, metadata FROM " + tableName)
+                    .query((rs, rowNum) -> Document.builder()
+                            .id(rs.getString("id"))
+                            .text(Objects.requireNonNullElse(rs.getString("content"), ""))
+                            .metadata(metadata(rs.getString("metadata")))
+                            .build())
+                    .list();
+            if (hybridEnabled) {
+                bm25Index.add(documents);
+                log.info("BM25 색인 복원 완료 - 청크: {}", bm25Index.size());
+            }
+            if (deduplicator != null) {
+                deduplicator.restore(documents);
+                log.info("중복 제거 색인 복원 완료 - 청크: {}", deduplicator.size());
+            }
+        } catch (Exception e) {
+            log.warn("BM25/중복 제거 색인 복원 실패 - 벡터 검색만 사용합니다: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> metadata(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, METADATA_TYPE);
+        } catch (Exception e) {
+            return new HashMap<>();
+        }
+    }
+}
@@ -1,46 +1,43 @@
 package com.fbc.ai.config.loader;
 
-import jakarta.annotation.PostConstruct;
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.service.rag.CorpusLoader;
+import com.fbc.ai.service.rag.CorpusSource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
-import org.springframework.jdbc.core.simple.JdbcClient;
 
+/**
+ * movie_vector 테이블에 movie_plots_korean.txt 파일을 로드하여 임베딩 처리
+ *
+ * rag.loader.movie.enabled 가 true 면 기동 후 CorpusLoader 스레드에서 한 줄을 문서 1개로 적재합니다.
+ */
 @Slf4j
 @Configuration
 public class MovieLoader {
     private final VectorStore movieVectorStore;
-    private final JdbcClient jdbcClient;
+    private final CorpusLoader corpusLoader;
 
     @Value("classpath:movie_plots_korean.txt")
     Resource resource;
 
-    public MovieLoader(VectorStore movieVectorStore, JdbcClient jdbcClient) {
+    @Value("${rag.loader.movie.enabled:false}")
+    private boolean enabled;
+
+    public MovieLoader(VectorStore movieVectorStore, CorpusLoader corpusLoader) {
         this.movieVectorStore = movieVectorStore;
-        this.jdbcClient = jdbcClient;
+        this.corpusLoader = corpusLoader;
     }
 
-    @PostConstruct
-    public void init() throws Exception {
-//        Integer count=jdbcClient.sql("select count(*) from movie_vector")
-//                .query(Integer.class)
-//                .single();
-//        log.info("No of Records in the PG Vector Store = {}", count);
-//        if(count==0){
-//            List<Document> documents = Files.lines(resource.getFile().toPath())
-//                    .map(Document::new)
-//                    .collect(Collectors.toList());
-//            TextSplitter textSplitter = new TokenTextSplitter();
-//            for(Document document : documents) {
-//                List<Document> splitteddocs = textSplitter.split(document);
-//                log.info("before adding document: {}", document.getText());
-//                movieVectorStore.add(splitteddocs); //임베딩
-//                log.info("Added document: {}", document.getText());
-//                Thread.sleep(1000); // 1초
-//            }
-//            log.info("Application is ready to Serve the Requests");
-//        }
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (enabled) {
+            corpusLoader.submit(CorpusSource.lines("movie_plots_korean.txt", resource), movieVectorStore,
+                    new OffsetTokenTextSplitter());
+        }
     }
 }
@@ -1,65 +1,68 @@
 package com.fbc.ai.config.loader;
 
-import jakarta.annotation.PostConstruct;
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.rag.CorpusLoader;
+import com.fbc.ai.service.rag.CorpusSource;
+import com.fbc.ai.service.rag.SemanticAnswerCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
-import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * vector_store 테이블에 pdf 파일을 로드하여 임베딩 처리
+ *
+ * rag.loader.pdf.enabled 가 true 면 기동 후 CorpusLoader 스레드에서 한 페이지씩 적재합니다.
+ * 중간에 멈추면 다음 기동 때 마지막으로 저장한 페이지부터 이어서 적재합니다.
+ * 하이브리드 검색이 같은 청크를 찾도록 BM25 색인도 함께 갱신하고, 적재하고 나면 PDF 답변 캐시를 비웁니다.
  */
 @Slf4j
 @Configuration
 public class RagDataLoader {
     private final VectorStore vectorStore;
-    private final JdbcClient jdbcClient;
+    private final CorpusLoader corpusLoader;
+    private final Bm25Index bm25Index;
+    private final SemanticAnswerCache answerCache;
 
     // # 0. PDF 경로(resources 아래)
     @Value("classpath:/SPRi_AI_Brief_7월호_산업동향.pdf")
     private Resource pdfResource;
 
-    public RagDataLoader(VectorStore vectorStore, JdbcClient jdbcClient) {
+    @Value("${rag.loader.pdf.enabled:false}")
+    private boolean enabled;
+
+    public RagDataLoader(VectorStore vectorStore, CorpusLoader corpusLoader, Bm25Index bm25Index,
+                         SemanticAnswerCache answerCache) {
         this.vectorStore = vectorStore;
-        this.jdbcClient = jdbcClient;
+        this.corpusLoader = corpusLoader;
+        this.bm25Index = bm25Index;
+        this.answerCache = answerCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (enabled) {
+            load(CorpusSource.pdfPages("SPRi_AI_Brief_7월호_산업동향.pdf", pdfResource));
+        }
     }
 
-    @PostConstruct
-    public void init(){
-//        Integer count = jdbcClient.sql("select count(*) from vector_store")
-//                .query(Integer.class)
-//                .single();
-//
-//        log.info("No of Records in the PG Vector Store={}", count);
-//
-//        if(count==0){
-//            log.info("Loading.....");
-//            // PDF Reader
-//            PdfDocumentReaderConfig config = PdfDocumentReaderConfig.builder()
-//                    .withPageTopMargin(0)
-//                    .withPageExtractedTextFormatter(ExtractedTextFormatter.builder()
-//                            .withNumberOfTopTextLinesToDelete(0)
-//                            .build())
-//                    .withPagesPerDocument(1)
-//                    .build();
-//
-//            // # 1.단계 : 문서로드(Load Documents)
-//            PagePdfDocumentReader pdfReader = new PagePdfDocumentReader(pdfResource,config);
-//
-//            List<Document> documents = pdfReader.get();
-//
-//            // 1000글자 단위로 자른다.
-//            // # 2.단계 : 문서분할(Split Documents)
-//            TokenTextSplitter splitter = new TokenTextSplitter(1000, 400, 10, 5000, true);
-//            List<Document> splitDocuments = splitter.apply(documents);
-//            log.info("splitDocuments.size() : {}", splitDocuments.size()); // 45
-//            log.info("splitDocuments.get(0) : {}", splitDocuments.get(0)); // 25
-//
-//            // # 3.단계 : 임베딩(Embedding) -> 4.단계 : DB에 저장(백터스토어 생성)
-//            vectorStore.accept(splitDocuments); // OpenAI 임베딩을 거친다.
-//            log.info("Application is ready to Serve the Requests");
-//        }
+    /**
+     * PDF 코퍼스를 적재합니다. 이미 끝까지 적재되어 건너뛴 경우가 아니면(실패해도 일부 배치는 저장되었을 수 있음)
+     * 적재가 끝난 뒤 PDF 답변 캐시를 비웁니다.
+     */
+    public CompletableFuture<CorpusLoader.Result> load(CorpusSource source) {
+        // # 1.단계 : 문서로드(페이지 단위) -> 2.단계 : 1000 토큰 단위로 분할 -> 3~4.단계 : 임베딩 후 DB에 저장
+        return corpusLoader.submit(source, vectorStore, bm25Index, new OffsetTokenTextSplitter(1000, 400, 10, 5000, true))
+                .whenComplete((result, error) -> {
+                    if (error != null || !result.skipped()) {
+                        answerCache.invalidateNamespace(SemanticAnswerCache.NAMESPACE_PDF);
+                    }
+                });
     }
 }
@@ -12,9 +12,11 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 @RestController
@@ -75,8 +77,11 @@ public class ImageTextGenController {
         }
 
         // Save the uploaded file to the specified upload path
+        // (스트림으로 복사 - transferTo 는 업로드 파일을 옮겨 이후 분석에서 다시 읽을 수 없으므로 사용하지 않음)
         String filename = imageFile.getOriginalFilename();
         Path filePath = Paths.get(uploadPath, filename);
-        Files.write(filePath, imageFile.getBytes());
+        try (InputStream in = imageFile.getInputStream()) {
+            Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 }
@@ -0,0 +1,105 @@
+package com.fbc.ai.controller.rag;
+
+import com.fbc.ai.domain.dto.ApiResponseDto;
+import com.fbc.ai.domain.dto.BulkIngestionResultDto;
+import com.fbc.ai.exception.DocumentProcessingException;
+import com.fbc.ai.service.rag.BulkIngestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 문서 일괄 적재 API 컨트롤러
+ *
+ * ZIP 파일 또는 서버 디렉터리의 문서를 한 번에 적재하고 파일별 결과와 처리량을 반환합니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/rag/bulk")
+@Tag(name = "RAG 일괄 적재 API", description = "여러 문서를 한 번에 벡터 스토어에 적재하는 API")
+public class BulkIngestionController {
+    private final BulkIngestionService bulkIngestionService;
+
+    public BulkIngestionController(BulkIngestionService bulkIngestionService) {
+        this.bulkIngestionService = bulkIngestionService;
+    }
+
+    /**
+     * ZIP 파일의 문서를 일괄 적재합니다.
+     */
+    @Operation(
+            summary = "ZIP 일괄 적재",
+            description = "ZIP 파일 안의 문서를 확장자에 맞는 파서로 동시에 파싱하여 적재합니다. 지원하지 않는 형식은 건너뜁니다."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "적재 완료 (파일별 결과 포함)",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "400", description = "잘못된 ZIP 파일")
+    @ApiResponse(responseCode = "413", description = "압축을 푼 크기가 한도를 넘음")
+    @ApiResponse(responseCode = "500", description = "서버 오류")
+    @PostMapping(value = "/zip", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDto<BulkIngestionResultDto>> ingestZip(
+            @Parameter(description = "문서를 묶은 ZIP 파일", required = true)
+            @RequestParam("file") MultipartFile file,
+
+            @Parameter(description = "버킷 ID (선택사항, 기본값은 설정된 기본 버킷)")
+            @RequestParam(value = "bucketId", required = false) String bucketId
+    ) {
+        log.info("ZIP 일괄 적재 요청 받음: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            log.warn("빈 파일이 업로드됨");
+            return ResponseEntity.badRequest().body(new ApiResponseDto<>(false, "업로드된 파일이 비어있습니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(new ApiResponseDto<>(true, bulkIngestionService.ingestZip(file, bucketId)));
+        } catch (DocumentProcessingException e) {
+            log.error("ZIP 일괄 적재 중 오류 발생: {}", e.getReason());
+            return ResponseEntity.status(e.getStatusCode()).body(new ApiResponseDto<>(false, e.getReason()));
+        }
+    }
+
+    /**
+     * 서버 디렉터리의 문서를 일괄 적재합니다.
+     */
+    @Operation(
+            summary = "서버 디렉터리 일괄 적재",
+            description = "rag.ingest.bulk.allowed-root 아래 디렉터리(하위 디렉터리 포함)의 문서를 적재합니다."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "적재 완료 (파일별 결과 포함)",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "400", description = "잘못된 경로")
+    @ApiResponse(responseCode = "403", description = "허용되지 않은 경로 또는 디렉터리 적재 미설정")
+    @ApiResponse(responseCode = "500", description = "서버 오류")
+    @PostMapping("/directory")
+    public ResponseEntity<ApiResponseDto<BulkIngestionResultDto>> ingestDirectory(
+            @Parameter(description = "허용 루트 기준 디렉터리 경로", required = true, example = "customers/acme")
+            @RequestParam("path") String path,
+
+            @Parameter(description = "버킷 ID (선택사항, 기본값은 설정된 기본 버킷)")
+            @RequestParam(value = "bucketId", required = false) String bucketId
+    ) {
+        log.info("디렉터리 일괄 적재 요청 받음: {}", path);
+
+        try {
+            return ResponseEntity.ok(new ApiResponseDto<>(true, bulkIngestionService.ingestDirectory(path, bucketId)));
+        } catch (DocumentProcessingException e) {
+            log.error("디렉터리 일괄 적재 중 오류 발생: {}", e.getReason());
+            return ResponseEntity.status(e.getStatusCode()).body(new ApiResponseDto<>(false, e.getReason()));
+        }
+    }
+}
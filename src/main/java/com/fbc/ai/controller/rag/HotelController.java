@@ -1,5 +1,6 @@
 package com.fbc.ai.controller.rag;
 
+import com.fbc.ai.service.rag.SemanticAnswerCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.document.Document;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * RAG 기반 호텔 챗봇 Controller
@@ -25,10 +27,12 @@ public class HotelController {
     @Qualifier("hotelVectorStore")
     private final VectorStore hotelVectorStore;
     private final ChatClient chatClient;
+    private final SemanticAnswerCache answerCache;
 
-    public HotelController(VectorStore hotelVectorStore, ChatClient.Builder chatClient) {
+    public HotelController(VectorStore hotelVectorStore, ChatClient.Builder chatClient, SemanticAnswerCache answerCache) {
         this.hotelVectorStore = hotelVectorStore;
         this.chatClient = chatClient.build();
+        this.answerCache = answerCache;
     }
 
     @GetMapping("/question")
@@ -45,6 +49,13 @@ public class HotelController {
             log.info("조회데이터 : {}", document.getText());
         }
 
+        // 같은 청크로 답한 비슷한 질문이 있으면 저장된 답변을 그대로 내려준다 (FAQ 성 질문이 대부분)
+        SemanticAnswerCache.Probe probe = answerCache.lookup(SemanticAnswerCache.NAMESPACE_HOTEL, null, question, results, null);
+        Optional<String> cachedAnswer = probe.answer();
+        if (cachedAnswer.isPresent()) {
+            return Flux.just(cachedAnswer.get());
+        }
+
         String template = """
                 당신은 어느 호텔 직원입니다. 문맥에 따라 고객의 질문에 정중하게 답변해 주십시오. 
                 컨텍스트가 질문에 대답할 수 없는 경우 '모르겠습니다'라고 대답하세요.
@@ -58,11 +69,15 @@ public class HotelController {
                 답변:
                 """;
 
+        // 스트리밍은 그대로 내려보내고, 끝까지 받은 답변만 캐시에 저장한다
+        StringBuilder answer = new StringBuilder();
         return chatClient.prompt()
                 .user(promptUserSpec -> promptUserSpec.text(template)
                         .param("context", results)
                         .param("question", question))
                 .stream()
-                .content();
+                .content()
+                .doOnNext(answer::append)
+                .doOnComplete(() -> answerCache.put(probe, answer.toString()));
     }
 }
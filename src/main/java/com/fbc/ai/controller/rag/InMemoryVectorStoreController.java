@@ -0,0 +1,114 @@
+package com.fbc.ai.controller.rag;
+
+import com.fbc.ai.domain.dto.ApiResponseDto;
+import com.fbc.ai.domain.dto.BatchQueryRequestDto;
+import com.fbc.ai.domain.dto.DocumentSearchResultDto;
+import com.fbc.ai.repository.InMemoryDocumentVectorStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인메모리 벡터 스토어 관리 API 컨트롤러
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/rag/inmemory")
+@Tag(name = "In-Memory VectorStore API", description = "인메모리 벡터 스토어 관리 API")
+public class InMemoryVectorStoreController {
+    private final InMemoryDocumentVectorStore inMemoryDocumentVectorStore;
+
+    public InMemoryVectorStoreController(InMemoryDocumentVectorStore inMemoryDocumentVectorStore) {
+        this.inMemoryDocumentVectorStore = inMemoryDocumentVectorStore;
+    }
+
+    /**
+     * 현재 인메모리 벡터 스토어를 스냅샷 파일로 저장합니다.
+     */
+    @Operation(
+            summary = "벡터 스냅샷 저장",
+            description = "인메모리 벡터 스토어의 임베딩/청크/메타데이터를 스냅샷 파일로 저장합니다. 재시작 시 자동으로 복원됩니다."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "저장 성공",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "500", description = "서버 오류")
+    @PostMapping("/snapshot")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> saveSnapshot() {
+        log.info("벡터 스냅샷 저장 요청 받음");
+        try {
+            Path path = inMemoryDocumentVectorStore.saveSnapshot();
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("path", path.toAbsolutePath().toString());
+            return ResponseEntity.ok(new ApiResponseDto<>(true, data));
+        } catch (Exception e) {
+            log.error("벡터 스냅샷 저장 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    new ApiResponseDto<>(false, e.getMessage() != null ? e.getMessage() : "알 수 없는 오류 발생")
+            );
+        }
+    }
+
+    /**
+     * 여러 질의를 한 번에 검색합니다. 평가 작업처럼 질의가 많을 때 질의마다 호출하는 것보다 빠릅니다.
+     */
+    @Operation(
+            summary = "배치 유사도 검색",
+            description = "여러 질의를 한 번의 임베딩 요청으로 벡터화하고 함께 검색하여 질의별 결과를 반환합니다."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "검색 성공",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "400", description = "잘못된 요청")
+    @ApiResponse(responseCode = "500", description = "서버 오류")
+    @PostMapping("/search/batch")
+    public ResponseEntity<ApiResponseDto<List<Map<String, Object>>>> batchSearch(@RequestBody BatchQueryRequestDto request) {
+        List<String> queries = request.getQueries();
+        if (queries == null || queries.isEmpty() || queries.stream().anyMatch(query -> query == null || query.isBlank())) {
+            log.warn("빈 배치 질의가 요청됨");
+            return ResponseEntity.badRequest().body(
+                    new ApiResponseDto<>(false, "질의 목록이 비어 있거나 빈 질의가 포함되어 있습니다.")
+            );
+        }
+        log.info("배치 검색 요청 받음 - 질의 수: {}, 버킷: {}, 최대 결과: {}",
+                queries.size(), request.getBucketIds(), request.getMaxResults());
+        try {
+            List<List<DocumentSearchResultDto>> results = inMemoryDocumentVectorStore.similaritySearch(
+                    queries, request.getBucketIds(), request.getMaxResults());
+
+            List<Map<String, Object>> data = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("query", queries.get(i));
+                item.put("results", results.get(i));
+                data.add(item);
+            }
+            return ResponseEntity.ok(new ApiResponseDto<>(true, data));
+        } catch (Exception e) {
+            log.error("배치 검색 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    new ApiResponseDto<>(false, e.getMessage() != null ? e.getMessage() : "알 수 없는 오류 발생")
+            );
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fbc.ai.controller.rag;
+
+import com.fbc.ai.domain.dto.ApiResponseDto;
+import com.fbc.ai.domain.dto.IngestionJobDto;
+import com.fbc.ai.service.rag.IngestionJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * 비동기 문서 적재 작업 API 컨트롤러
+ *
+ * 문서를 접수하면 작업 ID 를 바로 돌려주고, 작업 상태는 조회 또는 SSE 로 확인합니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/rag/jobs")
+@Tag(name = "RAG 적재 작업 API", description = "대용량 문서를 비동기로 적재하고 진행 상황을 확인하는 API")
+public class IngestionJobController {
+    private final IngestionJobService ingestionJobService;
+
+    public IngestionJobController(IngestionJobService ingestionJobService) {
+        this.ingestionJobService = ingestionJobService;
+    }
+
+    /**
+     * 문서 적재 작업을 접수합니다.
+     */
+    @Operation(
+            summary = "문서 적재 작업 접수",
+            description = "파일을 접수하고 작업 ID 를 바로 반환합니다. 적재는 작업 스레드에서 진행됩니다."
+    )
+    @ApiResponse(
+            responseCode = "202",
+            description = "작업 접수 성공",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "400", description = "잘못된 요청")
+    @ApiResponse(responseCode = "503", description = "적재 대기열이 가득 참")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDto<IngestionJobDto>> submitJob(
+            @Parameter(description = "업로드할 파일", required = true)
+            @RequestParam("file") MultipartFile file,
+
+            @Parameter(description = "버킷 ID (선택사항, 기본값은 설정된 기본 버킷)")
+            @RequestParam(value = "bucketId", required = false) String bucketId
+    ) {
+        log.info("문서 적재 작업 요청 받음: {}", file.getOriginalFilename());
+
+        if (file.isEmpty()) {
+            log.warn("빈 파일이 업로드됨");
+            return ResponseEntity.badRequest().body(new ApiResponseDto<>(false, "업로드된 파일이 비어있습니다."));
+        }
+
+        IngestionJobDto job = ingestionJobService.submit(file, bucketId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponseDto<>(true, job));
+    }
+
+    /**
+     * 작업 상태를 조회합니다.
+     */
+    @Operation(summary = "문서 적재 작업 조회", description = "작업 상태와 단계별 진행 수(페이지, 청크)를 반환합니다.")
+    @ApiResponse(
+            responseCode = "200",
+            description = "조회 성공",
+            content = @Content(schema = @Schema(implementation = ApiResponseDto.class))
+    )
+    @ApiResponse(responseCode = "404", description = "작업 없음")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponseDto<IngestionJobDto>> getJob(
+            @Parameter(description = "작업 ID", required = true) @PathVariable String jobId
+    ) {
+        return ingestionJobService.find(jobId)
+                .map(job -> ResponseEntity.ok(new ApiResponseDto<>(true, job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponseDto<>(false, "작업을 찾을 수 없습니다: " + jobId)));
+    }
+
+    /**
+     * 작업 진행 이벤트를 SSE 로 전달합니다.
+     */
+    @Operation(
+            summary = "문서 적재 작업 진행 이벤트 (SSE)",
+            description = "현재 상태부터 진행 상황이 바뀔 때마다 이벤트를 보내고, 작업이 끝나면 스트림을 닫습니다. 이벤트 이름은 작업 상태입니다."
+    )
+    @ApiResponse(responseCode = "200", description = "구독 성공")
+    @ApiResponse(responseCode = "404", description = "작업 없음")
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<IngestionJobDto>> jobEvents(
+            @Parameter(description = "작업 ID", required = true) @PathVariable String jobId
+    ) {
+        return ingestionJobService.events(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다: " + jobId))
+                .map(job -> ServerSentEvent.builder(job)
+                        .event(job.getStatus().toLowerCase())
+                        .build());
+    }
+}
@@ -6,6 +6,7 @@ import com.fbc.ai.domain.dto.ApiResponseMetaDto;
 import com.fbc.ai.service.ApiMetaService;
 import com.fbc.ai.service.ChatService;
 import com.fbc.ai.service.RagService;
+import com.fbc.ai.service.rag.SemanticAnswerCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,6 +18,7 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.document.Document;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.vectorstore.VectorStore;
@@ -28,7 +30,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * PDF 문서 기반 질의응답 API 컨트롤러
@@ -44,6 +49,7 @@ public class PdfController {
     private final OpenAiApi openAiApi;
     private final OpenAiConfig openAiConfig;
     private final ApiMetaService apiMetaService;
+    private final SemanticAnswerCache answerCache;
     private final RagService ragService;
 
     // # 6.단계 : 프롬프트 생성(Create Prompt)
@@ -67,10 +73,11 @@ public class PdfController {
             답변은 한글로 해줘
      */
 
-    public PdfController(OpenAiApi openAiApi, OpenAiConfig openAiConfig, VectorStore vectorStore, ChatService chatService, ApiMetaService apiMetaService, RagService ragService) {
+    public PdfController(OpenAiApi openAiApi, OpenAiConfig openAiConfig, VectorStore vectorStore, ChatService chatService, ApiMetaService apiMetaService, RagService ragService, SemanticAnswerCache answerCache) {
         this.openAiApi = openAiApi;
         this.openAiConfig = openAiConfig;
         this.apiMetaService = apiMetaService;
+        this.answerCache = answerCache;
         this.ragService = ragService;
     }
 
@@ -114,7 +121,21 @@ public class PdfController {
 
             Map<String, Object> promptsParameters = new HashMap<>();
             promptsParameters.put("input", question);
-            promptsParameters.put("documents", ragService.findSimilarData(question));
+            // 검색된 청크가 같고 비슷한 질문에 대한 답변이 있으면 LLM 을 호출하지 않는다
+            List<Document> documents = ragService.findSimilarDocuments(question, null);
+            SemanticAnswerCache.Probe probe = answerCache.lookup(SemanticAnswerCache.NAMESPACE_PDF, modelToUse, question, documents, null);
+            Optional<String> cachedAnswer = probe.answer();
+            if (cachedAnswer.isPresent()) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("answer", cachedAnswer.get());
+                data.put("cached", true);
+                return ResponseEntity.ok(
+                        new ApiResponseDto<>(true, data, new ApiResponseMetaDto(0, 0, 0, modelToUse))
+                );
+            }
+            promptsParameters.put("documents", documents.stream()
+                    .map(Document::getText)
+                    .collect(Collectors.joining("\n\n")));
 
             // 모델 옵션 설정
             ChatOptions chatOptions = ChatOptions.builder()
@@ -135,6 +156,7 @@ public class PdfController {
             String answer = response.getResult().getOutput().getText();
 
             log.debug("AI 응답 생성 완료: {}", answer);
+            answerCache.put(probe, answer);
 
             // 메타데이터 추출
             ApiResponseMetaDto metadata = apiMetaService.extractMetadata(response, modelToUse);
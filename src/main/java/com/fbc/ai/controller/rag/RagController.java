@@ -4,6 +4,7 @@ import com.fbc.ai.config.OpenAiConfig;
 import com.fbc.ai.domain.dto.*;
 import com.fbc.ai.service.ApiMetaService;
 import com.fbc.ai.service.RagService;
+import com.fbc.ai.service.rag.SemanticAnswerCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,7 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.document.Document;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.http.HttpStatus;
@@ -25,7 +27,10 @@ import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * RAG(Retrieval-Augmented Generation) API 컨트롤러
@@ -41,6 +46,7 @@ public class RagController {
     private final OpenAiApi openAiApi;
     private final OpenAiConfig openAiConfig;
     private final ApiMetaService apiMetaService;
+    private final SemanticAnswerCache answerCache;
 
     // # 6.단계 : 프롬프트 생성(Create Prompt)
     private String prompt = """
@@ -63,11 +69,12 @@ public class RagController {
             답변은 한글로 해줘
      */
 
-    public RagController(RagService ragService, OpenAiApi openAiApi, OpenAiConfig openAiConfig, ApiMetaService apiMetaService) {
+    public RagController(RagService ragService, OpenAiApi openAiApi, OpenAiConfig openAiConfig, ApiMetaService apiMetaService, SemanticAnswerCache answerCache) {
         this.ragService = ragService;
         this.openAiApi = openAiApi;
         this.openAiConfig = openAiConfig;
         this.apiMetaService = apiMetaService;
+        this.answerCache = answerCache;
     }
 
     /**
@@ -147,11 +154,13 @@ public class RagController {
             @Parameter(description = "질문 내용", required = true, example = "가디언 에이전트가 2030년까지 에이전틱 AI 시장에서 몇%를 차지할 것으로 예측해?")
             @RequestParam String question,
             @Parameter(description = "사용할 OpenAI 모델", required = false, example = "gpt-3.5-turbo")
-            @RequestParam(required = false) String model
+            @RequestParam(required = false) String model,
+            @Parameter(description = "검색할 버킷 ID 목록 (생략하면 전체 문서 검색)", required = false, example = "bucket-1")
+            @RequestParam(required = false) List<String> bucketIds
     ) {
         // 모델이 지정되지 않은 경우 기본 모델 사용
         String modelToUse = (model != null && !model.isBlank()) ? model : openAiConfig.getDefaultModel();
-        log.info("PDF QA API 요청 받음: question={}, model={}", question, modelToUse);
+        log.info("PDF QA API 요청 받음: question={}, model={}, bucketIds={}", question, modelToUse, bucketIds);
 
         // 유효성 검사
         if (question == null || question.isBlank()) {
@@ -166,7 +175,21 @@ public class RagController {
 
             Map<String, Object> promptsParameters = new HashMap<>();
             promptsParameters.put("input", question);
-            promptsParameters.put("documents", ragService.findSimilarData(question));
+            // 검색된 청크가 같고 비슷한 질문에 대한 답변이 있으면 LLM 을 호출하지 않는다
+            List<Document> documents = ragService.findSimilarDocuments(question, bucketIds);
+            SemanticAnswerCache.Probe probe = answerCache.lookup(SemanticAnswerCache.NAMESPACE_RAG, modelToUse, question, documents, bucketIds);
+            Optional<String> cachedAnswer = probe.answer();
+            if (cachedAnswer.isPresent()) {
+                Map<String, Object> data = new HashMap<>();
+                data.put("answer", cachedAnswer.get());
+                data.put("cached", true);
+                return ResponseEntity.ok(
+                        new ApiResponseDto<>(true, data, new ApiResponseMetaDto(0, 0, 0, modelToUse))
+                );
+            }
+            promptsParameters.put("documents", documents.stream()
+                    .map(Document::getText)
+                    .collect(Collectors.joining("\n\n")));
 
             // 모델 옵션 설정
             ChatOptions chatOptions = ChatOptions.builder()
@@ -187,6 +210,7 @@ public class RagController {
             String answer = response.getResult().getOutput().getText();
 
             log.debug("AI 응답 생성 완료: {}", answer);
+            answerCache.put(probe, answer);
 
             // 메타데이터 추출
             ApiResponseMetaDto metadata = apiMetaService.extractMetadata(response, modelToUse);
@@ -7,6 +7,7 @@ import org.springframework.ai.openai.audio.speech.SpeechPrompt;
 import org.springframework.ai.openai.audio.speech.SpeechResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -29,8 +30,8 @@ public class TTSController {
     @PostMapping("/upload")                                                                                                     //     tts.txt
     public ResponseEntity<StreamingResponseBody> uploadFile(@RequestParam("file") MultipartFile file)
             throws IOException {
-        // 업로드된 파일의 텍스트 내용 읽기
-        String content = new String(file.getBytes(), StandardCharsets.UTF_8);
+        // 업로드된 파일의 텍스트 내용 읽기 (바이트 배열로 한 번 더 올리지 않고 스트림에서 바로 디코딩)
+        String content = StreamUtils.copyToString(file.getInputStream(), StandardCharsets.UTF_8);
 
         OpenAiAudioSpeechOptions options = OpenAiAudioSpeechOptions.builder()
                 .voice(OpenAiAudioApi.SpeechRequest.Voice.ALLOY)
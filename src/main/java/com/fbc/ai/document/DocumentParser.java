@@ -2,6 +2,7 @@ package com.fbc.ai.document;
 
 import org.springframework.ai.document.Document;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
 import java.util.List;
@@ -24,4 +25,22 @@ public interface DocumentParser {
      */
     List<Document> parse(MultipartFile file) throws IOException;
 
+    /**
+     * 파일을 파싱하여 Document 를 하나씩(예: PDF 페이지 단위) 내보냅니다.
+     * 구독하는 쪽이 요청한 만큼만 파싱하도록 구현하면 큰 파일도 전체를 메모리에 올리지 않습니다.
+     * 기본 구현은 {@link #parse(MultipartFile)} 결과를 그대로 내보냅니다.
+     *
+     * @param file 업로드된 MultipartFile
+     * @return Document 스트림
+     */
+    default Flux<Document> parseStream(MultipartFile file) {
+        return Flux.defer(() -> {
+            try {
+                return Flux.fromIterable(parse(file));
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+        });
+    }
+
 }
@@ -0,0 +1,122 @@
+package com.fbc.ai.document;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 임시 파일에 옮겨 둔 업로드 파일
+ *
+ * 요청이 끝나면 서블릿 컨테이너가 업로드 파일을 지우므로, 요청 이후에 파싱하는 작업은
+ * 먼저 {@link #spool(MultipartFile, Path)} 로 파일을 옮겨 두고 작업이 끝나면 {@link #delete()} 합니다.
+ * 파서는 {@link #getPath()} 로 파일을 직접(메모리 매핑, 버퍼 랜덤 액세스) 읽을 수 있습니다.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    public SpooledMultipartFile(Path path, String name, String originalFilename, String contentType) throws IOException {
+        this.path = path;
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = Files.size(path);
+    }
+
+    /**
+     * 업로드 파일을 directory 아래 임시 파일로 옮깁니다.
+     * 서블릿 컨테이너가 디스크에 받아 둔 파일은 transferTo 로 이동하므로 본문을 힙으로 읽지 않습니다.
+     * (옮긴 뒤에는 원래 MultipartFile 을 다시 읽을 수 없음)
+     */
+    public static SpooledMultipartFile spool(MultipartFile file, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path path = Files.createTempFile(directory, "upload-", ".tmp").toAbsolutePath();
+        try {
+            file.transferTo(path.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new SpooledMultipartFile(path, file.getName(), file.getOriginalFilename(), file.getContentType());
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 임시 파일을 지웁니다.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * 임시 파일을 가리키는 리소스 (파일 이름은 원래 업로드 파일 이름)
+     */
+    @Override
+    public Resource getResource() {
+        return new FileSystemResource(path) {
+            @Override
+            public String getFilename() {
+                return originalFilename != null ? originalFilename : super.getFilename();
+            }
+        };
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
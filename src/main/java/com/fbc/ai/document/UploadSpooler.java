@@ -0,0 +1,67 @@
+package com.fbc.ai.document;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * 업로드 파일을 힙에 올리지 않고 임시 파일로 옮겨 파서에 넘기는 업로드 처리 계층
+ *
+ * multipart 요청 본문은 서블릿 컨테이너가 디스크에 받아 두고(file-size-threshold 0),
+ * 이 계층이 transferTo 로 rag.ingest.spool-dir 아래 임시 파일로 옮깁니다. (같은 파일 시스템이면 복사 없이 이동)
+ * 파서는 {@link SpooledMultipartFile#getPath()} 로 파일을 직접 읽으므로(PDF 는 메모리 매핑) 파일 크기와 관계없이 힙 사용량이 일정합니다.
+ */
+@Slf4j
+@Component
+public class UploadSpooler {
+
+    private final Path directory;
+
+    public UploadSpooler(@Value("${rag.ingest.spool-dir:${java.io.tmpdir}/rag-upload}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 옮깁니다. 이미 옮긴 파일이면 그대로 돌려줍니다.
+     * 옮긴 뒤에는 원래 MultipartFile 을 다시 읽을 수 없습니다.
+     */
+    public SpooledMultipartFile spool(MultipartFile file) throws IOException {
+        if (file instanceof SpooledMultipartFile spooled) {
+            return spooled;
+        }
+        return SpooledMultipartFile.spool(file, directory);
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 옮겨 action 에 넘기고, action 이 끝나면(성공, 실패, 취소) 이 계층이 만든 임시 파일을 지웁니다.
+     */
+    public <T> Mono<T> withSpooled(MultipartFile file, Function<SpooledMultipartFile, Mono<T>> action) {
+        boolean owned = !(file instanceof SpooledMultipartFile);
+        return Mono.using(() -> {
+            try {
+                return spool(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("업로드 파일 저장 중 오류: " + e.getMessage(), e);
+            }
+        }, action, spooled -> {
+            if (owned) {
+                deleteQuietly(spooled);
+            }
+        });
+    }
+
+    private static void deleteQuietly(SpooledMultipartFile file) {
+        try {
+            file.delete();
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", file.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.fbc.ai.document.parser;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 큰 PDF 의 페이지 범위를 여러 구간(slice)으로 나누어 동시에 텍스트를 추출합니다.
+ *
+ * PDDocument 는 스레드 안전하지 않으므로 구간마다 PDF 를 따로 열고, 각자 자기 페이지 범위만 추출합니다.
+ * 첫 구간은 페이지 수를 세려고 연 문서로 호출한 스레드에서 추출하고, 나머지 구간은 작업 스레드에서 추출한 뒤 페이지 순서대로 합칩니다.
+ * 페이지 수가 구간 최소 크기(document.pdf.min-pages-per-slice)의 2배보다 적으면 나누지 않고 한 번에 추출합니다.
+ * {@link #extractStream} 은 같은 방식으로 추출하되, 앞 구간이 끝나는 대로 페이지 순서대로 내보냅니다.
+ */
+@Slf4j
+@Component
+public class ParallelPdfExtractor {
+
+    private final int parallelism;
+    private final int minPagesPerSlice;
+    private final ExecutorService workers;
+
+    /**
+     * PDF 를 새로 엽니다. 구간마다 한 번씩 호출되며 연 문서는 추출기가 닫습니다.
+     */
+    @FunctionalInterface
+    public interface PdfLoader {
+        PDDocument load() throws IOException;
+    }
+
+    /**
+     * startPage ~ endPage (1부터 시작, 끝 포함) 범위를 추출합니다.
+     */
+    @FunctionalInterface
+    public interface SliceExtractor<T> {
+        List<T> extract(PDDocument pdf, int startPage, int endPage) throws IOException;
+    }
+
+    /**
+     * @param parallelism      동시에 추출하는 구간 수 (0 이하면 CPU 코어 수)
+     * @param minPagesPerSlice 구간 1개의 최소 페이지 수
+     */
+    public ParallelPdfExtractor(@Value("${document.pdf.parallelism:0}") int parallelism,
+                                @Value("${document.pdf.min-pages-per-slice:16}") int minPagesPerSlice) {
+        if (minPagesPerSlice < 1) {
+            throw new IllegalArgumentException("구간 최소 페이지 수는 1 이상이어야 합니다.");
+        }
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minPagesPerSlice = minPagesPerSlice;
+
+        // 첫 구간은 호출한 스레드가 추출하므로 작업 스레드는 parallelism - 1 개
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = this.parallelism < 2 ? null : Executors.newFixedThreadPool(this.parallelism - 1, runnable -> {
+            Thread thread = new Thread(runnable, "pdf-extract-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 단일 스레드로만 추출하는 추출기 (테스트, 벤치마크 기준선)
+     */
+    public static ParallelPdfExtractor sequential() {
+        return new ParallelPdfExtractor(1, Integer.MAX_VALUE);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 전체 페이지를 추출하여 구간 순서대로 이어 붙인 결과를 돌려줍니다.
+     */
+    public <T> List<T> extract(PdfLoader loader, SliceExtractor<T> extractor) throws IOException {
+        try (PDDocument first = loader.load()) {
+            int pageCount = first.getNumberOfPages();
+            int slices = sliceCount(pageCount);
+            if (slices <= 1) {
+                return pageCount == 0 ? List.of() : extractor.extract(first, 1, pageCount);
+            }
+
+            int pagesPerSlice = (pageCount + slices - 1) / slices;
+            List<CompletableFuture<List<T>>> rest = new ArrayList<>(slices - 1);
+            // 첫 구간 추출이나 다른 구간이 실패해도 남은 구간을 취소한다 (끝난 구간의 취소는 아무 일도 하지 않음)
+            try {
+                submitRest(loader, extractor, pageCount, pagesPerSlice, rest);
+                log.debug("PDF 병렬 추출: {}페이지, 구간 {}개 ({}페이지씩)", pageCount, rest.size() + 1, pagesPerSlice);
+
+                List<T> results = new ArrayList<>(extractor.extract(first, 1, pagesPerSlice));
+                for (CompletableFuture<List<T>> slice : rest) {
+                    results.addAll(slice.join());
+                }
+                return results;
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            } finally {
+                rest.forEach(slice -> slice.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * 전체 페이지를 구간으로 나누어 동시에 추출하면서, 결과를 구간 순서대로 내보냅니다. 구독할 때 추출을 시작합니다.
+     * 첫 구간은 구독한 스레드에서 추출하므로 나머지 구간을 기다리지 않고 바로 내보내며,
+     * 나누지 않는 작은 PDF 는 요청받을 때마다 한 페이지씩 추출합니다.
+     * 구독이 끝나거나 취소되면 시작하지 않은 구간을 취소하고 PDF 를 닫습니다.
+     */
+    public <T> Flux<T> extractStream(PdfLoader loader, SliceExtractor<T> extractor) {
+        return Flux.using(loader::load, first -> {
+            int pageCount = first.getNumberOfPages();
+            int slices = sliceCount(pageCount);
+            if (slices <= 1) {
+                return Flux.range(1, pageCount)
+                        .concatMapIterable(page -> extractSlice(first, extractor, page, page));
+            }
+
+            int pagesPerSlice = (pageCount + slices - 1) / slices;
+            List<CompletableFuture<List<T>>> rest = new ArrayList<>(slices - 1);
+            try {
+                submitRest(loader, extractor, pageCount, pagesPerSlice, rest);
+            } catch (RuntimeException e) {
+                rest.forEach(slice -> slice.cancel(true));
+                throw e;
+            }
+            log.debug("PDF 병렬 스트림 추출: {}페이지, 구간 {}개 ({}페이지씩)", pageCount, rest.size() + 1, pagesPerSlice);
+
+            List<Mono<List<T>>> ordered = new ArrayList<>(rest.size() + 1);
+            ordered.add(Mono.fromCallable(() -> extractor.extract(first, 1, pagesPerSlice)));
+            rest.forEach(slice -> ordered.add(Mono.fromFuture(slice)
+                    .onErrorMap(CompletionException.class, ParallelPdfExtractor::unwrap)
+                    .onErrorMap(UncheckedIOException.class, UncheckedIOException::getCause)));
+            return Flux.concat(ordered)
+                    .concatMapIterable(slice -> slice)
+                    .doFinally(signal -> rest.forEach(slice -> slice.cancel(true)));
+        }, ParallelPdfExtractor::closeDocument);
+    }
+
+    /**
+     * 첫 구간을 뺀 나머지 구간을 작업 스레드에 맡기고, 맡긴 순서대로 rest 에 담습니다.
+     * (도중에 거절되어도 이미 맡긴 구간을 호출한 쪽이 취소할 수 있도록 rest 에 바로 담음)
+     */
+    private <T> void submitRest(PdfLoader loader, SliceExtractor<T> extractor, int pageCount, int pagesPerSlice,
+                                List<CompletableFuture<List<T>>> rest) {
+        for (int start = 1 + pagesPerSlice; start <= pageCount; start += pagesPerSlice) {
+            int startPage = start;
+            int endPage = Math.min(pageCount, start + pagesPerSlice - 1);
+            rest.add(CompletableFuture.supplyAsync(() -> extractSlice(loader, extractor, startPage, endPage), workers));
+        }
+    }
+
+    /**
+     * 페이지 수에 맞춰 나눌 구간 수
+     */
+    int sliceCount(int pageCount) {
+        return Math.max(1, Math.min(parallelism, pageCount / minPagesPerSlice));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> extractSlice(PDDocument pdf, SliceExtractor<T> extractor, int startPage, int endPage) {
+        try {
+            return extractor.extract(pdf, startPage, endPage);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Throwable unwrap(CompletionException e) {
+        return e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static void closeDocument(PDDocument pdf) {
+        try {
+            pdf.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> List<T> extractSlice(PdfLoader loader, SliceExtractor<T> extractor, int startPage, int endPage) {
+        try (PDDocument pdf = loader.load()) {
+            return extractor.extract(pdf, startPage, endPage);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
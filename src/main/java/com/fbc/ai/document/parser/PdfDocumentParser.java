@@ -1,46 +1,159 @@
 package com.fbc.ai.document.parser;
 
 import com.fbc.ai.document.DocumentParser;
+import com.fbc.ai.document.SpooledMultipartFile;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.reader.ExtractedTextFormatter;
 import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
 import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
-import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.ai.reader.pdf.layout.PDFLayoutTextStripperByArea;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
+import java.awt.Rectangle;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Pdf Document Parser
+ *
+ * 임시 파일로 옮긴 업로드 파일(SpooledMultipartFile)은 메모리 매핑(2GB 이상은 버퍼 랜덤 액세스)으로 열어
+ * PDF 전체를 힙 바이트 배열로 읽지 않습니다.
  */
 @Component
 public class PdfDocumentParser implements DocumentParser {
+
+    private static final String PAGE_REGION = "pdfPageRegion";
+
+    private final ParallelPdfExtractor extractor;
+
+    public PdfDocumentParser(ParallelPdfExtractor extractor) {
+        this.extractor = extractor;
+    }
+
     @Override
     public boolean supports(String fileExtension) {
         return "pdf".equalsIgnoreCase(fileExtension);
     }
 
+    /**
+     * 모든 페이지를 추출합니다. 페이지가 많으면 페이지 범위를 나누어 동시에 추출한 뒤 페이지 순서대로 합칩니다.
+     * 추출 결과는 PagePdfDocumentReader(페이지당 문서 1개)와 같습니다.
+     */
     @Override
     public List<Document> parse(MultipartFile file) throws IOException {
+        // # 1.단계 : 문서로드(Load Documents) - 구간마다 같은 파일(또는 바이트 배열)로 PDF 를 따로 연다
+        return extractor.extract(loader(file), pageExtractor(file.getOriginalFilename(), readerConfig()));
+    }
+
+    /**
+     * 페이지를 추출하는 대로 내보냅니다. 페이지가 많으면 parse 와 같이 페이지 범위를 나누어 동시에 추출하고,
+     * 앞 구간부터 페이지 순서대로 내보냅니다. 나누지 않는 PDF 는 요청받을 때마다 한 장씩 추출합니다.
+     * 추출 방식과 메타데이터(page_number, file_name)는 PagePdfDocumentReader(페이지당 문서 1개)와 같고,
+     * 구독이 끝나거나 취소되면 PDF 를 닫습니다.
+     */
+    @Override
+    public Flux<Document> parseStream(MultipartFile file) {
+        return Flux.defer(() -> {
+            try {
+                return extractor.extractStream(loader(file), pageExtractor(file.getOriginalFilename(), readerConfig()));
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+        });
+    }
 
-        PdfDocumentReaderConfig config = PdfDocumentReaderConfig.builder()
+    /**
+     * 임시 파일로 옮긴 업로드는 파일을 열고, 그 밖의 업로드는 한 번 읽은 바이트 배열로 엽니다.
+     */
+    private static ParallelPdfExtractor.PdfLoader loader(MultipartFile file) throws IOException {
+        if (file instanceof SpooledMultipartFile spooled) {
+            return () -> load(spooled.getPath());
+        }
+        byte[] bytes = file.getBytes();
+        return () -> load(bytes);
+    }
+
+    private static ParallelPdfExtractor.SliceExtractor<Document> pageExtractor(String fileName, PdfDocumentReaderConfig config) {
+        return (pdf, startPage, endPage) -> {
+            List<Document> documents = new ArrayList<>(endPage - startPage + 1);
+            for (int pageNumber = startPage; pageNumber <= endPage; pageNumber++) {
+                Document page = extractPage(pdf.getPage(pageNumber - 1), pageNumber, fileName, config);
+                if (page != null) {
+                    documents.add(page);
+                }
+            }
+            return documents;
+        };
+    }
+
+    private static PdfDocumentReaderConfig readerConfig() {
+        return PdfDocumentReaderConfig.builder()
                     .withPageTopMargin(0)
                     .withPageExtractedTextFormatter(ExtractedTextFormatter.builder()
                             .withNumberOfTopTextLinesToDelete(0)
                             .build())
                     .withPagesPerDocument(1)
                     .build();
-        // # 1.단계 : 문서로드(Load Documents)
-        PagePdfDocumentReader pdfReader = new PagePdfDocumentReader(file.getResource() ,config);
-//        PagePdfDocumentReader pdfReader = new PagePdfDocumentReader(new ByteArrayResource(file.getBytes()) ,config);
+    }
+
+    private static PDDocument load(byte[] bytes) throws IOException {
+        return new PDFParser(new RandomAccessReadBuffer(bytes)).parse();
+    }
 
-        List<Document> documents = pdfReader.get();
+    /**
+     * 파일을 메모리 매핑하여 엽니다. (매핑한 페이지는 운영체제 페이지 캐시에 있으므로 구간마다 열어도 힙을 쓰지 않음)
+     * 매핑 버퍼 1개의 한도(2GB)를 넘는 파일은 버퍼 랜덤 액세스로 엽니다. 문서를 닫으면 파일도 닫힙니다.
+     */
+    static PDDocument load(Path path) throws IOException {
+        RandomAccessRead source = Files.size(path) < Integer.MAX_VALUE
+                ? new RandomAccessReadMemoryMappedFile(path.toFile())
+                : new RandomAccessReadBufferedFile(path.toFile());
+        try {
+            return new PDFParser(source).parse();
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
 
-        return documents;
+    private static Document extractPage(PDPage page, int pageNumber, String fileName, PdfDocumentReaderConfig config) {
+        try {
+            PDFLayoutTextStripperByArea stripper = new PDFLayoutTextStripperByArea();
+            PDRectangle mediaBox = page.getMediaBox();
+            int x0 = (int) mediaBox.getLowerLeftX();
+            int width = (int) mediaBox.getWidth();
+            int y0 = (int) mediaBox.getLowerLeftY() + config.pageTopMargin;
+            int height = (int) mediaBox.getHeight() - (config.pageTopMargin + config.pageBottomMargin);
+            stripper.addRegion(PAGE_REGION, new Rectangle(x0, y0, width, height));
+            stripper.extractRegions(page);
+            String text = stripper.getTextForRegion(PAGE_REGION);
+            if (!StringUtils.hasText(text)) {
+                return null;
+            }
+            Document document = new Document(config.pageExtractedTextFormatter.format(text, pageNumber));
+            document.getMetadata().put(PagePdfDocumentReader.METADATA_START_PAGE_NUMBER, pageNumber);
+            if (fileName != null) {
+                document.getMetadata().put(PagePdfDocumentReader.METADATA_FILE_NAME, fileName);
+            }
+            return document;
+        } catch (IOException e) {
+            throw new UncheckedIOException("PDF " + pageNumber + "페이지 텍스트 추출 실패", e);
+        }
     }
 
 }
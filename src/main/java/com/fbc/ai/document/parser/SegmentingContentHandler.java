@@ -0,0 +1,122 @@
+package com.fbc.ai.document.parser;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Tika 가 내보내는 본문 텍스트를 segmentCharacters 글자 남짓한 조각으로 잘라 바로 내보내는 SAX 핸들러
+ *
+ * 문서 전체를 문자열 하나로 모으지 않고, 블록 요소(문단, 표 행 등)가 끝날 때 버퍼가 segmentCharacters 이상이면 조각을 내보냅니다.
+ * 블록이 끝나지 않은 채 버퍼가 2배를 넘으면 그 자리에서 자릅니다.
+ * 텍스트를 받을 때마다 취소 여부, 누적 글자 수(maxCharacters), 스레드 CPU 시간(cpuLimitNanos)을 확인하고
+ * 한도를 넘으면 {@link LimitExceededException} 으로 파싱을 멈춥니다.
+ */
+class SegmentingContentHandler extends DefaultHandler {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** CPU 시간은 이 글자 수를 받을 때마다 확인한다 (호출 비용을 줄임) */
+    private static final int CPU_CHECK_INTERVAL = 64 * 1024;
+
+    private final int segmentCharacters;
+    private final long maxCharacters;
+    private final long cpuLimitNanos;
+    private final BooleanSupplier cancelled;
+    private final Consumer<String> segments;
+    private final long cpuStarted;
+    private final StringBuilder buffer;
+    private long characters;
+    private long nextCpuCheck = CPU_CHECK_INTERVAL;
+
+    /**
+     * 파싱 한도를 넘었거나 파싱이 취소됨
+     */
+    static class LimitExceededException extends SAXException {
+        LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param segmentCharacters 조각 1개의 목표 글자 수
+     * @param maxCharacters     문서 1개에서 받을 최대 글자 수
+     * @param cpuLimitNanos     문서 1개의 최대 CPU 시간 (0 이하면 제한 없음, 파싱 스레드에서 생성해야 함)
+     * @param cancelled         true 를 돌려주면 파싱을 멈춤 (시간 초과, 구독 취소)
+     * @param segments          조각을 받을 곳
+     */
+    SegmentingContentHandler(int segmentCharacters, long maxCharacters, long cpuLimitNanos,
+                             BooleanSupplier cancelled, Consumer<String> segments) {
+        this.segmentCharacters = segmentCharacters;
+        this.maxCharacters = maxCharacters;
+        this.cpuLimitNanos = cpuLimitNanos;
+        this.cancelled = cancelled;
+        this.segments = segments;
+        this.cpuStarted = cpuLimitNanos > 0 ? THREADS.getCurrentThreadCpuTime() : 0;
+        this.buffer = new StringBuilder(segmentCharacters * 2);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        checkLimits(length);
+        buffer.append(ch, start, length);
+        if (buffer.length() >= segmentCharacters * 2) {
+            flush();
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        // Tika 의 XHTML 출력은 블록 요소 뒤 줄바꿈을 ignorableWhitespace 로 보낸다
+        characters(ch, start, length);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if (cancelled.getAsBoolean()) {
+            throw new LimitExceededException("파싱이 취소되었습니다.");
+        }
+        if (buffer.length() >= segmentCharacters) {
+            flush();
+        }
+    }
+
+    @Override
+    public void endDocument() {
+        flush();
+    }
+
+    long characters() {
+        return characters;
+    }
+
+    private void checkLimits(int length) throws LimitExceededException {
+        if (cancelled.getAsBoolean()) {
+            throw new LimitExceededException("파싱이 취소되었습니다.");
+        }
+        characters += length;
+        if (characters > maxCharacters) {
+            throw new LimitExceededException("문서 텍스트가 최대 글자 수(" + maxCharacters + ")를 넘었습니다.");
+        }
+        if (cpuLimitNanos > 0 && characters >= nextCpuCheck) {
+            nextCpuCheck = characters + CPU_CHECK_INTERVAL;
+            long used = THREADS.getCurrentThreadCpuTime() - cpuStarted;
+            if (used > cpuLimitNanos) {
+                throw new LimitExceededException("문서 파싱 CPU 시간이 한도("
+                        + TimeUnit.NANOSECONDS.toMillis(cpuLimitNanos) + "ms)를 넘었습니다.");
+            }
+        }
+    }
+
+    private void flush() {
+        if (!buffer.isEmpty() && !buffer.toString().isBlank()) {
+            segments.accept(buffer.toString());
+        }
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.fbc.ai.document.parser;
+
+import com.fbc.ai.document.DocumentParser;
+import org.springframework.ai.document.Document;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DOCX, PPTX, XLSX, HTML Document Parser
+ *
+ * 요청 스레드에서 문서마다 TikaDocumentReader 를 만들지 않고, TikaParsingPool 의 작업 스레드에서
+ * 공유 파서로 파싱하며 본문을 조각(Document) 단위로 내보냅니다.
+ */
+@Component
+public class TikaDocumentParser implements DocumentParser {
+
+    private static final Set<String> EXTENSIONS = Set.of("docx", "pptx", "xlsx", "html", "htm");
+
+    private final TikaParsingPool pool;
+
+    public TikaDocumentParser(TikaParsingPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean supports(String fileExtension) {
+        return fileExtension != null && EXTENSIONS.contains(fileExtension.toLowerCase());
+    }
+
+    @Override
+    public List<Document> parse(MultipartFile file) throws IOException {
+        return pool.parse(file).collectList().block();
+    }
+
+    /**
+     * 파싱하는 동안 본문 조각을 하나씩 내보냅니다.
+     */
+    @Override
+    public Flux<Document> parseStream(MultipartFile file) {
+        return pool.parse(file);
+    }
+}
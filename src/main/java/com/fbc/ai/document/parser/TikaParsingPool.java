@@ -0,0 +1,293 @@
+package com.fbc.ai.document.parser;
+
+import com.fbc.ai.document.SpooledMultipartFile;
+import com.fbc.ai.exception.DocumentProcessingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tika 로 DOCX, PPTX, XLSX, HTML 문서를 파싱하는 작업 스레드 풀
+ *
+ * <ul>
+ *     <li>파서와 형식 감지기는 기동 시 한 번 만들어 모든 문서가 함께 씀 (Tika 파서는 스레드 안전)</li>
+ *     <li>파싱은 요청 스레드가 아닌 workers 개 작업 스레드에서 실행하고, 대기열(queue-capacity)이 가득 차면 503 으로 거절</li>
+ *     <li>문서마다 시간(timeout), CPU 시간(cpu-limit), 텍스트 글자 수(max-characters) 한도를 두고, 넘으면 파싱을 멈춤</li>
+ *     <li>본문은 SAX 핸들러가 segment-characters 글자 남짓한 조각으로 잘라 파싱하는 동안 바로 내보냄 (문서 전체를 문자열 하나로 모으지 않음)</li>
+ *     <li>구독자가 요청한 만큼만 조각을 내보내고, 요청이 없으면 작업 스레드가 기다림 (임베딩이 느리면 파싱도 멈추므로 조각이 쌓이지 않음).
+ *     기다리는 시간은 파싱 시간 한도에 넣지 않음</li>
+ * </ul>
+ * 시간 초과나 구독 취소 시 작업 스레드를 인터럽트하고, 핸들러가 다음 텍스트나 요소를 받을 때 파싱을 멈춥니다.
+ * (JVM 안에서는 스레드를 강제로 멈출 수 없으므로, 출력 없이 멈춘 파서는 인터럽트에 반응할 때까지 작업 스레드 1개를 점유합니다)
+ */
+@Slf4j
+@Component
+public class TikaParsingPool {
+
+    public static final String METADATA_SEGMENT = "segment";
+
+    private static final String COMPLETED = "completed";
+    private static final String TIMED_OUT = "timed-out";
+    private static final String CANCELLED = "cancelled";
+
+    private final Parser parser;
+    private final Detector detector;
+    private final Duration timeout;
+    private final Duration cpuLimit;
+    private final long maxCharacters;
+    private final int segmentCharacters;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * @param workers           동시에 파싱하는 문서 수
+     * @param queueCapacity     파싱을 기다릴 수 있는 문서 수
+     * @param timeout           문서 1개의 최대 파싱 시간
+     * @param cpuLimit          문서 1개의 최대 CPU 시간 (0 이면 제한 없음)
+     * @param maxCharacters     문서 1개에서 추출할 최대 글자 수
+     * @param segmentCharacters 조각(Document) 1개의 목표 글자 수
+     */
+    public TikaParsingPool(@Value("${document.tika.workers:2}") int workers,
+                           @Value("${document.tika.queue-capacity:16}") int queueCapacity,
+                           @Value("${document.tika.timeout:60s}") Duration timeout,
+                           @Value("${document.tika.cpu-limit:30s}") Duration cpuLimit,
+                           @Value("${document.tika.max-characters:20000000}") long maxCharacters,
+                           @Value("${document.tika.segment-characters:4000}") int segmentCharacters) {
+        if (workers < 1 || queueCapacity < 1 || maxCharacters < 1 || segmentCharacters < 1) {
+            throw new IllegalArgumentException("workers, queue-capacity, max-characters, segment-characters 는 1 이상이어야 합니다.");
+        }
+        TikaConfig config = TikaConfig.getDefaultConfig();
+        this.parser = config.getParser();
+        this.detector = config.getDetector();
+        this.timeout = timeout;
+        this.cpuLimit = cpuLimit;
+        this.maxCharacters = maxCharacters;
+        this.segmentCharacters = segmentCharacters;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "tika-parse-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tika-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 문서를 작업 스레드에서 파싱하면서 본문 조각을 하나씩 내보냅니다. 구독할 때 파싱을 시작합니다.
+     * 조각의 메타데이터는 source(파일 이름), segment(0부터 순번) 입니다.
+     */
+    public Flux<Document> parse(MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        return Flux.create(sink -> {
+            // 파싱 결과가 정해지면(완료, 시간 초과, 구독 취소) 한 번만 기록된다
+            AtomicReference<String> outcome = new AtomicReference<>();
+            Demand demand = new Demand();
+            sink.onRequest(demand::add);
+            Future<?> task;
+            try {
+                task = workers.submit(() -> run(file, fileName, sink, outcome, demand));
+            } catch (RejectedExecutionException e) {
+                log.warn("문서 파싱 대기열이 가득 찼습니다: {}", fileName);
+                sink.error(new DocumentProcessingException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "문서 파싱 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요."));
+                return;
+            }
+            sink.onDispose(() -> {
+                if (outcome.compareAndSet(null, CANCELLED)) {
+                    task.cancel(true);
+                }
+            });
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private void run(MultipartFile file, String fileName, FluxSink<Document> sink, AtomicReference<String> outcome,
+                     Demand demand) {
+        if (outcome.get() != null) {
+            return;
+        }
+        long started = System.nanoTime();
+        Thread worker = Thread.currentThread();
+        // 시간 한도는 대기열에서 꺼내 파싱을 시작할 때부터 잰다
+        Deadline deadline = new Deadline(watchdog, timeout, () -> {
+            if (outcome.compareAndSet(null, TIMED_OUT)) {
+                worker.interrupt();
+                log.warn("문서 파싱 시간 초과: {} - {}ms", fileName, timeout.toMillis());
+                sink.error(new DocumentProcessingException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "문서 파싱 중단: 파싱 시간이 한도(" + timeout.toMillis() + "ms)를 넘었습니다."));
+            }
+        });
+        deadline.start();
+
+        AtomicInteger segment = new AtomicInteger();
+        Metadata metadata = new Metadata();
+        if (fileName != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, fileName);
+        }
+        SegmentingContentHandler handler = new SegmentingContentHandler(segmentCharacters, maxCharacters,
+                cpuLimit.toNanos(), () -> outcome.get() != null || worker.isInterrupted(),
+                text -> {
+                    // 인터럽트(시간 초과, 구독 취소)로 깨어나면 내보내지 않고, 핸들러가 다음 텍스트에서 파싱을 멈춘다
+                    if (demand.await(deadline)) {
+                        sink.next(toDocument(text, fileName, segment.getAndIncrement()));
+                    }
+                });
+        // 임시 파일로 옮긴 업로드는 파일로 열어 OOXML 을 힙에 복사하지 않고 읽는다
+        try (TikaInputStream stream = file instanceof SpooledMultipartFile spooled
+                ? TikaInputStream.get(spooled.getPath(), metadata)
+                : TikaInputStream.get(file.getInputStream())) {
+            MediaType type = detector.detect(stream, metadata);
+            metadata.set(Metadata.CONTENT_TYPE, type.toString());
+            parser.parse(stream, new BodyContentHandler(handler), metadata, new ParseContext());
+            if (outcome.compareAndSet(null, COMPLETED)) {
+                log.debug("문서 파싱 완료: {}, 형식: {}, 글자: {}, 조각: {}, {}ms", fileName, type, handler.characters(),
+                        segment.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                sink.complete();
+            }
+        } catch (Exception e) {
+            // 시간 초과는 감시 스레드가 이미 알렸고, 구독 취소는 받을 곳이 없다
+            if (outcome.compareAndSet(null, COMPLETED)) {
+                SegmentingContentHandler.LimitExceededException limit = limitExceeded(e);
+                if (limit != null) {
+                    log.warn("문서 파싱 중단: {} - {}", fileName, limit.getMessage());
+                    sink.error(new DocumentProcessingException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "문서 파싱 중단: " + limit.getMessage()));
+                } else {
+                    log.error("문서 파싱 실패: {}", fileName, e);
+                    sink.error(new DocumentProcessingException("문서 파싱 실패: " + e.getMessage(), e));
+                }
+            }
+        } finally {
+            deadline.cancel();
+        }
+    }
+
+    /**
+     * 핸들러가 던진 한도 초과 예외 (파서가 TikaException 등으로 감싸서 던질 수 있음)
+     */
+    private static SegmentingContentHandler.LimitExceededException limitExceeded(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SegmentingContentHandler.LimitExceededException limit) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 구독자가 요청했지만 아직 내보내지 않은 조각 수
+     */
+    private static final class Demand {
+        private long requested;
+
+        synchronized void add(long n) {
+            requested = Long.MAX_VALUE - requested < n ? Long.MAX_VALUE : requested + n;
+            notifyAll();
+        }
+
+        /**
+         * 요청이 생길 때까지 기다렸다가 하나를 씁니다. 기다리는 동안은 파싱 시간 한도를 멈춥니다.
+         *
+         * @return 조각을 내보내도 되면 true, 기다리다 인터럽트되면 false (인터럽트 상태는 유지)
+         */
+        synchronized boolean await(Deadline deadline) {
+            if (requested == 0) {
+                deadline.pause();
+                try {
+                    while (requested == 0) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    deadline.start();
+                }
+            }
+            if (requested != Long.MAX_VALUE) {
+                requested--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 멈췄다 이어서 잴 수 있는 파싱 시간 한도
+     */
+    private static final class Deadline {
+        private final ScheduledExecutorService watchdog;
+        private final Runnable onTimeout;
+        private long remainingNanos;
+        private long startedNanos;
+        private ScheduledFuture<?> timer;
+
+        Deadline(ScheduledExecutorService watchdog, Duration timeout, Runnable onTimeout) {
+            this.watchdog = watchdog;
+            this.onTimeout = onTimeout;
+            this.remainingNanos = timeout.toNanos();
+        }
+
+        synchronized void start() {
+            startedNanos = System.nanoTime();
+            timer = watchdog.schedule(onTimeout, Math.max(remainingNanos, 0L), TimeUnit.NANOSECONDS);
+        }
+
+        synchronized void pause() {
+            timer.cancel(false);
+            remainingNanos -= System.nanoTime() - startedNanos;
+        }
+
+        synchronized void cancel() {
+            timer.cancel(false);
+        }
+    }
+
+    private static Document toDocument(String text, String fileName, int segment) {
+        Map<String, Object> metadata = new HashMap<>();
+        if (fileName != null) {
+            metadata.put("source", fileName);
+        }
+        metadata.put(METADATA_SEGMENT, segment);
+        return new Document(text, metadata);
+    }
+}
@@ -0,0 +1,275 @@
+package com.fbc.ai.document.splitter;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.knuddels.jtokkit.api.IntArrayList;
+import org.springframework.ai.transformer.splitter.TextSplitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 토큰 수 기준으로 텍스트를 자르는 분할기 (TokenTextSplitter 대체)
+ *
+ * TokenTextSplitter 는 호출마다 인코더를 만들고, 토큰 목록을 Integer 로 박싱하며, 청크마다 디코딩한 문자열을 다시 인코딩해서 다음 위치를 찾습니다.
+ * 이 분할기는 스레드 안전한 cl100k_base 인코더 하나를 공유하고, 텍스트를 한 번만 인코딩한 뒤 토큰 경계를 원문의 문자 위치로 바꾸어
+ * 원문을 한 번 훑으면서 청크 경계를 문자 위치(Span)로 냅니다. 청크 문자열은 원문의 부분 문자열이므로
+ * 토큰 경계가 한글 글자의 UTF-8 바이트 중간에 걸려도 깨진 문자(U+FFFD)가 생기지 않습니다.
+ *
+ * 청크를 나누는 규칙은 TokenTextSplitter 와 같습니다.
+ * <ul>
+ *     <li>chunkSize 토큰만큼 자른 뒤, 마지막 문장부호('.', '?', '!', 줄바꿈)가 청크 시작에서 minChunkSizeChars 보다 뒤에 있으면 그 뒤에서 자름</li>
+ *     <li>앞뒤 공백을 없앤 청크가 minChunkLengthToEmbed 보다 길 때만 내보냄</li>
+ *     <li>maxNumChunks 개를 만든 뒤 남은 텍스트는 한 청크로 붙임</li>
+ * </ul>
+ * overlapTokens 를 주면 다음 청크가 앞 청크의 마지막 overlapTokens 토큰부터 시작합니다. (기본 0, TokenTextSplitter 와 같음)
+ */
+public class OffsetTokenTextSplitter extends TextSplitter {
+
+    /**
+     * 인코더는 불변이라 여러 스레드에서 함께 써도 안전하다
+     */
+    private static final Encoding ENCODING = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    /**
+     * 토큰 ID 별 UTF-8 바이트 길이 (0 이면 아직 모름). cl100k_base 어휘 수(약 10만)보다 크게 잡는다.
+     * 같은 토큰은 늘 같은 값이 들어가므로 동시에 채워도 결과가 같다.
+     */
+    private static final int[] TOKEN_BYTES = new int[1 << 17];
+
+    private final int chunkSize;
+    private final int minChunkSizeChars;
+    private final int minChunkLengthToEmbed;
+    private final int maxNumChunks;
+    private final boolean keepSeparator;
+    private final int overlapTokens;
+
+    /**
+     * 원문 안 청크의 위치 [start, end)
+     */
+    public record Span(int start, int end) {
+
+        public int length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * TokenTextSplitter 기본값과 같은 분할기 (800 토큰, 최소 350자, 5자 이하 버림, 최대 10000개, 구분자 유지)
+     */
+    public OffsetTokenTextSplitter() {
+        this(800, 350, 5, 10000, true);
+    }
+
+    public OffsetTokenTextSplitter(int chunkSize, int minChunkSizeChars, int minChunkLengthToEmbed, int maxNumChunks,
+                                   boolean keepSeparator) {
+        this(chunkSize, minChunkSizeChars, minChunkLengthToEmbed, maxNumChunks, keepSeparator, 0);
+    }
+
+    /**
+     * @param chunkSize             청크 1개의 최대 토큰 수
+     * @param minChunkSizeChars     문장부호에서 자를 때 청크가 가져야 할 최소 글자 수
+     * @param minChunkLengthToEmbed 이 길이 이하인 청크는 버림
+     * @param maxNumChunks          최대 청크 수
+     * @param keepSeparator         false 면 청크에서 줄바꿈을 없앰
+     * @param overlapTokens         앞 청크와 겹치는 토큰 수 (chunkSize 보다 작아야 함)
+     */
+    public OffsetTokenTextSplitter(int chunkSize, int minChunkSizeChars, int minChunkLengthToEmbed, int maxNumChunks,
+                                   boolean keepSeparator, int overlapTokens) {
+        if (chunkSize <= 0 || maxNumChunks <= 0) {
+            throw new IllegalArgumentException("chunkSize 와 maxNumChunks 는 0보다 커야 합니다.");
+        }
+        if (overlapTokens < 0 || overlapTokens >= chunkSize) {
+            throw new IllegalArgumentException("overlapTokens 는 0 이상 chunkSize 미만이어야 합니다: " + overlapTokens);
+        }
+        this.chunkSize = chunkSize;
+        this.minChunkSizeChars = minChunkSizeChars;
+        this.minChunkLengthToEmbed = minChunkLengthToEmbed;
+        this.maxNumChunks = maxNumChunks;
+        this.keepSeparator = keepSeparator;
+        this.overlapTokens = overlapTokens;
+    }
+
+    @Override
+    protected List<String> splitText(String text) {
+        List<Span> spans = split(text);
+        List<String> chunks = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            chunks.add(chunkText(text, span));
+        }
+        return chunks;
+    }
+
+    /**
+     * 텍스트를 청크 경계(원문의 문자 위치)로 나눕니다. 각 위치는 앞뒤 공백을 뺀 청크 범위이며 원문 순서대로입니다.
+     * keepSeparator 가 false 면 splitText 가 내는 청크는 이 범위에서 줄바꿈을 뺀 문자열입니다.
+     */
+    public List<Span> split(CharSequence text) {
+        int length = text.length();
+        List<Span> spans = new ArrayList<>();
+        if (length == 0) {
+            return spans;
+        }
+
+        IntArrayList tokens = ENCODING.encodeOrdinary(text.toString());
+        int tokenCount = tokens.size();
+        int[] starts = tokenStarts(text, tokens);
+
+        int cursor = 0;
+        int token = 0;
+        int chunkCount = 0;
+        while (cursor < length && chunkCount < maxNumChunks) {
+            int endToken = Math.min(token + chunkSize, tokenCount);
+            int end = starts[endToken];
+            // 여러 토큰이 한 글자(4바이트 문자 등)를 나눠 가지면 다음 글자 경계까지 넓힌다
+            while (end <= cursor && endToken < tokenCount) {
+                end = starts[++endToken];
+            }
+            if (end <= cursor) {
+                end = length;
+            }
+
+            if (isBlank(text, cursor, end)) {
+                cursor = end;
+                token = endToken;
+                continue;
+            }
+
+            int lastPunctuation = lastPunctuation(text, cursor, end);
+            if (lastPunctuation != -1 && lastPunctuation - cursor > minChunkSizeChars) {
+                end = lastPunctuation + 1;
+            }
+            addSpan(spans, text, cursor, end);
+            chunkCount++;
+
+            // 다음 청크는 자른 위치를 포함하는 토큰부터 센다
+            int previousToken = token;
+            token = endToken;
+            while (token > 0 && starts[token] > end) {
+                token--;
+            }
+            int next = end;
+            if (overlapTokens > 0 && end < length) {
+                int overlapToken = Math.max(token - overlapTokens, previousToken + 1);
+                if (overlapToken < token && starts[overlapToken] > cursor) {
+                    token = overlapToken;
+                    next = starts[overlapToken];
+                }
+            }
+            cursor = next;
+        }
+
+        if (cursor < length) {
+            addSpan(spans, text, cursor, length);
+        }
+        return spans;
+    }
+
+    /**
+     * 청크 위치의 문자열
+     */
+    public String chunkText(CharSequence text, Span span) {
+        return chunkText(text, span, keepSeparator);
+    }
+
+    private static String chunkText(CharSequence text, Span span, boolean keepSeparator) {
+        String chunk = text.subSequence(span.start(), span.end()).toString();
+        return keepSeparator ? chunk : chunk.replace(System.lineSeparator(), "").trim();
+    }
+
+    /**
+     * 토큰마다 시작 문자 위치를 구한다. starts[i] 는 i번째 토큰의 첫 바이트가 속한 글자가 아니라,
+     * 앞 토큰들이 온전히 덮은 글자 다음 위치다. (글자 중간에서 시작하는 토큰은 그 글자를 다음 토큰에 넘긴다)
+     * starts[tokenCount] 는 텍스트 길이다.
+     */
+    private static int[] tokenStarts(CharSequence text, IntArrayList tokens) {
+        int length = text.length();
+        int tokenCount = tokens.size();
+        int[] starts = new int[tokenCount + 1];
+        int charPosition = 0;
+        long bytePosition = 0;
+        long tokenByteEnd = 0;
+        for (int i = 0; i < tokenCount; i++) {
+            starts[i] = charPosition;
+            tokenByteEnd += tokenBytes(tokens.get(i));
+            while (charPosition < length) {
+                char c = text.charAt(charPosition);
+                int chars = 1;
+                int bytes;
+                if (c < 0x80) {
+                    bytes = 1;
+                } else if (c < 0x800) {
+                    bytes = 2;
+                } else if (Character.isHighSurrogate(c) && charPosition + 1 < length
+                        && Character.isLowSurrogate(text.charAt(charPosition + 1))) {
+                    bytes = 4;
+                    chars = 2;
+                } else if (Character.isSurrogate(c)) {
+                    // 짝이 없는 서로게이트는 UTF-8 인코딩 시 '?' 1바이트가 된다
+                    bytes = 1;
+                } else {
+                    bytes = 3;
+                }
+                if (bytePosition + bytes > tokenByteEnd) {
+                    break;
+                }
+                bytePosition += bytes;
+                charPosition += chars;
+            }
+        }
+        starts[tokenCount] = length;
+        return starts;
+    }
+
+    private static int tokenBytes(int token) {
+        if (token < 0 || token >= TOKEN_BYTES.length) {
+            return decodedLength(token);
+        }
+        int bytes = TOKEN_BYTES[token];
+        if (bytes == 0) {
+            bytes = decodedLength(token);
+            TOKEN_BYTES[token] = bytes;
+        }
+        return bytes;
+    }
+
+    private static int decodedLength(int token) {
+        IntArrayList single = new IntArrayList(1);
+        single.add(token);
+        return ENCODING.decodeBytes(single).length;
+    }
+
+    private void addSpan(List<Span> spans, CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        Span span = new Span(start, end);
+        int chunkLength = keepSeparator ? span.length() : chunkText(text, span, false).length();
+        if (chunkLength > minChunkLengthToEmbed) {
+            spans.add(span);
+        }
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastPunctuation(CharSequence text, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            char c = text.charAt(i);
+            if (c == '.' || c == '?' || c == '!' || c == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
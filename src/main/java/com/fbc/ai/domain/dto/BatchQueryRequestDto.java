@@ -0,0 +1,37 @@
+package com.fbc.ai.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * 배치 검색 요청 데이터 모델
+ */
+@Schema(description = "배치 검색 요청 데이터 모델")
+public class BatchQueryRequestDto {
+    @Schema(description = "검색 질의 목록", example = "[\"체크인 시간은?\", \"조식은 몇 시까지인가요?\"]")
+    private final List<String> queries;
+
+    @Schema(description = "검색할 버킷 ID 목록 (선택사항)", example = "[\"bucket1\", \"bucket2\"]")
+    private final List<String> bucketIds;
+
+    @Schema(description = "질의별 최대 검색 결과 수", example = "3", defaultValue = "3")
+    private final int maxResults;
+
+    public BatchQueryRequestDto(List<String> queries, List<String> bucketIds, Integer maxResults) {
+        this.queries = queries;
+        this.bucketIds = bucketIds;
+        this.maxResults = maxResults != null ? maxResults : 3;
+    }
+
+    public List<String> getQueries() {
+        return queries;
+    }
+
+    public List<String> getBucketIds() {
+        return bucketIds;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+}
@@ -0,0 +1,52 @@
+package com.fbc.ai.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 일괄 적재 파일별 결과
+ */
+@Schema(description = "일괄 적재 파일별 결과")
+public class BulkIngestionFileResultDto {
+    @Schema(description = "파일 이름 (ZIP 또는 디렉터리 기준 상대 경로)")
+    private final String fileName;
+
+    @Schema(description = "처리 결과", allowableValues = {"SUCCESS", "SKIPPED", "FAILED"})
+    private final String status;
+
+    @Schema(description = "파싱한 페이지 수")
+    private final int pages;
+
+    @Schema(description = "저장한 청크 수")
+    private final int chunks;
+
+    @Schema(description = "건너뛰거나 실패한 사유")
+    private final String error;
+
+    public BulkIngestionFileResultDto(String fileName, String status, int pages, int chunks, String error) {
+        this.fileName = fileName;
+        this.status = status;
+        this.pages = pages;
+        this.chunks = chunks;
+        this.error = error;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
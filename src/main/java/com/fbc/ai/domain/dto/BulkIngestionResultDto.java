@@ -0,0 +1,129 @@
+package com.fbc.ai.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 일괄 적재 결과 (파일별 결과 목록과 전체 처리량)
+ */
+@Schema(description = "일괄 적재 결과")
+public class BulkIngestionResultDto {
+    @Schema(description = "버킷 ID")
+    private final String bucketId;
+
+    @Schema(description = "전체 파일 수")
+    private final int totalFiles;
+
+    @Schema(description = "적재한 파일 수")
+    private final int succeeded;
+
+    @Schema(description = "건너뛴 파일 수 (지원하지 않는 형식, 빈 파일)")
+    private final int skipped;
+
+    @Schema(description = "실패한 파일 수")
+    private final int failed;
+
+    @Schema(description = "파싱한 전체 페이지 수")
+    private final int pages;
+
+    @Schema(description = "저장한 전체 청크 수")
+    private final int chunks;
+
+    @Schema(description = "임베딩 저장소에서 재사용한 청크 수")
+    private final int reusedChunks;
+
+    @Schema(description = "거의 같은 청크가 이미 있어 저장하지 않은 청크 수")
+    private final int duplicateChunks;
+
+    @Schema(description = "임베딩/저장 배치 수")
+    private final int batches;
+
+    @Schema(description = "전체 소요 시간 (ms)")
+    private final long elapsedMillis;
+
+    @Schema(description = "초당 처리 파일 수")
+    private final double filesPerSecond;
+
+    @Schema(description = "초당 저장 청크 수")
+    private final double chunksPerSecond;
+
+    @Schema(description = "파일별 결과")
+    private final List<BulkIngestionFileResultDto> files;
+
+    public BulkIngestionResultDto(String bucketId, int totalFiles, int succeeded, int skipped, int failed,
+                                  int pages, int chunks, int reusedChunks, int duplicateChunks, int batches, long elapsedMillis,
+                                  List<BulkIngestionFileResultDto> files) {
+        this.bucketId = bucketId;
+        this.totalFiles = totalFiles;
+        this.succeeded = succeeded;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.pages = pages;
+        this.chunks = chunks;
+        this.reusedChunks = reusedChunks;
+        this.duplicateChunks = duplicateChunks;
+        this.batches = batches;
+        this.elapsedMillis = elapsedMillis;
+        double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+        this.filesPerSecond = succeeded / seconds;
+        this.chunksPerSecond = chunks / seconds;
+        this.files = files;
+    }
+
+    public String getBucketId() {
+        return bucketId;
+    }
+
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getReusedChunks() {
+        return reusedChunks;
+    }
+
+    public int getDuplicateChunks() {
+        return duplicateChunks;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getFilesPerSecond() {
+        return filesPerSecond;
+    }
+
+    public double getChunksPerSecond() {
+        return chunksPerSecond;
+    }
+
+    public List<BulkIngestionFileResultDto> getFiles() {
+        return files;
+    }
+}
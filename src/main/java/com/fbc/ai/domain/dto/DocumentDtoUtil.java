@@ -1,5 +1,11 @@
 package com.fbc.ai.domain.dto;
 
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Document DTO 관련 유틸리티 메서드
  */
@@ -24,6 +30,34 @@ public class DocumentDtoUtil {
         );
     }
     
+    /**
+     * VectorStore 검색 결과 Document 를 DocumentSearchResultDto 로 변환
+     *
+     * 결과 ID 는 청크를 만든 원본 문서 ID(메타데이터 "id")를 사용하고, 없으면 청크 ID 를 사용합니다.
+     * 메타데이터는 "id" 를 뺀 사본 하나만 만듭니다.
+     *
+     * @param document 검색 결과 Document
+     * @return 변환된 DocumentSearchResultDto 객체
+     */
+    public static DocumentSearchResultDto toDocumentSearchResultDto(Document document) {
+        Map<String, Object> metadata = new HashMap<>(document.getMetadata());
+        Object sourceId = metadata.remove("id");
+        String id = sourceId != null ? sourceId.toString() : document.getId();
+        String content = document.getText() != null ? document.getText() : "";
+        return new DocumentSearchResultDto(id, content, metadata, scoreOf(document));
+    }
+
+    /**
+     * 유사도 점수. score 가 없는 저장소는 distance 메타데이터(1 - 유사도)로 계산합니다.
+     */
+    private static double scoreOf(Document document) {
+        if (document.getScore() != null) {
+            return document.getScore();
+        }
+        Object distance = document.getMetadata().get(DocumentMetadata.DISTANCE.value());
+        return distance instanceof Number number ? 1.0 - number.doubleValue() : 0.0;
+    }
+
     // 유틸리티 클래스이므로 인스턴스화 방지
     private DocumentDtoUtil() {
         throw new AssertionError("유틸리티 클래스는 인스턴스화할 수 없습니다.");
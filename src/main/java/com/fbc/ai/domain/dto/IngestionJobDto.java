@@ -0,0 +1,121 @@
+package com.fbc.ai.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * 문서 적재 작업 상태
+ */
+@Schema(description = "문서 적재 작업 상태")
+public class IngestionJobDto {
+    @Schema(description = "작업 ID")
+    private final String jobId;
+
+    @Schema(description = "파일 이름")
+    private final String fileName;
+
+    @Schema(description = "버킷 ID")
+    private final String bucketId;
+
+    @Schema(description = "작업 상태", allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED"})
+    private final String status;
+
+    @Schema(description = "파싱한 페이지 수")
+    private final int pagesParsed;
+
+    @Schema(description = "분할한 청크 수 (임베딩 대기 포함)")
+    private final int chunksSplit;
+
+    @Schema(description = "임베딩하여 저장한 청크 수")
+    private final int chunksStored;
+
+    @Schema(description = "임베딩 저장소에서 재사용한 청크 수")
+    private final int chunksReused;
+
+    @Schema(description = "거의 같은 청크가 이미 있어 저장하지 않은 청크 수")
+    private final int chunksDuplicated;
+
+    @Schema(description = "오류 메시지 (실패 시)")
+    private final String error;
+
+    @Schema(description = "작업 접수 시각")
+    private final Instant createdAt;
+
+    @Schema(description = "작업 시작 시각")
+    private final Instant startedAt;
+
+    @Schema(description = "작업 종료 시각")
+    private final Instant finishedAt;
+
+    public IngestionJobDto(String jobId, String fileName, String bucketId, String status,
+                           int pagesParsed, int chunksSplit, int chunksStored, int chunksReused, int chunksDuplicated,
+                           String error,
+                           Instant createdAt, Instant startedAt, Instant finishedAt) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.bucketId = bucketId;
+        this.status = status;
+        this.pagesParsed = pagesParsed;
+        this.chunksSplit = chunksSplit;
+        this.chunksStored = chunksStored;
+        this.chunksReused = chunksReused;
+        this.chunksDuplicated = chunksDuplicated;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getBucketId() {
+        return bucketId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getPagesParsed() {
+        return pagesParsed;
+    }
+
+    public int getChunksSplit() {
+        return chunksSplit;
+    }
+
+    public int getChunksStored() {
+        return chunksStored;
+    }
+
+    public int getChunksReused() {
+        return chunksReused;
+    }
+
+    public int getChunksDuplicated() {
+        return chunksDuplicated;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
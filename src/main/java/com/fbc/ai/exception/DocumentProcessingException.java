@@ -17,4 +17,8 @@ public class DocumentProcessingException extends ResponseStatusException {
     public DocumentProcessingException(String message, Throwable cause) {
         super(HttpStatus.INTERNAL_SERVER_ERROR, message, cause);
     }
+
+    public DocumentProcessingException(HttpStatus status, String message) {
+        super(status, message);
+    }
 }
\ No newline at end of file
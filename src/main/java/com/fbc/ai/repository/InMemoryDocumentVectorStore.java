@@ -1,43 +1,137 @@
 package com.fbc.ai.repository;
 
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.domain.dto.DocumentDtoUtil;
 import com.fbc.ai.domain.dto.DocumentSearchResultDto;
 import com.fbc.ai.exception.DocumentProcessingException;
+import com.fbc.ai.repository.vector.BatchSearch;
+import com.fbc.ai.repository.vector.VectorSnapshot;
 import com.fbc.ai.service.DocumentProcessingService;
-import com.fbc.ai.service.EmbeddingService;
+import com.fbc.ai.service.embedding.StoredEmbeddingModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Collections;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 문서를 벡터화하여 저장하고, 벡터 유사도 검색을 제공합니다.
- * Spring AI의 SimpleVectorStore를 활용합니다.
+ * 기본은 Spring AI의 SimpleVectorStore를 활용하며, 저장소 구현은 InMemoryVectorStoreConfig 에서 선택합니다.
+ *
+ * 저장소가 스냅샷을 지원하면(offheap, hnsw) vector.inmemory.snapshot.path 에 스냅샷을 저장하고
+ * 기동 시 복원하여, 재시작 후에도 문서를 다시 임베딩하지 않습니다.
  */
 @Slf4j
 @Repository
 public class InMemoryDocumentVectorStore {
     private final DocumentProcessingService documentProcessingService;
     private final VectorStore vectorStore;
+    // 분할기는 상태가 없어 호출마다 만들지 않고 함께 쓴다
+    private final OffsetTokenTextSplitter textSplitter = new OffsetTokenTextSplitter(
+            512,    // 원하는 청크 크기
+            350,    // 최소 청크 크기
+            5,      // 임베딩할 최소 청크 길이
+            10000,  // 최대 청크 수
+            true);  // 구분자 유지 여부
+
+    @Value("${vector.inmemory.snapshot.path:}")
+    private String snapshotPath;
+
+    @Value("${vector.inmemory.snapshot.interval-seconds:0}")
+    private long snapshotIntervalSeconds;
+
+    private ScheduledExecutorService snapshotScheduler;
 
     public InMemoryDocumentVectorStore(
-            EmbeddingService embeddingService,
-            DocumentProcessingService documentProcessingService
+            DocumentProcessingService documentProcessingService,
+            @Qualifier("inMemoryVectorStore") VectorStore inMemoryVectorStore
     ) {
         this.documentProcessingService = documentProcessingService;
-        // Spring AI의 인메모리 SimpleVectorStore 생성
-        this.vectorStore = SimpleVectorStore.builder(embeddingService.getEmbeddingModel()).build();
+        this.vectorStore = inMemoryVectorStore;
+    }
+
+    /**
+     * 스냅샷 파일이 있으면 복원하고, 주기 저장이 설정되어 있으면 스케줄러를 시작합니다.
+     */
+    @PostConstruct
+    public void init() {
+        if (!snapshotEnabled()) {
+            return;
+        }
+        Path path = Path.of(snapshotPath);
+        if (Files.exists(path)) {
+            try {
+                long started = System.currentTimeMillis();
+                int count = ((VectorSnapshot.Support) vectorStore).loadSnapshot(path);
+                log.info("벡터 스냅샷 복원 완료 - 청크: {}, 소요: {}ms", count, System.currentTimeMillis() - started);
+            } catch (IOException e) {
+                log.error("벡터 스냅샷 복원 실패 - 파일: {}", path, e);
+            }
+        }
+        if (snapshotIntervalSeconds > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "vector-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    saveSnapshot();
+                } catch (Exception e) {
+                    log.error("벡터 스냅샷 주기 저장 실패", e);
+                }
+            }, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 현재 벡터 스토어 내용을 스냅샷 파일로 저장합니다.
+     *
+     * @return 저장된 스냅샷 파일 경로
+     */
+    public Path saveSnapshot() {
+        if (!snapshotEnabled()) {
+            throw new DocumentProcessingException("스냅샷이 비활성화되어 있거나 현재 벡터 스토어가 스냅샷을 지원하지 않습니다.");
+        }
+        Path path = Path.of(snapshotPath);
+        try {
+            long started = System.currentTimeMillis();
+            ((VectorSnapshot.Support) vectorStore).saveSnapshot(path);
+            log.info("벡터 스냅샷 저장 완료 - 파일: {}, 소요: {}ms", path, System.currentTimeMillis() - started);
+            return path;
+        } catch (IOException e) {
+            log.error("벡터 스냅샷 저장 실패 - 파일: {}", path, e);
+            throw new DocumentProcessingException("벡터 스냅샷 저장 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean snapshotEnabled() {
+        return snapshotPath != null && !snapshotPath.isBlank() && vectorStore instanceof VectorSnapshot.Support;
     }
 
     /**
@@ -57,19 +151,12 @@ public class InMemoryDocumentVectorStore {
 
             // Spring AI Document 객체 생성
             Document document = new Document(fileText, metadataWithId);
-            TokenTextSplitter textSplitter = TokenTextSplitter.builder()
-                    .withChunkSize(512)           // 원하는 청크 크기
-                    .withMinChunkSizeChars(350)   // 최소 청크 크기
-                    .withMinChunkLengthToEmbed(5) // 임베딩할 최소 청크 길이
-                    .withMaxNumChunks(10000)      // 최대 청크 수
-                    .withKeepSeparator(true)      // 구분자 유지 여부
-                    .build();
             List<Document> chunks = textSplitter.split(document);
 
             // 벡터 스토어에 문서 청크 추가 (내부적으로 임베딩 변환 수행)
-            vectorStore.add(chunks);
+            StoredEmbeddingModel.ReuseReport reuse = StoredEmbeddingModel.track(() -> vectorStore.add(chunks));
 
-            log.info("문서 추가 완료 - ID: {}", id);
+            log.info("문서 추가 완료 - ID: {}, 청크: {}, 임베딩 재사용: {}", id, chunks.size(), reuse.reused());
         } catch (Exception e) {
             log.error("문서 추가 실패 - ID: {}", id, e);
             throw new DocumentProcessingException("문서 임베딩 및 저장 실패: " + e.getMessage(), e);
@@ -92,7 +179,8 @@ public class InMemoryDocumentVectorStore {
             if (file.getName().toLowerCase().endsWith(".pdf")) {
                 fileText = documentProcessingService.extractTextFromPdf(file);
             } else {
-                fileText = new String(Files.readAllBytes(file.toPath()));
+                // 문서 1개로 분할하므로 본문 전체가 필요하다 (바이트 배열을 따로 만들지 않고 UTF-8 로 바로 읽음)
+                fileText = Files.readString(file.toPath(), StandardCharsets.UTF_8);
             }
 
             log.debug("파일 텍스트 추출 완료 - 길이: {}", fileText.length());
@@ -114,66 +202,93 @@ public class InMemoryDocumentVectorStore {
      * @return 유사도 순으로 정렬된 검색 결과 목록
      */
     public List<DocumentSearchResultDto> similaritySearch(String query, int maxResults) {
-        log.debug("유사도 검색 시작 - 질의: '{}', 최대 결과: {}", query, maxResults);
+        return similaritySearch(query, null, maxResults);
+    }
+
+    /**
+     * 지정한 버킷의 문서 중에서 질의와 유사한 문서를 검색합니다.
+     * offheap 저장소는 bucket_id 조건을 메타데이터 비트맵 색인으로 처리하여 해당 버킷의 행만 스캔합니다.
+     *
+     * @param query 검색 질의
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @param maxResults 최대 결과 수
+     * @return 유사도 순으로 정렬된 검색 결과 목록
+     */
+    public List<DocumentSearchResultDto> similaritySearch(String query, List<String> bucketIds, int maxResults) {
+        log.debug("유사도 검색 시작 - 질의: '{}', 버킷: {}, 최대 결과: {}", query, bucketIds, maxResults);
 
         try {
             // 검색 요청 구성
-            SearchRequest request = SearchRequest.builder()
+            SearchRequest.Builder builder = SearchRequest.builder()
                     .query(query)
-                    .topK(maxResults)
-                    .build();
+                    .topK(maxResults);
+            if (bucketIds != null && !bucketIds.isEmpty()) {
+                builder.filterExpression(new FilterExpressionBuilder().in("bucket_id", bucketIds.toArray()).build());
+            }
 
             // 유사성 검색 실행
-            List<?> results = vectorStore.similaritySearch(request);
+            List<Document> results = vectorStore.similaritySearch(builder.build());
             if (results == null) {
-                results = Collections.emptyList();
+                return List.of();
             }
 
             log.debug("유사도 검색 완료 - 결과 수: {}", results.size());
 
-            // 결과 매핑 - 간소화된 버전
-            // Spring AI 버전에 따라 SearchResult 클래스의 API가 다를 수 있으므로
-            // 기본적인 결과만 반환하는 간소화된 버전으로 구현
-            return results.stream()
-                    .map(result -> {
-                        // 기본값으로 처리
-                        String id = "unknown";
-                        String content = "";
-                        Map<String, Object> resultMetadata = new HashMap<>();
-                        double score = 0.0;
-
-                        try {
-                            // 리플렉션을 사용하여 필요한 메서드 호출
-                            Object document = result.getClass().getMethod("getDocument").invoke(result);
-                            if (document != null) {
-                                Map<String, Object> metadata = (Map<String, Object>) document.getClass().getMethod("getMetadata").invoke(document);
-                                if (metadata != null) {
-                                    id = metadata.getOrDefault("id", "unknown").toString();
-                                    resultMetadata = new HashMap<>(metadata);
-                                    resultMetadata.remove("id");
-                                }
-
-                                Object contentObj = document.getClass().getMethod("getContent").invoke(document);
-                                if (contentObj != null) {
-                                    content = contentObj.toString();
-                                }
-                            }
-
-                            Object scoreObj = result.getClass().getMethod("getScore").invoke(result);
-                            if (scoreObj != null) {
-                                score = (Double) scoreObj;
-                            }
-                        } catch (Exception e) {
-                            log.warn("결과 매핑 중 오류 발생: {}", e.getMessage());
-                            // 오류 발생 시 기본값 사용
-                        }
-
-                        return new DocumentSearchResultDto(id, content, resultMetadata, score);
-                    })
-                    .collect(Collectors.toList());
+            List<DocumentSearchResultDto> searchResults = new ArrayList<>(results.size());
+            for (Document result : results) {
+                searchResults.add(DocumentDtoUtil.toDocumentSearchResultDto(result));
+            }
+            return searchResults;
         } catch (Exception e) {
             log.error("유사도 검색 실패 - 질의: '{}'", query, e);
             throw new DocumentProcessingException("유사도 검색 중 오류 발생: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 여러 질의를 한 번에 검색합니다.
+     * 저장소가 배치 검색을 지원하면(offheap, hnsw) 질의 임베딩을 한 번의 요청으로 만들고,
+     * offheap 은 행렬을 한 번만 훑으며 질의 블록을 함께 계산합니다. 그 밖의 저장소는 질의마다 검색합니다.
+     *
+     * @param queries 검색 질의 목록
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @param maxResults 질의별 최대 결과 수
+     * @return 질의 순서와 같은 순서의 질의별 검색 결과 목록
+     */
+    public List<List<DocumentSearchResultDto>> similaritySearch(List<String> queries, List<String> bucketIds, int maxResults) {
+        log.debug("배치 유사도 검색 시작 - 질의 수: {}, 버킷: {}, 최대 결과: {}", queries.size(), bucketIds, maxResults);
+
+        try {
+            SearchRequest.Builder builder = SearchRequest.builder()
+                    .topK(maxResults);
+            if (bucketIds != null && !bucketIds.isEmpty()) {
+                builder.filterExpression(new FilterExpressionBuilder().in("bucket_id", bucketIds.toArray()).build());
+            }
+            SearchRequest options = builder.build();
+
+            List<List<Document>> results;
+            if (vectorStore instanceof BatchSearch batchSearch) {
+                results = batchSearch.similaritySearch(queries, options);
+            } else {
+                results = new ArrayList<>(queries.size());
+                for (String query : queries) {
+                    results.add(vectorStore.similaritySearch(SearchRequest.from(options).query(query).build()));
+                }
+            }
+
+            List<List<DocumentSearchResultDto>> searchResults = new ArrayList<>(results.size());
+            for (List<Document> documents : results) {
+                List<DocumentSearchResultDto> mapped = new ArrayList<>(documents.size());
+                for (Document document : documents) {
+                    mapped.add(DocumentDtoUtil.toDocumentSearchResultDto(document));
+                }
+                searchResults.add(mapped);
+            }
+            log.debug("배치 유사도 검색 완료 - 질의 수: {}", searchResults.size());
+            return searchResults;
+        } catch (Exception e) {
+            log.error("배치 유사도 검색 실패 - 질의 수: {}", queries.size(), e);
+            throw new DocumentProcessingException("배치 유사도 검색 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
 }
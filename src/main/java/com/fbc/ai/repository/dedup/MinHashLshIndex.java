@@ -0,0 +1,288 @@
+package com.fbc.ai.repository.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 청크 본문의 MinHash 서명과 LSH(locality-sensitive hashing) 밴드 색인입니다. 거의 같은 청크(머리말, 면책 문구, 목차 등)를 찾습니다.
+ *
+ * 본문을 정규화(소문자, 연속 공백 1칸)한 뒤 글자 shingleSize-gram 집합으로 보고, numHashes 개 해시 함수의 최솟값으로 서명을 만듭니다.
+ * 서명을 bands 개 구간으로 나누어 구간 해시가 하나라도 같은 청크를 후보로 고르고,
+ * 후보와 서명이 일치하는 비율(Jaccard 유사도 추정값)이 threshold 이상이면 중복으로 봅니다.
+ * 청크는 Bm25Index 처럼 증분으로 추가되며, 삭제한 청크는 비트셋으로 표시해 건너뜁니다.
+ */
+public class MinHashLshIndex {
+
+    public static final int DEFAULT_NUM_HASHES = 128;
+    public static final int DEFAULT_BANDS = 32;
+    public static final int DEFAULT_SHINGLE_SIZE = 5;
+
+    private final int numHashes;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int shingleSize;
+    private final double threshold;
+    private final long[] seeds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 밴드마다 구간 해시 → 청크 번호 목록 */
+    private final List<Map<Long, int[]>> bandTables = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] ids = new String[1024];
+    private String[] bucketIds = new String[1024];
+    private int[][] signatures = new int[1024][];
+    private int rows;
+
+    /**
+     * 찾은 중복 청크
+     *
+     * @param id         이미 색인된 청크 ID
+     * @param bucketId   그 청크의 버킷 ID
+     * @param similarity Jaccard 유사도 추정값 (0~1)
+     */
+    public record Match(String id, String bucketId, double similarity) {
+    }
+
+    public MinHashLshIndex(double threshold) {
+        this(threshold, DEFAULT_NUM_HASHES, DEFAULT_BANDS, DEFAULT_SHINGLE_SIZE);
+    }
+
+    /**
+     * @param threshold   중복으로 보는 최소 Jaccard 유사도 (0~1)
+     * @param numHashes   서명 길이 (bands 의 배수)
+     * @param bands       LSH 밴드 수 (많을수록 낮은 유사도도 후보가 됨)
+     * @param shingleSize 글자 n-gram 크기
+     */
+    public MinHashLshIndex(double threshold, int numHashes, int bands, int shingleSize) {
+        if (threshold <= 0 || threshold > 1 || bands < 1 || numHashes % bands != 0 || shingleSize < 1) {
+            throw new IllegalArgumentException("MinHash 파라미터가 올바르지 않습니다: threshold=" + threshold
+                    + ", numHashes=" + numHashes + ", bands=" + bands + ", shingleSize=" + shingleSize);
+        }
+        this.threshold = threshold;
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rowsPerBand = numHashes / bands;
+        this.shingleSize = shingleSize;
+        // 재시작해도 같은 서명이 나오도록 시드를 고정한다
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        this.seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+        for (int band = 0; band < bands; band++) {
+            bandTables.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 본문의 MinHash 서명을 계산합니다.
+     */
+    public int[] signature(String text) {
+        String normalized = normalize(text);
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = mix(hash(normalized, start, Math.min(normalized.length(), start + shingleSize)));
+            // 해시 함수 i : 시드와 섞은 뒤 곱셈-시프트 (shingle 마다 numHashes 번 실행되므로 곱셈 한 번으로 끝냄)
+            for (int i = 0; i < numHashes; i++) {
+                int value = (int) (((shingleHash ^ seeds[i]) * 0x9E3779B97F4A7C15L) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 서명과 유사도가 threshold 이상인 청크 중 가장 비슷한 청크를 찾습니다.
+     *
+     * @param bucketId null 이 아니면 이 버킷의 청크만 비교 (null 이면 모든 버킷)
+     * @return 없으면 null
+     */
+    public Match findDuplicate(int[] signature, String bucketId) {
+        lock.readLock().lock();
+        try {
+            return find(signature, bucketId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 중복이 있으면 그 청크를 돌려주고, 없으면 이 청크를 색인에 추가한 뒤 null 을 돌려줍니다. (확인과 추가를 한 번에)
+     *
+     * @param scopeBucketId null 이 아니면 이 버킷의 청크만 비교
+     */
+    public Match addIfAbsent(String id, String bucketId, int[] signature, String scopeBucketId) {
+        lock.writeLock().lock();
+        try {
+            Match match = find(signature, scopeBucketId);
+            if (match == null) {
+                insert(id, bucketId, signature);
+            }
+            return match;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 청크를 색인에 추가합니다. 같은 ID 가 있으면 이전 서명을 지우고 추가합니다.
+     */
+    public void add(String id, String bucketId, String text) {
+        int[] signature = signature(text);
+        lock.writeLock().lock();
+        try {
+            insert(id, bucketId, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<String> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (String id : removedIds) {
+                Integer row = ordinals.remove(id);
+                if (row != null) {
+                    deleted.set(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 살아 있는 청크 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 두 서명의 Jaccard 유사도 추정값 (일치하는 해시 비율)
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private Match find(int[] signature, String bucketId) {
+        BitSet checked = new BitSet();
+        Match best = null;
+        for (int band = 0; band < bands; band++) {
+            int[] candidates = bandTables.get(band).get(bandKey(signature, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (int candidate : candidates) {
+                if (checked.get(candidate) || deleted.get(candidate)) {
+                    continue;
+                }
+                checked.set(candidate);
+                if (bucketId != null && !bucketId.equals(bucketIds[candidate])) {
+                    continue;
+                }
+                double similarity = similarity(signature, signatures[candidate]);
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(ids[candidate], bucketIds[candidate], similarity);
+                }
+            }
+        }
+        return best;
+    }
+
+    private void insert(String id, String bucketId, int[] signature) {
+        Integer previous = ordinals.get(id);
+        if (previous != null) {
+            deleted.set(previous);
+        }
+        if (rows == ids.length) {
+            int capacity = rows * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            bucketIds = Arrays.copyOf(bucketIds, capacity);
+            signatures = Arrays.copyOf(signatures, capacity);
+        }
+        int row = rows++;
+        ids[row] = id;
+        bucketIds[row] = bucketId;
+        signatures[row] = signature;
+        ordinals.put(id, row);
+        for (int band = 0; band < bands; band++) {
+            bandTables.get(band).merge(bandKey(signature, band), new int[]{row}, (existing, added) -> {
+                int[] merged = Arrays.copyOf(existing, existing.length + 1);
+                merged[existing.length] = added[0];
+                return merged;
+            });
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * rowsPerBand; i < (band + 1) * rowsPerBand; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return mix(key);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * FNV-1a 64비트 해시
+     */
+    private static long hash(String text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 마무리 단계 (비트 섞기)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,315 @@
+package com.fbc.ai.repository.keyword;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 청크 본문에 대한 인메모리 역색인과 BM25 점수 검색입니다.
+ *
+ * 토큰은 {@link KoreanBigramTokenizer} 로 만들고, 용어마다 (청크 번호, 출현 빈도) 목록을 primitive 배열로 보관합니다.
+ * 청크는 업로드될 때마다 증분으로 추가되며, 같은 ID 로 다시 추가하면 이전 청크를 삭제한 뒤 새로 색인합니다.
+ * 삭제된 청크는 비트셋으로 표시해 건너뛰고, 문서 빈도(df)와 평균 길이 통계에서 바로 제외합니다.
+ * 삭제된 청크가 살아 있는 청크보다 많아지면 전체를 다시 색인해 공간을 회수합니다.
+ */
+@Slf4j
+public class Bm25Index {
+
+    public static final float DEFAULT_K1 = 1.2f;
+    public static final float DEFAULT_B = 0.75f;
+
+    private final float k1;
+    private final float b;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] ids = new String[1024];
+    private String[] texts = new String[1024];
+    @SuppressWarnings("unchecked")
+    private Map<String, Object>[] metadata = new Map[1024];
+    private int[] lengths = new int[1024];
+    private int rows;
+    private long totalLength;
+
+    public Bm25Index() {
+        this(DEFAULT_K1, DEFAULT_B);
+    }
+
+    /**
+     * @param k1 용어 빈도 포화 계수
+     * @param b  문서 길이 정규화 계수 (0 이면 길이 무시)
+     */
+    public Bm25Index(float k1, float b) {
+        if (k1 < 0f || b < 0f || b > 1f) {
+            throw new IllegalArgumentException("BM25 파라미터가 올바르지 않습니다: k1=" + k1 + ", b=" + b);
+        }
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * 용어 하나의 게시 목록 (청크 번호 오름차순)
+     */
+    private static final class Postings {
+        private int[] rows = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        /** 삭제되지 않은 청크 수 (문서 빈도) */
+        private int live;
+
+        void add(int row, int frequency) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            rows[size] = row;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+    }
+
+    public void add(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                Integer existing = ordinals.get(document.getId());
+                if (existing != null) {
+                    release(existing);
+                }
+                index(document.getId(), document.getText(), new HashMap<>(document.getMetadata()));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("BM25 색인 추가 - 추가: {}, 전체: {}", documents.size(), size());
+    }
+
+    public void delete(Collection<String> idList) {
+        lock.writeLock().lock();
+        try {
+            for (String id : idList) {
+                Integer row = ordinals.get(id);
+                if (row != null) {
+                    release(row);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            deleted.clear();
+            Arrays.fill(ids, 0, rows, null);
+            Arrays.fill(texts, 0, rows, null);
+            Arrays.fill(metadata, 0, rows, null);
+            rows = 0;
+            totalLength = 0L;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 질의와 BM25 점수가 높은 청크를 찾습니다.
+     *
+     * @param query     검색 질의
+     * @param topK      최대 결과 수
+     * @param bucketIds 검색할 버킷 ID (null 이거나 비어 있으면 전체)
+     * @return 점수 내림차순 청크. Document.getScore() 는 BM25 점수
+     */
+    public List<Document> search(String query, int topK, Collection<String> bucketIds) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        for (String token : KoreanBigramTokenizer.tokenize(query)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        Set<String> buckets = bucketIds == null || bucketIds.isEmpty() ? null : Set.copyOf(bucketIds);
+
+        lock.readLock().lock();
+        try {
+            int liveCount = ordinals.size();
+            if (terms.isEmpty() || liveCount == 0 || topK <= 0) {
+                return List.of();
+            }
+            float averageLength = (float) totalLength / liveCount;
+            float[] scores = new float[rows];
+            int[] touched = new int[Math.min(rows, 1024)];
+            int touchedCount = 0;
+
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                Postings list = postings.get(term.getKey());
+                if (list == null || list.live == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1.0 + (liveCount - list.live + 0.5) / (list.live + 0.5));
+                float weight = idf * term.getValue();
+                for (int i = 0; i < list.size; i++) {
+                    int row = list.rows[i];
+                    if (deleted.get(row)) {
+                        continue;
+                    }
+                    float frequency = list.frequencies[i];
+                    float norm = k1 * (1f - b + b * lengths[row] / averageLength);
+                    if (scores[row] == 0f) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = row;
+                    }
+                    scores[row] += weight * frequency * (k1 + 1f) / (frequency + norm);
+                }
+            }
+            return top(scores, touched, touchedCount, topK, buckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 메타데이터가 조건을 만족하는 (삭제되지 않은) 청크 ID 목록
+     */
+    public List<String> ids(Predicate<Map<String, Object>> metadataFilter) {
+        lock.readLock().lock();
+        try {
+            List<String> matched = new ArrayList<>();
+            for (int row : ordinals.values()) {
+                if (metadataFilter.test(metadata[row])) {
+                    matched.add(ids[row]);
+                }
+            }
+            return matched;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된(삭제되지 않은) 청크 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Document> top(float[] scores, int[] touched, int touchedCount, int topK, Set<String> buckets) {
+        List<Integer> candidates = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int row = touched[i];
+            if (buckets == null || buckets.contains(String.valueOf(metadata[row].get("bucket_id")))) {
+                candidates.add(row);
+            }
+        }
+        candidates.sort((left, right) -> Float.compare(scores[right], scores[left]));
+
+        int count = Math.min(topK, candidates.size());
+        List<Document> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int row = candidates.get(i);
+            results.add(Document.builder()
+                    .id(ids[row])
+                    .text(texts[row])
+                    .metadata(new HashMap<>(metadata[row]))
+                    .score((double) scores[row])
+                    .build());
+        }
+        return results;
+    }
+
+    private void index(String id, String text, Map<String, Object> values) {
+        List<String> tokens = KoreanBigramTokenizer.tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int row = rows++;
+        ensureCapacity(rows);
+        ids[row] = id;
+        texts[row] = text;
+        metadata[row] = values;
+        lengths[row] = tokens.size();
+        totalLength += tokens.size();
+        ordinals.put(id, row);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new Postings()).add(row, entry.getValue());
+        }
+    }
+
+    private void release(int row) {
+        deleted.set(row);
+        ordinals.remove(ids[row]);
+        totalLength -= lengths[row];
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : KoreanBigramTokenizer.tokenize(texts[row])) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (String token : frequencies.keySet()) {
+            Postings list = postings.get(token);
+            if (list != null) {
+                list.live--;
+            }
+        }
+        ids[row] = null;
+        texts[row] = null;
+        metadata[row] = null;
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = rows - ordinals.size();
+        if (deletedCount <= ordinals.size() || deletedCount < 1024) {
+            return;
+        }
+        List<Integer> live = new ArrayList<>(ordinals.values());
+        live.sort(null);
+        String[] liveIds = new String[live.size()];
+        String[] liveTexts = new String[live.size()];
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] liveMetadata = new Map[live.size()];
+        for (int i = 0; i < live.size(); i++) {
+            liveIds[i] = ids[live.get(i)];
+            liveTexts[i] = texts[live.get(i)];
+            liveMetadata[i] = metadata[live.get(i)];
+        }
+        clear();
+        for (int i = 0; i < liveIds.length; i++) {
+            index(liveIds[i], liveTexts[i], liveMetadata[i]);
+        }
+        log.debug("BM25 색인 재구성 - 회수한 청크: {}, 전체: {}", deletedCount, liveIds.length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            int capacity = Math.max(ids.length * 2, required);
+            ids = Arrays.copyOf(ids, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            metadata = Arrays.copyOf(metadata, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+}
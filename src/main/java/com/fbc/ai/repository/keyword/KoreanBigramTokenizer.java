@@ -0,0 +1,68 @@
+package com.fbc.ai.repository.keyword;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한국어 문서용 키워드 토크나이저입니다.
+ *
+ * 한글은 조사/어미가 붙어도 어간이 겹치도록 연속된 한글 구간을 글자 2-gram 으로 나누고
+ * (한 글자 구간은 그대로), 영문/숫자는 단어 단위로 소문자 토큰을 만듭니다.
+ * 숫자는 소수점과 뒤따르는 % 를 포함합니다. (예: "35.5%")
+ * 형태소 분석기 없이 동작하므로 사전 관리가 필요 없고, 질의와 문서에 같은 규칙을 적용합니다.
+ */
+public final class KoreanBigramTokenizer {
+
+    private KoreanBigramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(normalized.substring(start, i));
+                } else {
+                    for (int j = start; j + 1 < i; j++) {
+                        tokens.add(normalized.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && (Character.isDigit(normalized.charAt(i))
+                        || normalized.charAt(i) == '.' && i + 1 < length && Character.isDigit(normalized.charAt(i + 1)))) {
+                    i++;
+                }
+                if (i < length && normalized.charAt(i) == '%') {
+                    i++;
+                }
+                tokens.add(normalized.substring(start, i));
+            } else if (Character.isLetter(c)) {
+                int start = i;
+                while (i < length && Character.isLetter(normalized.charAt(i)) && !isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
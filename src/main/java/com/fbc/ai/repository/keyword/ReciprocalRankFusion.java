@@ -0,0 +1,50 @@
+package com.fbc.ai.repository.keyword;
+
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 검색 결과 순위를 Reciprocal Rank Fusion 으로 합칩니다.
+ *
+ * 청크 점수 = Σ 1 / (k + 순위) (순위는 1부터). 검색기마다 점수 척도(코사인 / BM25)가 달라도
+ * 순위만 사용하므로 별도 정규화가 필요 없습니다. 같은 청크 ID 는 처음 나온 Document 를 사용합니다.
+ */
+public final class ReciprocalRankFusion {
+
+    /** 일반적으로 쓰는 순위 보정 상수 */
+    public static final int DEFAULT_K = 60;
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * @param k        순위 보정 상수 (클수록 하위 순위의 기여가 커짐)
+     * @param topK     최대 결과 수
+     * @param rankings 검색기별 결과 (각각 관련도 내림차순)
+     * @return 합산 점수 내림차순 결과. Document.getScore() 는 RRF 점수
+     */
+    @SafeVarargs
+    public static List<Document> fuse(int k, int topK, List<Document>... rankings) {
+        Map<String, Document> documents = new LinkedHashMap<>();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<Document> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                Document document = ranking.get(rank);
+                documents.putIfAbsent(document.getId(), document);
+                scores.merge(document.getId(), 1.0 / (k + rank + 1), Double::sum);
+            }
+        }
+
+        List<Map.Entry<String, Double>> ordered = new ArrayList<>(scores.entrySet());
+        ordered.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        List<Document> fused = new ArrayList<>(Math.min(topK, ordered.size()));
+        for (Map.Entry<String, Double> entry : ordered.subList(0, Math.min(topK, ordered.size()))) {
+            fused.add(documents.get(entry.getKey()).mutate().score(entry.getValue()).build());
+        }
+        return fused;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fbc.ai.repository.vector;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.List;
+
+/**
+ * 여러 질의를 한 번에 검색하는 VectorStore
+ *
+ * 질의 임베딩을 한 번의 임베딩 요청으로 만들고, 저장소는 질의들을 함께 처리할 수 있습니다.
+ */
+public interface BatchSearch {
+
+    /**
+     * @param queries 검색 질의 목록
+     * @param options 모든 질의에 똑같이 적용할 topK / similarityThreshold / filterExpression (query 는 사용하지 않음)
+     * @return 질의 순서와 같은 순서의 질의별 검색 결과
+     */
+    List<List<Document>> similaritySearch(List<String> queries, SearchRequest options);
+}
@@ -0,0 +1,84 @@
+package com.fbc.ai.repository.vector;
+
+import java.util.Arrays;
+
+/**
+ * 점수가 가장 높은 후보부터 꺼내는 가변 크기 max-heap 입니다.
+ * HNSW 그래프 탐색의 후보 집합(C)으로 사용하며, (행 번호, 점수)를 primitive 배열에 보관합니다.
+ */
+final class CandidateQueue {
+
+    private int[] ordinals;
+    private float[] scores;
+    private int size;
+
+    CandidateQueue(int initialCapacity) {
+        this.ordinals = new int[Math.max(initialCapacity, 8)];
+        this.scores = new float[ordinals.length];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    float topScore() {
+        return scores[0];
+    }
+
+    int topOrdinal() {
+        return ordinals[0];
+    }
+
+    void push(int ordinal, float score) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] >= score) {
+                break;
+            }
+            ordinals[i] = ordinals[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        ordinals[i] = ordinal;
+        scores[i] = score;
+    }
+
+    /**
+     * 최고 점수 후보를 제거하고 행 번호를 반환합니다.
+     */
+    int pop() {
+        int top = ordinals[0];
+        size--;
+        if (size > 0) {
+            int ordinal = ordinals[size];
+            float score = scores[size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && scores[right] > scores[child]) {
+                    child = right;
+                }
+                if (score >= scores[child]) {
+                    break;
+                }
+                ordinals[i] = ordinals[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            ordinals[i] = ordinal;
+            scores[i] = score;
+        }
+        return top;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
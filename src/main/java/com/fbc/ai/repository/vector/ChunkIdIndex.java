@@ -0,0 +1,138 @@
+package com.fbc.ai.repository.vector;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * 청크 ID(String) → 행 번호(int) 를 찾는 open addressing 해시 인덱스입니다.
+ *
+ * 키 문자열은 별도로 보관하지 않고 행 번호로 원본 ID 배열을 조회해 비교하므로
+ * 엔트리마다 Map.Entry / Integer 객체가 생기지 않습니다.
+ * 삭제는 backward-shift 방식으로 처리하여 tombstone 이 남지 않습니다.
+ */
+final class ChunkIdIndex {
+
+    private static final int EMPTY = -1;
+
+    private final IntFunction<String> idLookup;
+    private int[] slots;
+    private int size;
+
+    /**
+     * @param idLookup 행 번호로 청크 ID 를 돌려주는 함수
+     */
+    ChunkIdIndex(IntFunction<String> idLookup) {
+        this.idLookup = idLookup;
+        this.slots = new int[64];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 행 번호, 없으면 -1
+     */
+    int get(String id) {
+        int mask = slots.length - 1;
+        for (int i = mix(id.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int ordinal = slots[i];
+            if (ordinal == EMPTY) {
+                return EMPTY;
+            }
+            if (id.equals(idLookup.apply(ordinal))) {
+                return ordinal;
+            }
+        }
+    }
+
+    /**
+     * ID 에 행 번호를 연결합니다. 호출 전에 idLookup 이 해당 ID 를 돌려줄 수 있어야 합니다.
+     */
+    void put(String id, int ordinal) {
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(id.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int current = slots[i];
+            if (current == EMPTY) {
+                slots[i] = ordinal;
+                size++;
+                return;
+            }
+            if (id.equals(idLookup.apply(current))) {
+                slots[i] = ordinal;
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * @return 제거된 행 번호, 없으면 -1
+     */
+    int remove(String id) {
+        int mask = slots.length - 1;
+        int i = mix(id.hashCode()) & mask;
+        while (true) {
+            int ordinal = slots[i];
+            if (ordinal == EMPTY) {
+                return EMPTY;
+            }
+            if (id.equals(idLookup.apply(ordinal))) {
+                shiftBack(i);
+                size--;
+                return ordinal;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void shiftBack(int hole) {
+        int mask = slots.length - 1;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            int ordinal = slots[i];
+            if (ordinal == EMPTY) {
+                slots[hole] = EMPTY;
+                return;
+            }
+            int home = mix(idLookup.apply(ordinal).hashCode()) & mask;
+            // home 이 (hole, i] 구간 밖에 있으면 hole 로 당겨온다
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                slots[hole] = ordinal;
+                hole = i;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = capacity - 1;
+        for (int ordinal : old) {
+            if (ordinal == EMPTY) {
+                continue;
+            }
+            int i = mix(idLookup.apply(ordinal).hashCode()) & mask;
+            while (slots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = ordinal;
+        }
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,31 @@
+package com.fbc.ai.repository.vector;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 인메모리 벡터 스토어의 내적 계산 커널입니다.
+ *
+ * 코사인 유사도/노름 계산은 모두 내적으로 이루어지므로 이 인터페이스만 교체하면
+ * 스칼라 루프와 SIMD(jdk.incubator.vector) 구현을 바꿔 쓸 수 있습니다. 구현은 상태가 없어 스레드 안전해야 합니다.
+ */
+public interface DistanceKernel {
+
+    /**
+     * 두 배열의 내적. 두 배열의 길이는 같아야 합니다.
+     */
+    float dot(float[] a, float[] b);
+
+    /**
+     * direct ByteBuffer(native order)에 저장된 행과 질의 벡터의 내적
+     *
+     * @param page       임베딩 행렬 페이지
+     * @param byteOffset 행 시작 위치 (byte 단위)
+     * @param query      질의 벡터 (행 길이와 같음)
+     */
+    float dot(ByteBuffer page, int byteOffset, float[] query);
+
+    /**
+     * 로그/벤치마크 표시용 이름
+     */
+    String name();
+}
@@ -0,0 +1,69 @@
+package com.fbc.ai.repository.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 사용할 {@link DistanceKernel} 을 고릅니다.
+ *
+ * <ul>
+ *     <li>auto : jdk.incubator.vector 모듈이 로드되어 있으면 SIMD, 아니면 스칼라 (기본값)</li>
+ *     <li>simd : SIMD 커널 (모듈이 없으면 오류)</li>
+ *     <li>scalar : 스칼라 커널</li>
+ * </ul>
+ */
+@Slf4j
+public final class DistanceKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static volatile DistanceKernel preferred;
+
+    /**
+     * auto 로 선택한 커널 (처음 호출할 때 한 번 결정)
+     */
+    public static DistanceKernel preferred() {
+        DistanceKernel kernel = preferred;
+        if (kernel == null) {
+            kernel = select("auto");
+            preferred = kernel;
+        }
+        return kernel;
+    }
+
+    public static DistanceKernel select(String name) {
+        String value = name == null || name.isBlank() ? "auto" : name.trim().toLowerCase();
+        DistanceKernel kernel = switch (value) {
+            case "scalar" -> scalar();
+            case "simd" -> {
+                if (!vectorModuleAvailable()) {
+                    throw new IllegalStateException("SIMD 커널을 사용하려면 --add-modules " + VECTOR_MODULE + " 옵션이 필요합니다.");
+                }
+                yield VectorApiDistanceKernel.INSTANCE;
+            }
+            case "auto" -> vectorModuleAvailable() ? trySimd() : scalar();
+            default -> throw new IllegalArgumentException("지원하지 않는 거리 계산 커널입니다: " + name);
+        };
+        log.info("거리 계산 커널 선택 - 설정: {}, 커널: {}", value, kernel.name());
+        return kernel;
+    }
+
+    public static DistanceKernel scalar() {
+        return ScalarDistanceKernel.INSTANCE;
+    }
+
+    public static boolean vectorModuleAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    private static DistanceKernel trySimd() {
+        try {
+            return VectorApiDistanceKernel.INSTANCE;
+        } catch (LinkageError e) {
+            log.warn("SIMD 커널을 초기화하지 못해 스칼라 커널을 사용합니다: {}", e.toString());
+            return scalar();
+        }
+    }
+
+    private DistanceKernels() {
+    }
+}
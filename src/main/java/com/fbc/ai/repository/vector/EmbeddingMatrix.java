@@ -0,0 +1,174 @@
+package com.fbc.ai.repository.vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * 임베딩 벡터를 힙 밖(direct ByteBuffer)에 행(row) 단위로 연속 저장하는 행렬입니다.
+ *
+ * ByteBuffer 한 개는 2GB를 넘을 수 없으므로 고정 행 수의 페이지로 나누어 필요할 때 할당합니다.
+ * 행의 L2 norm 은 코사인 유사도 계산을 위해 primitive 배열로 함께 보관합니다.
+ * 내적은 {@link DistanceKernel} 로 계산하므로 SIMD 커널이 페이지 버퍼를 직접 읽습니다.
+ * 동기화는 호출하는 쪽(벡터 스토어)의 락에 맡깁니다.
+ */
+final class EmbeddingMatrix {
+
+    /** 페이지당 기본 행 수 (1536차원 기준 약 24MB) */
+    static final int DEFAULT_ROWS_PER_PAGE = 4096;
+
+    private final int dimensions;
+    private final int rowsPerPage;
+    private final DistanceKernel kernel;
+    private ByteBuffer[] bytePages = new ByteBuffer[4];
+    private FloatBuffer[] pages = new FloatBuffer[4];
+    private float[] norms = new float[DEFAULT_ROWS_PER_PAGE];
+    private int rows;
+
+    EmbeddingMatrix(int dimensions) {
+        this(dimensions, DEFAULT_ROWS_PER_PAGE, DistanceKernels.preferred());
+    }
+
+    EmbeddingMatrix(int dimensions, DistanceKernel kernel) {
+        this(dimensions, DEFAULT_ROWS_PER_PAGE, kernel);
+    }
+
+    EmbeddingMatrix(int dimensions, int rowsPerPage, DistanceKernel kernel) {
+        if (dimensions <= 0 || rowsPerPage <= 0) {
+            throw new IllegalArgumentException("dimensions, rowsPerPage 는 0보다 커야 합니다.");
+        }
+        if ((long) dimensions * rowsPerPage * Float.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("페이지 크기가 2GB를 초과합니다: " + dimensions + " x " + rowsPerPage);
+        }
+        this.dimensions = dimensions;
+        this.rowsPerPage = rowsPerPage;
+        this.kernel = kernel;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * 새 행을 추가하고 행 번호(ordinal)를 반환합니다.
+     */
+    int append(float[] vector) {
+        int ordinal = rows;
+        ensureCapacity(ordinal + 1);
+        rows++;
+        set(ordinal, vector);
+        return ordinal;
+    }
+
+    /**
+     * 연속된 여러 행을 한 번에 추가합니다. (스냅샷 복원용 bulk 복사)
+     */
+    void appendRows(FloatBuffer source, int count) {
+        ensureCapacity(rows + count);
+        for (int row = 0; row < count; row++) {
+            int ordinal = rows++;
+            FloatBuffer page = pages[ordinal / rowsPerPage];
+            int base = (ordinal % rowsPerPage) * dimensions;
+            page.put(base, source, source.position(), dimensions);
+            double sum = 0.0;
+            for (int i = 0; i < dimensions; i++) {
+                float v = page.get(base + i);
+                sum += v * v;
+            }
+            norms[ordinal] = (float) Math.sqrt(sum);
+            source.position(source.position() + dimensions);
+        }
+    }
+
+    /**
+     * 기존 행을 덮어씁니다.
+     */
+    void set(int ordinal, float[] vector) {
+        checkDimensions(vector);
+        FloatBuffer page = pages[ordinal / rowsPerPage];
+        int base = (ordinal % rowsPerPage) * dimensions;
+        double sum = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            float v = vector[i];
+            page.put(base + i, v);
+            sum += v * v;
+        }
+        norms[ordinal] = (float) Math.sqrt(sum);
+    }
+
+    /**
+     * 행 번호에 해당하는 페이지 버퍼. 스캔 루프에서 {@link #offsetInPage(int)} 와 함께 사용합니다.
+     */
+    FloatBuffer page(int ordinal) {
+        return pages[ordinal / rowsPerPage];
+    }
+
+    int offsetInPage(int ordinal) {
+        return (ordinal % rowsPerPage) * dimensions;
+    }
+
+    int rowsPerPage() {
+        return rowsPerPage;
+    }
+
+    float norm(int ordinal) {
+        return norms[ordinal];
+    }
+
+    /**
+     * 행과 질의 벡터의 내적. 할당 없이 페이지 버퍼를 직접 읽습니다.
+     */
+    float dot(int ordinal, float[] query) {
+        return kernel.dot(bytePages[ordinal / rowsPerPage], offsetInPage(ordinal) * Float.BYTES, query);
+    }
+
+    /**
+     * 행을 힙 배열로 복사합니다. (스냅샷, 재계산 등 스캔 외 용도)
+     */
+    float[] copyRow(int ordinal, float[] target) {
+        FloatBuffer page = pages[ordinal / rowsPerPage];
+        page.get(offsetInPage(ordinal), target, 0, dimensions);
+        return target;
+    }
+
+    /**
+     * 할당된 off-heap 바이트 수
+     */
+    long offHeapBytes() {
+        long bytes = 0;
+        for (FloatBuffer page : pages) {
+            if (page != null) {
+                bytes += (long) page.capacity() * Float.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private void ensureCapacity(int requiredRows) {
+        int pageIndex = (requiredRows - 1) / rowsPerPage;
+        if (pageIndex >= pages.length) {
+            int capacity = Math.max(pages.length * 2, pageIndex + 1);
+            pages = Arrays.copyOf(pages, capacity);
+            bytePages = Arrays.copyOf(bytePages, capacity);
+        }
+        if (pages[pageIndex] == null) {
+            bytePages[pageIndex] = ByteBuffer.allocateDirect(rowsPerPage * dimensions * Float.BYTES)
+                    .order(ByteOrder.nativeOrder());
+            pages[pageIndex] = bytePages[pageIndex].asFloatBuffer();
+        }
+        if (requiredRows > norms.length) {
+            norms = Arrays.copyOf(norms, Math.max(norms.length * 2, requiredRows));
+        }
+    }
+
+    private void checkDimensions(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("임베딩 차원이 일치하지 않습니다. expected=" + dimensions + ", actual=" + vector.length);
+        }
+    }
+}
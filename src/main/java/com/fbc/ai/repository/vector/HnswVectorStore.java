@@ -0,0 +1,538 @@
+package com.fbc.ai.repository.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 그래프 기반의 근사 최근접 이웃(ANN) VectorStore 입니다.
+ *
+ * 전체 청크를 훑는 SimpleVectorStore 와 달리 계층 그래프를 따라 이동하므로 검색 비용이
+ * 청크 수에 대해 로그 수준으로 증가합니다. 벡터는 정규화하여 보관하고 내적을 코사인 유사도로 사용합니다.
+ * <ul>
+ *     <li>m : 노드당 이웃 수 (0 레벨은 2m)</li>
+ *     <li>efConstruction : 삽입 시 탐색 후보 수. 클수록 그래프 품질이 좋아지고 삽입이 느려집니다.</li>
+ *     <li>efSearch : 검색 시 탐색 후보 수. 클수록 재현율이 높아지고 검색이 느려집니다. (topK 보다 작으면 topK 사용)</li>
+ * </ul>
+ * 검색은 락 없이 수행되고, 삽입은 노드 단위 락으로 이웃 목록만 갱신하므로 검색 도중 동시 삽입이 가능합니다.
+ * 삭제는 tombstone 방식으로 그래프 연결은 유지한 채 결과에서만 제외합니다.
+ * 스냅샷에는 벡터만 저장하고, 복원 시 그래프를 병렬로 다시 구성합니다. (임베딩 API 호출 없음)
+ */
+@Slf4j
+public class HnswVectorStore implements VectorStore, VectorSnapshot.Support, BatchSearch {
+
+    private final EmbeddingModel embeddingModel;
+    private final BatchingStrategy batchingStrategy;
+    private final int m;
+    private final int maxConnections0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final DistanceKernel kernel;
+    private volatile int efSearch;
+
+    private final ConcurrentHashMap<String, Integer> idToOrdinal = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final Object growLock = new Object();
+    private final Object entryLock = new Object();
+    private volatile Node[] nodes = new Node[1024];
+    private volatile Node entryPoint;
+
+    private final ThreadLocal<VisitedSet> visitedSets = ThreadLocal.withInitial(VisitedSet::new);
+
+    public HnswVectorStore(EmbeddingModel embeddingModel, int m, int efConstruction, int efSearch) {
+        this(embeddingModel, new TokenCountBatchingStrategy(), m, efConstruction, efSearch);
+    }
+
+    public HnswVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+                           int m, int efConstruction, int efSearch) {
+        this(embeddingModel, batchingStrategy, m, efConstruction, efSearch, DistanceKernels.preferred());
+    }
+
+    /**
+     * @param kernel 내적 계산 커널 (스칼라 / SIMD)
+     */
+    public HnswVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+                           int m, int efConstruction, int efSearch, DistanceKernel kernel) {
+        if (m < 2 || efConstruction < 1 || efSearch < 1) {
+            throw new IllegalArgumentException("m >= 2, efConstruction >= 1, efSearch >= 1 이어야 합니다.");
+        }
+        this.embeddingModel = embeddingModel;
+        this.batchingStrategy = batchingStrategy;
+        this.m = m;
+        this.maxConnections0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.kernel = kernel;
+    }
+
+    /**
+     * 노드: 정규화된 벡터와 레벨별 이웃 목록.
+     * 이웃 목록은 갱신할 때마다 새 배열로 교체(copy-on-write)하므로 검색 스레드는 락 없이 읽습니다.
+     */
+    private static final class Node {
+        final int ordinal;
+        final String id;
+        final String text;
+        final Map<String, Object> metadata;
+        final float[] vector;
+        final int level;
+        final AtomicReferenceArray<int[]> links;
+        volatile boolean deleted;
+
+        Node(int ordinal, Document document, float[] vector, int level) {
+            this.ordinal = ordinal;
+            this.id = document.getId();
+            this.text = document.getText();
+            this.metadata = new HashMap<>(document.getMetadata());
+            this.vector = vector;
+            this.level = level;
+            this.links = new AtomicReferenceArray<>(level + 1);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "HnswVectorStore";
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return;
+        }
+        List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), batchingStrategy);
+        for (int i = 0; i < documents.size(); i++) {
+            insert(documents.get(i), embeddings.get(i));
+        }
+        log.debug("HnswVectorStore 청크 추가 - 추가: {}, 전체: {}", documents.size(), size());
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        for (String id : idList) {
+            Integer ordinal = idToOrdinal.remove(id);
+            if (ordinal != null) {
+                nodeAt(ordinal).deleted = true;
+            }
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        Predicate<Map<String, Object>> filter = MetadataFilter.of(filterExpression);
+        int count = nextOrdinal.get();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            Node node = nodeAt(ordinal);
+            if (node != null && !node.deleted && filter.test(node.metadata)
+                    && idToOrdinal.remove(node.id, ordinal)) {
+                node.deleted = true;
+            }
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        if (entryPoint == null) {
+            return List.of();
+        }
+        return search(normalize(embeddingModel.embed(request.getQuery())), request);
+    }
+
+    /**
+     * 질의 임베딩을 한 번의 요청으로 만든 뒤 질의마다 그래프를 탐색합니다.
+     */
+    @Override
+    public List<List<Document>> similaritySearch(List<String> queries, SearchRequest options) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<float[]> embeddings = entryPoint == null ? List.of() : embeddingModel.embed(queries);
+        List<List<Document>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            results.add(embeddings.isEmpty() ? List.of() : search(normalize(embeddings.get(i)), options));
+        }
+        return results;
+    }
+
+    private List<Document> search(float[] query, SearchRequest request) {
+        Node entry = entryPoint;
+        if (entry == null) {
+            return List.of();
+        }
+        Predicate<Map<String, Object>> filter = request.hasFilterExpression()
+                ? MetadataFilter.of(request.getFilterExpression())
+                : null;
+
+        int current = entry.ordinal;
+        for (int level = entry.level; level > 0; level--) {
+            current = greedyClosest(query, current, level);
+        }
+        int ef = Math.max(efSearch, request.getTopK());
+        TopKHeap heap = searchLayer(query, current, ef, 0,
+                node -> !node.deleted && (filter == null || filter.test(node.metadata)));
+
+        int[] ordinals = new int[heap.size()];
+        float[] scores = new float[heap.size()];
+        int count = heap.drainDescending(ordinals, scores);
+
+        List<Document> results = new ArrayList<>(Math.min(count, request.getTopK()));
+        for (int i = 0; i < count && results.size() < request.getTopK(); i++) {
+            if (scores[i] < request.getSimilarityThreshold()) {
+                break;
+            }
+            Node node = nodeAt(ordinals[i]);
+            Map<String, Object> resultMetadata = new HashMap<>(node.metadata);
+            resultMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - scores[i]);
+            results.add(Document.builder()
+                    .id(node.id)
+                    .text(node.text)
+                    .metadata(resultMetadata)
+                    .score((double) scores[i])
+                    .build());
+        }
+        return results;
+    }
+
+    @Override
+    public void saveSnapshot(Path path) throws IOException {
+        List<Node> live = new ArrayList<>(size());
+        int count = nextOrdinal.get();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            Node node = nodeAt(ordinal);
+            if (node != null && !node.deleted) {
+                live.add(node);
+            }
+        }
+        int dimensions = live.isEmpty() ? 0 : live.get(0).vector.length;
+        VectorSnapshot.write(path, new VectorSnapshot.Rows() {
+            @Override
+            public int count() {
+                return live.size();
+            }
+
+            @Override
+            public int dimensions() {
+                return dimensions;
+            }
+
+            @Override
+            public String id(int row) {
+                return live.get(row).id;
+            }
+
+            @Override
+            public String text(int row) {
+                return live.get(row).text;
+            }
+
+            @Override
+            public Map<String, Object> metadata(int row) {
+                return live.get(row).metadata;
+            }
+
+            @Override
+            public void vector(int row, float[] target) {
+                System.arraycopy(live.get(row).vector, 0, target, 0, target.length);
+            }
+        });
+        log.info("HnswVectorStore 스냅샷 저장 - 청크: {}, 파일: {}", live.size(), path);
+    }
+
+    /**
+     * 비어 있는 스토어에 스냅샷을 복원합니다. (기동 시 사용)
+     * 그래프는 저장하지 않으므로 동시 삽입을 이용해 병렬로 다시 구성합니다.
+     */
+    @Override
+    public int loadSnapshot(Path path) throws IOException {
+        if (entryPoint != null || nextOrdinal.get() > 0) {
+            throw new IllegalStateException("HnswVectorStore 스냅샷은 비어 있는 스토어에만 복원할 수 있습니다.");
+        }
+        try (VectorSnapshot.Reader reader = VectorSnapshot.open(path)) {
+            int count = reader.count();
+            Document[] documents = new Document[count];
+            reader.readChunks((row, id, text, values) -> documents[row] = new Document(id, text, values));
+
+            float[][] vectors = new float[count][];
+            int step = 4096;
+            for (int from = 0; from < count; from += step) {
+                int rows = Math.min(step, count - from);
+                FloatBuffer embeddings = reader.embeddings(from, rows);
+                for (int row = 0; row < rows; row++) {
+                    vectors[from + row] = new float[reader.dimensions()];
+                    embeddings.get(vectors[from + row]);
+                }
+            }
+            IntStream.range(0, count).parallel().forEach(row -> insert(documents[row], vectors[row]));
+            log.info("HnswVectorStore 스냅샷 복원 - 청크: {}, 파일: {}", count, path);
+            return count;
+        }
+    }
+
+    /**
+     * 저장된(삭제되지 않은) 청크 수
+     */
+    public int size() {
+        return idToOrdinal.size();
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    /**
+     * 운영 중 검색 재현율/지연 시간 균형을 조정할 수 있도록 efSearch 를 변경합니다.
+     */
+    public void setEfSearch(int efSearch) {
+        if (efSearch < 1) {
+            throw new IllegalArgumentException("efSearch 는 1 이상이어야 합니다: " + efSearch);
+        }
+        this.efSearch = efSearch;
+    }
+
+    private void insert(Document document, float[] embedding) {
+        float[] vector = normalize(embedding);
+        int ordinal = nextOrdinal.getAndIncrement();
+        Node node = new Node(ordinal, document, vector, randomLevel());
+        store(node);
+
+        Integer previous = idToOrdinal.put(node.id, ordinal);
+        if (previous != null) {
+            nodeAt(previous).deleted = true;
+        }
+
+        Node entry = entryPoint;
+        if (entry == null || node.level > entry.level) {
+            // 최상위 레벨이 바뀌는 삽입은 드물기 때문에 전역 락으로 직렬화한다
+            synchronized (entryLock) {
+                entry = entryPoint;
+                if (entry == null) {
+                    entryPoint = node;
+                    return;
+                }
+                connect(node, entry);
+                if (node.level > entry.level) {
+                    entryPoint = node;
+                }
+            }
+        } else {
+            connect(node, entry);
+        }
+    }
+
+    private void connect(Node node, Node entry) {
+        int current = entry.ordinal;
+        for (int level = entry.level; level > node.level; level--) {
+            current = greedyClosest(node.vector, current, level);
+        }
+        int topLevel = Math.min(node.level, entry.level);
+        for (int level = topLevel; level >= 0; level--) {
+            TopKHeap heap = searchLayer(node.vector, current, efConstruction, level, candidate -> true);
+            int[] ordinals = new int[heap.size()];
+            float[] scores = new float[heap.size()];
+            int count = heap.drainDescending(ordinals, scores);
+
+            node.links.set(level, selectNeighbours(ordinals, scores, count, m));
+            if (count > 0) {
+                current = ordinals[0];
+            }
+        }
+        // 모든 레벨의 이웃 목록이 채워진 뒤에 역방향 연결을 추가해야
+        // 동시에 검색하는 스레드가 하위 레벨 연결이 없는 노드에서 멈추지 않는다
+        for (int level = topLevel; level >= 0; level--) {
+            int maxConnections = level == 0 ? maxConnections0 : m;
+            for (int neighbour : node.links.get(level)) {
+                addLink(nodeAt(neighbour), node.ordinal, level, maxConnections);
+            }
+        }
+    }
+
+    /**
+     * 이웃 노드에 역방향 연결을 추가합니다. 최대 연결 수를 넘으면 휴리스틱으로 다시 고릅니다.
+     */
+    private void addLink(Node target, int ordinal, int level, int maxConnections) {
+        synchronized (target) {
+            int[] current = target.links.get(level);
+            if (current == null) {
+                current = new int[0];
+            }
+            int[] candidates = Arrays.copyOf(current, current.length + 1);
+            candidates[current.length] = ordinal;
+            if (candidates.length <= maxConnections) {
+                target.links.set(level, candidates);
+                return;
+            }
+            float[] scores = new float[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                scores[i] = dot(target.vector, nodeAt(candidates[i]).vector);
+            }
+            sortDescending(candidates, scores);
+            target.links.set(level, selectNeighbours(candidates, scores, candidates.length, maxConnections));
+        }
+    }
+
+    /**
+     * HNSW 논문의 이웃 선택 휴리스틱: 이미 고른 이웃보다 기준점에 더 가까운 후보만 선택하여
+     * 한쪽으로 몰리지 않은 연결을 만듭니다. 입력 후보는 점수 내림차순이어야 합니다.
+     */
+    private int[] selectNeighbours(int[] candidates, float[] scores, int count, int max) {
+        int[] selected = new int[Math.min(count, max)];
+        int size = 0;
+        for (int i = 0; i < count && size < selected.length; i++) {
+            float[] candidate = nodeAt(candidates[i]).vector;
+            boolean diverse = true;
+            for (int j = 0; j < size; j++) {
+                if (dot(candidate, nodeAt(selected[j]).vector) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = candidates[i];
+            }
+        }
+        return size == selected.length ? selected : Arrays.copyOf(selected, size);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int best = start;
+        float bestScore = dot(query, nodeAt(start).vector);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] links = nodeAt(best).links.get(level);
+            if (links == null) {
+                break;
+            }
+            for (int neighbour : links) {
+                float score = dot(query, nodeAt(neighbour).vector);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = neighbour;
+                    changed = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 한 레벨에서 ef 개의 최근접 후보를 찾습니다. accept 를 통과한 노드만 결과에 담고,
+     * 통과하지 못한 노드도 탐색 경로로는 계속 사용합니다.
+     */
+    private TopKHeap searchLayer(float[] query, int entry, int ef, int level, Predicate<Node> accept) {
+        VisitedSet visited = visitedSets.get();
+        visited.reset();
+        CandidateQueue candidates = new CandidateQueue(ef * 2);
+        TopKHeap results = new TopKHeap(ef);
+
+        Node entryNode = nodeAt(entry);
+        float entryScore = dot(query, entryNode.vector);
+        visited.add(entry);
+        candidates.push(entry, entryScore);
+        if (accept.test(entryNode)) {
+            results.offer(entry, entryScore);
+        }
+
+        while (!candidates.isEmpty()) {
+            if (results.isFull() && candidates.topScore() < results.minScore()) {
+                break;
+            }
+            int[] links = nodeAt(candidates.pop()).links.get(level);
+            if (links == null) {
+                continue;
+            }
+            for (int neighbour : links) {
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                Node node = nodeAt(neighbour);
+                float score = dot(query, node.vector);
+                if (!results.isFull() || score > results.minScore()) {
+                    candidates.push(neighbour, score);
+                    if (accept.test(node)) {
+                        results.offer(neighbour, score);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private void store(Node node) {
+        synchronized (growLock) {
+            Node[] current = nodes;
+            if (node.ordinal >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, node.ordinal + 1));
+            }
+            current[node.ordinal] = node;
+            nodes = current;
+        }
+    }
+
+    private Node nodeAt(int ordinal) {
+        return nodes[ordinal];
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (int) Math.min(-Math.log(r) * levelMultiplier, 16);
+    }
+
+    private static void sortDescending(int[] ordinals, float[] scores) {
+        for (int i = 1; i < ordinals.length; i++) {
+            int ordinal = ordinals[i];
+            float score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                ordinals[j + 1] = ordinals[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            ordinals[j + 1] = ordinal;
+            scores[j + 1] = score;
+        }
+    }
+
+    private float dot(float[] a, float[] b) {
+        return kernel.dot(a, b);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double sum = 0.0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        float[] normalized = new float[vector.length];
+        if (sum == 0.0) {
+            return normalized;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverse;
+        }
+        return normalized;
+    }
+}
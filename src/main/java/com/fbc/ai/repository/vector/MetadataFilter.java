@@ -0,0 +1,61 @@
+package com.fbc.ai.repository.vector;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Spring AI Filter.Expression 을 청크 메타데이터에 대한 Predicate 로 변환합니다.
+ * SimpleVectorStore 와 같은 방식(SpEL)으로 평가하므로 필터 의미가 동일합니다.
+ *
+ * SimpleVectorStore 는 행마다 평가 컨텍스트를 새로 만들어 #metadata 변수에 메타데이터를 넣지만,
+ * 여기서는 #metadata 를 평가 대상 객체(#root)로 바꾸어 변경되지 않는 컨텍스트 하나를 모든 행(과 샤드 스레드)이 함께 씁니다.
+ */
+final class MetadataFilter {
+
+    private static final FilterExpressionConverter CONVERTER = new SimpleVectorStoreFilterExpressionConverter();
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final String METADATA_VARIABLE = "#metadata";
+    private static final String ROOT_VARIABLE = "#root";
+
+    /** 변수를 두지 않는 읽기 전용 컨텍스트 (IN 조건의 List.contains 호출만 허용) */
+    private static final EvaluationContext CONTEXT = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .withInstanceMethods()
+            .build();
+
+    static Predicate<Map<String, Object>> of(Filter.Expression filterExpression) {
+        Expression expression = PARSER.parseExpression(toRootReferences(CONVERTER.convertExpression(filterExpression)));
+        return metadata -> Boolean.TRUE.equals(expression.getValue(CONTEXT, metadata, Boolean.class));
+    }
+
+    /**
+     * 문자열 리터럴('...', 안의 '' 는 작은따옴표) 밖의 #metadata 를 #root 로 바꿉니다.
+     */
+    static String toRootReferences(String spel) {
+        StringBuilder converted = new StringBuilder(spel.length());
+        boolean literal = false;
+        for (int i = 0; i < spel.length(); i++) {
+            char c = spel.charAt(i);
+            if (c == '\'') {
+                literal = !literal;
+            } else if (!literal && spel.startsWith(METADATA_VARIABLE, i)) {
+                converted.append(ROOT_VARIABLE);
+                i += METADATA_VARIABLE.length() - 1;
+                continue;
+            }
+            converted.append(c);
+        }
+        return converted.toString();
+    }
+
+    private MetadataFilter() {
+    }
+}
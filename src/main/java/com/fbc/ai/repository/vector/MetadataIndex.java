@@ -0,0 +1,158 @@
+package com.fbc.ai.repository.vector;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 메타데이터 값 → 행 번호(ordinal) 압축 비트맵(RoaringBitmap) 역색인입니다.
+ *
+ * 지정한 키(bucket_id, file_name 등)만 색인하고, Filter.Expression 중 색인 키에 대한 EQ / IN 과
+ * 그 AND / OR 조합을 비트맵 연산으로 바꿔 벡터 스캔 전에 후보 행을 좁힙니다.
+ * 변환할 수 없는 조건은 후보를 좁히지 않고 SpEL 필터(MetadataFilter)로 확인하도록 남겨 둡니다.
+ * 동기화는 호출하는 쪽(벡터 스토어)의 락에 맡깁니다.
+ */
+final class MetadataIndex {
+
+    /** RagServiceImpl.uploadFile 이 모든 청크에 붙이는 메타데이터 키 */
+    static final Set<String> DEFAULT_KEYS = Set.of("bucket_id", "file_name", "content_type");
+
+    private final Set<String> keys;
+    private final Map<String, Map<Object, RoaringBitmap>> postings = new HashMap<>();
+
+    MetadataIndex(Set<String> keys) {
+        this.keys = Set.copyOf(keys);
+    }
+
+    /**
+     * 필터 변환 결과.
+     *
+     * @param rows  후보 행 비트맵
+     * @param exact true 면 후보가 곧 필터 결과이므로 행마다 필터를 다시 평가하지 않아도 됨
+     */
+    record Candidates(RoaringBitmap rows, boolean exact) {
+    }
+
+    void add(int ordinal, Map<String, Object> metadata) {
+        for (String key : keys) {
+            Object value = metadata.get(key);
+            if (value != null) {
+                postings.computeIfAbsent(key, k -> new HashMap<>())
+                        .computeIfAbsent(normalize(value), v -> new RoaringBitmap())
+                        .add(ordinal);
+            }
+        }
+    }
+
+    void remove(int ordinal, Map<String, Object> metadata) {
+        for (String key : keys) {
+            Object value = metadata.get(key);
+            Map<Object, RoaringBitmap> values = value == null ? null : postings.get(key);
+            if (values == null) {
+                continue;
+            }
+            Object normalized = normalize(value);
+            RoaringBitmap rows = values.get(normalized);
+            if (rows != null) {
+                rows.remove(ordinal);
+                if (rows.isEmpty()) {
+                    values.remove(normalized);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * 필터를 비트맵 후보로 변환합니다.
+     *
+     * @return 후보를 좁힐 수 없으면 null
+     */
+    Candidates candidates(Filter.Expression expression) {
+        switch (expression.type()) {
+            case EQ, IN -> {
+                String key = key(expression.left());
+                if (key == null || !(expression.right() instanceof Filter.Value value)) {
+                    return null;
+                }
+                Map<Object, RoaringBitmap> values = postings.getOrDefault(key, Map.of());
+                RoaringBitmap rows = new RoaringBitmap();
+                if (expression.type() == Filter.ExpressionType.EQ) {
+                    RoaringBitmap matched = values.get(normalize(value.value()));
+                    if (matched != null) {
+                        rows.or(matched);
+                    }
+                } else if (value.value() instanceof List<?> list) {
+                    for (Object item : list) {
+                        RoaringBitmap matched = values.get(normalize(item));
+                        if (matched != null) {
+                            rows.or(matched);
+                        }
+                    }
+                } else {
+                    return null;
+                }
+                return new Candidates(rows, true);
+            }
+            case AND -> {
+                Candidates left = candidates(expression.left());
+                Candidates right = candidates(expression.right());
+                if (left == null && right == null) {
+                    return null;
+                }
+                if (left == null || right == null) {
+                    // 한쪽만 변환되면 후보는 좁히되 나머지 조건은 행마다 확인한다
+                    return new Candidates((left != null ? left : right).rows(), false);
+                }
+                return new Candidates(RoaringBitmap.and(left.rows(), right.rows()), left.exact() && right.exact());
+            }
+            case OR -> {
+                Candidates left = candidates(expression.left());
+                Candidates right = candidates(expression.right());
+                if (left == null || right == null) {
+                    return null;
+                }
+                return new Candidates(RoaringBitmap.or(left.rows(), right.rows()), left.exact() && right.exact());
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private Candidates candidates(Filter.Operand operand) {
+        if (operand instanceof Filter.Expression expression) {
+            return candidates(expression);
+        }
+        if (operand instanceof Filter.Group group) {
+            return candidates(group.content());
+        }
+        return null;
+    }
+
+    private String key(Filter.Operand operand) {
+        if (operand instanceof Filter.Key key) {
+            String name = key.key();
+            // FilterExpressionTextParser 는 따옴표로 감싼 키를 그대로 넘긴다
+            if (name.length() > 1 && (name.startsWith("\"") && name.endsWith("\"") || name.startsWith("'") && name.endsWith("'"))) {
+                name = name.substring(1, name.length() - 1);
+            }
+            return keys.contains(name) ? name : null;
+        }
+        return null;
+    }
+
+    /**
+     * 숫자는 타입(Integer/Long/Double)과 관계없이 같은 값이면 같은 키가 되도록 맞춥니다.
+     */
+    private static Object normalize(Object value) {
+        return value instanceof Number number ? (Object) number.doubleValue() : value;
+    }
+}
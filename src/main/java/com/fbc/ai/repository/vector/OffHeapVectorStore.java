@@ -0,0 +1,733 @@
+package com.fbc.ai.repository.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 모든 임베딩을 하나의 off-heap 행렬({@link EmbeddingMatrix})에 보관하는 인메모리 VectorStore 입니다.
+ *
+ * SimpleVectorStore 는 청크마다 float[] 와 Document 객체를 힙에 두기 때문에 청크 수가 늘어나면
+ * GC 부담이 커집니다. 이 구현은 벡터를 direct ByteBuffer 에, 청크 ID/본문/메타데이터는
+ * 행 번호(ordinal)로 접근하는 배열에 두고, 검색 시에는 할당 없는 단일 루프로 코사인 유사도를 계산합니다.
+ * topK / similarityThreshold / filterExpression 의 의미는 SimpleVectorStore 와 동일합니다.
+ * 양자화({@link QuantizationMode}) 를 켜면 압축 코드로 후보(topK x rescoreMultiplier)를 먼저 고르고,
+ * 후보만 원본 float 벡터로 다시 점수를 매깁니다.
+ * 행이 많으면 {@link #SHARD_ROWS} 행 단위 샤드로 나누어 ForkJoinPool 에서 병렬로 스캔하고,
+ * 샤드마다 고정 크기 min-heap 에 남긴 상위 k 개를 병합합니다.
+ * bucket_id / file_name / content_type 은 {@link MetadataIndex} 비트맵으로 색인해 두고,
+ * 필터가 이 키들로 변환되면 후보 행만 스캔합니다.
+ * 여러 질의는 {@link #similaritySearch(List, SearchRequest)} 로 행렬을 한 번만 훑으며 함께 검색할 수 있습니다.
+ * {@link VectorSnapshot} 파일로 저장/복원할 수 있습니다.
+ */
+@Slf4j
+public class OffHeapVectorStore implements VectorStore, VectorSnapshot.Support, BatchSearch {
+
+    /** 병렬 스캔 시 작업 하나(샤드)가 맡는 행 수 */
+    static final int SHARD_ROWS = 2048;
+
+    /** 배치 검색 시 행렬을 한 번 훑으며 함께 계산하는 질의 수 */
+    static final int QUERY_BLOCK = 16;
+
+    private final EmbeddingModel embeddingModel;
+    private final BatchingStrategy batchingStrategy;
+    private final QuantizationMode quantization;
+    private final int rescoreMultiplier;
+    private final ForkJoinPool searchPool;
+    private final DistanceKernel kernel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private EmbeddingMatrix matrix;
+    private QuantizedCodes codes;
+    private String[] ids = new String[EmbeddingMatrix.DEFAULT_ROWS_PER_PAGE];
+    private String[] texts = new String[EmbeddingMatrix.DEFAULT_ROWS_PER_PAGE];
+    @SuppressWarnings("unchecked")
+    private Map<String, Object>[] metadata = new Map[EmbeddingMatrix.DEFAULT_ROWS_PER_PAGE];
+    private final BitSet deleted = new BitSet();
+    private final ChunkIdIndex idIndex = new ChunkIdIndex(ordinal -> ids[ordinal]);
+    private final MetadataIndex metadataIndex = new MetadataIndex(MetadataIndex.DEFAULT_KEYS);
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+
+    public OffHeapVectorStore(EmbeddingModel embeddingModel) {
+        this(embeddingModel, new TokenCountBatchingStrategy());
+    }
+
+    public OffHeapVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy) {
+        this(embeddingModel, batchingStrategy, QuantizationMode.NONE, 1);
+    }
+
+    /**
+     * @param quantization      압축 코드 방식
+     * @param rescoreMultiplier 원본 벡터로 다시 점수를 매길 후보 수 배율 (topK x rescoreMultiplier)
+     */
+    public OffHeapVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+                              QuantizationMode quantization, int rescoreMultiplier) {
+        this(embeddingModel, batchingStrategy, quantization, rescoreMultiplier, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param searchPool 샤드 병렬 스캔에 사용할 풀. null 이면 호출 스레드에서 순차 스캔
+     */
+    public OffHeapVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+                              QuantizationMode quantization, int rescoreMultiplier, ForkJoinPool searchPool) {
+        this(embeddingModel, batchingStrategy, quantization, rescoreMultiplier, searchPool, DistanceKernels.preferred());
+    }
+
+    /**
+     * @param kernel 내적 계산 커널 (스칼라 / SIMD)
+     */
+    public OffHeapVectorStore(EmbeddingModel embeddingModel, BatchingStrategy batchingStrategy,
+                              QuantizationMode quantization, int rescoreMultiplier, ForkJoinPool searchPool,
+                              DistanceKernel kernel) {
+        if (rescoreMultiplier < 1) {
+            throw new IllegalArgumentException("rescoreMultiplier 는 1 이상이어야 합니다: " + rescoreMultiplier);
+        }
+        this.embeddingModel = embeddingModel;
+        this.batchingStrategy = batchingStrategy;
+        this.quantization = quantization;
+        this.rescoreMultiplier = rescoreMultiplier;
+        this.searchPool = searchPool;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public String getName() {
+        return "OffHeapVectorStore";
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return;
+        }
+        List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), batchingStrategy);
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documents.size(); i++) {
+                upsert(documents.get(i), embeddings.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("OffHeapVectorStore 청크 추가 - 추가: {}, 전체: {}", documents.size(), size());
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        lock.writeLock().lock();
+        try {
+            for (String id : idList) {
+                int ordinal = idIndex.remove(id);
+                if (ordinal >= 0) {
+                    release(ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        Predicate<Map<String, Object>> filter = MetadataFilter.of(filterExpression);
+        lock.writeLock().lock();
+        try {
+            MetadataIndex.Candidates candidates = metadataIndex.candidates(filterExpression);
+            int[] ordinals;
+            if (candidates != null) {
+                // release 가 색인 비트맵을 수정하므로 후보를 먼저 배열로 복사한다
+                ordinals = candidates.rows().toArray();
+            } else {
+                int rows = matrix == null ? 0 : matrix.rows();
+                ordinals = new int[rows];
+                Arrays.setAll(ordinals, ordinal -> ordinal);
+            }
+            for (int ordinal : ordinals) {
+                if (!deleted.get(ordinal) && (candidates != null && candidates.exact() || filter.test(metadata[ordinal]))) {
+                    idIndex.remove(ids[ordinal]);
+                    release(ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        float[] query = embeddingModel.embed(request.getQuery());
+
+        lock.readLock().lock();
+        try {
+            if (matrix == null || size() == 0) {
+                return List.of();
+            }
+            ScanScope scope = scope(request);
+            if (scope.isEmpty()) {
+                return List.of();
+            }
+            TopKHeap heap = new TopKHeap(request.getTopK());
+            if (codes != null) {
+                scanQuantized(query, (float) request.getSimilarityThreshold(), scope.candidates(), scope.filter(), heap);
+            } else {
+                scan(query, (float) request.getSimilarityThreshold(), scope.candidates(), scope.filter(), heap);
+            }
+            return toDocuments(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 여러 질의를 한 번의 임베딩 요청으로 벡터화한 뒤, 질의 {@link #QUERY_BLOCK} 개씩 행렬을 한 번만 훑으며 검색합니다.
+     * 행 하나를 읽어 캐시에 올린 상태에서 블록의 모든 질의와 내적을 계산하므로(행렬 x 행렬 블록),
+     * 질의마다 전체 행렬을 다시 읽는 것보다 메모리에서 읽는 양이 질의 수만큼 줄어듭니다.
+     * 양자화를 쓰는 경우 임베딩만 한 번에 만들고 질의마다 압축 코드 스캔을 수행합니다.
+     */
+    @Override
+    public List<List<Document>> similaritySearch(List<String> queries, SearchRequest options) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<float[]> embeddings = embeddingModel.embed(queries);
+        float threshold = (float) options.getSimilarityThreshold();
+
+        lock.readLock().lock();
+        try {
+            List<List<Document>> results = new ArrayList<>(queries.size());
+            ScanScope scope = matrix == null || size() == 0 ? null : scope(options);
+            if (scope == null || scope.isEmpty()) {
+                for (int i = 0; i < queries.size(); i++) {
+                    results.add(List.of());
+                }
+                return results;
+            }
+            if (codes != null) {
+                for (float[] query : embeddings) {
+                    TopKHeap heap = new TopKHeap(options.getTopK());
+                    scanQuantized(query, threshold, scope.candidates(), scope.filter(), heap);
+                    results.add(toDocuments(heap));
+                }
+                return results;
+            }
+            for (int from = 0; from < embeddings.size(); from += QUERY_BLOCK) {
+                float[][] block = embeddings.subList(from, Math.min(from + QUERY_BLOCK, embeddings.size()))
+                        .toArray(new float[0][]);
+                for (TopKHeap heap : scanBlock(block, threshold, scope, options.getTopK())) {
+                    results.add(toDocuments(heap));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void saveSnapshot(Path path) throws IOException {
+        lock.readLock().lock();
+        try {
+            int rows = matrix == null ? 0 : matrix.rows();
+            int[] live = new int[size()];
+            int count = 0;
+            for (int ordinal = 0; ordinal < rows; ordinal++) {
+                if (!deleted.get(ordinal)) {
+                    live[count++] = ordinal;
+                }
+            }
+            int dimensions = matrix == null ? 0 : matrix.dimensions();
+            VectorSnapshot.write(path, new VectorSnapshot.Rows() {
+                @Override
+                public int count() {
+                    return live.length;
+                }
+
+                @Override
+                public int dimensions() {
+                    return dimensions;
+                }
+
+                @Override
+                public String id(int row) {
+                    return ids[live[row]];
+                }
+
+                @Override
+                public String text(int row) {
+                    return texts[live[row]];
+                }
+
+                @Override
+                public Map<String, Object> metadata(int row) {
+                    return metadata[live[row]];
+                }
+
+                @Override
+                public void vector(int row, float[] target) {
+                    matrix.copyRow(live[row], target);
+                }
+            });
+            log.info("OffHeapVectorStore 스냅샷 저장 - 청크: {}, 파일: {}", live.length, path);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 파일로 현재 내용을 교체합니다. 임베딩 블록은 메모리 매핑 후 페이지 단위로 bulk 복사합니다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int loadSnapshot(Path path) throws IOException {
+        try (VectorSnapshot.Reader reader = VectorSnapshot.open(path)) {
+            int count = reader.count();
+            EmbeddingMatrix loaded = new EmbeddingMatrix(Math.max(reader.dimensions(), 1), kernel);
+            for (int from = 0; from < count; from += loaded.rowsPerPage()) {
+                int rows = Math.min(loaded.rowsPerPage(), count - from);
+                loaded.appendRows(reader.embeddings(from, rows), rows);
+            }
+            QuantizedCodes loadedCodes = null;
+            if (quantization != QuantizationMode.NONE && count > 0) {
+                loadedCodes = new QuantizedCodes(quantization, loaded.dimensions(), loaded.rowsPerPage());
+                float[] vector = new float[loaded.dimensions()];
+                for (int row = 0; row < count; row++) {
+                    loadedCodes.set(row, loaded.copyRow(row, vector));
+                }
+            }
+            int capacity = Math.max(count, EmbeddingMatrix.DEFAULT_ROWS_PER_PAGE);
+            String[] loadedIds = new String[capacity];
+            String[] loadedTexts = new String[capacity];
+            Map<String, Object>[] loadedMetadata = new Map[capacity];
+            reader.readChunks((row, id, text, values) -> {
+                loadedIds[row] = id;
+                loadedTexts[row] = text;
+                loadedMetadata[row] = values;
+            });
+
+            lock.writeLock().lock();
+            try {
+                matrix = count == 0 ? null : loaded;
+                codes = loadedCodes;
+                ids = loadedIds;
+                texts = loadedTexts;
+                metadata = loadedMetadata;
+                deleted.clear();
+                freeCount = 0;
+                idIndex.clear();
+                metadataIndex.clear();
+                for (int row = 0; row < count; row++) {
+                    idIndex.put(loadedIds[row], row);
+                    metadataIndex.add(row, loadedMetadata[row]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("OffHeapVectorStore 스냅샷 복원 - 청크: {}, 파일: {}", count, path);
+            return count;
+        }
+    }
+
+    /**
+     * 저장된(삭제되지 않은) 청크 수
+     */
+    public int size() {
+        return idIndex.size();
+    }
+
+    /**
+     * 임베딩 행렬이 점유한 off-heap 바이트 수
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return matrix == null ? 0L : matrix.offHeapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 압축 코드가 점유한 힙 바이트 수 (양자화를 쓰지 않으면 0)
+     */
+    public long quantizedBytes() {
+        lock.readLock().lock();
+        try {
+            return codes == null ? 0L : codes.bytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 행(candidates 가 있으면 후보 행)을 한 번 훑으며 코사인 유사도 상위 k 개를 heap 에 남깁니다.
+     */
+    private void scan(float[] query, float threshold, RoaringBitmap candidates,
+                      Predicate<Map<String, Object>> filter, TopKHeap heap) {
+        float queryNorm = norm(query);
+        if (queryNorm == 0f) {
+            return;
+        }
+        heap.merge(scanShards(ordinal -> cosine(ordinal, query, queryNorm), threshold, candidates, filter, heap.capacity()));
+    }
+
+    /**
+     * 압축 코드로 전체 행을 훑어 후보를 고른 뒤, 후보만 원본 벡터의 코사인 유사도로 다시 계산합니다.
+     * similarityThreshold 는 다시 계산한 점수에 적용합니다.
+     */
+    private void scanQuantized(float[] query, float threshold, RoaringBitmap candidates,
+                               Predicate<Map<String, Object>> filter, TopKHeap heap) {
+        float queryNorm = norm(query);
+        if (queryNorm == 0f) {
+            return;
+        }
+        QuantizedCodes.Query encoded = codes.encode(query);
+        int capacity = (int) Math.min((long) heap.capacity() * rescoreMultiplier, size());
+        TopKHeap approximateTop = scanShards(ordinal -> codes.score(ordinal, encoded), Float.NEGATIVE_INFINITY,
+                candidates, filter, capacity);
+
+        int[] ordinals = new int[approximateTop.size()];
+        float[] approximate = new float[approximateTop.size()];
+        int count = approximateTop.drainDescending(ordinals, approximate);
+        for (int i = 0; i < count; i++) {
+            float score = cosine(ordinals[i], query, queryNorm);
+            if (score >= threshold) {
+                heap.offer(ordinals[i], score);
+            }
+        }
+    }
+
+    /**
+     * 행 점수 상위 capacity 개를 구합니다. 스캔할 행이 한 샤드보다 많으면 ForkJoinPool 에서 샤드별로 나누어 스캔합니다.
+     * 읽기 락은 호출 스레드가 잡고 있으므로 작업 스레드는 락 없이 읽기만 합니다.
+     *
+     * @param candidates 스캔할 행 비트맵. null 이면 전체 행
+     */
+    private TopKHeap scanShards(RowScorer scorer, float threshold, RoaringBitmap candidates,
+                                Predicate<Map<String, Object>> filter, int capacity) {
+        int rows = matrix.rows();
+        long scanned = candidates == null ? rows : candidates.getLongCardinality();
+        if (searchPool == null || searchPool.getParallelism() < 2 || scanned <= SHARD_ROWS) {
+            TopKHeap heap = new TopKHeap(capacity);
+            scanRange(0, rows, scorer, threshold, candidates, filter, heap);
+            return heap;
+        }
+        return searchPool.invoke(new ShardScan(0, rows, scorer, threshold, candidates, filter, capacity));
+    }
+
+    /**
+     * [from, to) 행(candidates 가 있으면 그 중 후보 행)을 훑으며 상위 k 개를 heap 에 남깁니다.
+     * 루프 안에서는 객체를 할당하지 않습니다.
+     */
+    private void scanRange(int from, int to, RowScorer scorer, float threshold, RoaringBitmap candidates,
+                           Predicate<Map<String, Object>> filter, TopKHeap heap) {
+        if (candidates == null) {
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                scanRow(ordinal, scorer, threshold, filter, heap);
+            }
+            return;
+        }
+        PeekableIntIterator iterator = candidates.getIntIterator();
+        iterator.advanceIfNeeded(from);
+        while (iterator.hasNext() && iterator.peekNext() < to) {
+            scanRow(iterator.next(), scorer, threshold, filter, heap);
+        }
+    }
+
+    private void scanRow(int ordinal, RowScorer scorer, float threshold,
+                         Predicate<Map<String, Object>> filter, TopKHeap heap) {
+        if (deleted.get(ordinal)) {
+            return;
+        }
+        if (filter != null && !filter.test(metadata[ordinal])) {
+            return;
+        }
+        float score = scorer.score(ordinal);
+        // 노름이 0인 행은 NaN 이 되어 비교에서 제외된다
+        if (score >= threshold) {
+            heap.offer(ordinal, score);
+        }
+    }
+
+    /**
+     * 질의 블록을 함께 스캔하여 질의별 상위 capacity 개를 구합니다. 병렬 조건은 {@link #scanShards} 와 같습니다.
+     */
+    private TopKHeap[] scanBlock(float[][] queries, float threshold, ScanScope scope, int capacity) {
+        float[] norms = new float[queries.length];
+        for (int q = 0; q < queries.length; q++) {
+            norms[q] = norm(queries[q]);
+        }
+        int rows = matrix.rows();
+        long scanned = scope.candidates() == null ? rows : scope.candidates().getLongCardinality();
+        if (searchPool == null || searchPool.getParallelism() < 2 || scanned <= SHARD_ROWS) {
+            TopKHeap[] heaps = newHeaps(queries.length, capacity);
+            scanBlockRange(0, rows, queries, norms, threshold, scope, heaps);
+            return heaps;
+        }
+        return searchPool.invoke(new BlockShardScan(0, rows, queries, norms, threshold, scope, capacity));
+    }
+
+    private void scanBlockRange(int from, int to, float[][] queries, float[] norms, float threshold,
+                                ScanScope scope, TopKHeap[] heaps) {
+        if (scope.candidates() == null) {
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                scanBlockRow(ordinal, queries, norms, threshold, scope.filter(), heaps);
+            }
+            return;
+        }
+        PeekableIntIterator iterator = scope.candidates().getIntIterator();
+        iterator.advanceIfNeeded(from);
+        while (iterator.hasNext() && iterator.peekNext() < to) {
+            scanBlockRow(iterator.next(), queries, norms, threshold, scope.filter(), heaps);
+        }
+    }
+
+    private void scanBlockRow(int ordinal, float[][] queries, float[] norms, float threshold,
+                              Predicate<Map<String, Object>> filter, TopKHeap[] heaps) {
+        if (deleted.get(ordinal)) {
+            return;
+        }
+        if (filter != null && !filter.test(metadata[ordinal])) {
+            return;
+        }
+        float rowNorm = matrix.norm(ordinal);
+        for (int q = 0; q < queries.length; q++) {
+            float score = matrix.dot(ordinal, queries[q]) / (rowNorm * norms[q]);
+            if (score >= threshold) {
+                heaps[q].offer(ordinal, score);
+            }
+        }
+    }
+
+    private static TopKHeap[] newHeaps(int count, int capacity) {
+        TopKHeap[] heaps = new TopKHeap[count];
+        for (int i = 0; i < count; i++) {
+            heaps[i] = new TopKHeap(capacity);
+        }
+        return heaps;
+    }
+
+    /**
+     * 검색 요청의 필터를 색인 후보 행과 행마다 확인할 조건으로 나눕니다. 읽기 락 안에서 호출합니다.
+     */
+    private ScanScope scope(SearchRequest request) {
+        if (!request.hasFilterExpression()) {
+            return new ScanScope(null, null);
+        }
+        Predicate<Map<String, Object>> filter = MetadataFilter.of(request.getFilterExpression());
+        MetadataIndex.Candidates indexed = metadataIndex.candidates(request.getFilterExpression());
+        if (indexed == null) {
+            return new ScanScope(null, filter);
+        }
+        return new ScanScope(indexed.rows(), indexed.exact() ? null : filter);
+    }
+
+    /**
+     * 스캔 범위
+     *
+     * @param candidates 스캔할 행 비트맵. null 이면 전체 행
+     * @param filter     행마다 확인할 메타데이터 조건. null 이면 확인하지 않음
+     */
+    private record ScanScope(RoaringBitmap candidates, Predicate<Map<String, Object>> filter) {
+        boolean isEmpty() {
+            return candidates != null && candidates.isEmpty();
+        }
+    }
+
+    private float cosine(int ordinal, float[] query, float queryNorm) {
+        return matrix.dot(ordinal, query) / (matrix.norm(ordinal) * queryNorm);
+    }
+
+    /**
+     * 행 번호로 점수를 계산하는 함수
+     */
+    @FunctionalInterface
+    private interface RowScorer {
+        float score(int ordinal);
+    }
+
+    /**
+     * 행 범위를 샤드 단위까지 둘로 나누어 병렬로 스캔하고, 샤드별 heap 을 병합하는 작업
+     */
+    private final class ShardScan extends RecursiveTask<TopKHeap> {
+        private final int from;
+        private final int to;
+        private final RowScorer scorer;
+        private final float threshold;
+        private final RoaringBitmap candidates;
+        private final Predicate<Map<String, Object>> filter;
+        private final int capacity;
+
+        ShardScan(int from, int to, RowScorer scorer, float threshold, RoaringBitmap candidates,
+                  Predicate<Map<String, Object>> filter, int capacity) {
+            this.from = from;
+            this.to = to;
+            this.scorer = scorer;
+            this.threshold = threshold;
+            this.candidates = candidates;
+            this.filter = filter;
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= SHARD_ROWS) {
+                TopKHeap heap = new TopKHeap(capacity);
+                scanRange(from, to, scorer, threshold, candidates, filter, heap);
+                return heap;
+            }
+            int shards = (to - from + SHARD_ROWS - 1) / SHARD_ROWS;
+            int middle = from + (shards / 2) * SHARD_ROWS;
+            ShardScan left = new ShardScan(from, middle, scorer, threshold, candidates, filter, capacity);
+            left.fork();
+            TopKHeap heap = new ShardScan(middle, to, scorer, threshold, candidates, filter, capacity).compute();
+            heap.merge(left.join());
+            return heap;
+        }
+    }
+
+    /**
+     * 행 범위를 샤드 단위로 나누어 질의 블록을 병렬로 스캔하고, 질의별 heap 을 병합하는 작업
+     */
+    private final class BlockShardScan extends RecursiveTask<TopKHeap[]> {
+        private final int from;
+        private final int to;
+        private final float[][] queries;
+        private final float[] norms;
+        private final float threshold;
+        private final ScanScope scope;
+        private final int capacity;
+
+        BlockShardScan(int from, int to, float[][] queries, float[] norms, float threshold,
+                       ScanScope scope, int capacity) {
+            this.from = from;
+            this.to = to;
+            this.queries = queries;
+            this.norms = norms;
+            this.threshold = threshold;
+            this.scope = scope;
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected TopKHeap[] compute() {
+            if (to - from <= SHARD_ROWS) {
+                TopKHeap[] heaps = newHeaps(queries.length, capacity);
+                scanBlockRange(from, to, queries, norms, threshold, scope, heaps);
+                return heaps;
+            }
+            int shards = (to - from + SHARD_ROWS - 1) / SHARD_ROWS;
+            int middle = from + (shards / 2) * SHARD_ROWS;
+            BlockShardScan left = new BlockShardScan(from, middle, queries, norms, threshold, scope, capacity);
+            left.fork();
+            TopKHeap[] heaps = new BlockShardScan(middle, to, queries, norms, threshold, scope, capacity).compute();
+            TopKHeap[] leftHeaps = left.join();
+            for (int q = 0; q < heaps.length; q++) {
+                heaps[q].merge(leftHeaps[q]);
+            }
+            return heaps;
+        }
+    }
+
+    private List<Document> toDocuments(TopKHeap heap) {
+        int[] ordinals = new int[heap.size()];
+        float[] scores = new float[heap.size()];
+        int count = heap.drainDescending(ordinals, scores);
+
+        List<Document> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int ordinal = ordinals[i];
+            double score = scores[i];
+            Map<String, Object> resultMetadata = new HashMap<>(metadata[ordinal]);
+            resultMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
+            results.add(Document.builder()
+                    .id(ids[ordinal])
+                    .text(texts[ordinal])
+                    .metadata(resultMetadata)
+                    .score(score)
+                    .build());
+        }
+        return results;
+    }
+
+    private void upsert(Document document, float[] embedding) {
+        if (matrix == null) {
+            matrix = new EmbeddingMatrix(embedding.length, kernel);
+            if (quantization != QuantizationMode.NONE) {
+                codes = new QuantizedCodes(quantization, matrix.dimensions(), matrix.rowsPerPage());
+            }
+        }
+        int ordinal = idIndex.get(document.getId());
+        if (ordinal >= 0) {
+            matrix.set(ordinal, embedding);
+            metadataIndex.remove(ordinal, metadata[ordinal]);
+        } else if (freeCount > 0) {
+            ordinal = freeOrdinals[--freeCount];
+            matrix.set(ordinal, embedding);
+            deleted.clear(ordinal);
+        } else {
+            ordinal = matrix.append(embedding);
+            ensureCapacity(ordinal + 1);
+        }
+        if (codes != null) {
+            codes.set(ordinal, embedding);
+        }
+        ids[ordinal] = document.getId();
+        texts[ordinal] = document.getText();
+        metadata[ordinal] = new HashMap<>(document.getMetadata());
+        metadataIndex.add(ordinal, metadata[ordinal]);
+        idIndex.put(document.getId(), ordinal);
+    }
+
+    private void release(int ordinal) {
+        metadataIndex.remove(ordinal, metadata[ordinal]);
+        deleted.set(ordinal);
+        ids[ordinal] = null;
+        texts[ordinal] = null;
+        metadata[ordinal] = null;
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            int capacity = Math.max(ids.length * 2, required);
+            ids = Arrays.copyOf(ids, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            metadata = Arrays.copyOf(metadata, capacity);
+        }
+    }
+
+    private static float norm(float[] vector) {
+        double sum = 0.0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        return (float) Math.sqrt(sum);
+    }
+}
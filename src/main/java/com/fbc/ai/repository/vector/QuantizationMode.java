@@ -0,0 +1,27 @@
+package com.fbc.ai.repository.vector;
+
+/**
+ * OffHeapVectorStore 의 임베딩 압축(양자화) 방식
+ */
+public enum QuantizationMode {
+
+    /** 압축하지 않고 float32 행렬을 그대로 스캔 */
+    NONE,
+
+    /** 차원당 1 byte (float32 대비 1/4). 정규화한 벡터를 [-127, 127] 정수로 변환 */
+    INT8,
+
+    /** 차원당 1 bit (float32 대비 1/32). 부호 비트만 보관하고 해밍 거리로 비교 */
+    BINARY;
+
+    public static QuantizationMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 양자화 방식입니다: " + value);
+        }
+    }
+}
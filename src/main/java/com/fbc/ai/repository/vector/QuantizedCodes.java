@@ -0,0 +1,176 @@
+package com.fbc.ai.repository.vector;
+
+import java.util.Arrays;
+
+/**
+ * 임베딩 행렬과 같은 행 번호(ordinal)로 접근하는 압축 코드 저장소입니다.
+ *
+ * <ul>
+ *     <li>INT8 : 단위 벡터로 정규화한 뒤 행마다 최대 절댓값 기준으로 [-127, 127] 에 대응시킵니다.
+ *     근사 코사인 = 정수 내적 x 질의 배율 x 행 배율</li>
+ *     <li>BINARY : 차원마다 부호 비트 1개를 long 에 채워 넣습니다.
+ *     근사 코사인 = 1 - 2 x 해밍거리 / 차원 수</li>
+ * </ul>
+ *
+ * 근사 점수는 후보를 고르는 용도로만 쓰고, 최종 점수는 호출하는 쪽에서 원본 float 벡터로 다시 계산합니다.
+ * 코드는 페이지 단위 primitive 배열로 보관하므로 행 수만큼 객체가 생기지 않습니다.
+ * 동기화는 호출하는 쪽(벡터 스토어)의 락에 맡깁니다.
+ */
+final class QuantizedCodes {
+
+    private final QuantizationMode mode;
+    private final int dimensions;
+    private final int rowsPerPage;
+    /** 행당 코드 길이 (INT8 은 byte 수, BINARY 는 long 수) */
+    private final int stride;
+
+    private byte[][] bytePages = new byte[4][];
+    private long[][] bitPages = new long[4][];
+    private float[] scales;
+
+    QuantizedCodes(QuantizationMode mode, int dimensions, int rowsPerPage) {
+        if (mode == QuantizationMode.NONE) {
+            throw new IllegalArgumentException("NONE 모드는 압축 코드를 만들지 않습니다.");
+        }
+        this.mode = mode;
+        this.dimensions = dimensions;
+        this.rowsPerPage = rowsPerPage;
+        this.stride = mode == QuantizationMode.INT8 ? dimensions : (dimensions + Long.SIZE - 1) / Long.SIZE;
+        this.scales = new float[mode == QuantizationMode.INT8 ? rowsPerPage : 0];
+    }
+
+    /**
+     * 압축된 질의. 검색 1회에 한 번 만들고 스캔 루프에서 재사용합니다.
+     */
+    static final class Query {
+        private final byte[] bytes;
+        private final long[] bits;
+        private final float scale;
+
+        private Query(byte[] bytes, long[] bits, float scale) {
+            this.bytes = bytes;
+            this.bits = bits;
+            this.scale = scale;
+        }
+    }
+
+    QuantizationMode mode() {
+        return mode;
+    }
+
+    /**
+     * 행의 코드를 (다시) 계산합니다. 필요하면 페이지를 할당합니다.
+     */
+    void set(int ordinal, float[] vector) {
+        ensureCapacity(ordinal + 1);
+        int page = ordinal / rowsPerPage;
+        int base = (ordinal % rowsPerPage) * stride;
+        if (mode == QuantizationMode.INT8) {
+            scales[ordinal] = encodeInt8(vector, bytePages[page], base);
+        } else {
+            encodeBits(vector, bitPages[page], base);
+        }
+    }
+
+    Query encode(float[] query) {
+        if (mode == QuantizationMode.INT8) {
+            byte[] bytes = new byte[stride];
+            return new Query(bytes, null, encodeInt8(query, bytes, 0));
+        }
+        long[] bits = new long[stride];
+        encodeBits(query, bits, 0);
+        return new Query(null, bits, 0f);
+    }
+
+    /**
+     * 압축 코드끼리 계산한 근사 코사인 유사도
+     */
+    float score(int ordinal, Query query) {
+        int page = ordinal / rowsPerPage;
+        int base = (ordinal % rowsPerPage) * stride;
+        if (mode == QuantizationMode.INT8) {
+            byte[] codes = bytePages[page];
+            byte[] q = query.bytes;
+            int sum = 0;
+            for (int i = 0; i < stride; i++) {
+                sum += codes[base + i] * q[i];
+            }
+            return sum * scales[ordinal] * query.scale;
+        }
+        long[] codes = bitPages[page];
+        long[] q = query.bits;
+        int hamming = 0;
+        for (int i = 0; i < stride; i++) {
+            hamming += Long.bitCount(codes[base + i] ^ q[i]);
+        }
+        return 1f - 2f * hamming / dimensions;
+    }
+
+    /**
+     * 코드가 점유한 힙 바이트 수 (배율 배열 포함)
+     */
+    long bytes() {
+        long bytes = (long) scales.length * Float.BYTES;
+        for (byte[] page : bytePages) {
+            bytes += page == null ? 0 : page.length;
+        }
+        for (long[] page : bitPages) {
+            bytes += page == null ? 0 : (long) page.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return 복원 배율 (행 최대 절댓값 / 노름 / 127). 0벡터면 0
+     */
+    private float encodeInt8(float[] vector, byte[] target, int base) {
+        float maxAbs = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            maxAbs = Math.max(maxAbs, Math.abs(vector[i]));
+        }
+        if (maxAbs == 0f) {
+            Arrays.fill(target, base, base + dimensions, (byte) 0);
+            return 0f;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vector[i] * vector[i];
+        }
+        float norm = (float) Math.sqrt(sum);
+        for (int i = 0; i < dimensions; i++) {
+            target[base + i] = (byte) Math.round(vector[i] / maxAbs * 127f);
+        }
+        return maxAbs / norm / 127f;
+    }
+
+    private void encodeBits(float[] vector, long[] target, int base) {
+        Arrays.fill(target, base, base + stride, 0L);
+        for (int i = 0; i < dimensions; i++) {
+            if (vector[i] > 0f) {
+                target[base + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+    }
+
+    private void ensureCapacity(int requiredRows) {
+        int pageIndex = (requiredRows - 1) / rowsPerPage;
+        if (mode == QuantizationMode.INT8) {
+            if (pageIndex >= bytePages.length) {
+                bytePages = Arrays.copyOf(bytePages, Math.max(bytePages.length * 2, pageIndex + 1));
+            }
+            if (bytePages[pageIndex] == null) {
+                bytePages[pageIndex] = new byte[rowsPerPage * stride];
+            }
+            if (requiredRows > scales.length) {
+                scales = Arrays.copyOf(scales, Math.max(scales.length * 2, requiredRows));
+            }
+        } else {
+            if (pageIndex >= bitPages.length) {
+                bitPages = Arrays.copyOf(bitPages, Math.max(bitPages.length * 2, pageIndex + 1));
+            }
+            if (bitPages[pageIndex] == null) {
+                bitPages[pageIndex] = new long[rowsPerPage * stride];
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fbc.ai.repository.vector;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 순수 자바 루프로 계산하는 기본 커널. jdk.incubator.vector 모듈이 없을 때 사용합니다.
+ */
+final class ScalarDistanceKernel implements DistanceKernel {
+
+    static final ScalarDistanceKernel INSTANCE = new ScalarDistanceKernel();
+
+    private ScalarDistanceKernel() {
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(ByteBuffer page, int byteOffset, float[] query) {
+        float sum = 0f;
+        for (int i = 0; i < query.length; i++) {
+            sum += page.getFloat(byteOffset + i * Float.BYTES) * query[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
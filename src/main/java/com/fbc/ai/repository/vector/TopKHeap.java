@@ -0,0 +1,127 @@
+package com.fbc.ai.repository.vector;
+
+/**
+ * 점수 상위 k 개의 (행 번호, 점수) 쌍을 유지하는 고정 크기 min-heap 입니다.
+ *
+ * 전체 점수를 정렬하지 않고 스캔 도중 바로 상위 k 개만 남기며,
+ * 내부 배열은 생성 시 한 번만 할당하므로 스캔 루프에서 객체가 생기지 않습니다.
+ */
+final class TopKHeap {
+
+    private final int[] ordinals;
+    private final float[] scores;
+    private int size;
+
+    TopKHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 0보다 커야 합니다: " + capacity);
+        }
+        this.ordinals = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return ordinals.length;
+    }
+
+    boolean isFull() {
+        return size == ordinals.length;
+    }
+
+    /**
+     * 현재 heap 의 최소 점수. 가득 차지 않았으면 음의 무한대.
+     */
+    float minScore() {
+        return isFull() ? scores[0] : Float.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * 후보를 제안합니다. 상위 k 개에 들지 못하면 무시됩니다.
+     */
+    void offer(int ordinal, float score) {
+        if (size < ordinals.length) {
+            int i = size++;
+            ordinals[i] = ordinal;
+            scores[i] = score;
+            siftUp(i);
+        } else if (score > scores[0]) {
+            ordinals[0] = ordinal;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * 다른 heap 의 원소를 모두 이 heap 에 합칩니다.
+     */
+    void merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ordinals[i], other.scores[i]);
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * heap 을 비우면서 점수 내림차순으로 정렬된 행 번호/점수를 채웁니다.
+     *
+     * @return 채워진 원소 수
+     */
+    int drainDescending(int[] ordinalsOut, float[] scoresOut) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            ordinalsOut[i] = ordinals[0];
+            scoresOut[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ordinals[0] = ordinals[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return count;
+    }
+
+    private void siftUp(int i) {
+        int ordinal = ordinals[i];
+        float score = scores[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= score) {
+                break;
+            }
+            ordinals[i] = ordinals[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        ordinals[i] = ordinal;
+        scores[i] = score;
+    }
+
+    private void siftDown(int i) {
+        int ordinal = ordinals[i];
+        float score = scores[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && scores[right] < scores[child]) {
+                child = right;
+            }
+            if (score <= scores[child]) {
+                break;
+            }
+            ordinals[i] = ordinals[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        ordinals[i] = ordinal;
+        scores[i] = score;
+    }
+}
@@ -0,0 +1,93 @@
+package com.fbc.ai.repository.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * jdk.incubator.vector 기반 SIMD 커널.
+ *
+ * 누산기 4개로 루프를 펼쳐(unroll) FMA 로 누적하므로 FMA 지연 시간 동안에도 다음 lane 묶음을 계산합니다.
+ * 나머지 원소는 한 lane 묶음 단위, 마지막은 스칼라로 처리합니다.
+ * JIT 가 species 를 상수로 다뤄야 SIMD 명령으로 컴파일되므로 lane 폭은 static 상수(SPECIES_PREFERRED)로 고정하고,
+ * 폭을 바꿔 보려면 -XX:MaxVectorSize 옵션을 사용합니다.
+ * 실행 시 --add-modules jdk.incubator.vector 옵션이 필요하며, 이 클래스는 모듈이 있을 때만 로드됩니다.
+ */
+final class VectorApiDistanceKernel implements DistanceKernel {
+
+    static final VectorApiDistanceKernel INSTANCE = new VectorApiDistanceKernel();
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int STEP = SPECIES.length();
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private VectorApiDistanceKernel() {
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        int length = a.length;
+        int unrolledBound = length - length % (STEP * 4);
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        FloatVector acc2 = FloatVector.zero(SPECIES);
+        FloatVector acc3 = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < unrolledBound; i += STEP * 4) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+            acc1 = FloatVector.fromArray(SPECIES, a, i + STEP).fma(FloatVector.fromArray(SPECIES, b, i + STEP), acc1);
+            acc2 = FloatVector.fromArray(SPECIES, a, i + STEP * 2).fma(FloatVector.fromArray(SPECIES, b, i + STEP * 2), acc2);
+            acc3 = FloatVector.fromArray(SPECIES, a, i + STEP * 3).fma(FloatVector.fromArray(SPECIES, b, i + STEP * 3), acc3);
+        }
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += STEP) {
+            acc0 = FloatVector.fromArray(SPECIES, a, i).fma(FloatVector.fromArray(SPECIES, b, i), acc0);
+        }
+        float sum = acc0.add(acc1).add(acc2.add(acc3)).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(ByteBuffer page, int byteOffset, float[] query) {
+        int length = query.length;
+        int stepBytes = STEP * Float.BYTES;
+        int unrolledBound = length - length % (STEP * 4);
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        FloatVector acc2 = FloatVector.zero(SPECIES);
+        FloatVector acc3 = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < unrolledBound; i += STEP * 4) {
+            int offset = byteOffset + i * Float.BYTES;
+            acc0 = FloatVector.fromByteBuffer(SPECIES, page, offset, ORDER)
+                    .fma(FloatVector.fromArray(SPECIES, query, i), acc0);
+            acc1 = FloatVector.fromByteBuffer(SPECIES, page, offset + stepBytes, ORDER)
+                    .fma(FloatVector.fromArray(SPECIES, query, i + STEP), acc1);
+            acc2 = FloatVector.fromByteBuffer(SPECIES, page, offset + stepBytes * 2, ORDER)
+                    .fma(FloatVector.fromArray(SPECIES, query, i + STEP * 2), acc2);
+            acc3 = FloatVector.fromByteBuffer(SPECIES, page, offset + stepBytes * 3, ORDER)
+                    .fma(FloatVector.fromArray(SPECIES, query, i + STEP * 3), acc3);
+        }
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += STEP) {
+            acc0 = FloatVector.fromByteBuffer(SPECIES, page, byteOffset + i * Float.BYTES, ORDER)
+                    .fma(FloatVector.fromArray(SPECIES, query, i), acc0);
+        }
+        float sum = acc0.add(acc1).add(acc2.add(acc3)).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += page.getFloat(byteOffset + i * Float.BYTES) * query[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize();
+    }
+}
@@ -0,0 +1,330 @@
+package com.fbc.ai.repository.vector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 인메모리 VectorStore 스냅샷 파일 포맷입니다. (little-endian)
+ *
+ * <pre>
+ * [header 64 bytes]  magic, version, dimensions, count, 각 블록의 시작 offset
+ * [embedding block]  count x dimensions 개의 float32 (행 순서)
+ * [chunk-text block] 행마다 id, text (int 길이 + UTF-8)
+ * [metadata block]   행마다 메타데이터 JSON (int 길이 + UTF-8)
+ * </pre>
+ *
+ * 쓰기는 같은 디렉터리의 임시 파일에 기록한 뒤 원자적으로 교체하므로, 쓰는 도중 장애가 나도 기존 스냅샷이 유지됩니다.
+ * 읽기는 임베딩 블록을 FileChannel.map 으로 매핑하여 JSON 파싱이나 임베딩 API 호출 없이 복원합니다.
+ */
+public final class VectorSnapshot {
+
+    static final int MAGIC = 0x46425653; // "FBVS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * 스냅샷으로 기록할 행 목록
+     */
+    public interface Rows {
+        int count();
+
+        int dimensions();
+
+        String id(int row);
+
+        String text(int row);
+
+        Map<String, Object> metadata(int row);
+
+        void vector(int row, float[] target);
+    }
+
+    /**
+     * 복원 시 행마다 호출되는 콜백
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(int row, String id, String text, Map<String, Object> metadata);
+    }
+
+    /**
+     * 스냅샷을 지원하는 VectorStore
+     */
+    public interface Support {
+        /**
+         * 현재 내용을 스냅샷 파일로 저장합니다.
+         */
+        void saveSnapshot(Path path) throws IOException;
+
+        /**
+         * 스냅샷 파일로 내용을 교체합니다.
+         *
+         * @return 복원된 청크 수
+         */
+        int loadSnapshot(Path path) throws IOException;
+    }
+
+    public static void write(Path path, Rows rows) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelWriter writer = new ChannelWriter(channel);
+            writer.skip(HEADER_BYTES);
+
+            int dimensions = rows.dimensions();
+            long embeddingOffset = writer.position();
+            float[] vector = new float[dimensions];
+            for (int row = 0; row < rows.count(); row++) {
+                rows.vector(row, vector);
+                writer.putFloats(vector);
+            }
+
+            long textOffset = writer.position();
+            for (int row = 0; row < rows.count(); row++) {
+                writer.putString(rows.id(row));
+                writer.putString(rows.text(row));
+            }
+
+            long metadataOffset = writer.position();
+            for (int row = 0; row < rows.count(); row++) {
+                writer.putBytes(OBJECT_MAPPER.writeValueAsBytes(rows.metadata(row)));
+            }
+            long end = writer.position();
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dimensions).putInt(rows.count())
+                    .putLong(embeddingOffset).putLong(textOffset).putLong(metadataOffset).putLong(end);
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static Reader open(Path path) throws IOException {
+        return new Reader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * 스냅샷 파일 읽기
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final int dimensions;
+        private final int count;
+        private final long embeddingOffset;
+        private final long textOffset;
+        private final long metadataOffset;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC) {
+                    throw new IOException("벡터 스냅샷 파일이 아닙니다.");
+                }
+                int version = header.getInt();
+                if (version != VERSION) {
+                    throw new IOException("지원하지 않는 스냅샷 버전입니다: " + version);
+                }
+                this.dimensions = header.getInt();
+                this.count = header.getInt();
+                this.embeddingOffset = header.getLong();
+                this.textOffset = header.getLong();
+                this.metadataOffset = header.getLong();
+                long end = header.getLong();
+                if (channel.size() < end) {
+                    throw new IOException("스냅샷 파일이 손상되었습니다. expected=" + end + ", actual=" + channel.size());
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public int dimensions() {
+            return dimensions;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * 임베딩 블록의 일부 행을 메모리 매핑하여 반환합니다. (한 번에 2GB 미만)
+         */
+        public FloatBuffer embeddings(int fromRow, int rowCount) throws IOException {
+            long offset = embeddingOffset + (long) fromRow * dimensions * Float.BYTES;
+            long length = (long) rowCount * dimensions * Float.BYTES;
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer();
+        }
+
+        /**
+         * 청크 본문/메타데이터 블록을 순서대로 읽어 콜백에 전달합니다.
+         */
+        public void readChunks(ChunkConsumer consumer) throws IOException {
+            ChannelReader texts = new ChannelReader(channel, textOffset);
+            ChannelReader metadata = new ChannelReader(channel, metadataOffset);
+            for (int row = 0; row < count; row++) {
+                String id = texts.getString();
+                String text = texts.getString();
+                Map<String, Object> values = OBJECT_MAPPER.readValue(metadata.getBytes(), METADATA_TYPE);
+                consumer.accept(row, id, text, values == null ? new HashMap<>() : values);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * direct 버퍼에 모아 채널로 기록하는 writer
+     */
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void skip(int bytes) throws IOException {
+            flush();
+            position += bytes;
+            channel.position(position);
+        }
+
+        void putFloats(float[] values) throws IOException {
+            for (float value : values) {
+                ensure(Float.BYTES);
+                buffer.putFloat(value);
+            }
+            position += (long) values.length * Float.BYTES;
+        }
+
+        void putString(String value) throws IOException {
+            putBytes(value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+            position += Integer.BYTES + bytes.length;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 지정 위치부터 채널을 순차로 읽는 reader
+     */
+    private static final class ChannelReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ChannelReader(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+            buffer.limit(0);
+        }
+
+        String getString() throws IOException {
+            return new String(getBytes(), StandardCharsets.UTF_8);
+        }
+
+        byte[] getBytes() throws IOException {
+            require(Integer.BYTES);
+            byte[] bytes = new byte[buffer.getInt()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                require(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.get(bytes, offset, length);
+                offset += length;
+            }
+            return bytes;
+        }
+
+        private void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("스냅샷 파일이 예상보다 짧습니다.");
+                }
+                position += read;
+            }
+            buffer.flip();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("스냅샷 헤더를 읽을 수 없습니다.");
+            }
+        }
+    }
+
+    private VectorSnapshot() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.fbc.ai.repository.vector;
+
+import java.util.Arrays;
+
+/**
+ * 그래프 탐색에서 방문한 노드를 기록합니다.
+ *
+ * 탐색마다 배열을 지우지 않고 세대(generation) 값을 올려 재사용하므로,
+ * 스레드별로 하나씩 두고 쓰면 탐색 중 할당이 생기지 않습니다.
+ */
+final class VisitedSet {
+
+    private int[] marks = new int[1024];
+    private int generation;
+
+    /**
+     * 새 탐색을 시작합니다.
+     */
+    void reset() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * @return 처음 방문하는 노드면 true
+     */
+    boolean add(int ordinal) {
+        if (ordinal >= marks.length) {
+            marks = Arrays.copyOf(marks, Math.max(marks.length * 2, ordinal + 1));
+        }
+        if (marks[ordinal] == generation) {
+            return false;
+        }
+        marks[ordinal] = generation;
+        return true;
+    }
+}
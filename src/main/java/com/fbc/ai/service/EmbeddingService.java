@@ -1,42 +1,136 @@
 package com.fbc.ai.service;
 
+import com.fbc.ai.service.embedding.Base64EmbeddingModel;
+import com.fbc.ai.service.embedding.CachingEmbeddingModel;
+import com.fbc.ai.service.embedding.CoalescingEmbeddingModel;
+import com.fbc.ai.service.embedding.EmbeddingStore;
+import com.fbc.ai.service.embedding.StoredEmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.openai.OpenAiEmbeddingModel;
 import org.springframework.ai.openai.OpenAiEmbeddingOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 /**
  * OpenAI의 임베딩 모델을 사용하여 텍스트를 벡터로 변환합니다.
  * Spring AI를 통해 임베딩 모델에 접근합니다.
+ *
+ * embedding.cache.enabled 가 true 면 질의 임베딩 캐시(CachingEmbeddingModel)로 감싼 모델을 제공합니다.
+ * EmbeddingStore 빈이 있으면 문서 청크 임베딩은 저장소(StoredEmbeddingModel)를 먼저 조회하여 같은 본문을 다시 임베딩하지 않습니다.
+ * embedding.encoding-format 을 base64 로 켜면 응답을 base64(float32 바이트)로 받아 JSON 숫자 파싱 없이 디코딩합니다. (기본값 float 는 Spring AI OpenAiEmbeddingModel)
+ * embedding.batching.enabled 를 true 로 켜면 여러 스레드의 질의 임베딩(캐시 미스)을 짧게 모아 한 번의 요청으로 보냅니다. (기본값 false)
+ * (질의 캐시 → 요청 묶기 → 청크 저장소 → OpenAI 순서로 감쌈)
+ * OpenAiConfig 가 이 모델을 기본(@Primary) EmbeddingModel 빈으로 등록하므로 pgvector 스토어들도 같은 캐시를 사용합니다.
  */
 @Service
 public class EmbeddingService {
     private final OpenAiApi openAiApi;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<EmbeddingStore> embeddingStore;
     
     @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}")
     private String embeddingModelName;
+
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String baseUrl;
+
+    @Value("${spring.ai.openai.api-key}")
+    private String apiKey;
+
+    @Value("${embedding.encoding-format:float}")
+    private String encodingFormat;
+
+    @Value("${embedding.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${embedding.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    @Value("${embedding.cache.ttl:24h}")
+    private Duration cacheTtl;
     
-    private OpenAiEmbeddingModel embeddingModel;
+    @Value("${embedding.batching.enabled:false}")
+    private boolean batchingEnabled;
+
+    @Value("${embedding.batching.max-batch-size:64}")
+    private int batchingMaxBatchSize;
+
+    @Value("${embedding.batching.max-wait:5ms}")
+    private Duration batchingMaxWait;
+
+    @Value("${embedding.batching.max-batch-tokens:8191}")
+    private int batchingMaxBatchTokens;
+
+    @Value("${embedding.batching.max-concurrent-requests:4}")
+    private int batchingMaxConcurrentRequests;
+
+    @Value("${embedding.batching.request-timeout:30s}")
+    private Duration batchingRequestTimeout;
+
+    private EmbeddingModel embeddingModel;
+    private CoalescingEmbeddingModel coalescingEmbeddingModel;
     
-    public EmbeddingService(OpenAiApi openAiApi) {
+    public EmbeddingService(OpenAiApi openAiApi, ObjectProvider<MeterRegistry> meterRegistry,
+                            ObjectProvider<EmbeddingStore> embeddingStore) {
         this.openAiApi = openAiApi;
+        this.meterRegistry = meterRegistry;
+        this.embeddingStore = embeddingStore;
     }
     
     // OpenAI 임베딩 모델 설정
-    public OpenAiEmbeddingModel getEmbeddingModel() {
+    public synchronized EmbeddingModel getEmbeddingModel() {
         if (embeddingModel == null) {
-            embeddingModel = new OpenAiEmbeddingModel(
-                openAiApi,
-                MetadataMode.EMBED,
-                OpenAiEmbeddingOptions.builder()
-                    .model(embeddingModelName)
-                    .build(),
-                RetryUtils.DEFAULT_RETRY_TEMPLATE
-            );
+            EmbeddingModel openAiEmbeddingModel;
+            if ("base64".equalsIgnoreCase(encodingFormat)) {
+                openAiEmbeddingModel = new Base64EmbeddingModel(baseUrl, apiKey, embeddingModelName, MetadataMode.EMBED);
+            } else {
+                openAiEmbeddingModel = new OpenAiEmbeddingModel(
+                    openAiApi,
+                    MetadataMode.EMBED,
+                    OpenAiEmbeddingOptions.builder()
+                        .model(embeddingModelName)
+                        .build(),
+                    RetryUtils.DEFAULT_RETRY_TEMPLATE
+                );
+            }
+            EmbeddingModel delegateModel = openAiEmbeddingModel;
+            EmbeddingStore store = embeddingStore.getIfAvailable();
+            if (store != null) {
+                StoredEmbeddingModel storedEmbeddingModel = new StoredEmbeddingModel(openAiEmbeddingModel, store, embeddingModelName);
+                meterRegistry.ifAvailable(storedEmbeddingModel::bindTo);
+                delegateModel = storedEmbeddingModel;
+            }
+            if (batchingEnabled) {
+                coalescingEmbeddingModel = new CoalescingEmbeddingModel(delegateModel, batchingMaxBatchSize,
+                        batchingMaxWait, batchingMaxBatchTokens, batchingMaxConcurrentRequests, batchingRequestTimeout);
+                meterRegistry.ifAvailable(coalescingEmbeddingModel::bindTo);
+                delegateModel = coalescingEmbeddingModel;
+            }
+            if (cacheEnabled) {
+                CachingEmbeddingModel cachingEmbeddingModel = new CachingEmbeddingModel(
+                        delegateModel, embeddingModelName, cacheMaximumSize, cacheTtl);
+                meterRegistry.ifAvailable(registry -> cachingEmbeddingModel.bindTo(registry, "embedding.query"));
+                embeddingModel = cachingEmbeddingModel;
+            } else {
+                embeddingModel = delegateModel;
+            }
         }
         return embeddingModel;
     }
-}
\ No newline at end of file
+
+    // 요청 묶기 디스패처 스레드 종료
+    @PreDestroy
+    public synchronized void close() {
+        if (coalescingEmbeddingModel != null) {
+            coalescingEmbeddingModel.close();
+        }
+    }
+}
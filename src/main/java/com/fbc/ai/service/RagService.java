@@ -1,8 +1,12 @@
 package com.fbc.ai.service;
 
+import com.fbc.ai.service.rag.StreamingIngestionPipeline;
+import org.springframework.ai.document.Document;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * 문서 업로드, 검색, 그리고 검색 결과를 활용한 LLM 응답 생성을 담당합니다.
  */
@@ -27,6 +31,18 @@ public interface RagService {
     Mono<String> uploadFile(MultipartFile file, String bucketId) throws Exception;
 
 
+    /**
+     * 문서를 적재하면서 단계별 진행 상황(파싱한 페이지, 저장한 청크)을 알립니다.
+     *
+     * @param file 업로드할 파일
+     * @param bucketId 버킷 ID
+     * @param progress 진행 알림을 받을 대상
+     * @return 적재 결과를 포함한 Mono
+     */
+    Mono<StreamingIngestionPipeline.Result> ingest(MultipartFile file, String bucketId,
+                                                   StreamingIngestionPipeline.Progress progress);
+
+
     /**
      * 질문과 관련된 문서 데이터를 검색합니다.
      * 
@@ -35,4 +51,24 @@ public interface RagService {
      */
     String findSimilarData(String question);
 
+
+    /**
+     * 지정한 버킷의 문서 중에서 질문과 관련된 문서 데이터를 검색합니다.
+     *
+     * @param question 사용자 질문
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @return 검색된 문서 내용
+     */
+    String findSimilarData(String question, List<String> bucketIds);
+
+
+    /**
+     * 지정한 버킷의 문서 중에서 질문과 관련된 문서(청크)를 검색합니다.
+     *
+     * @param question 사용자 질문
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @return 검색된 문서 목록 (관련도 순)
+     */
+    List<Document> findSimilarDocuments(String question, List<String> bucketIds);
+
 }
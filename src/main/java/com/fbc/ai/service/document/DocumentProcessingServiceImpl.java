@@ -1,15 +1,16 @@
 package com.fbc.ai.service.document;
 
+import com.fbc.ai.document.parser.ParallelPdfExtractor;
 import com.fbc.ai.exception.DocumentProcessingException;
 import com.fbc.ai.service.DocumentProcessingService;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.Loader;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * 다양한 형식의 문서에서 텍스트를 추출하는 서비스 구현체입니다.
@@ -19,8 +20,15 @@ import java.io.IOException;
 @Service
 public class DocumentProcessingServiceImpl implements DocumentProcessingService {
 
+    private final ParallelPdfExtractor extractor;
+
+    public DocumentProcessingServiceImpl(ParallelPdfExtractor extractor) {
+        this.extractor = extractor;
+    }
+
     /**
      * PDF 파일로부터 텍스트를 추출합니다.
+     * 페이지가 많으면 페이지 범위를 나누어 구간마다 PDFTextStripper 로 동시에 추출한 뒤 순서대로 합칩니다.
      *
      * @param pdfFile PDF 파일 객체
      * @return 추출된 텍스트
@@ -29,10 +37,15 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
     public String extractTextFromPdf(File pdfFile) {
         log.debug("PDF 텍스트 추출 시작: {}", pdfFile.getName());
 
-        try (PDDocument document = Loader.loadPDF(pdfFile)) {
-            log.debug("PDF 문서 로드 성공: {}페이지", document.getNumberOfPages());
-            String text = new PDFTextStripper().getText(document);
-            log.debug("PDF 텍스트 추출 완료: {} 문자", text.length());
+        try {
+            List<String> slices = extractor.extract(() -> Loader.loadPDF(pdfFile), (document, startPage, endPage) -> {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setStartPage(startPage);
+                stripper.setEndPage(endPage);
+                return List.of(stripper.getText(document));
+            });
+            String text = String.join("", slices);
+            log.debug("PDF 텍스트 추출 완료: {} 문자 (구간 {}개)", text.length(), slices.size());
             return text;
         } catch (IOException e) {
             log.error("PDF 텍스트 추출 실패", e);
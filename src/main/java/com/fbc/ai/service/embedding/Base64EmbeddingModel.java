@@ -0,0 +1,146 @@
+package com.fbc.ai.service.embedding;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.http.MediaType;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * OpenAI 임베딩 API 를 encoding_format=base64 로 호출하는 EmbeddingModel 입니다.
+ *
+ * 기본 응답(float)은 1536차원 벡터마다 숫자 1536개를 JSON 텍스트로 보내고, 클라이언트는 숫자를 하나씩 파싱합니다.
+ * base64 응답은 float32 little-endian 바이트를 base64 문자열 하나로 보내므로 응답 크기가 약 1/3 로 줄고,
+ * Jackson 이 문자열을 byte[] 로 바로 디코딩한 뒤 ByteBuffer 에서 float[] 로 한 번에 복사합니다. (숫자 파싱/박싱 없음)
+ * 요청 형식, 재시도, 오류 처리는 Spring AI OpenAiEmbeddingModel 과 같게 맞췄습니다.
+ */
+@Slf4j
+public class Base64EmbeddingModel extends AbstractEmbeddingModel {
+
+    private static final String ENCODING_FORMAT = "base64";
+
+    private final RestClient restClient;
+    private final String defaultModel;
+    private final MetadataMode metadataMode;
+    private final RetryTemplate retryTemplate;
+
+    /**
+     * /v1/embeddings 요청 본문
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Base64EmbeddingRequest(
+            @JsonProperty("input") List<String> input,
+            @JsonProperty("model") String model,
+            @JsonProperty("encoding_format") String encodingFormat,
+            @JsonProperty("dimensions") Integer dimensions) {
+    }
+
+    /**
+     * /v1/embeddings 응답 (embedding 은 base64 문자열 → byte[])
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Base64EmbeddingList(
+            @JsonProperty("data") List<Base64Embedding> data,
+            @JsonProperty("model") String model,
+            @JsonProperty("usage") Usage usage) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Base64Embedding(
+            @JsonProperty("index") int index,
+            @JsonProperty("embedding") byte[] embedding) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Usage(
+            @JsonProperty("prompt_tokens") Integer promptTokens,
+            @JsonProperty("total_tokens") Integer totalTokens) {
+    }
+
+    /**
+     * @param baseUrl      OpenAI API 주소 (예: https://api.openai.com)
+     * @param apiKey       API 키
+     * @param defaultModel 요청 옵션에 모델이 없을 때 사용할 모델
+     * @param metadataMode 문서 임베딩 시 본문에 포함할 메타데이터 범위
+     */
+    public Base64EmbeddingModel(String baseUrl, String apiKey, String defaultModel, MetadataMode metadataMode) {
+        this(RestClient.builder()
+                        .baseUrl(baseUrl)
+                        .defaultHeaders(headers -> {
+                            headers.setBearerAuth(apiKey);
+                            headers.setContentType(MediaType.APPLICATION_JSON);
+                        })
+                        .defaultStatusHandler(RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER)
+                        .build(),
+                defaultModel, metadataMode, RetryUtils.DEFAULT_RETRY_TEMPLATE);
+    }
+
+    public Base64EmbeddingModel(RestClient restClient, String defaultModel, MetadataMode metadataMode,
+                                RetryTemplate retryTemplate) {
+        this.restClient = restClient;
+        this.defaultModel = defaultModel;
+        this.metadataMode = metadataMode;
+        this.retryTemplate = retryTemplate;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        EmbeddingOptions options = request.getOptions();
+        String model = options != null && options.getModel() != null ? options.getModel() : defaultModel;
+        Integer dimensions = options != null ? options.getDimensions() : null;
+        Base64EmbeddingRequest body = new Base64EmbeddingRequest(request.getInstructions(), model, ENCODING_FORMAT, dimensions);
+
+        Base64EmbeddingList response = retryTemplate.execute(context -> restClient.post()
+                .uri("/v1/embeddings")
+                .body(body)
+                .retrieve()
+                .body(Base64EmbeddingList.class));
+        if (response == null || response.data() == null) {
+            log.warn("임베딩 응답이 비어 있습니다. 모델: {}", model);
+            return new EmbeddingResponse(List.of());
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(response.data().size());
+        for (Base64Embedding data : response.data()) {
+            embeddings.add(new Embedding(toVector(data.embedding()), data.index()));
+        }
+        // EmbeddingModel.embed(List<String>) 는 결과 순서를 입력 순서로 보므로 index 순으로 맞춘다
+        embeddings.sort(Comparator.comparingInt(Embedding::getIndex));
+        Usage usage = response.usage();
+        DefaultUsage defaultUsage = usage == null ? new DefaultUsage(0, 0)
+                : new DefaultUsage(usage.promptTokens(), 0, usage.totalTokens());
+        return new EmbeddingResponse(embeddings, new EmbeddingResponseMetadata(response.model(), defaultUsage));
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getFormattedContent(metadataMode));
+    }
+
+    /**
+     * float32 little-endian 바이트 배열을 벡터로 변환합니다.
+     */
+    public static float[] toVector(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,140 @@
+package com.fbc.ai.service.embedding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 질의 임베딩 결과를 캐시하는 EmbeddingModel 데코레이터입니다.
+ *
+ * 키는 정규화한 텍스트(NFKC, 앞뒤 공백 제거, 연속 공백 1개로 축소) + 모델명 + 차원 수이고,
+ * 값은 float[] 그대로 보관합니다. (EmbeddingResponse 의 객체 그래프를 두지 않음)
+ * 캐시는 Caffeine(W-TinyLFU) 으로 최대 개수와 TTL 을 제한하므로, 한 번만 나온 질의가 자주 나오는 질의를 밀어내지 않습니다.
+ * 캐시에 없는 텍스트만 모아 원래 모델에 한 번 요청합니다.
+ * 문서 청크 임베딩(embed(List&lt;Document&gt;, ...))은 캐시를 거치지 않고 원래 모델로 바로 요청합니다.
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingModel delegate;
+    private final String defaultModelName;
+    private final Cache<Key, float[]> cache;
+
+    /**
+     * 캐시 키
+     */
+    private record Key(String text, String model, Integer dimensions) {
+    }
+
+    /**
+     * @param delegate         실제 임베딩 모델
+     * @param defaultModelName 요청 옵션에 모델이 없을 때 키로 쓸 모델명
+     * @param maximumSize      최대 캐시 항목 수
+     * @param ttl              항목 유지 시간 (쓰기 기준)
+     */
+    public CachingEmbeddingModel(EmbeddingModel delegate, String defaultModelName, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.defaultModelName = defaultModelName;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시 지표(cache.gets / cache.size / cache.evictions 등)와 적중률 게이지(embedding.cache.hit.ratio)를 등록합니다.
+     */
+    public CachingEmbeddingModel bindTo(MeterRegistry registry, String cacheName) {
+        CaffeineCacheMetrics.monitor(registry, cache, cacheName);
+        Gauge.builder("embedding.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("질의 임베딩 캐시 적중률")
+                .tag("cache", cacheName)
+                .register(registry);
+        return this;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> instructions = request.getInstructions();
+        EmbeddingOptions options = request.getOptions();
+        String model = options != null && options.getModel() != null ? options.getModel() : defaultModelName;
+        Integer dimensions = options != null ? options.getDimensions() : null;
+
+        Key[] keys = new Key[instructions.size()];
+        float[][] vectors = new float[instructions.size()][];
+        List<String> missedTexts = new ArrayList<>();
+        List<Integer> missedIndexes = new ArrayList<>();
+        for (int i = 0; i < instructions.size(); i++) {
+            keys[i] = new Key(normalize(instructions.get(i)), model, dimensions);
+            vectors[i] = cache.getIfPresent(keys[i]);
+            if (vectors[i] == null) {
+                missedTexts.add(keys[i].text());
+                missedIndexes.add(i);
+            }
+        }
+
+        if (!missedTexts.isEmpty()) {
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(missedTexts, options));
+            List<Embedding> results = response.getResults();
+            for (int i = 0; i < results.size(); i++) {
+                int index = missedIndexes.get(results.get(i).getIndex());
+                vectors[index] = results.get(i).getOutput();
+                cache.put(keys[index], vectors[index]);
+            }
+            log.debug("임베딩 캐시 - 요청: {}, 적중: {}", instructions.size(), instructions.size() - missedTexts.size());
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            // 호출하는 쪽에서 배열을 수정해도 캐시 값이 바뀌지 않도록 복사본을 돌려준다
+            embeddings.add(new Embedding(vectors[i].clone(), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+        return delegate.embed(documents, options, batchingStrategy);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /**
+     * 현재 캐시 항목 수 (대략적인 값)
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+}
@@ -0,0 +1,272 @@
+package com.fbc.ai.service.embedding;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 스레드가 동시에 보내는 짧은 임베딩 요청을 모아 한 번의 배치 요청으로 보내는 EmbeddingModel 데코레이터입니다.
+ *
+ * 요청 텍스트는 큐에 넣고, 디스패처 스레드가 첫 요청부터 최대 maxWait 동안 또는 maxBatchSize 개가 찰 때까지 모은 뒤
+ * 같은 옵션(모델, 차원 수)끼리 묶어 원래 모델의 call 로 보냅니다. 배치의 추정 토큰 수가 maxBatchTokens 를 넘지 않도록 나눕니다.
+ * 호출한 스레드는 자기 텍스트의 결과만 받습니다. 배치 요청이 실패하면 그 배치에 들어간 요청 모두 같은 예외로 실패합니다.
+ * maxBatchSize 개 이상을 한 번에 요청하거나 문서 청크 임베딩(embed(List&lt;Document&gt;, ...))은 모으지 않고 바로 보냅니다.
+ * 디스패처가 멈췄거나 배치 결과가 maxWait + requestTimeout 안에 오지 않으면 기다리지 않고 원래 모델을 직접 호출합니다.
+ */
+@Slf4j
+public class CoalescingEmbeddingModel implements EmbeddingModel, AutoCloseable {
+
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final EmbeddingModel delegate;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final int maxBatchTokens;
+    private final long resultTimeoutNanos;
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService senders;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+    private DistributionSummary batchSizes;
+
+    /**
+     * 대기 중인 텍스트 1건
+     */
+    private record Pending(String text, EmbeddingOptions options, CompletableFuture<float[]> result) {
+    }
+
+    /**
+     * 같은 배치로 묶을 수 있는 옵션
+     */
+    private record OptionsKey(String model, Integer dimensions) {
+        static OptionsKey of(EmbeddingOptions options) {
+            return options == null ? new OptionsKey(null, null) : new OptionsKey(options.getModel(), options.getDimensions());
+        }
+    }
+
+    /**
+     * @param delegate              실제 임베딩 모델
+     * @param maxBatchSize          배치 1건의 최대 텍스트 수
+     * @param maxWait               첫 요청 이후 다른 요청을 기다리는 최대 시간
+     * @param maxBatchTokens        배치 1건의 최대 추정 토큰 수
+     * @param maxConcurrentRequests 동시에 보내는 배치 요청 수
+     */
+    public CoalescingEmbeddingModel(EmbeddingModel delegate, int maxBatchSize, Duration maxWait,
+                                    int maxBatchTokens, int maxConcurrentRequests) {
+        this(delegate, maxBatchSize, maxWait, maxBatchTokens, maxConcurrentRequests, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * @param requestTimeout 배치 요청 1건을 기다리는 최대 시간 (넘으면 원래 모델을 직접 호출)
+     */
+    public CoalescingEmbeddingModel(EmbeddingModel delegate, int maxBatchSize, Duration maxWait,
+                                    int maxBatchTokens, int maxConcurrentRequests, Duration requestTimeout) {
+        if (maxBatchSize < 1 || maxBatchTokens < 1 || maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("배치 크기, 토큰 수, 동시 요청 수는 1 이상이어야 합니다.");
+        }
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("요청 제한 시간은 0보다 커야 합니다.");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatchTokens = maxBatchTokens;
+        this.resultTimeoutNanos = maxWaitNanos + requestTimeout.toNanos();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(maxConcurrentRequests, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "embedding-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 배치 1건에 묶인 텍스트 수 분포 지표(embedding.batch.size)를 등록합니다.
+     */
+    public CoalescingEmbeddingModel bindTo(MeterRegistry registry) {
+        batchSizes = DistributionSummary.builder("embedding.batch.size")
+                .description("임베딩 배치 요청 1건에 묶인 텍스트 수")
+                .register(registry);
+        return this;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> instructions = request.getInstructions();
+        if (!running || !dispatcher.isAlive() || instructions.size() >= maxBatchSize) {
+            return delegate.call(request);
+        }
+
+        List<CompletableFuture<float[]>> futures = new ArrayList<>(instructions.size());
+        for (String text : instructions) {
+            CompletableFuture<float[]> future = new CompletableFuture<>();
+            queue.add(new Pending(text, request.getOptions(), future));
+            futures.add(future);
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(futures.size());
+        long deadline = System.nanoTime() + resultTimeoutNanos;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                embeddings.add(new Embedding(futures.get(i).get(remaining, TimeUnit.NANOSECONDS), i));
+            }
+        } catch (TimeoutException e) {
+            // 디스패처나 배치 요청이 멈췄으면 호출자가 무한히 기다리지 않도록 직접 요청한다 (늦게 온 배치 결과는 버림)
+            futures.forEach(future -> future.cancel(false));
+            log.warn("임베딩 배치 결과 대기 시간 초과 ({}ms) - 직접 요청: 텍스트 {}건",
+                    TimeUnit.NANOSECONDS.toMillis(resultTimeoutNanos), instructions.size());
+            return delegate.call(request);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("임베딩 배치 요청 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(false));
+            throw new IllegalStateException("임베딩 배치 결과를 기다리는 중 인터럽트되었습니다.", e);
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+        return delegate.embed(documents, options, batchingStrategy);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /**
+     * 디스패처를 멈추고 대기 중인 요청을 실패시킵니다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        senders.shutdown();
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        IllegalStateException closed = new IllegalStateException("임베딩 배치 디스패처가 종료되었습니다.");
+        remaining.forEach(pending -> pending.result().completeExceptionally(closed));
+    }
+
+    private void dispatchLoop() {
+        List<Pending> collected = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                collected.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (collected.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    collected.add(next);
+                }
+                dispatch(collected);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                collected.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                log.error("임베딩 배치 분배 실패", e);
+                collected.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            collected.clear();
+        }
+    }
+
+    /**
+     * 옵션별로 묶고 토큰 한도에 맞춰 나눈 배치를 전송 스레드에 넘깁니다.
+     */
+    private void dispatch(List<Pending> collected) {
+        Map<OptionsKey, List<Pending>> groups = new LinkedHashMap<>();
+        for (Pending pending : collected) {
+            // 기다리다 시간 초과로 직접 요청한 텍스트는 보내지 않는다
+            if (pending.result().isDone()) {
+                continue;
+            }
+            groups.computeIfAbsent(OptionsKey.of(pending.options()), key -> new ArrayList<>()).add(pending);
+        }
+        for (List<Pending> group : groups.values()) {
+            List<Pending> batch = new ArrayList<>();
+            int tokens = 0;
+            for (Pending pending : group) {
+                int estimated = tokenCountEstimator.estimate(pending.text());
+                // 한도를 넘는 텍스트 1건은 단독 배치로 보내 모델 쪽 오류를 그대로 돌려준다
+                if (!batch.isEmpty() && tokens + estimated > maxBatchTokens) {
+                    submit(batch);
+                    batch = new ArrayList<>();
+                    tokens = 0;
+                }
+                batch.add(pending);
+                tokens += estimated;
+            }
+            submit(batch);
+        }
+    }
+
+    private void submit(List<Pending> batch) {
+        senders.execute(() -> send(batch));
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            List<String> texts = new ArrayList<>(batch.size());
+            batch.forEach(pending -> texts.add(pending.text()));
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(texts, batch.get(0).options()));
+            for (Embedding embedding : response.getResults()) {
+                batch.get(embedding.getIndex()).result().complete(embedding.getOutput());
+            }
+            if (batchSizes != null) {
+                batchSizes.record(batch.size());
+            }
+            log.debug("임베딩 배치 요청 - 텍스트: {}", batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        // 응답에 빠진 결과가 있으면 기다리는 스레드가 멈추지 않도록 실패시킨다
+        IllegalStateException missing = new IllegalStateException("임베딩 응답에 결과가 없습니다.");
+        batch.forEach(pending -> pending.result().completeExceptionally(missing));
+    }
+}
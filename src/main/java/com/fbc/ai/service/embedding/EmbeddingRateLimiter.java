@@ -0,0 +1,71 @@
+package com.fbc.ai.service.embedding;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 임베딩 할당량(분당 요청 수 RPM, 분당 토큰 수 TPM)에 맞춘 토큰 버킷 속도 제한기
+ *
+ * 버킷마다 1분 한도만큼 담을 수 있고 초당 한도/60 씩 다시 찹니다. 요청 1건을 보내기 전에 acquire 로
+ * 요청 1개와 추정 토큰 수를 함께 가져가며, 둘 중 하나라도 모자라면 모자란 만큼 찰 때까지 기다립니다.
+ * 한도보다 큰 요청도 막히지 않도록 잔량이 음수가 되는 것을 허용하고(예약), 그만큼 다음 요청이 기다립니다.
+ * 한도가 0 이하인 버킷은 제한하지 않습니다.
+ */
+public class EmbeddingRateLimiter {
+
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final double requestsPerMinute;
+    private final double tokensPerMinute;
+    private double requests;
+    private double tokens;
+    private long refilledAt;
+
+    public EmbeddingRateLimiter(int requestsPerMinute, int tokensPerMinute) {
+        this(requestsPerMinute, tokensPerMinute, System.nanoTime());
+    }
+
+    EmbeddingRateLimiter(int requestsPerMinute, int tokensPerMinute, long nowNanos) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.requests = requestsPerMinute;
+        this.tokens = tokensPerMinute;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * 요청 1건과 토큰을 가져갈 수 있을 때까지 기다립니다.
+     *
+     * @param tokenCount 요청의 추정 토큰 수
+     */
+    public void acquire(int tokenCount) throws InterruptedException {
+        long waitNanos = reserve(tokenCount, System.nanoTime());
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 요청 1건과 토큰을 예약하고, 보내기 전에 기다려야 하는 시간(나노초)을 돌려줍니다.
+     */
+    synchronized long reserve(int tokenCount, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - refilledAt);
+        refilledAt = Math.max(refilledAt, nowNanos);
+        requests = Math.min(requestsPerMinute, requests + elapsed * requestsPerMinute / NANOS_PER_MINUTE);
+        tokens = Math.min(tokensPerMinute, tokens + elapsed * tokensPerMinute / NANOS_PER_MINUTE);
+
+        long waitNanos = 0;
+        if (requestsPerMinute > 0) {
+            requests -= 1;
+            waitNanos = Math.max(waitNanos, deficitNanos(requests, requestsPerMinute));
+        }
+        if (tokensPerMinute > 0) {
+            tokens -= tokenCount;
+            waitNanos = Math.max(waitNanos, deficitNanos(tokens, tokensPerMinute));
+        }
+        return waitNanos;
+    }
+
+    private static long deficitNanos(double balance, double perMinute) {
+        return balance >= 0 ? 0 : (long) Math.ceil(-balance * NANOS_PER_MINUTE / perMinute);
+    }
+}
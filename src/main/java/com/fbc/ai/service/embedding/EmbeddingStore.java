@@ -0,0 +1,41 @@
+package com.fbc.ai.service.embedding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * 청크 내용 해시 → 임베딩 영구 저장소
+ *
+ * 해시는 모델 ID 와 정규화한 청크 본문의 SHA-256 이므로, 모델이 바뀌면 같은 본문도 다른 키가 됩니다.
+ */
+public interface EmbeddingStore {
+
+    /**
+     * @return 저장되어 있는 해시 → 임베딩 (없는 해시는 포함하지 않음)
+     */
+    Map<String, float[]> findAll(Collection<String> contentHashes);
+
+    /**
+     * 임베딩을 저장합니다. 이미 있는 해시는 건너뜁니다.
+     */
+    void saveAll(Map<String, float[]> embeddings, String model);
+
+    /**
+     * 모델 ID 와 정규화한 본문으로 내용 해시(SHA-256, 16진수 64자)를 계산합니다.
+     */
+    static String contentHash(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(CachingEmbeddingModel.normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.fbc.ai.service.embedding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC 테이블(embedding_store)에 청크 임베딩을 보관하는 EmbeddingStore 입니다.
+ *
+ * 임베딩은 float32 little-endian 바이트 배열로 저장합니다. (1536차원 기준 6KB)
+ * 조회는 IN 조건으로 {@link #QUERY_BATCH} 개씩 묶어서 수행합니다.
+ * 테이블 정의는 src/main/resources/sql/embedding_store.sql 과 같습니다.
+ */
+@Slf4j
+public class JdbcEmbeddingStore implements EmbeddingStore {
+
+    /** IN 조건 한 번에 넣는 해시 수 */
+    static final int QUERY_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+
+    public JdbcEmbeddingStore(JdbcTemplate jdbcTemplate, String tableName) {
+        if (!tableName.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new IllegalArgumentException("테이블 이름이 올바르지 않습니다: " + tableName);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = tableName;
+    }
+
+    /**
+     * 테이블이 없으면 생성합니다.
+     */
+    public void initializeSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "content_hash CHAR(64) PRIMARY KEY, "
+                + "model VARCHAR(128) NOT NULL, "
+                + "dimensions INT NOT NULL, "
+                + "embedding BYTEA NOT NULL, "
+                + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    @Override
+    public Map<String, float[]> findAll(Collection<String> contentHashes) {
+        if (contentHashes.isEmpty()) {
+            return Map.of();
+        }
+        List<String> hashes = new ArrayList<>(contentHashes);
+        Map<String, float[]> found = new HashMap<>();
+        for (int from = 0; from < hashes.size(); from += QUERY_BATCH) {
+            List<String> batch = hashes.subList(from, Math.min(from + QUERY_BATCH, hashes.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query("SELECT content_hash, embedding FROM " + tableName
+                            + " WHERE content_hash IN (" + placeholders + ")",
+                    rs -> {
+                        found.put(rs.getString(1).trim(), toVector(rs.getBytes(2)));
+                    },
+                    batch.toArray());
+        }
+        return found;
+    }
+
+    @Override
+    public void saveAll(Map<String, float[]> embeddings, String model) {
+        if (embeddings.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(embeddings.size());
+        embeddings.forEach((hash, vector) -> rows.add(new Object[]{hash, model, vector.length, toBytes(vector)}));
+        jdbcTemplate.batchUpdate("INSERT INTO " + tableName + " (content_hash, model, dimensions, embedding) "
+                + "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING", rows);
+    }
+
+    static byte[] toBytes(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] toVector(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,195 @@
+package com.fbc.ai.service.embedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.dao.DataAccessException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문서 청크를 임베딩하기 전에 {@link EmbeddingStore} 를 조회하는 EmbeddingModel 데코레이터입니다.
+ *
+ * 같은 본문(정규화 후 SHA-256 + 모델 ID)의 임베딩이 저장되어 있으면 재사용하고,
+ * 새 청크만 원래 모델로 임베딩한 뒤 저장합니다. 같은 PDF 를 다시 올리거나 일부 페이지만 바뀐 개정판을 올려도
+ * 바뀐 청크만 임베딩 비용이 듭니다. 질의 임베딩(call)은 그대로 원래 모델에 전달합니다.
+ * 저장소에 접근할 수 없으면 경고를 남기고 모든 청크를 임베딩합니다.
+ */
+@Slf4j
+public class StoredEmbeddingModel implements EmbeddingModel {
+
+    private static final ThreadLocal<int[]> CURRENT_REPORT = new ThreadLocal<>();
+
+    private final EmbeddingModel delegate;
+    private final EmbeddingStore store;
+    private final String modelName;
+    private Counter reusedCounter;
+    private Counter embeddedCounter;
+
+    /**
+     * 청크 임베딩 재사용 집계
+     *
+     * @param total  임베딩을 요청한 청크 수
+     * @param reused 저장소에서 재사용한 청크 수
+     */
+    public record ReuseReport(int total, int reused) {
+        public int embedded() {
+            return total - reused;
+        }
+    }
+
+    public StoredEmbeddingModel(EmbeddingModel delegate, EmbeddingStore store, String modelName) {
+        this.delegate = delegate;
+        this.store = store;
+        this.modelName = modelName;
+    }
+
+    /**
+     * 재사용/신규 임베딩 청크 수 지표(embedding.store.chunks, result=reused|embedded)를 등록합니다.
+     */
+    public StoredEmbeddingModel bindTo(MeterRegistry registry) {
+        reusedCounter = Counter.builder("embedding.store.chunks").tag("result", "reused")
+                .description("임베딩 저장소에서 재사용한 청크 수").register(registry);
+        embeddedCounter = Counter.builder("embedding.store.chunks").tag("result", "embedded")
+                .description("새로 임베딩한 청크 수").register(registry);
+        return this;
+    }
+
+    /**
+     * 현재 스레드에서 action 을 실행하는 동안 이 모델을 거친 청크 임베딩의 재사용 건수를 집계합니다.
+     * (VectorStore.add / accept 는 호출 스레드에서 임베딩을 요청하므로 업로드 1건 단위로 집계할 수 있음)
+     */
+    public static ReuseReport track(Runnable action) {
+        int[] previous = CURRENT_REPORT.get();
+        int[] report = new int[2];
+        CURRENT_REPORT.set(report);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                previous[0] += report[0];
+                previous[1] += report[1];
+                CURRENT_REPORT.set(previous);
+            } else {
+                CURRENT_REPORT.remove();
+            }
+        }
+        return new ReuseReport(report[0], report[1]);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    /**
+     * 문서 1건 임베딩(SimpleVectorStore.add 등)은 원래 모델과 같은 본문(메타데이터 포함 EMBED 형식)을 쓰므로,
+     * 그 본문으로 저장소를 조회하고 없으면 원래 모델에 그대로 전달합니다.
+     */
+    @Override
+    public float[] embed(Document document) {
+        String hash = EmbeddingStore.contentHash(modelName, document.getFormattedContent(MetadataMode.EMBED));
+        float[] vector = null;
+        try {
+            vector = store.findAll(List.of(hash)).get(hash);
+        } catch (DataAccessException e) {
+            log.warn("임베딩 저장소 조회 실패 - 청크를 임베딩합니다: {}", e.getMessage());
+        }
+        if (vector != null) {
+            record(1, 1);
+            return vector;
+        }
+        vector = delegate.embed(document);
+        try {
+            store.saveAll(Map.of(hash, vector), modelName);
+        } catch (DataAccessException e) {
+            log.warn("임베딩 저장소 저장 실패: {}", e.getMessage());
+        }
+        record(1, 0);
+        return vector;
+    }
+
+    @Override
+    public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        String model = options != null && options.getModel() != null ? options.getModel() : modelName;
+        String[] hashes = new String[documents.size()];
+        for (int i = 0; i < documents.size(); i++) {
+            hashes[i] = EmbeddingStore.contentHash(model, documents.get(i).getText());
+        }
+
+        Map<String, float[]> stored;
+        try {
+            stored = store.findAll(List.of(hashes));
+        } catch (DataAccessException e) {
+            log.warn("임베딩 저장소 조회 실패 - 모든 청크를 임베딩합니다: {}", e.getMessage());
+            stored = Map.of();
+        }
+
+        // 저장소에 없는 청크만 모아 임베딩 (같은 요청 안의 중복 본문은 한 번만)
+        Map<String, Document> missing = new LinkedHashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (!stored.containsKey(hashes[i])) {
+                missing.putIfAbsent(hashes[i], documents.get(i));
+            }
+        }
+        Map<String, float[]> embedded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            List<String> missingHashes = new ArrayList<>(missing.keySet());
+            List<float[]> vectors = delegate.embed(new ArrayList<>(missing.values()), options, batchingStrategy);
+            for (int i = 0; i < vectors.size(); i++) {
+                embedded.put(missingHashes.get(i), vectors.get(i));
+            }
+            try {
+                store.saveAll(embedded, model);
+            } catch (DataAccessException e) {
+                log.warn("임베딩 저장소 저장 실패: {}", e.getMessage());
+            }
+        }
+
+        List<float[]> results = new ArrayList<>(documents.size());
+        int reused = 0;
+        for (String hash : hashes) {
+            float[] vector = stored.get(hash);
+            if (vector != null) {
+                reused++;
+            } else {
+                vector = embedded.get(hash);
+            }
+            results.add(vector);
+        }
+        record(documents.size(), reused);
+        log.debug("청크 임베딩 - 전체: {}, 재사용: {}, 신규: {}", documents.size(), reused, missing.size());
+        return results;
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private void record(int total, int reused) {
+        int[] report = CURRENT_REPORT.get();
+        if (report != null) {
+            report[0] += total;
+            report[1] += reused;
+        }
+        if (reusedCounter != null) {
+            reusedCounter.increment(reused);
+            embeddedCounter.increment(total - reused);
+        }
+    }
+}
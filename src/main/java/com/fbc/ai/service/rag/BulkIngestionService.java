@@ -0,0 +1,376 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.document.DocumentParser;
+import com.fbc.ai.document.SpooledMultipartFile;
+import com.fbc.ai.domain.dto.BulkIngestionFileResultDto;
+import com.fbc.ai.domain.dto.BulkIngestionResultDto;
+import com.fbc.ai.exception.DocumentProcessingException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * ZIP 파일 또는 서버 디렉터리의 문서를 한 번에 적재합니다.
+ *
+ * 파일마다 확장자에 맞는 DocumentParser 를 골라 rag.ingest.bulk.workers 개 작업 스레드에서 동시에 파싱하고,
+ * 모든 파일의 페이지를 하나의 StreamingIngestionPipeline 으로 흘려보냅니다.
+ * 여러 파일의 청크가 같은 임베딩/저장 배치로 묶이므로 작은 파일이 많아도 임베딩 요청 수가 파일 수만큼 늘지 않습니다.
+ * 파일 하나의 파싱 오류는 그 파일만 실패로 기록하고 나머지는 계속 적재합니다.
+ *
+ * 서버 디렉터리 적재는 rag.ingest.bulk.allowed-root 아래 경로만 허용하며, 설정하지 않으면 사용할 수 없습니다.
+ */
+@Slf4j
+@Service
+public class BulkIngestionService {
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String SKIPPED = "SKIPPED";
+    private static final String FAILED = "FAILED";
+
+    private final List<DocumentParser> parsers;
+    private final StreamingIngestionPipeline ingestionPipeline;
+    private final SemanticAnswerCache answerCache;
+    private final String defaultBucketId;
+    private final int workers;
+    private final Path allowedRoot;
+    private final Path spoolDirectory;
+    private final int maxFiles;
+    private final long maxTotalBytes;
+    private final Scheduler parseScheduler;
+
+    /**
+     * 적재 대상 파일 1건의 진행 상태
+     */
+    private static final class FileState {
+        final String fileName;
+        final Path path;
+        final DocumentParser parser;
+        final AtomicInteger pages = new AtomicInteger();
+        final AtomicInteger chunks = new AtomicInteger();
+        volatile String status;
+        volatile String error;
+
+        FileState(String fileName, Path path, DocumentParser parser, String status, String error) {
+            this.fileName = fileName;
+            this.path = path;
+            this.parser = parser;
+            this.status = status;
+            this.error = error;
+        }
+
+        BulkIngestionFileResultDto toDto() {
+            return new BulkIngestionFileResultDto(fileName, status, pages.get(), chunks.get(), error);
+        }
+    }
+
+    public BulkIngestionService(
+            List<DocumentParser> parsers, StreamingIngestionPipeline ingestionPipeline, SemanticAnswerCache answerCache,
+            @Value("${default.bucket.id:123}") String defaultBucketId,
+            @Value("${rag.ingest.bulk.workers:4}") int workers,
+            @Value("${rag.ingest.bulk.allowed-root:}") String allowedRoot,
+            @Value("${rag.ingest.bulk.spool-dir:${java.io.tmpdir}/rag-bulk}") Path spoolDirectory,
+            @Value("${rag.ingest.bulk.max-files:10000}") int maxFiles,
+            @Value("${rag.ingest.bulk.max-total-size:2GB}") DataSize maxTotalSize) {
+        if (workers < 1 || maxFiles < 1) {
+            throw new IllegalArgumentException("작업 스레드 수와 최대 파일 수는 1 이상이어야 합니다.");
+        }
+        this.parsers = parsers;
+        this.ingestionPipeline = ingestionPipeline;
+        this.answerCache = answerCache;
+        this.defaultBucketId = defaultBucketId;
+        this.workers = workers;
+        this.allowedRoot = StringUtils.hasText(allowedRoot) ? Path.of(allowedRoot).toAbsolutePath().normalize() : null;
+        this.spoolDirectory = spoolDirectory;
+        this.maxFiles = maxFiles;
+        this.maxTotalBytes = maxTotalSize.toBytes();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.parseScheduler = Schedulers.fromExecutorService(Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-ingest-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }), "bulk-ingest");
+    }
+
+    /**
+     * ZIP 파일의 문서를 적재합니다. 압축은 임시 디렉터리에 풀고 적재가 끝나면 지웁니다.
+     *
+     * @param archive  ZIP 파일
+     * @param bucketId 버킷 ID (null 이면 기본 버킷)
+     */
+    public BulkIngestionResultDto ingestZip(MultipartFile archive, String bucketId) {
+        Path directory;
+        try {
+            Files.createDirectories(spoolDirectory);
+            directory = Files.createTempDirectory(spoolDirectory, "bulk-");
+        } catch (IOException e) {
+            throw new DocumentProcessingException("임시 디렉터리 생성 중 오류: " + e.getMessage(), e);
+        }
+        try {
+            List<Path> files = unzip(archive, directory);
+            log.info("ZIP 일괄 적재 요청: {}, 파일 {}개", archive.getOriginalFilename(), files.size());
+            return ingest(directory, files, bucketId);
+        } finally {
+            try {
+                FileSystemUtils.deleteRecursively(directory);
+            } catch (IOException e) {
+                log.warn("임시 디렉터리 삭제 실패: {}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * 서버 디렉터리(하위 디렉터리 포함)의 문서를 적재합니다.
+     *
+     * @param path     rag.ingest.bulk.allowed-root 기준 상대 경로 또는 그 아래 절대 경로
+     * @param bucketId 버킷 ID (null 이면 기본 버킷)
+     */
+    public BulkIngestionResultDto ingestDirectory(String path, String bucketId) {
+        if (allowedRoot == null) {
+            throw new DocumentProcessingException(HttpStatus.FORBIDDEN,
+                    "서버 디렉터리 적재가 허용되지 않았습니다. (rag.ingest.bulk.allowed-root 미설정)");
+        }
+        Path directory;
+        try {
+            // 심볼릭 링크로 허용 경로 밖을 가리키지 못하도록 실제 경로로 비교한다
+            Path root = allowedRoot.toRealPath();
+            directory = root.resolve(path).normalize();
+            if (!Files.isDirectory(directory)) {
+                throw new DocumentProcessingException(HttpStatus.BAD_REQUEST, "디렉터리가 아닙니다: " + path);
+            }
+            directory = directory.toRealPath();
+            if (!directory.startsWith(root)) {
+                throw new DocumentProcessingException(HttpStatus.FORBIDDEN, "허용되지 않은 경로입니다: " + path);
+            }
+        } catch (IOException e) {
+            throw new DocumentProcessingException("디렉터리 확인 중 오류: " + e.getMessage(), e);
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            Path base = directory;
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> !isHidden(base.relativize(file).toString()))
+                    .sorted()
+                    .limit(maxFiles + 1L)
+                    .toList();
+        } catch (IOException e) {
+            throw new DocumentProcessingException("디렉터리 조회 중 오류: " + e.getMessage(), e);
+        }
+        if (files.size() > maxFiles) {
+            throw new DocumentProcessingException(HttpStatus.BAD_REQUEST, "파일 수가 한도(" + maxFiles + "개)를 넘습니다.");
+        }
+        log.info("디렉터리 일괄 적재 요청: {}, 파일 {}개", directory, files.size());
+        return ingest(directory, files, bucketId);
+    }
+
+    @PreDestroy
+    public void close() {
+        parseScheduler.dispose();
+    }
+
+    private BulkIngestionResultDto ingest(Path base, List<Path> files, String bucketId) {
+        String targetBucketId = bucketId != null ? bucketId : defaultBucketId;
+        long started = System.nanoTime();
+
+        Map<String, FileState> states = new LinkedHashMap<>();
+        List<FileState> accepted = new ArrayList<>();
+        for (Path file : files) {
+            String fileName = base.relativize(file).toString().replace('\\', '/');
+            DocumentParser parser = findParserFor(StringUtils.getFilenameExtension(fileName));
+            FileState state;
+            if (parser == null) {
+                state = new FileState(fileName, file, null, SKIPPED, "지원하지 않는 파일 형식입니다.");
+            } else if (isEmpty(file)) {
+                state = new FileState(fileName, file, null, SKIPPED, "빈 파일입니다.");
+            } else {
+                state = new FileState(fileName, file, parser, SUCCESS, null);
+                accepted.add(state);
+            }
+            states.put(fileName, state);
+        }
+
+        // 파일마다 작업 스레드에서 파싱하고, 페이지는 하나의 파이프라인으로 모아 배치를 함께 채운다
+        Flux<Document> pages = Flux.fromIterable(accepted)
+                .flatMap(state -> parse(state, targetBucketId), workers);
+        StreamingIngestionPipeline.Progress progress = new StreamingIngestionPipeline.Progress() {
+            @Override
+            public void batchStored(List<Document> batch, int reused) {
+                for (Document chunk : batch) {
+                    FileState state = states.get(String.valueOf(chunk.getMetadata().get("file_name")));
+                    if (state != null) {
+                        state.chunks.incrementAndGet();
+                    }
+                }
+            }
+        };
+
+        StreamingIngestionPipeline.Result result = null;
+        try {
+            result = ingestionPipeline.ingest(pages, Map.of("bucket_id", targetBucketId), progress).block();
+        } catch (RuntimeException e) {
+            // 저장 단계 실패는 적재를 멈추므로 아직 실패하지 않은 파일 모두 실패로 기록한다 (이미 저장한 배치는 남음)
+            log.error("일괄 적재 중 저장 실패: {}", e.getMessage(), e);
+            accepted.stream()
+                    .filter(state -> SUCCESS.equals(state.status))
+                    .forEach(state -> {
+                        state.status = FAILED;
+                        state.error = "저장 중 오류: " + e.getMessage();
+                    });
+        } finally {
+            answerCache.invalidateBucket(targetBucketId);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        List<BulkIngestionFileResultDto> fileResults = states.values().stream().map(FileState::toDto).toList();
+        int succeeded = count(fileResults, SUCCESS);
+        int skipped = count(fileResults, SKIPPED);
+        int failed = count(fileResults, FAILED);
+        int pageCount = fileResults.stream().mapToInt(BulkIngestionFileResultDto::getPages).sum();
+        int chunkCount = fileResults.stream().mapToInt(BulkIngestionFileResultDto::getChunks).sum();
+        log.info("일괄 적재 완료: bucketId={}, 파일 {}개 (성공 {}, 건너뜀 {}, 실패 {}), 페이지 {}, 청크 {}, {}ms",
+                targetBucketId, fileResults.size(), succeeded, skipped, failed, pageCount, chunkCount, elapsedMillis);
+        return new BulkIngestionResultDto(targetBucketId, fileResults.size(), succeeded, skipped, failed, pageCount,
+                chunkCount, result != null ? result.reused() : 0, result != null ? result.duplicates() : 0,
+                result != null ? result.batches() : 0,
+                elapsedMillis, fileResults);
+    }
+
+    /**
+     * 파일 1건을 파싱하여 공통 메타데이터를 붙인 페이지를 내보냅니다. 실패하면 그 파일만 실패로 기록합니다.
+     */
+    private Flux<Document> parse(FileState state, String bucketId) {
+        SpooledMultipartFile file;
+        try {
+            file = new SpooledMultipartFile(state.path, "file", state.fileName, Files.probeContentType(state.path));
+        } catch (IOException e) {
+            markFailed(state, e);
+            return Flux.empty();
+        }
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("file_name", state.fileName);
+        metadata.put("content_type", file.getContentType());
+        metadata.put("bucket_id", bucketId);
+        return state.parser.parseStream(file)
+                .subscribeOn(parseScheduler)
+                .doOnNext(page -> {
+                    page.getMetadata().putAll(metadata);
+                    state.pages.incrementAndGet();
+                })
+                .onErrorResume(e -> {
+                    markFailed(state, e);
+                    return Flux.empty();
+                });
+    }
+
+    private static void markFailed(FileState state, Throwable e) {
+        log.warn("일괄 적재 파일 파싱 실패: {}, {}", state.fileName, e.getMessage());
+        state.status = FAILED;
+        state.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * ZIP 항목을 directory 아래에 풉니다. 항목 경로가 directory 밖을 가리키거나 (zip slip)
+     * 파일 수, 풀린 전체 크기가 한도를 넘으면 거절합니다.
+     */
+    private List<Path> unzip(MultipartFile archive, Path directory) {
+        List<Path> files = new ArrayList<>();
+        long totalBytes = 0;
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Path target = directory.resolve(entry.getName()).normalize();
+                if (!target.startsWith(directory)) {
+                    throw new DocumentProcessingException(HttpStatus.BAD_REQUEST, "잘못된 ZIP 항목 경로입니다: " + entry.getName());
+                }
+                if (entry.isDirectory() || target.equals(directory) || isHidden(directory.relativize(target).toString())) {
+                    continue;
+                }
+                if (files.size() >= maxFiles) {
+                    throw new DocumentProcessingException(HttpStatus.BAD_REQUEST, "파일 수가 한도(" + maxFiles + "개)를 넘습니다.");
+                }
+                Files.createDirectories(target.getParent());
+                totalBytes += copy(zip, target, maxTotalBytes - totalBytes);
+                files.add(target);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DocumentProcessingException(HttpStatus.BAD_REQUEST, "ZIP 파일을 읽을 수 없습니다: " + e.getMessage());
+        }
+        return files;
+    }
+
+    private static long copy(InputStream in, Path target, long remainingBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > remainingBytes) {
+                    throw new DocumentProcessingException(HttpStatus.PAYLOAD_TOO_LARGE, "압축을 푼 전체 크기가 한도를 넘습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * 숨김 파일과 macOS 압축 메타데이터(__MACOSX)는 적재하지 않는다
+     */
+    private static boolean isHidden(String relativePath) {
+        for (String segment : relativePath.replace('\\', '/').split("/")) {
+            if (segment.startsWith(".") || segment.equals("__MACOSX")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(Path file) {
+        try {
+            return Files.size(file) == 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static int count(List<BulkIngestionFileResultDto> results, String status) {
+        return (int) results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
+
+    private DocumentParser findParserFor(String extension) {
+        for (DocumentParser parser : parsers) {
+            if (parser.supports(extension)) {
+                return parser;
+            }
+        }
+        return null;
+    }
+}
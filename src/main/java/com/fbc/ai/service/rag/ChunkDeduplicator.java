@@ -0,0 +1,100 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.repository.dedup.MinHashLshIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 임베딩 전에 거의 같은 청크(Jaccard 유사도 threshold 이상)를 걸러내는 중복 제거기
+ *
+ * 업로드마다 반복되는 머리말, 면책 문구, 목차 등이 여러 번 임베딩/저장되어 top-k 컨텍스트를 채우지 않도록,
+ * 이미 색인된 청크와 거의 같은 청크는 저장하지 않고 건너뜁니다.
+ * <ul>
+ *     <li>BUCKET : 같은 버킷(bucket_id) 안의 청크끼리만 비교 (버킷 필터 검색 결과가 달라지지 않음)</li>
+ *     <li>GLOBAL : 모든 버킷의 청크와 비교 (다른 버킷에 같은 청크가 있으면 이 버킷에는 저장하지 않음)</li>
+ * </ul>
+ * 청크는 reserve 에서 바로 색인에 올라가므로 같은 업로드 안의 중복도 걸러지며, 적재가 실패하면 release 로 되돌립니다.
+ */
+public class ChunkDeduplicator {
+
+    public static final String BUCKET_ID = "bucket_id";
+
+    public enum Scope {
+        BUCKET, GLOBAL;
+
+        public static Scope of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final MinHashLshIndex index;
+    private final Scope scope;
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+    private Counter skippedChunks;
+    private Counter skippedTokens;
+
+    public ChunkDeduplicator(MinHashLshIndex index, Scope scope) {
+        this.index = index;
+        this.scope = scope;
+    }
+
+    /**
+     * 건너뛴 청크/토큰 수 지표(rag.ingest.dedup.chunks, rag.ingest.dedup.tokens)를 등록합니다.
+     */
+    public ChunkDeduplicator bindTo(MeterRegistry registry) {
+        skippedChunks = Counter.builder("rag.ingest.dedup.chunks")
+                .description("중복으로 건너뛴 청크 수").register(registry);
+        skippedTokens = Counter.builder("rag.ingest.dedup.tokens")
+                .description("중복으로 건너뛰어 임베딩하지 않은 토큰 수").register(registry);
+        return this;
+    }
+
+    /**
+     * 청크와 거의 같은 청크가 이미 있으면 그 청크를 돌려주고, 없으면 청크를 색인에 올린 뒤 null 을 돌려줍니다.
+     */
+    public MinHashLshIndex.Match reserve(Document chunk) {
+        String bucketId = bucketId(chunk);
+        MinHashLshIndex.Match match = index.addIfAbsent(chunk.getId(), bucketId, index.signature(chunk.getText()),
+                scope == Scope.BUCKET ? bucketId : null);
+        if (match != null && skippedChunks != null) {
+            skippedChunks.increment();
+            skippedTokens.increment(tokenCountEstimator.estimate(chunk.getText()));
+        }
+        return match;
+    }
+
+    /**
+     * 저장하지 못한 청크를 색인에서 뺍니다.
+     */
+    public void release(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            index.remove(ids);
+        }
+    }
+
+    /**
+     * 이미 저장된 청크를 색인에 올립니다. (재시작 후 복원)
+     */
+    public void restore(List<Document> documents) {
+        for (Document document : documents) {
+            index.add(document.getId(), bucketId(document), Objects.requireNonNullElse(document.getText(), ""));
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private static String bucketId(Document document) {
+        Object bucketId = document.getMetadata().get(BUCKET_ID);
+        return bucketId == null ? "" : bucketId.toString();
+    }
+}
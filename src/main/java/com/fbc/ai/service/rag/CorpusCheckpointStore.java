@@ -0,0 +1,25 @@
+package com.fbc.ai.service.rag;
+
+import java.util.Optional;
+
+/**
+ * 코퍼스(hotel_data.txt, PDF 등) 적재 진행 위치 저장소
+ *
+ * 적재기는 배치를 저장할 때마다 다음에 읽을 위치(줄 또는 페이지 번호, 0부터)를 기록하고,
+ * 재시작하면 원본 지문(fingerprint)이 같을 때 그 위치부터 이어서 적재합니다.
+ */
+public interface CorpusCheckpointStore {
+
+    /**
+     * @param corpus        코퍼스 이름
+     * @param fingerprint   원본 내용의 SHA-256 (원본이 바뀌면 처음부터 다시 적재)
+     * @param nextPosition  다음에 읽을 줄 또는 페이지 번호
+     * @param completed     끝까지 적재했는지 여부
+     */
+    record Checkpoint(String corpus, String fingerprint, int nextPosition, boolean completed) {
+    }
+
+    Optional<Checkpoint> find(String corpus);
+
+    void save(Checkpoint checkpoint);
+}
@@ -0,0 +1,270 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.embedding.EmbeddingRateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.transformer.splitter.TextSplitter;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * 코퍼스(hotel_data.txt, movie_plots_korean.txt, PDF)를 벡터 스토어에 이어서 적재하는 적재기
+ *
+ * <ul>
+ *     <li>청크를 batch-size 개(메타데이터 포함 추정 토큰 max-batch-tokens 이하)씩 묶어 VectorStore.add 한 번으로 임베딩/저장.
+ *     max-batch-tokens 는 벡터 스토어가 배치를 다시 나누지 않도록 TokenCountBatchingStrategy 한도(약 7372)보다 작게 둠</li>
+ *     <li>배치를 보내기 전에 EmbeddingRateLimiter 로 OpenAI RPM/TPM 할당량을 넘지 않도록 기다림</li>
+ *     <li>배치를 저장할 때마다 다음에 읽을 줄/페이지 위치를 체크포인트로 기록하여, 중간에 멈춰도 그 위치부터 이어서 적재</li>
+ *     <li>청크 ID 는 코퍼스 이름, 위치, 청크 순번으로 정해지므로 같은 청크를 다시 저장하면 덮어씀 (중복 없음)</li>
+ *     <li>청크 메타데이터에 코퍼스 이름(corpus)과 원본 지문(fingerprint)을 남기고, 끝까지 적재하면 이전 지문의 청크
+ *     (원본에서 지워진 줄, 줄어든 청크 순번)를 지움</li>
+ *     <li>vector_store 코퍼스는 하이브리드 검색용 BM25 색인에도 배치마다 같은 청크를 올리고, 이전 지문의 청크를 함께 지움</li>
+ * </ul>
+ * submit 은 적재기 전용 스레드 1개에서 코퍼스를 차례로 적재하므로 애플리케이션 기동을 막지 않습니다.
+ */
+@Slf4j
+@Service
+public class CorpusLoader {
+
+    public static final String METADATA_CORPUS = "corpus";
+    public static final String METADATA_FINGERPRINT = "fingerprint";
+
+    private final CorpusCheckpointStore checkpointStore;
+    private final EmbeddingRateLimiter rateLimiter;
+    private final int batchSize;
+    private final int maxBatchTokens;
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "corpus-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param corpus        코퍼스 이름
+     * @param fromPosition  이번에 읽기 시작한 위치 (이어서 적재하면 0보다 큼)
+     * @param units         적재한 줄/페이지 수
+     * @param chunks        저장한 청크 수
+     * @param batches       VectorStore.add 호출 수
+     * @param skipped       이미 끝까지 적재되어 건너뛰었는지 여부
+     */
+    public record Result(String corpus, int fromPosition, int units, int chunks, int batches, boolean skipped) {
+    }
+
+    public CorpusLoader(CorpusCheckpointStore checkpointStore,
+                        EmbeddingRateLimiter rateLimiter,
+                        @Value("${rag.loader.batch-size:64}") int batchSize,
+                        @Value("${rag.loader.max-batch-tokens:7000}") int maxBatchTokens) {
+        if (batchSize < 1 || maxBatchTokens < 1) {
+            throw new IllegalArgumentException("batch-size 와 max-batch-tokens 는 1 이상이어야 합니다.");
+        }
+        this.checkpointStore = checkpointStore;
+        this.rateLimiter = rateLimiter;
+        this.batchSize = batchSize;
+        this.maxBatchTokens = maxBatchTokens;
+    }
+
+    /**
+     * 적재기 스레드에서 코퍼스를 적재합니다. 앞서 접수한 코퍼스가 끝나면 시작합니다.
+     */
+    public CompletableFuture<Result> submit(CorpusSource source, VectorStore vectorStore, TextSplitter splitter) {
+        return submit(source, vectorStore, null, splitter);
+    }
+
+    /**
+     * @param bm25Index 벡터 스토어와 함께 갱신할 키워드 색인 (null 이면 갱신하지 않음)
+     */
+    public CompletableFuture<Result> submit(CorpusSource source, VectorStore vectorStore, Bm25Index bm25Index,
+                                            TextSplitter splitter) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(source, vectorStore, bm25Index, splitter);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("코퍼스 적재 실패 - {}: {}", source.name(), error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 체크포인트부터 코퍼스를 적재합니다. 원본 지문이 체크포인트와 다르면 처음부터 적재하고,
+     * 끝까지 적재한 뒤 이전 지문의 청크를 지웁니다. (다시 적재하는 동안에는 이전 청크도 검색됨)
+     */
+    public Result load(CorpusSource source, VectorStore vectorStore, TextSplitter splitter)
+            throws IOException, InterruptedException {
+        return load(source, vectorStore, null, splitter);
+    }
+
+    /**
+     * @param bm25Index 벡터 스토어와 함께 갱신할 키워드 색인 (null 이면 갱신하지 않음)
+     */
+    public Result load(CorpusSource source, VectorStore vectorStore, Bm25Index bm25Index, TextSplitter splitter)
+            throws IOException, InterruptedException {
+        String corpus = source.name();
+        String fingerprint = source.fingerprint();
+        Optional<CorpusCheckpointStore.Checkpoint> checkpoint = checkpointStore.find(corpus)
+                .filter(saved -> saved.fingerprint().equals(fingerprint));
+        if (checkpoint.map(CorpusCheckpointStore.Checkpoint::completed).orElse(false)) {
+            log.info("코퍼스 적재 건너뜀 (이미 완료) - {}", corpus);
+            return new Result(corpus, checkpoint.get().nextPosition(), 0, 0, 0, true);
+        }
+
+        int fromPosition = checkpoint.map(CorpusCheckpointStore.Checkpoint::nextPosition).orElse(0);
+        log.info("코퍼스 적재 시작 - {}, 시작 위치: {}", corpus, fromPosition);
+        Batch batch = new Batch(corpus, fingerprint, vectorStore, bm25Index);
+        int units = 0;
+        int nextPosition = fromPosition;
+        try (Stream<CorpusSource.Unit> stream = source.open(fromPosition)) {
+            Iterator<CorpusSource.Unit> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                CorpusSource.Unit unit = iterator.next();
+                List<Document> chunks = splitter.split(unit.document());
+                for (int i = 0; i < chunks.size(); i++) {
+                    Document chunk = chunks.get(i);
+                    Map<String, Object> metadata = new HashMap<>(chunk.getMetadata());
+                    metadata.put(METADATA_CORPUS, corpus);
+                    metadata.put(METADATA_FINGERPRINT, fingerprint);
+                    Document document = Document.builder()
+                            .id(chunkId(corpus, unit.position(), i))
+                            .text(chunk.getText())
+                            .metadata(metadata)
+                            .build();
+                    // 벡터 스토어의 TokenCountBatchingStrategy 와 같이 메타데이터를 포함한 임베딩 본문으로 센다
+                    int tokens = tokenCountEstimator.estimate(document.getFormattedContent(MetadataMode.EMBED));
+                    if (batch.isFull(tokens)) {
+                        // 현재 단위의 일부가 배치에 들어 있을 수 있으므로 재시작은 현재 단위부터 (같은 ID 로 덮어씀)
+                        batch.flush(unit.position());
+                    }
+                    batch.add(document, tokens);
+                }
+                units++;
+                nextPosition = unit.position() + 1;
+            }
+        }
+        batch.flush(nextPosition);
+        // 이전 원본으로 저장한 청크 중 이번에 덮어쓰지 않은 청크를 지운다 (지운 뒤 완료를 기록하므로 중간에 멈추면 다음에 다시 지움)
+        deleteStaleChunks(corpus, fingerprint, vectorStore, bm25Index);
+        checkpointStore.save(new CorpusCheckpointStore.Checkpoint(corpus, fingerprint, nextPosition, true));
+        log.info("코퍼스 적재 완료 - {}, 단위: {}, 청크: {}, 배치: {}", corpus, units, batch.chunks, batch.batches);
+        return new Result(corpus, fromPosition, units, batch.chunks, batch.batches, false);
+    }
+
+    /**
+     * 코퍼스 이름, 위치, 청크 순번으로 정해지는 청크 ID (pgvector id 컬럼이 UUID)
+     */
+    static String chunkId(String corpus, int position, int chunkIndex) {
+        return UUID.nameUUIDFromBytes((corpus + ":" + position + ":" + chunkIndex).getBytes(StandardCharsets.UTF_8))
+                .toString();
+    }
+
+    /**
+     * 이전 지문의 청크를 지웁니다.
+     * 키워드 색인이 있으면 색인에서 이전 지문의 청크 ID 를 골라 키워드 색인과 벡터 스토어에서 ID 로 지우고,
+     * 색인에 없는 청크(하이브리드 검색을 끈 채 재시작한 경우 등)를 위해 벡터 스토어는 필터로 한 번 더 지웁니다.
+     */
+    private static void deleteStaleChunks(String corpus, String fingerprint, VectorStore vectorStore, Bm25Index bm25Index) {
+        if (bm25Index != null) {
+            List<String> staleIds = bm25Index.ids(metadata -> corpus.equals(metadata.get(METADATA_CORPUS))
+                    && metadata.containsKey(METADATA_FINGERPRINT)
+                    && !fingerprint.equals(metadata.get(METADATA_FINGERPRINT)));
+            if (!staleIds.isEmpty()) {
+                vectorStore.delete(staleIds);
+                bm25Index.delete(staleIds);
+                log.info("코퍼스 이전 청크 삭제 - {}, 청크: {}", corpus, staleIds.size());
+            }
+        }
+        vectorStore.delete(staleChunks(corpus, fingerprint));
+    }
+
+    /**
+     * 코퍼스의 청크 중 지문이 다른 (이전 원본으로 저장한) 청크
+     */
+    static Filter.Expression staleChunks(String corpus, String fingerprint) {
+        FilterExpressionBuilder filter = new FilterExpressionBuilder();
+        return filter.and(filter.eq(METADATA_CORPUS, corpus), filter.ne(METADATA_FINGERPRINT, fingerprint)).build();
+    }
+
+    @PreDestroy
+    public void close() {
+        // 대기 중인 속도 제한을 깨워 멈춘다. 이미 저장한 배치까지는 체크포인트에 남아 있다.
+        executor.shutdownNow();
+    }
+
+    /**
+     * 임베딩 요청 1건으로 보낼 청크 묶음
+     */
+    private class Batch {
+        private final String corpus;
+        private final String fingerprint;
+        private final VectorStore vectorStore;
+        private final Bm25Index bm25Index;
+        private final List<Document> documents = new ArrayList<>();
+        private int tokens;
+        private int chunks;
+        private int batches;
+
+        Batch(String corpus, String fingerprint, VectorStore vectorStore, Bm25Index bm25Index) {
+            this.corpus = corpus;
+            this.fingerprint = fingerprint;
+            this.vectorStore = vectorStore;
+            this.bm25Index = bm25Index;
+        }
+
+        boolean isFull(int nextTokens) {
+            return !documents.isEmpty() && (documents.size() >= batchSize || tokens + nextTokens > maxBatchTokens);
+        }
+
+        void add(Document document, int documentTokens) {
+            documents.add(document);
+            tokens += documentTokens;
+        }
+
+        void flush(int nextPosition) throws InterruptedException {
+            if (documents.isEmpty()) {
+                return;
+            }
+            rateLimiter.acquire(tokens);
+            List<Document> stored = List.copyOf(documents);
+            vectorStore.add(stored);
+            if (bm25Index != null) {
+                // 같은 ID 는 이전 본문을 지우고 다시 색인된다
+                bm25Index.add(stored);
+            }
+            chunks += documents.size();
+            batches++;
+            checkpointStore.save(new CorpusCheckpointStore.Checkpoint(corpus, fingerprint, nextPosition, false));
+            log.debug("코퍼스 배치 저장 - {}, 청크: {}, 다음 위치: {}", corpus, documents.size(), nextPosition);
+            documents.clear();
+            tokens = 0;
+        }
+    }
+}
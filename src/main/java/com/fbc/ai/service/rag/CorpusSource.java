@@ -0,0 +1,156 @@
+package com.fbc.ai.service.rag;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * CorpusLoader 가 적재하는 원본 (줄 단위 텍스트 파일, 페이지 단위 PDF)
+ *
+ * 원본은 위치(줄 또는 페이지 번호, 0부터)가 매겨진 단위로 읽으며, 적재기는 이 위치를 체크포인트로 기록합니다.
+ */
+public interface CorpusSource {
+
+    /**
+     * 원본의 한 단위 (빈 줄, 빈 페이지는 내보내지 않지만 위치는 셉니다)
+     */
+    record Unit(int position, Document document) {
+    }
+
+    /**
+     * 체크포인트 키로 쓰는 코퍼스 이름
+     */
+    String name();
+
+    /**
+     * 원본 내용의 SHA-256 (16진수 64자)
+     */
+    String fingerprint() throws IOException;
+
+    /**
+     * fromPosition 부터 단위를 읽습니다. 스트림을 닫으면 원본도 닫힙니다.
+     */
+    Stream<Unit> open(int fromPosition) throws IOException;
+
+    /**
+     * 한 줄을 문서 1개로 보는 텍스트 원본 (hotel_data.txt, movie_plots_korean.txt)
+     */
+    static CorpusSource lines(String name, Resource resource) {
+        return new CorpusSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String fingerprint() throws IOException {
+                return sha256(resource);
+            }
+
+            @Override
+            public Stream<Unit> open(int fromPosition) throws IOException {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+                        StandardCharsets.UTF_8));
+                AtomicInteger position = new AtomicInteger(fromPosition);
+                return reader.lines()
+                        .skip(fromPosition)
+                        .map(line -> {
+                            int linePosition = position.getAndIncrement();
+                            return StringUtils.hasText(line)
+                                    ? new Unit(linePosition, new Document(line, Map.of("line_number", linePosition + 1)))
+                                    : null;
+                        })
+                        .filter(Objects::nonNull)
+                        .onClose(() -> close(reader));
+            }
+        };
+    }
+
+    /**
+     * 한 페이지를 문서 1개로 보는 PDF 원본. 건너뛴 페이지는 텍스트를 추출하지 않습니다.
+     */
+    static CorpusSource pdfPages(String name, Resource resource) {
+        return new CorpusSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String fingerprint() throws IOException {
+                return sha256(resource);
+            }
+
+            @Override
+            public Stream<Unit> open(int fromPosition) throws IOException {
+                PDDocument pdf;
+                try (InputStream in = resource.getInputStream()) {
+                    pdf = Loader.loadPDF(in.readAllBytes());
+                }
+                return IntStream.range(fromPosition, pdf.getNumberOfPages())
+                        .mapToObj(index -> {
+                            String text = extractPage(pdf, index + 1);
+                            return StringUtils.hasText(text)
+                                    ? new Unit(index, new Document(text, Map.of(
+                                            PagePdfDocumentReader.METADATA_START_PAGE_NUMBER, index + 1,
+                                            PagePdfDocumentReader.METADATA_FILE_NAME, name)))
+                                    : null;
+                        })
+                        .filter(Objects::nonNull)
+                        .onClose(() -> close(pdf));
+            }
+        };
+    }
+
+    private static String extractPage(PDDocument pdf, int pageNumber) {
+        try {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(pageNumber);
+            stripper.setEndPage(pageNumber);
+            return stripper.getText(pdf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static void close(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            throw new IllegalStateException("코퍼스 원본을 닫지 못했습니다.", e);
+        }
+    }
+}
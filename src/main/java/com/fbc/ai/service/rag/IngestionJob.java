@@ -0,0 +1,127 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.domain.dto.IngestionJobDto;
+import com.fbc.ai.repository.dedup.MinHashLshIndex;
+import org.springframework.ai.document.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 문서 적재 작업 1건의 상태와 진행 이벤트
+ *
+ * 파이프라인의 진행 알림을 받아 카운터를 올리고, 바뀔 때마다 상태 스냅샷을 이벤트로 내보냅니다.
+ * 이벤트 스트림은 마지막 상태를 기억하므로 늦게 구독해도 현재 상태부터 받고, 작업이 끝나면 완료됩니다.
+ */
+class IngestionJob implements StreamingIngestionPipeline.Progress {
+
+    enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final String fileName;
+    private final String bucketId;
+    private final Instant createdAt = Instant.now();
+    private final AtomicInteger pagesParsed = new AtomicInteger();
+    private final AtomicInteger chunksSplit = new AtomicInteger();
+    private final AtomicInteger chunksStored = new AtomicInteger();
+    private final AtomicInteger chunksReused = new AtomicInteger();
+    private final AtomicInteger chunksDuplicated = new AtomicInteger();
+    private final Sinks.Many<IngestionJobDto> events = Sinks.many().replay().latest();
+    private volatile Status status = Status.QUEUED;
+    private volatile String error;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    IngestionJob(String id, String fileName, String bucketId) {
+        this.id = id;
+        this.fileName = fileName;
+        this.bucketId = bucketId;
+        emit();
+    }
+
+    String id() {
+        return id;
+    }
+
+    Status status() {
+        return status;
+    }
+
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+        emit();
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(Throwable cause) {
+        finish(Status.FAILED, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+
+    @Override
+    public void pageParsed(int chunks) {
+        pagesParsed.incrementAndGet();
+        chunksSplit.addAndGet(chunks);
+        emit();
+    }
+
+    @Override
+    public void batchStored(List<Document> batch, int reused) {
+        chunksStored.addAndGet(batch.size());
+        chunksReused.addAndGet(reused);
+        emit();
+    }
+
+    @Override
+    public void duplicateSkipped(Document chunk, MinHashLshIndex.Match match) {
+        chunksDuplicated.incrementAndGet();
+        emit();
+    }
+
+    /**
+     * 현재 상태부터 시작하는 진행 이벤트 스트림
+     */
+    Flux<IngestionJobDto> events() {
+        return events.asFlux();
+    }
+
+    IngestionJobDto snapshot() {
+        return new IngestionJobDto(id, fileName, bucketId, status.name(), pagesParsed.get(), chunksSplit.get(),
+                chunksStored.get(), chunksReused.get(), chunksDuplicated.get(), error, createdAt, startedAt, finishedAt);
+    }
+
+    private void finish(Status finalStatus, String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = finalStatus;
+        synchronized (events) {
+            events.tryEmitNext(snapshot());
+            events.tryEmitComplete();
+        }
+    }
+
+    /**
+     * 배치 저장은 여러 스레드에서 동시에 알리므로 내보내기를 직렬화한다
+     */
+    private void emit() {
+        synchronized (events) {
+            events.tryEmitNext(snapshot());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.document.SpooledMultipartFile;
+import com.fbc.ai.domain.dto.IngestionJobDto;
+import com.fbc.ai.exception.DocumentProcessingException;
+import com.fbc.ai.service.RagService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 문서 적재 작업을 관리합니다.
+ *
+ * 업로드 파일을 임시 디렉터리로 옮긴 뒤 작업 ID 를 바로 돌려주고, 고정 크기 작업 스레드가 차례로 적재합니다.
+ * 동시에 실행하는 작업은 rag.ingest.jobs.max-concurrent-jobs 개, 대기 작업은 queue-capacity 개까지이며
+ * 대기열이 가득 차면 503 으로 거절합니다. 작업 1건 안의 배치 동시성은 rag.ingest.concurrency 를 따릅니다.
+ * 끝난 작업의 상태는 retention 동안 조회할 수 있고, 지난 작업은 다음 접수나 조회 때 지웁니다.
+ */
+@Slf4j
+@Service
+public class IngestionJobService {
+
+    private final RagService ragService;
+    private final String defaultBucketId;
+    private final Path spoolDirectory;
+    private final Duration retention;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    public IngestionJobService(
+            RagService ragService,
+            @Value("${default.bucket.id:123}") String defaultBucketId,
+            @Value("${rag.ingest.jobs.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${rag.ingest.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${rag.ingest.jobs.retention:1h}") Duration retention,
+            @Value("${rag.ingest.jobs.spool-dir:${java.io.tmpdir}/rag-ingest}") Path spoolDirectory) {
+        if (maxConcurrentJobs < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("동시 작업 수와 대기열 크기는 1 이상이어야 합니다.");
+        }
+        this.ragService = ragService;
+        this.defaultBucketId = defaultBucketId;
+        this.retention = retention;
+        this.spoolDirectory = spoolDirectory;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "ingest-job-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 적재 작업을 접수합니다.
+     *
+     * @param file     업로드 파일 (요청이 끝나기 전에 임시 파일로 옮김)
+     * @param bucketId 버킷 ID (null 이면 기본 버킷)
+     * @return 접수된 작업 상태 (QUEUED)
+     */
+    public IngestionJobDto submit(MultipartFile file, String bucketId) {
+        evictExpired();
+        String targetBucketId = bucketId != null ? bucketId : defaultBucketId;
+
+        SpooledMultipartFile spooled;
+        try {
+            spooled = SpooledMultipartFile.spool(file, spoolDirectory);
+        } catch (IOException e) {
+            throw new DocumentProcessingException("업로드 파일 저장 중 오류: " + e.getMessage(), e);
+        }
+
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), file.getOriginalFilename(), targetBucketId);
+        jobs.put(job.id(), job);
+        try {
+            workers.execute(() -> run(job, spooled, targetBucketId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            deleteQuietly(spooled);
+            log.warn("문서 적재 대기열이 가득 찼습니다: {}", file.getOriginalFilename());
+            throw new DocumentProcessingException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "문서 적재 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        log.info("문서 적재 작업 접수: jobId={}, 파일: {}, bucketId: {}", job.id(), file.getOriginalFilename(), targetBucketId);
+        return job.snapshot();
+    }
+
+    /**
+     * 작업 상태를 조회합니다.
+     */
+    public Optional<IngestionJobDto> find(String jobId) {
+        evictExpired();
+        return Optional.ofNullable(jobs.get(jobId)).map(IngestionJob::snapshot);
+    }
+
+    /**
+     * 작업 진행 이벤트를 구독합니다. 현재 상태부터 받고 작업이 끝나면 스트림이 완료됩니다.
+     */
+    public Optional<Flux<IngestionJobDto>> events(String jobId) {
+        evictExpired();
+        return Optional.ofNullable(jobs.get(jobId)).map(IngestionJob::events);
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private void run(IngestionJob job, SpooledMultipartFile file, String bucketId) {
+        job.start();
+        RuntimeException failure = null;
+        try {
+            ragService.ingest(file, bucketId, job).block();
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            // 종료 이벤트를 받은 클라이언트가 임시 파일을 보지 않도록 먼저 지운다
+            deleteQuietly(file);
+        }
+        if (failure == null) {
+            job.complete();
+            log.info("문서 적재 작업 완료: jobId={}", job.id());
+        } else {
+            job.fail(failure);
+            log.error("문서 적재 작업 실패: jobId={}, {}", job.id(), failure.getMessage());
+        }
+    }
+
+    private void evictExpired() {
+        Instant expiredBefore = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.status().isFinished() && job.finishedAt().isBefore(expiredBefore));
+    }
+
+    private static void deleteQuietly(SpooledMultipartFile file) {
+        try {
+            file.delete();
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", file.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fbc.ai.service.rag;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+/**
+ * JDBC 테이블(corpus_load_checkpoint)에 코퍼스 적재 위치를 보관하는 CorpusCheckpointStore 입니다.
+ *
+ * 테이블 정의는 src/main/resources/sql/corpus_load_checkpoint.sql 과 같습니다.
+ */
+public class JdbcCorpusCheckpointStore implements CorpusCheckpointStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+
+    public JdbcCorpusCheckpointStore(JdbcTemplate jdbcTemplate, String tableName) {
+        if (!tableName.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new IllegalArgumentException("테이블 이름이 올바르지 않습니다: " + tableName);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = tableName;
+    }
+
+    /**
+     * 테이블이 없으면 생성합니다.
+     */
+    public void initializeSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "corpus VARCHAR(255) PRIMARY KEY, "
+                + "fingerprint CHAR(64) NOT NULL, "
+                + "next_position INT NOT NULL, "
+                + "completed BOOLEAN NOT NULL, "
+                + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    @Override
+    public Optional<Checkpoint> find(String corpus) {
+        return jdbcTemplate.query("SELECT corpus, fingerprint, next_position, completed FROM " + tableName
+                        + " WHERE corpus = ?",
+                (rs, rowNum) -> new Checkpoint(rs.getString(1), rs.getString(2).trim(), rs.getInt(3), rs.getBoolean(4)),
+                corpus).stream().findFirst();
+    }
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        jdbcTemplate.update("INSERT INTO " + tableName + " (corpus, fingerprint, next_position, completed) "
+                        + "VALUES (?, ?, ?, ?) ON CONFLICT (corpus) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, "
+                        + "next_position = EXCLUDED.next_position, completed = EXCLUDED.completed, "
+                        + "updated_at = CURRENT_TIMESTAMP",
+                checkpoint.corpus(), checkpoint.fingerprint(), checkpoint.nextPosition(), checkpoint.completed());
+    }
+}
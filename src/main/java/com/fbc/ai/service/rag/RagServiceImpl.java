@@ -1,13 +1,16 @@
 package com.fbc.ai.service.rag;
 
 import com.fbc.ai.document.DocumentParser;
+import com.fbc.ai.document.UploadSpooler;
 import com.fbc.ai.exception.DocumentProcessingException;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.repository.keyword.ReciprocalRankFusion;
 import com.fbc.ai.service.RagService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,9 @@ import java.util.stream.Collectors;
 
 /**
  * 문서 업로드, 검색, 그리고 검색 결과를 활용한 LLM 응답 생성을 담당합니다.
+ *
+ * rag.hybrid.enabled 가 true 면 벡터 검색 결과와 BM25 키워드 검색 결과를
+ * Reciprocal Rank Fusion 으로 합쳐 상위 문서를 고릅니다.
  */
 @Slf4j
 @Service
@@ -35,12 +41,27 @@ public class RagServiceImpl implements RagService {
     private final String defaultWebhookUrl;
     private final VectorStore vectorStore;
     private final List<DocumentParser> parsers;
+    private final Bm25Index bm25Index;
+    private final SemanticAnswerCache answerCache;
+    private final StreamingIngestionPipeline ingestionPipeline;
+    private final UploadSpooler uploadSpooler;
+
+    @Value("${rag.hybrid.enabled:true}")
+    private boolean hybridEnabled;
+
+    @Value("${rag.hybrid.candidates:10}")
+    private int hybridCandidates;
+
+    @Value("${rag.hybrid.rrf-k:60}")
+    private int rrfK;
 
     public RagServiceImpl(
             JdbcClient jdbcClient, @Value("${vector.api.key:123}") String vectorApiKey,
             @Value("${default.bucket.id:123}") String defaultBucketId,
             @Value("{webhook.url:#{null}}") String defaultWebhookUrl,
-            VectorStore vectorStore, List<DocumentParser> parsers
+            VectorStore vectorStore, List<DocumentParser> parsers, Bm25Index bm25Index,
+            SemanticAnswerCache answerCache, StreamingIngestionPipeline ingestionPipeline,
+            UploadSpooler uploadSpooler
     ) {
         this.jdbcClient = jdbcClient;
         this.vectorApiKey = vectorApiKey;
@@ -48,6 +69,10 @@ public class RagServiceImpl implements RagService {
         this.defaultWebhookUrl = defaultWebhookUrl;
         this.vectorStore = vectorStore;
         this.parsers = parsers;
+        this.bm25Index = bm25Index;
+        this.answerCache = answerCache;
+        this.ingestionPipeline = ingestionPipeline;
+        this.uploadSpooler = uploadSpooler;
         this.webClient = WebClient.builder()
                 .baseUrl("https://live-stargate.sionic.im/api/v2")
                 .build();
@@ -60,42 +85,41 @@ public class RagServiceImpl implements RagService {
     }
 
     public Mono<String> uploadFile(MultipartFile file, String bucketId) throws Exception {
+        return ingest(file, bucketId, StreamingIngestionPipeline.Progress.NONE)
+                .map(result -> "success");
+    }
+
+    @Override
+    public Mono<StreamingIngestionPipeline.Result> ingest(MultipartFile file, String bucketId,
+                                                          StreamingIngestionPipeline.Progress progress) {
         log.info("문서 등록 요청 시작: {}, bucketId: {}", file.getOriginalFilename(), bucketId);
 
         String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
         DocumentParser appropriateParser = findParserFor(extension);
 
-        // 파일 업로드 (여러 확장자 지원)
-        try {
-            if (appropriateParser != null) {
-                // 파서는 이제 Document 리스트(청크 리스트)를 반환
-                List<Document> parsedChunks = appropriateParser.parse(file);
-
-                // 각 청크의 메타데이터에 공통 정보(bucketId) 추가
-                // Map<String, Object> baseMetadata = createBaseMetadata(file);
-
-                for (Document chunk : parsedChunks) {
-                    chunk.getMetadata().put("bucket_id", bucketId);
-                    chunk.getMetadata().put("file_name", file.getOriginalFilename());
-                    chunk.getMetadata().put("content_type", file.getContentType());
-                }
-
-                // 1000글자 단위로 자른다.
-                // # 2.단계 : 문서분할(Split Documents)
-                TokenTextSplitter splitter = new TokenTextSplitter(1000, 400, 10, 5000, true);
-                List<Document> splitDocuments = splitter.apply(parsedChunks);
+        if (appropriateParser == null) {
+            return Mono.error(new DocumentProcessingException("지원하지 않는 파일 형식입니다: " + file.getOriginalFilename()));
+        }
 
-                // # 3.단계 : 임베딩(Embedding) -> 4.단계 : DB에 저장(백터스토어 생성)
-                vectorStore.accept(splitDocuments); // OpenAI 임베딩을 거친다.
-                return Mono.just("success");
-            } else {
-                return Mono.error(new DocumentProcessingException("지원하지 않는 파일 형식입니다: " + file.getOriginalFilename()));
-            }
+        // 각 청크의 메타데이터에 공통 정보(bucketId) 추가
+        Map<String, Object> metadata = createBaseMetadata(file);
+        metadata.put("bucket_id", bucketId);
 
-        } catch (Exception e) {
-            log.error("문서 업로드 준비 중 오류: {}", e.getMessage(), e);
-            return Mono.error(new DocumentProcessingException("문서 업로드 준비 중 오류: " + e.getMessage(), e));
-        }
+        // # 1.단계 : 페이지 로드 -> 2.단계 : 문서분할 -> 3.단계 : 임베딩 -> 4.단계 : DB에 저장 (배치 단위로 흘려보냄)
+        // 임베딩 저장소에 같은 본문이 있는 청크는 OpenAI 를 호출하지 않고 재사용한다.
+        // 거의 같은 청크(머리말, 면책 문구 등)가 이미 있으면 임베딩/저장하지 않는다.
+        // 업로드 파일은 임시 파일로 옮겨 파서가 디스크에서 직접 읽게 하고, 적재가 끝나면 지운다.
+        return uploadSpooler.withSpooled(file, spooled ->
+                        ingestionPipeline.ingest(appropriateParser.parseStream(spooled), metadata, progress))
+                .doOnNext(result -> log.info("문서 임베딩 완료: {}, 페이지: {}, 청크: {}, 배치: {}, 재사용: {}, 신규 임베딩: {}, 중복 제외: {}",
+                        file.getOriginalFilename(), result.pages(), result.chunks(), result.batches(),
+                        result.reused(), result.chunks() - result.reused(), result.duplicates()))
+                // 이 버킷을 검색해 만든 답변은 더 이상 최신이 아닐 수 있다 (일부 배치만 저장된 경우 포함)
+                .doFinally(signal -> answerCache.invalidateBucket(bucketId))
+                .onErrorMap(e -> !(e instanceof DocumentProcessingException), e -> {
+                    log.error("문서 업로드 중 오류: {}", e.getMessage(), e);
+                    return new DocumentProcessingException("문서 업로드 중 오류: " + e.getMessage(), e);
+                });
     }
 
     private Map<String, Object> createBaseMetadata(MultipartFile file) {
@@ -275,17 +299,20 @@ public class RagServiceImpl implements RagService {
      * @return 검색된 문서 내용
      */
     public String findSimilarData(String question) {
-        log.info("유사 문서 검색 시작: question={}", question);
-
-        SearchRequest request = SearchRequest.builder()
-                .query(question)
-                .topK(2)  // 상위 2개 문서 검색
-                .build();
-
-        List<Document> documents = vectorStore.similaritySearch(request);
-        log.info("검색된 문서 수: {}", documents.size());
+        return findSimilarData(question, null);
+    }
 
-        String result = documents
+    /**
+     * 지정한 버킷의 문서 중에서 질문과 관련된 문서 데이터를 검색합니다.
+     * 버킷 조건은 Filter.Expression 으로 전달되어 pgvector 에서는 jsonpath 조건으로,
+     * 인메모리 스토어에서는 메타데이터 비트맵 색인으로 처리됩니다.
+     *
+     * @param question 사용자 질문
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @return 검색된 문서 내용
+     */
+    public String findSimilarData(String question, List<String> bucketIds) {
+        String result = findSimilarDocuments(question, bucketIds)
                 .stream()
                 .map(document -> document.getText())
                 .collect(Collectors.joining("\n\n"));
@@ -293,4 +320,34 @@ public class RagServiceImpl implements RagService {
         log.info("검색된 문서 내용 길이: {}", result.length());
         return result;
     }
+
+    /**
+     * 지정한 버킷의 문서 중에서 질문과 관련된 문서(청크)를 검색합니다.
+     * 하이브리드 검색이 켜져 있으면 벡터 검색과 BM25 검색 결과를 RRF 로 합칩니다.
+     *
+     * @param question 사용자 질문
+     * @param bucketIds 검색할 버킷 ID 목록 (비어 있으면 전체 검색)
+     * @return 검색된 문서 목록 (관련도 순)
+     */
+    public List<Document> findSimilarDocuments(String question, List<String> bucketIds) {
+        log.info("유사 문서 검색 시작: question={}, bucketIds={}", question, bucketIds);
+
+        int topK = 2;  // 상위 2개 문서 검색
+        SearchRequest.Builder builder = SearchRequest.builder()
+                .query(question)
+                .topK(hybridEnabled ? Math.max(topK, hybridCandidates) : topK);
+        if (bucketIds != null && !bucketIds.isEmpty()) {
+            builder.filterExpression(new FilterExpressionBuilder().in("bucket_id", bucketIds.toArray()).build());
+        }
+
+        List<Document> documents = vectorStore.similaritySearch(builder.build());
+        if (hybridEnabled) {
+            // 벡터 후보와 BM25 후보의 순위를 합쳐 상위 topK 선택
+            List<Document> keywordDocuments = bm25Index.search(question, Math.max(topK, hybridCandidates), bucketIds);
+            log.info("하이브리드 검색 후보 - 벡터: {}, BM25: {}", documents.size(), keywordDocuments.size());
+            documents = ReciprocalRankFusion.fuse(rrfK, topK, documents, keywordDocuments);
+        }
+        log.info("검색된 문서 수: {}", documents.size());
+        return documents;
+    }
 }
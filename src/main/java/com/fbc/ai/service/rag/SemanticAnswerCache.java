@@ -0,0 +1,242 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.repository.vector.DistanceKernel;
+import com.fbc.ai.repository.vector.DistanceKernels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * RAG 답변 의미 캐시(semantic cache)
+ *
+ * 질문 임베딩, 검색된 청크 ID 집합, 생성된 답변을 함께 보관합니다.
+ * 새 질문의 임베딩이 저장된 질문과 코사인 거리 answer.cache.max-distance 이내이고,
+ * 검색된 청크 집합과 답변 모델이 같으면 LLM 을 호출하지 않고 저장된 답변을 돌려줍니다.
+ * (질문만 비슷하고 검색 결과가 달라졌으면 다시 생성)
+ * 버킷에 문서가 다시 업로드되면 그 버킷(또는 전체 버킷)을 대상으로 한 답변을 지우고,
+ * 호텔 코퍼스를 다시 적재하면 호텔 답변을 모두 지웁니다.
+ *
+ * 항목 수가 많지 않은 FAQ 용도를 가정하여 조회는 같은 이름공간 항목을 순차 비교합니다.
+ */
+@Slf4j
+@Service
+public class SemanticAnswerCache {
+
+    /** RagController.answer (vector_store) */
+    public static final String NAMESPACE_RAG = "rag";
+    /** PdfController.answer (vector_store) */
+    public static final String NAMESPACE_PDF = "pdf";
+    /** HotelController.hotelQuestion (hotel_vector_store) */
+    public static final String NAMESPACE_HOTEL = "hotel";
+
+    /** 버킷 단위로 업로드되는 vector_store 를 검색하는 이름공간 */
+    private static final Set<String> BUCKET_NAMESPACES = Set.of(NAMESPACE_RAG, NAMESPACE_PDF);
+
+    private final EmbeddingModel embeddingModel;
+    private final DistanceKernel kernel = DistanceKernels.preferred();
+    /** 삽입 순서 유지 (가장 오래된 항목부터 제거) */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+    private long sequence;
+    private Counter hits;
+    private Counter misses;
+
+    @Value("${answer.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${answer.cache.max-distance:0.05}")
+    private double maxDistance = 0.05;
+
+    @Value("${answer.cache.maximum-size:1000}")
+    private int maximumSize = 1000;
+
+    @Value("${answer.cache.ttl:1h}")
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * 저장된 답변
+     *
+     * @param namespace 답변을 만든 엔드포인트 구분 (rag, pdf, hotel 등)
+     * @param model     답변 생성 모델
+     * @param vector    단위 벡터로 정규화한 질문 임베딩
+     * @param chunkIds  답변 생성에 사용한 청크 ID 집합
+     * @param bucketIds 검색 대상 버킷 (비어 있으면 전체)
+     */
+    private record Entry(String namespace, String model, float[] vector, Set<String> chunkIds,
+                         Set<String> bucketIds, String answer, Instant createdAt) {
+    }
+
+    /**
+     * 조회 결과. 캐시에 없으면 같은 객체로 {@link #put(Probe, String)} 하여 임베딩을 다시 계산하지 않습니다.
+     */
+    public static final class Probe {
+        private final String namespace;
+        private final String model;
+        private final float[] vector;
+        private final Set<String> chunkIds;
+        private final Set<String> bucketIds;
+        private final String answer;
+
+        private Probe(String namespace, String model, float[] vector, Set<String> chunkIds,
+                      Set<String> bucketIds, String answer) {
+            this.namespace = namespace;
+            this.model = model;
+            this.vector = vector;
+            this.chunkIds = chunkIds;
+            this.bucketIds = bucketIds;
+            this.answer = answer;
+        }
+
+        public Optional<String> answer() {
+            return Optional.ofNullable(answer);
+        }
+    }
+
+    public SemanticAnswerCache(EmbeddingModel embeddingModel, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        meterRegistry.ifAvailable(registry -> {
+            hits = Counter.builder("answer.cache.lookups").tag("result", "hit")
+                    .description("RAG 답변 캐시 조회 수").register(registry);
+            misses = Counter.builder("answer.cache.lookups").tag("result", "miss")
+                    .description("RAG 답변 캐시 조회 수").register(registry);
+        });
+    }
+
+    /**
+     * 저장된 답변을 찾습니다.
+     * 질문 임베딩은 질의 임베딩 캐시를 거치므로 같은 질문으로 벡터 검색을 했다면 추가 임베딩 요청은 없습니다.
+     *
+     * @param namespace 엔드포인트 구분
+     * @param model     답변 생성 모델
+     * @param question  사용자 질문
+     * @param documents 이번 질문으로 검색된 문서 (LLM 컨텍스트)
+     * @param bucketIds 검색 대상 버킷 (null 또는 비어 있으면 전체)
+     */
+    public Probe lookup(String namespace, String model, String question, List<Document> documents,
+                        Collection<String> bucketIds) {
+        Set<String> chunkIds = documents.stream().map(Document::getId).collect(Collectors.toUnmodifiableSet());
+        Set<String> buckets = bucketIds == null ? Set.of() : Set.copyOf(bucketIds);
+        if (!enabled) {
+            return new Probe(namespace, model, null, chunkIds, buckets, null);
+        }
+        float[] vector = normalize(embeddingModel.embed(question));
+        float minSimilarity = (float) (1.0 - maxDistance);
+
+        Entry best = null;
+        float bestSimilarity = Float.NEGATIVE_INFINITY;
+        synchronized (this) {
+            Instant expiredBefore = Instant.now().minus(ttl);
+            for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (entry.createdAt().isBefore(expiredBefore)) {
+                    iterator.remove();
+                    continue;
+                }
+                if (!entry.namespace().equals(namespace) || !Objects.equals(entry.model(), model)
+                        || !entry.bucketIds().equals(buckets) || !entry.chunkIds().equals(chunkIds)
+                        || entry.vector().length != vector.length) {
+                    continue;
+                }
+                float similarity = kernel.dot(entry.vector(), vector);
+                if (similarity >= minSimilarity && similarity > bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+
+        if (best != null) {
+            log.info("답변 캐시 적중: namespace={}, 코사인 거리={}", namespace, 1.0 - bestSimilarity);
+            increment(hits);
+            return new Probe(namespace, model, vector, chunkIds, buckets, best.answer());
+        }
+        increment(misses);
+        return new Probe(namespace, model, vector, chunkIds, buckets, null);
+    }
+
+    /**
+     * 새로 생성한 답변을 저장합니다.
+     */
+    public void put(Probe probe, String answer) {
+        if (!enabled || probe.vector == null || answer == null || answer.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(probe.namespace, probe.model, probe.vector, probe.chunkIds, probe.bucketIds,
+                answer, Instant.now());
+        synchronized (this) {
+            entries.put(sequence++, entry);
+            while (entries.size() > maximumSize) {
+                Iterator<Long> oldest = entries.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 버킷에 문서가 다시 업로드되었을 때 vector_store 답변 중 그 버킷 또는 전체 버킷을 검색한 답변을 지웁니다.
+     *
+     * @return 지운 항목 수
+     */
+    public synchronized int invalidateBucket(String bucketId) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> BUCKET_NAMESPACES.contains(entry.namespace())
+                && (entry.bucketIds().isEmpty() || entry.bucketIds().contains(bucketId)));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.info("답변 캐시 무효화: bucketId={}, 삭제 {}건", bucketId, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * 이름공간(엔드포인트)의 답변을 모두 지웁니다. (코퍼스를 다시 적재했을 때 - HotelLoader)
+     *
+     * @return 지운 항목 수
+     */
+    public synchronized int invalidateNamespace(String namespace) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.namespace().equals(namespace));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.info("답변 캐시 무효화: namespace={}, 삭제 {}건", namespace, removed);
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(kernel.dot(vector, vector));
+        float[] normalized = new float[vector.length];
+        if (norm > 0f) {
+            for (int i = 0; i < vector.length; i++) {
+                normalized[i] = vector[i] / norm;
+            }
+        }
+        return normalized;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.repository.dedup.MinHashLshIndex;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.embedding.StoredEmbeddingModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TextSplitter;
+import org.springframework.ai.vectorstore.VectorStore;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파싱 → 분할 → 임베딩/저장을 단계별로 흘려보내는 문서 적재 파이프라인입니다.
+ *
+ * <ul>
+ *     <li>파싱 : 파서의 parseStream 을 별도 스레드에서 구독하여 요청받은 만큼만 페이지를 읽음</li>
+ *     <li>분할 : 페이지 버퍼(pageBuffer)를 거쳐 페이지마다 청크로 분할하고, 중복 제거기가 있으면 거의 같은 청크가 이미 있는 청크는 버림</li>
+ *     <li>임베딩/저장 : batchSize 개씩 묶어 최대 concurrency 개 배치를 동시에 VectorStore 에 저장 (배치마다 바로 검색 가능)</li>
+ * </ul>
+ *
+ * 단계 사이 버퍼가 모두 고정 크기이므로 파일 크기와 관계없이 메모리에 올라가는 페이지/청크 수가 일정합니다.
+ * 저장이 느리면 요청(backpressure)이 줄어 파싱도 멈춥니다.
+ * 중간에 실패하면 이미 저장한 배치는 그대로 남고 오류를 돌려줍니다. (저장하지 못한 청크는 중복 제거 색인에서도 뺌)
+ */
+@Slf4j
+public class StreamingIngestionPipeline {
+
+    private final VectorStore vectorStore;
+    private final Bm25Index bm25Index;
+    private final ChunkDeduplicator deduplicator;
+    private final TextSplitter splitter;
+    private final int batchSize;
+    private final int concurrency;
+    private final int pageBuffer;
+    private final Scheduler scheduler;
+
+    /**
+     * 적재 결과
+     *
+     * @param pages   파싱한 페이지(문서) 수
+     * @param chunks  저장한 청크 수
+     * @param batches 저장한 배치 수
+     * @param reused     임베딩 저장소에서 재사용한 청크 수
+     * @param duplicates 거의 같은 청크가 이미 있어 저장하지 않은 청크 수
+     */
+    public record Result(int pages, int chunks, int batches, int reused, int duplicates) {
+
+        public Result(int pages, int chunks, int batches, int reused) {
+            this(pages, chunks, batches, reused, 0);
+        }
+    }
+
+    /**
+     * 단계별 진행 알림. 분할은 파이프라인 스레드 하나에서, 배치 저장은 여러 스레드에서 동시에 호출됩니다.
+     * 임베딩과 저장은 배치마다 VectorStore.add 한 번으로 함께 끝나므로 batchStored 하나로 알립니다.
+     */
+    public interface Progress {
+
+        Progress NONE = new Progress() {
+        };
+
+        /** 페이지 1건을 파싱하여 청크 chunks 개로 분할함 */
+        default void pageParsed(int chunks) {
+        }
+
+        /** 배치를 임베딩/저장함 (reused 개는 임베딩 저장소에서 재사용) */
+        default void batchStored(List<Document> batch, int reused) {
+        }
+
+        /** 청크 chunk 가 이미 있는 청크 match 와 거의 같아 저장하지 않음 */
+        default void duplicateSkipped(Document chunk, MinHashLshIndex.Match match) {
+        }
+    }
+
+    /**
+     * @param vectorStore 저장할 벡터 스토어
+     * @param bm25Index   하이브리드 검색용 키워드 색인 (null 이면 색인하지 않음)
+     * @param deduplicator 임베딩 전 중복 청크 제거기 (null 이면 모든 청크를 저장)
+     * @param splitter    페이지를 청크로 나누는 분할기
+     * @param batchSize   임베딩/저장 배치 1건의 청크 수
+     * @param concurrency 동시에 임베딩/저장하는 배치 수
+     * @param pageBuffer  파싱과 분할 사이에 쌓아 둘 수 있는 페이지 수
+     * @param scheduler   파싱/분할/저장을 실행할 스케줄러
+     */
+    public StreamingIngestionPipeline(VectorStore vectorStore, Bm25Index bm25Index, ChunkDeduplicator deduplicator,
+                                      TextSplitter splitter, int batchSize, int concurrency, int pageBuffer,
+                                      Scheduler scheduler) {
+        if (batchSize < 1 || concurrency < 1 || pageBuffer < 1) {
+            throw new IllegalArgumentException("배치 크기, 동시 배치 수, 페이지 버퍼는 1 이상이어야 합니다.");
+        }
+        this.vectorStore = vectorStore;
+        this.bm25Index = bm25Index;
+        this.deduplicator = deduplicator;
+        this.splitter = splitter;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.pageBuffer = pageBuffer;
+        this.scheduler = scheduler;
+    }
+
+    public StreamingIngestionPipeline(VectorStore vectorStore, Bm25Index bm25Index, TextSplitter splitter,
+                                      int batchSize, int concurrency, int pageBuffer, Scheduler scheduler) {
+        this(vectorStore, bm25Index, null, splitter, batchSize, concurrency, pageBuffer, scheduler);
+    }
+
+    public StreamingIngestionPipeline(VectorStore vectorStore, Bm25Index bm25Index, ChunkDeduplicator deduplicator,
+                                      TextSplitter splitter, int batchSize, int concurrency, int pageBuffer) {
+        this(vectorStore, bm25Index, deduplicator, splitter, batchSize, concurrency, pageBuffer,
+                Schedulers.boundedElastic());
+    }
+
+    public StreamingIngestionPipeline(VectorStore vectorStore, Bm25Index bm25Index, TextSplitter splitter,
+                                      int batchSize, int concurrency, int pageBuffer) {
+        this(vectorStore, bm25Index, null, splitter, batchSize, concurrency, pageBuffer);
+    }
+
+    /**
+     * 페이지 스트림을 적재합니다. 반환된 Mono 를 구독해야 시작합니다.
+     *
+     * @param pages    파서가 내보내는 페이지(문서) 스트림
+     * @param metadata 모든 청크에 붙일 공통 메타데이터 (bucket_id, file_name 등)
+     */
+    public Mono<Result> ingest(Flux<Document> pages, Map<String, Object> metadata) {
+        return ingest(pages, metadata, Progress.NONE);
+    }
+
+    /**
+     * 페이지 스트림을 적재하면서 단계별 진행 상황을 progress 로 알립니다.
+     */
+    public Mono<Result> ingest(Flux<Document> pages, Map<String, Object> metadata, Progress progress) {
+        return Mono.defer(() -> {
+            AtomicInteger pageCount = new AtomicInteger();
+            AtomicInteger duplicates = new AtomicInteger();
+            // 중복 제거 색인에 올렸지만 아직 저장하지 않은 청크 ID
+            Set<String> pending = ConcurrentHashMap.newKeySet();
+            return pages
+                    // 1단계 : 파싱 (요청받은 만큼만 읽음)
+                    .subscribeOn(scheduler)
+                    .publishOn(scheduler, pageBuffer)
+                    // 2단계 : 분할 (분할기는 문서마다 따로 나누므로 전체를 한 번에 나눈 결과와 같음)
+                    .concatMapIterable(page -> {
+                        pageCount.incrementAndGet();
+                        page.getMetadata().putAll(metadata);
+                        List<Document> chunks = splitter.apply(List.of(page));
+                        progress.pageParsed(chunks.size());
+                        return deduplicate(chunks, progress, duplicates, pending);
+                    }, pageBuffer)
+                    .buffer(batchSize)
+                    // 3단계 : 임베딩 + 저장 (배치 단위 커밋)
+                    .flatMap(batch -> Mono.fromCallable(() -> store(batch, progress, pending)).subscribeOn(scheduler),
+                            concurrency, 1)
+                    .reduce(new Result(0, 0, 0, 0), (total, batch) -> new Result(0,
+                            total.chunks() + batch.chunks(), total.batches() + 1, total.reused() + batch.reused()))
+                    .map(total -> new Result(pageCount.get(), total.chunks(), total.batches(), total.reused(),
+                            duplicates.get()))
+                    .doFinally(signal -> {
+                        if (deduplicator != null) {
+                            deduplicator.release(List.copyOf(pending));
+                        }
+                    });
+        });
+    }
+
+    private List<Document> deduplicate(List<Document> chunks, Progress progress, AtomicInteger duplicates,
+                                       Set<String> pending) {
+        if (deduplicator == null) {
+            return chunks;
+        }
+        List<Document> unique = new ArrayList<>(chunks.size());
+        for (Document chunk : chunks) {
+            MinHashLshIndex.Match match = deduplicator.reserve(chunk);
+            if (match == null) {
+                pending.add(chunk.getId());
+                unique.add(chunk);
+            } else {
+                duplicates.incrementAndGet();
+                log.debug("중복 청크 건너뜀 - 기존 청크: {}, 유사도: {}", match.id(), match.similarity());
+                progress.duplicateSkipped(chunk, match);
+            }
+        }
+        return unique;
+    }
+
+    private Result store(List<Document> batch, Progress progress, Set<String> pending) {
+        StoredEmbeddingModel.ReuseReport reuse = StoredEmbeddingModel.track(() -> vectorStore.accept(batch));
+        if (bm25Index != null) {
+            bm25Index.add(batch);
+        }
+        batch.forEach(chunk -> pending.remove(chunk.getId()));
+        log.debug("적재 배치 저장 - 청크: {}, 재사용: {}", batch.size(), reuse.reused());
+        progress.batchStored(batch, reuse.reused());
+        return new Result(0, batch.size(), 1, reuse.reused());
+    }
+}
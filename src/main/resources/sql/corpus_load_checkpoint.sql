@@ -0,0 +1,11 @@
+-- 코퍼스 적재 진행 위치 (CorpusLoader)
+-- 배치를 저장할 때마다 다음에 읽을 줄/페이지 번호(next_position, 0부터)를 기록하고, 재시작하면 그 위치부터 이어서 적재한다.
+-- fingerprint 는 원본 내용의 SHA-256 이며, 원본이 바뀌면 처음부터 다시 적재한다.
+-- rag.loader.checkpoint.initialize-schema=true 면 애플리케이션 기동 시 같은 테이블을 생성한다.
+CREATE TABLE IF NOT EXISTS corpus_load_checkpoint (
+    corpus        VARCHAR(255) PRIMARY KEY,
+    fingerprint   CHAR(64) NOT NULL,
+    next_position INT NOT NULL,
+    completed     BOOLEAN NOT NULL,
+    updated_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
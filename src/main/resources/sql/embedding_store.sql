@@ -0,0 +1,11 @@
+-- 청크 임베딩 저장소 (content_hash = SHA-256(모델 ID + 0x00 + 정규화한 청크 본문))
+-- 같은 본문의 청크를 다시 업로드하면 OpenAI 를 호출하지 않고 이 테이블의 임베딩을 재사용한다.
+-- embedding 은 float32 little-endian 바이트 배열 (1536차원 기준 6KB)
+-- embedding.store.initialize-schema=true 면 애플리케이션 기동 시 같은 테이블을 생성한다.
+CREATE TABLE IF NOT EXISTS embedding_store (
+    content_hash CHAR(64) PRIMARY KEY,
+    model        VARCHAR(128) NOT NULL,
+    dimensions   INT NOT NULL,
+    embedding    BYTEA NOT NULL,
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
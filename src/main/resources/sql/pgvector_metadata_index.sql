@@ -0,0 +1,9 @@
+-- vector_store.metadata(json) 필터 검색용 GIN 색인
+-- Spring AI PgVectorStore 는 filterExpression 을 "metadata::jsonb @@ '<jsonpath>'::jsonpath" 조건으로 변환하므로
+-- 같은 식(metadata::jsonb)에 jsonb_path_ops 색인을 만들면 bucket_id / file_name 조건이 색인으로 처리된다.
+CREATE INDEX IF NOT EXISTS vector_store_metadata_idx
+    ON vector_store USING GIN ((metadata::jsonb) jsonb_path_ops);
+
+-- pgvector 0.8 이상: HNSW 색인 스캔 후 필터로 결과가 topK 보다 적어지면 이어서 더 탐색한다
+-- (세션 또는 DB 단위로 설정. 예: ALTER DATABASE my_pg_db SET hnsw.iterative_scan = relaxed_order;)
+SET hnsw.iterative_scan = relaxed_order;
@@ -0,0 +1,114 @@
+package com.fbc.ai.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupWarmupTest {
+
+    /**
+     * 발행한 readiness 상태를 기록하고 예열 리스너에 전달하는 테스트용 발행자 (Spring 의 동기 이벤트 전달과 같음)
+     */
+    static class RecordingPublisher implements ApplicationEventPublisher {
+        final List<ReadinessState> states = new CopyOnWriteArrayList<>();
+        StartupWarmup warmup;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void publishEvent(Object event) {
+            if (event instanceof AvailabilityChangeEvent<?> change && change.getState() instanceof ReadinessState state) {
+                states.add(state);
+                warmup.onReadinessChange((AvailabilityChangeEvent<ReadinessState>) change);
+            }
+        }
+
+        void awaitState(ReadinessState state, int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (states.stream().filter(state::equals).count() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    void testRefusesTrafficUntilWarmupFinishes() throws InterruptedException {
+        // Given
+        RecordingPublisher publisher = new RecordingPublisher();
+        CountDownLatch release = new CountDownLatch(1);
+        StartupWarmup warmup = new StartupWarmup(publisher, Map.of(
+                "vector-store", () -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                "google", () -> {
+                    throw new IllegalStateException("연결 실패");
+                }), Duration.ofSeconds(10), 2);
+        publisher.warmup = warmup;
+
+        // When - 예열 중에 Spring Boot 가 ACCEPTING_TRAFFIC 을 발행한다
+        warmup.start();
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        Status whileWarming = warmup.health().getStatus();
+        release.countDown();
+        publisher.awaitState(ReadinessState.ACCEPTING_TRAFFIC, 2);
+
+        // Then - 곧바로 되돌리고, 끝나면(실패한 작업이 있어도) 다시 받는다
+        assertEquals(List.of(ReadinessState.ACCEPTING_TRAFFIC, ReadinessState.REFUSING_TRAFFIC,
+                ReadinessState.ACCEPTING_TRAFFIC), publisher.states);
+        assertEquals(Status.OUT_OF_SERVICE, whileWarming);
+        assertEquals(Status.UP, warmup.health().getStatus());
+    }
+
+    @Test
+    void testTimeoutStopsWaitingForSlowTask() throws InterruptedException {
+        // Given
+        RecordingPublisher publisher = new RecordingPublisher();
+        StartupWarmup warmup = new StartupWarmup(publisher, Map.of("openai", () -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), Duration.ofMillis(200), 1);
+        publisher.warmup = warmup;
+
+        // When
+        warmup.start();
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        publisher.awaitState(ReadinessState.ACCEPTING_TRAFFIC, 2);
+
+        // Then
+        assertTrue(warmup.isWarm());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, publisher.states.get(publisher.states.size() - 1));
+    }
+
+    @Test
+    void testNoTasksLeavesReadinessUntouched() {
+        // Given
+        RecordingPublisher publisher = new RecordingPublisher();
+        StartupWarmup warmup = new StartupWarmup(publisher, Map.of(), Duration.ofSeconds(1), 1);
+        publisher.warmup = warmup;
+
+        // When
+        warmup.start();
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+
+        // Then
+        assertEquals(List.of(ReadinessState.ACCEPTING_TRAFFIC), publisher.states);
+        assertEquals(Status.UP, warmup.health().getStatus());
+    }
+}
@@ -0,0 +1,58 @@
+package com.fbc.ai.document;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadSpoolerTest {
+
+    @Test
+    void testSpooledFileIsReadableDuringActionAndDeletedAfterwards(@TempDir Path spoolDir) throws Exception {
+        // Given
+        UploadSpooler spooler = new UploadSpooler(spoolDir);
+        MockMultipartFile upload = new MockMultipartFile("file", "안내.txt", "text/plain",
+                "체크인은 15시부터입니다.".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<Path> spooledPath = new AtomicReference<>();
+
+        // When
+        String content = spooler.withSpooled(upload, spooled -> {
+            spooledPath.set(spooled.getPath());
+            return Mono.fromCallable(() -> Files.readString(spooled.getPath(), StandardCharsets.UTF_8));
+        }).block();
+        Mono<String> failing = spooler.withSpooled(upload, spooled -> Mono.error(new IllegalStateException("실패")));
+
+        // Then
+        assertEquals("체크인은 15시부터입니다.", content);
+        assertTrue(spooledPath.get().startsWith(spoolDir));
+        assertFalse(Files.exists(spooledPath.get()));
+        assertThrows(IllegalStateException.class, failing::block);
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testAlreadySpooledFileIsReusedAndKept(@TempDir Path spoolDir) throws Exception {
+        // Given
+        UploadSpooler spooler = new UploadSpooler(spoolDir);
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(
+                new MockMultipartFile("file", "안내.txt", "text/plain", new byte[]{1, 2, 3}), spoolDir);
+
+        // When
+        SpooledMultipartFile same = spooler.withSpooled(spooled, Mono::just).block();
+
+        // Then : 작업 큐가 옮겨 둔 파일은 작업 큐가 지운다
+        assertSame(spooled, same);
+        assertTrue(Files.exists(spooled.getPath()));
+        assertEquals("안내.txt", spooled.getResource().getFilename());
+        assertEquals(3, spooled.getSize());
+    }
+}
@@ -0,0 +1,175 @@
+package com.fbc.ai.document.parser;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.reader.ExtractedTextFormatter;
+import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
+import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelPdfExtractorTest {
+
+    private final ParallelPdfExtractor extractor = new ParallelPdfExtractor(3, 2);
+
+    @AfterEach
+    void tearDown() {
+        extractor.close();
+    }
+
+    /**
+     * 번들 PDF 의 페이지를 copies 번 반복한 PDF
+     */
+    private static byte[] replicatedPdf(int copies) throws IOException {
+        byte[] source;
+        try (InputStream in = new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf").getInputStream()) {
+            source = in.readAllBytes();
+        }
+        try (PDDocument original = Loader.loadPDF(source); PDDocument replicated = new PDDocument()) {
+            for (int i = 0; i < copies; i++) {
+                for (PDPage page : original.getPages()) {
+                    replicated.importPage(page);
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            replicated.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    void testParallelParseMatchesPageReader() throws IOException {
+        // Given
+        byte[] pdf = replicatedPdf(3);
+        MockMultipartFile file = new MockMultipartFile("file", "replicated.pdf", "application/pdf", pdf);
+        PdfDocumentReaderConfig config = PdfDocumentReaderConfig.builder()
+                .withPageTopMargin(0)
+                .withPageExtractedTextFormatter(ExtractedTextFormatter.builder()
+                        .withNumberOfTopTextLinesToDelete(0)
+                        .build())
+                .withPagesPerDocument(1)
+                .build();
+        List<Document> expected = new PagePdfDocumentReader(new ByteArrayResource(pdf), config).get();
+
+        // When
+        List<Document> parsed = new PdfDocumentParser(extractor).parse(file);
+
+        // Then
+        assertTrue(extractor.sliceCount(expected.size()) > 1);
+        assertEquals(expected.size(), parsed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getText(), parsed.get(i).getText());
+            assertEquals(expected.get(i).getMetadata().get("page_number"), parsed.get(i).getMetadata().get("page_number"));
+        }
+    }
+
+    @Test
+    void testParallelParseStreamEmitsPagesInOrder() throws IOException {
+        // Given
+        byte[] pdf = replicatedPdf(3);
+        MockMultipartFile file = new MockMultipartFile("file", "replicated.pdf", "application/pdf", pdf);
+        PdfDocumentParser parser = new PdfDocumentParser(extractor);
+        List<Document> expected = new PdfDocumentParser(ParallelPdfExtractor.sequential()).parse(file);
+
+        // When : 업로드 경로(RagServiceImpl, BulkIngestionService)가 쓰는 스트림 추출
+        List<Document> streamed = parser.parseStream(file).collectList().block();
+
+        // Then
+        assertTrue(extractor.sliceCount(expected.size()) > 1);
+        assertNotNull(streamed);
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getText(), streamed.get(i).getText());
+            assertEquals(expected.get(i).getMetadata().get("page_number"), streamed.get(i).getMetadata().get("page_number"));
+        }
+    }
+
+    @Test
+    void testFirstSliceFailureCancelsQueuedSlices() throws Exception {
+        // Given - 작업 스레드 2개를 다른 문서의 구간이 잡고 있어, 실패할 문서의 나머지 구간은 대기열에 남는다
+        byte[] pdf = replicatedPdf(3);
+        ParallelPdfExtractor.PdfLoader loader = () -> Loader.loadPDF(pdf);
+        CountDownLatch busy = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Integer>> blocking = CompletableFuture.supplyAsync(() -> {
+            try {
+                return extractor.extract(loader, (document, startPage, endPage) -> {
+                    if (startPage > 1) {
+                        busy.countDown();
+                        awaitQuietly(release);
+                    }
+                    return List.of(startPage);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(busy.await(10, TimeUnit.SECONDS));
+        AtomicInteger queuedSlicesRun = new AtomicInteger();
+
+        // When
+        IOException failure = assertThrows(IOException.class, () -> extractor.extract(loader, (document, startPage, endPage) -> {
+            if (startPage == 1) {
+                throw new IOException("첫 구간 추출 실패");
+            }
+            queuedSlicesRun.incrementAndGet();
+            return List.of(startPage);
+        }));
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        // 대기열 순서상 취소되지 않았다면 실패한 문서의 구간이 이 추출보다 먼저 실행된다
+        extractor.extract(loader, (document, startPage, endPage) -> List.of(startPage));
+
+        // Then
+        assertEquals("첫 구간 추출 실패", failure.getMessage());
+        assertEquals(0, queuedSlicesRun.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testSlicedTextStripperMatchesWholeDocument() throws IOException {
+        // Given
+        byte[] pdf = replicatedPdf(3);
+        String expected;
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            expected = new PDFTextStripper().getText(document);
+        }
+
+        // When
+        List<String> slices = extractor.extract(() -> Loader.loadPDF(pdf), (document, startPage, endPage) -> {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return List.of(stripper.getText(document));
+        });
+
+        // Then
+        assertEquals(3, slices.size());
+        assertEquals(expected, String.join("", slices));
+    }
+}
@@ -0,0 +1,66 @@
+package com.fbc.ai.document.parser;
+
+import com.fbc.ai.document.SpooledMultipartFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfDocumentParserTest {
+
+    @Test
+    void testStreamedPagesMatchPageReader() throws Exception {
+        // Given
+        MockMultipartFile file;
+        try (InputStream in = new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf").getInputStream()) {
+            file = new MockMultipartFile("file", "SPRi_AI_Brief_7월호_산업동향.pdf", "application/pdf", in);
+        }
+        PdfDocumentParser parser = new PdfDocumentParser(ParallelPdfExtractor.sequential());
+
+        // When
+        List<Document> expected = parser.parse(file);
+        List<Document> streamed = parser.parseStream(file).collectList().block();
+
+        // Then
+        assertNotNull(streamed);
+        assertFalse(streamed.isEmpty());
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getText(), streamed.get(i).getText());
+            assertEquals(expected.get(i).getMetadata().get("page_number"), streamed.get(i).getMetadata().get("page_number"));
+        }
+    }
+
+    @Test
+    void testSpooledFileIsReadFromDiskWithSameResult(@TempDir Path spoolDir) throws Exception {
+        // Given
+        MockMultipartFile upload;
+        try (InputStream in = new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf").getInputStream()) {
+            upload = new MockMultipartFile("file", "SPRi_AI_Brief_7월호_산업동향.pdf", "application/pdf", in);
+        }
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(upload, spoolDir);
+        PdfDocumentParser parser = new PdfDocumentParser(new ParallelPdfExtractor(2, 1));
+
+        // When : 업로드 바이트 배열 대신 메모리 매핑한 임시 파일을 구간마다 연다
+        List<Document> fromBytes = parser.parse(upload);
+        List<Document> fromFile = parser.parse(spooled);
+        List<Document> streamed = parser.parseStream(spooled).collectList().block();
+
+        // Then
+        assertNotNull(streamed);
+        assertEquals(fromBytes.size(), fromFile.size());
+        assertEquals(fromBytes.size(), streamed.size());
+        for (int i = 0; i < fromBytes.size(); i++) {
+            assertEquals(fromBytes.get(i).getText(), fromFile.get(i).getText());
+            assertEquals(fromBytes.get(i).getText(), streamed.get(i).getText());
+            assertEquals("SPRi_AI_Brief_7월호_산업동향.pdf", fromFile.get(i).getMetadata().get("file_name"));
+        }
+    }
+}
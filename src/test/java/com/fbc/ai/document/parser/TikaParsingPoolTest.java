@@ -0,0 +1,183 @@
+package com.fbc.ai.document.parser;
+
+import com.fbc.ai.exception.DocumentProcessingException;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SignalType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TikaParsingPoolTest {
+
+    private TikaParsingPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testHtmlBodyIsEmittedAsOrderedSegments() {
+        // Given
+        pool = new TikaParsingPool(1, 4, Duration.ofSeconds(30), Duration.ZERO, 1_000_000, 100);
+        StringBuilder html = new StringBuilder("<html><head><title>머리말은 제외</title></head><body>");
+        for (int i = 1; i <= 20; i++) {
+            html.append("<p>").append(i).append("번째 문단입니다. 체크인은 오후 3시부터 가능합니다.</p>");
+        }
+        html.append("</body></html>");
+        MockMultipartFile file = new MockMultipartFile("file", "안내.html", "text/html",
+                html.toString().getBytes(StandardCharsets.UTF_8));
+
+        // When
+        List<Document> segments = new TikaDocumentParser(pool).parseStream(file).collectList().block();
+
+        // Then
+        assertNotNull(segments);
+        assertTrue(segments.size() > 1, "조각 수: " + segments.size());
+        String text = segments.stream().map(Document::getText).collect(Collectors.joining());
+        assertTrue(text.contains("1번째 문단"));
+        assertTrue(text.indexOf("19번째 문단") < text.indexOf("20번째 문단"));
+        assertFalse(text.contains("머리말은 제외"));
+        for (int i = 0; i < segments.size(); i++) {
+            assertEquals(i, segments.get(i).getMetadata().get(TikaParsingPool.METADATA_SEGMENT));
+            assertEquals("안내.html", segments.get(i).getMetadata().get("source"));
+        }
+    }
+
+    @Test
+    void testParsingPausesUntilSegmentsAreRequested() throws Exception {
+        // Given - 기다리는 시간이 파싱 시간 한도(300ms)보다 길어도 시간 초과가 아니다
+        pool = new TikaParsingPool(1, 4, Duration.ofMillis(300), Duration.ZERO, 1_000_000, 100);
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 1; i <= 500; i++) {
+            html.append("<p>").append(i).append("번째 문단입니다. 체크인은 오후 3시부터 가능합니다.</p>");
+        }
+        html.append("</body></html>");
+        MockMultipartFile file = new MockMultipartFile("file", "안내.html", "text/html",
+                html.toString().getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile next = new MockMultipartFile("file", "다음.html", "text/html",
+                "<html><body><p>다음 문서</p></body></html>".getBytes(StandardCharsets.UTF_8));
+        List<Document> received = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        BaseSubscriber<Document> slowConsumer = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Document document) {
+                received.add(document);
+            }
+
+            @Override
+            protected void hookFinally(SignalType type) {
+                completed.countDown();
+            }
+        };
+
+        // When
+        pool.parse(file).subscribe(slowConsumer);
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.isEmpty() && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        // 작업 스레드가 1개이므로 앞 문서가 기다리는 동안 다음 문서는 파싱되지 않는다
+        CompletableFuture<List<Document>> nextParsed = pool.parse(next).collectList().toFuture();
+        Thread.sleep(600);
+        boolean nextParsedWhilePaused = nextParsed.isDone();
+        slowConsumer.request(Long.MAX_VALUE);
+
+        // Then - 요청한 조각을 내보낸 뒤에는 작업 스레드가 기다리고, 요청하면 이어서 끝까지 내보낸다
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertFalse(nextParsedWhilePaused);
+        assertEquals(1, nextParsed.get(10, TimeUnit.SECONDS).size());
+        assertTrue(received.get(received.size() - 1).getText().contains("500번째 문단"));
+    }
+
+    @Test
+    void testDocxIsParsedWithSharedParser() throws Exception {
+        // Given
+        pool = new TikaParsingPool(2, 4, Duration.ofSeconds(30), Duration.ofSeconds(30), 1_000_000, 4000);
+        ByteArrayOutputStream docx = new ByteArrayOutputStream();
+        try (XWPFDocument document = new XWPFDocument()) {
+            document.createParagraph().createRun().setText("가디언 에이전트 시장 전망");
+            document.createParagraph().createRun().setText("생성형 AI 도입 현황");
+            document.write(docx);
+        }
+        TikaDocumentParser parser = new TikaDocumentParser(pool);
+
+        // When
+        List<Document> first = parser.parse(new MockMultipartFile("file", "a.docx", null, docx.toByteArray()));
+        List<Document> second = parser.parse(new MockMultipartFile("file", "b.docx", null, docx.toByteArray()));
+
+        // Then
+        assertTrue(parser.supports("DOCX") && parser.supports("pptx") && parser.supports("xlsx") && parser.supports("htm"));
+        assertEquals(1, first.size());
+        assertTrue(first.get(0).getText().contains("가디언 에이전트 시장 전망"));
+        assertTrue(first.get(0).getText().contains("생성형 AI 도입 현황"));
+        assertEquals(first.get(0).getText(), second.get(0).getText());
+    }
+
+    @Test
+    void testCharacterLimitAndTimeoutStopParsing() {
+        // Given
+        pool = new TikaParsingPool(1, 4, Duration.ofMillis(300), Duration.ZERO, 50, 4000);
+        MockMultipartFile large = new MockMultipartFile("file", "large.html", "text/html",
+                ("<html><body><p>" + "가".repeat(200) + "</p></body></html>").getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile stalled = new MockMultipartFile("file", "stalled.html", "text/html", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            throw new IOException("중단됨", e);
+                        }
+                        return -1;
+                    }
+                };
+            }
+        };
+
+        // When
+        DocumentProcessingException limit = assertThrows(DocumentProcessingException.class,
+                () -> pool.parse(large).collectList().block());
+        long started = System.nanoTime();
+        DocumentProcessingException timeout = assertThrows(DocumentProcessingException.class,
+                () -> pool.parse(stalled).collectList().block());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, limit.getStatusCode());
+        assertTrue(limit.getReason().contains("최대 글자 수"), limit.getReason());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, timeout.getStatusCode());
+        assertTrue(timeout.getReason().contains("시간"), timeout.getReason());
+        assertTrue(elapsedMillis < 5_000, "시간 초과까지 걸린 시간: " + elapsedMillis);
+        // 멈춘 작업이 인터럽트로 풀려 작업 스레드가 다음 문서를 처리한다
+        assertNotNull(pool.parse(new MockMultipartFile("file", "ok.html", "text/html",
+                "<html><body><p>정상</p></body></html>".getBytes(StandardCharsets.UTF_8))).collectList().block());
+    }
+}
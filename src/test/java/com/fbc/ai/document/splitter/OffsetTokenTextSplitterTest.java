@@ -0,0 +1,108 @@
+package com.fbc.ai.document.splitter;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetTokenTextSplitterTest {
+
+    private static final Encoding ENCODING = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    private static final String KOREAN = """
+            생성형 AI 시장은 2030년까지 연평균 30% 이상 성장할 것으로 전망된다. 특히 에이전틱 AI 가 기업 업무 자동화의 중심이 되면서
+            가디언 에이전트 같은 감시 기술의 비중도 커지고 있다! 호텔 체크인은 15시, 체크아웃은 11시입니다.
+            조식은 7시부터 10시까지 2층 레스토랑에서 제공되며 주차는 무료입니다. 반려동물 동반이 가능한가요? 소형견만 가능합니다.
+            """.repeat(20) + "🙂 이모지와 한자 漢字 도 섞인 마지막 문장";
+
+    @Test
+    void testKoreanChunksAreOrderedSubstringsWithinTokenLimit() {
+        // Given
+        OffsetTokenTextSplitter splitter = new OffsetTokenTextSplitter(64, 40, 0, 10000, true);
+
+        // When
+        List<OffsetTokenTextSplitter.Span> spans = splitter.split(KOREAN);
+
+        // Then
+        assertTrue(spans.size() > 10);
+        int previousEnd = 0;
+        StringBuilder joined = new StringBuilder();
+        for (OffsetTokenTextSplitter.Span span : spans) {
+            assertTrue(span.start() >= previousEnd, "청크가 겹치지 않고 원문 순서대로여야 함");
+            String chunk = splitter.chunkText(KOREAN, span);
+            assertEquals(KOREAN.substring(span.start(), span.end()), chunk);
+            assertFalse(chunk.contains("�"), "깨진 문자가 없어야 함");
+            // 글자 중간에서 시작한 토큰 1개까지 더 들어갈 수 있다
+            assertTrue(ENCODING.countTokensOrdinary(chunk) <= 64 + 1, "토큰 수 초과: " + chunk);
+            joined.append(KOREAN, previousEnd, span.start()).append(chunk);
+            previousEnd = span.end();
+        }
+        joined.append(KOREAN.substring(previousEnd));
+        // 청크 사이의 공백 외에는 빠지는 글자가 없다
+        assertEquals(KOREAN, joined.toString());
+        assertTrue(KOREAN.substring(previousEnd).isBlank());
+    }
+
+    @Test
+    void testMatchesTokenTextSplitterOnAsciiText() {
+        // Given
+        String text = """
+                The hotel offers free parking for guests. Check-in starts at 3 PM and check-out is at 11 AM.
+                Breakfast is served on the second floor from 7 to 10 AM. Are pets allowed? Only small dogs are allowed!
+                """.repeat(30);
+        Document document = new Document(text);
+
+        // When
+        List<String> expected = new TokenTextSplitter(100, 200, 5, 10000, true).split(document).stream()
+                .map(Document::getText)
+                .toList();
+        List<String> actual = new OffsetTokenTextSplitter(100, 200, 5, 10000, true).split(document).stream()
+                .map(Document::getText)
+                .toList();
+
+        // Then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testOverlapStartsNextChunkInsidePreviousChunk() {
+        // Given
+        OffsetTokenTextSplitter splitter = new OffsetTokenTextSplitter(64, 1000, 0, 10000, true, 16);
+
+        // When
+        List<OffsetTokenTextSplitter.Span> spans = splitter.split(KOREAN);
+
+        // Then
+        assertTrue(spans.size() > 10);
+        for (int i = 1; i < spans.size(); i++) {
+            OffsetTokenTextSplitter.Span previous = spans.get(i - 1);
+            OffsetTokenTextSplitter.Span current = spans.get(i);
+            assertTrue(current.start() > previous.start());
+            assertTrue(current.start() < previous.end(), "앞 청크와 겹쳐야 함");
+        }
+        assertEquals(KOREAN.stripTrailing().length(), spans.get(spans.size() - 1).end());
+    }
+
+    @Test
+    void testMaxNumChunksAndSeparatorRemoval() {
+        // Given
+        OffsetTokenTextSplitter splitter = new OffsetTokenTextSplitter(32, 1000, 5, 3, false);
+
+        // When
+        List<String> chunks = splitter.split(new Document(KOREAN)).stream().map(Document::getText).toList();
+
+        // Then
+        // 3개를 만든 뒤 나머지는 한 청크로 붙는다
+        assertEquals(4, chunks.size());
+        assertTrue(chunks.stream().noneMatch(chunk -> chunk.contains("\n")));
+        assertTrue(chunks.get(3).endsWith("마지막 문장"));
+        assertTrue(splitter.split("   \n  ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new OffsetTokenTextSplitter(10, 0, 0, 10, true, 10));
+    }
+}
@@ -0,0 +1,44 @@
+package com.fbc.ai.domain.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentDtoUtilTest {
+
+    @Test
+    void testToDocumentSearchResultDto() {
+        // Given
+        Document document = Document.builder()
+                .id("chunk-1")
+                .text("본문")
+                .metadata(Map.of("id", "document-1", "bucket_id", "x"))
+                .score(0.87)
+                .build();
+
+        // When
+        DocumentSearchResultDto dto = DocumentDtoUtil.toDocumentSearchResultDto(document);
+
+        // Then
+        assertEquals("document-1", dto.getId());
+        assertEquals("본문", dto.getContent());
+        assertEquals(Map.of("bucket_id", "x"), dto.getMetadata());
+        assertEquals(0.87, dto.getScore(), 1e-9);
+    }
+
+    @Test
+    void testToDocumentSearchResultDtoWithoutSourceIdOrScore() {
+        // Given
+        Document document = new Document("chunk-1", "본문", Map.of("distance", 0.25));
+
+        // When
+        DocumentSearchResultDto dto = DocumentDtoUtil.toDocumentSearchResultDto(document);
+
+        // Then
+        assertEquals("chunk-1", dto.getId());
+        assertEquals(0.75, dto.getScore(), 1e-9);
+    }
+}
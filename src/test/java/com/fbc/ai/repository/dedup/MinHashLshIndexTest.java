@@ -0,0 +1,58 @@
+package com.fbc.ai.repository.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshIndexTest {
+
+    private static final String DISCLAIMER = "본 자료는 참고용으로만 제공되며 어떠한 법적 책임의 근거가 될 수 없습니다. "
+            + "자료에 포함된 수치와 전망은 작성 시점의 공개 정보를 바탕으로 하며 사전 통지 없이 변경될 수 있습니다. "
+            + "무단 전재 및 재배포를 금합니다.";
+
+    @Test
+    void testFindsNearDuplicateButNotDifferentText() {
+        // Given
+        MinHashLshIndex index = new MinHashLshIndex(0.8);
+        index.add("disclaimer", "spri", DISCLAIMER);
+
+        // When
+        MinHashLshIndex.Match nearCopy = index.findDuplicate(
+                index.signature("  " + DISCLAIMER.toUpperCase() + "\n\n- 12 -"), null);
+        MinHashLshIndex.Match different = index.findDuplicate(
+                index.signature("호텔 체크인은 오후 3시부터이며 체크아웃은 오전 11시입니다. 조식은 7시부터 10시까지 제공됩니다."), null);
+
+        // Then
+        assertNotNull(nearCopy);
+        assertEquals("disclaimer", nearCopy.id());
+        assertTrue(nearCopy.similarity() >= 0.8, "유사도: " + nearCopy.similarity());
+        assertNull(different);
+    }
+
+    @Test
+    void testAddIfAbsentHonoursBucketScopeAndRemoval() {
+        // Given
+        MinHashLshIndex index = new MinHashLshIndex(0.85);
+        int[] signature = index.signature(DISCLAIMER);
+
+        // When
+        MinHashLshIndex.Match first = index.addIfAbsent("a-1", "bucket-a", signature, "bucket-a");
+        MinHashLshIndex.Match sameBucket = index.addIfAbsent("a-2", "bucket-a", signature, "bucket-a");
+        MinHashLshIndex.Match otherBucket = index.addIfAbsent("b-1", "bucket-b", signature, "bucket-b");
+        MinHashLshIndex.Match global = index.addIfAbsent("c-1", "bucket-c", signature, null);
+        index.remove(List.of("a-1", "b-1"));
+        MinHashLshIndex.Match afterRemove = index.findDuplicate(signature, null);
+
+        // Then
+        assertNull(first);
+        assertEquals("a-1", sameBucket.id());
+        assertEquals(1.0, sameBucket.similarity());
+        // 버킷 범위면 다른 버킷의 청크는 중복이 아니므로 색인에 올라간다
+        assertNull(otherBucket);
+        assertNotNull(global);
+        assertNull(afterRemove);
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.fbc.ai.repository.keyword;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+    private Bm25Index indexWithDocuments() {
+        Bm25Index index = new Bm25Index();
+        index.add(List.of(
+                new Document("1", "가디언 에이전트가 2030년까지 에이전틱 AI 시장의 10~15%를 차지할 것으로 전망된다.", Map.of("bucket_id", "spri")),
+                new Document("2", "호텔 체크인은 오후 3시부터이며 체크아웃은 오전 11시입니다.", Map.of("bucket_id", "hotel")),
+                new Document("3", "생성형 AI 시장은 빠르게 성장하고 있으며 기업 도입이 늘고 있다.", Map.of("bucket_id", "spri"))
+        ));
+        return index;
+    }
+
+    @Test
+    void testTokenizerSplitsHangulIntoBigrams() {
+        // When
+        List<String> tokens = KoreanBigramTokenizer.tokenize("에이전트가 GPT-4o 시장의 15.5%");
+
+        // Then
+        assertEquals(List.of("에이", "이전", "전트", "트가", "gpt", "4", "o", "시장", "장의", "15.5%"), tokens);
+    }
+
+    @Test
+    void testSearchRanksExactTermsAndFollowsDeletes() {
+        // Given
+        Bm25Index index = indexWithDocuments();
+
+        // When
+        List<Document> agent = index.search("가디언 에이전트 전망", 3, null);
+        List<Document> hotel = index.search("체크인 시간", 3, List.of("spri"));
+        index.add(List.of(new Document("2", "가디언 에이전트 호텔 안내", Map.of("bucket_id", "hotel"))));
+        index.delete(List.of("1"));
+        List<Document> updated = index.search("가디언 에이전트", 3, null);
+
+        // Then
+        assertEquals("1", agent.get(0).getId());
+        assertTrue(agent.get(0).getScore() > 0.0);
+        assertTrue(hotel.isEmpty());
+        assertEquals(2, index.size());
+        assertEquals(List.of("2"), updated.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void testReciprocalRankFusionPrefersDocumentsRankedByBoth() {
+        // Given
+        List<Document> vector = List.of(new Document("a", "a", Map.of()), new Document("b", "b", Map.of()),
+                new Document("c", "c", Map.of()));
+        List<Document> keyword = List.of(new Document("b", "b", Map.of()), new Document("c", "c", Map.of()));
+
+        // When
+        List<Document> fused = ReciprocalRankFusion.fuse(60, 2, vector, keyword);
+
+        // Then
+        assertEquals(List.of("b", "c"), fused.stream().map(Document::getId).toList());
+        assertEquals(1.0 / 62 + 1.0 / 61, fused.get(0).getScore(), 1e-9);
+    }
+}
@@ -0,0 +1,50 @@
+package com.fbc.ai.repository.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceKernelTest {
+
+    @Test
+    void testSimdKernelMatchesScalarKernel() {
+        // Given
+        Random random = new Random(7);
+        DistanceKernel scalar = DistanceKernels.select("scalar");
+        DistanceKernel simd = DistanceKernels.select("simd");
+
+        for (int dimensions : new int[]{1, 7, 64, 1000, 1536}) {
+            float[] a = new float[dimensions];
+            float[] b = new float[dimensions];
+            ByteBuffer page = ByteBuffer.allocateDirect((dimensions + 3) * Float.BYTES).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < dimensions; i++) {
+                a[i] = (float) random.nextGaussian();
+                b[i] = (float) random.nextGaussian();
+                page.putFloat((i + 3) * Float.BYTES, b[i]);
+            }
+
+            // When
+            float expected = scalar.dot(a, b);
+
+            // Then
+            float tolerance = 1e-4f * dimensions;
+            assertEquals(expected, simd.dot(a, b), tolerance, simd.name());
+            assertEquals(expected, simd.dot(page, 3 * Float.BYTES, a), tolerance, simd.name());
+            assertEquals(expected, scalar.dot(page, 3 * Float.BYTES, a), tolerance);
+        }
+    }
+
+    @Test
+    void testAutoSelectsSimdWhenModuleIsLoaded() {
+        // Given, When
+        DistanceKernel kernel = DistanceKernels.select("auto");
+
+        // Then
+        assertEquals(DistanceKernels.vectorModuleAvailable(), kernel.name().startsWith("simd"));
+        assertEquals("scalar", DistanceKernels.select("scalar").name());
+    }
+}
@@ -0,0 +1,146 @@
+package com.fbc.ai.repository.vector;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswVectorStoreTest {
+
+    private static final int DIMENSIONS = 32;
+
+    /**
+     * 텍스트 해시를 시드로 난수 벡터를 만드는 테스트용 임베딩 모델
+     */
+    static class RandomEmbeddingModel implements EmbeddingModel {
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(embed(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+
+        @Override
+        public float[] embed(String text) {
+            Random random = new Random(text.hashCode());
+            float[] vector = new float[DIMENSIONS];
+            for (int i = 0; i < DIMENSIONS; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+            return vector;
+        }
+
+        @Override
+        public int dimensions() {
+            return DIMENSIONS;
+        }
+    }
+
+    private static List<Document> documents(int from, int to) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            documents.add(new Document("doc-" + i, "text-" + i, Map.of("n", i)));
+        }
+        return documents;
+    }
+
+    @Test
+    void testRecallAgainstExactSearch() {
+        // Given
+        RandomEmbeddingModel model = new RandomEmbeddingModel();
+        HnswVectorStore hnsw = new HnswVectorStore(model, 16, 100, 64);
+        OffHeapVectorStore exact = new OffHeapVectorStore(model);
+        List<Document> documents = documents(0, 3000);
+        hnsw.add(documents);
+        exact.add(documents);
+
+        // When
+        int hits = 0;
+        int total = 0;
+        for (int q = 0; q < 50; q++) {
+            SearchRequest request = SearchRequest.builder().query("query-" + q).topK(10).build();
+            Set<String> expected = new HashSet<>();
+            exact.similaritySearch(request).forEach(d -> expected.add(d.getId()));
+            for (Document d : hnsw.similaritySearch(request)) {
+                if (expected.contains(d.getId())) {
+                    hits++;
+                }
+            }
+            total += expected.size();
+        }
+
+        // Then
+        double recall = (double) hits / total;
+        assertTrue(recall >= 0.9, "recall@10 = " + recall);
+    }
+
+    @Test
+    void testConcurrentInsertAndSearch() throws Exception {
+        // Given
+        HnswVectorStore store = new HnswVectorStore(new RandomEmbeddingModel(), 8, 50, 32);
+        store.add(documents(0, 200));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            int base = 200 + t * 1000;
+            futures.add(executor.submit(() -> {
+                for (int i = base; i < base + 1000; i += 50) {
+                    store.add(documents(i, i + 50));
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int q = 0; q < 200; q++) {
+                    assertEquals(5, store.similaritySearch(SearchRequest.builder().query("q" + q).topK(5).build()).size());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(2200, store.size());
+        Document self = store.similaritySearch(SearchRequest.builder().query("text-1500").topK(1).build()).get(0);
+        assertEquals("doc-1500", self.getId());
+    }
+
+    @Test
+    void testDeletedDocumentsAreExcluded() {
+        // Given
+        HnswVectorStore store = new HnswVectorStore(new RandomEmbeddingModel(), 8, 50, 32);
+        store.add(documents(0, 100));
+
+        // When
+        store.delete(List.of("doc-7"));
+
+        // Then
+        List<Document> results = store.similaritySearch(SearchRequest.builder().query("text-7").topK(3).build());
+        assertTrue(results.stream().noneMatch(d -> d.getId().equals("doc-7")));
+        assertEquals(99, store.size());
+    }
+}
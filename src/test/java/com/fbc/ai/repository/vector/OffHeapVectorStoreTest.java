@@ -0,0 +1,307 @@
+package com.fbc.ai.repository.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapVectorStoreTest {
+
+    /**
+     * 텍스트 앞 글자로 고정 벡터를 돌려주는 테스트용 임베딩 모델
+     */
+    static class FixedEmbeddingModel implements EmbeddingModel {
+        private static final Map<String, float[]> VECTORS = Map.of(
+                "a", new float[]{1f, 0f, 0f},
+                "b", new float[]{0.8f, 0.6f, 0f},
+                "c", new float[]{0f, 1f, 0f},
+                "d", new float[]{0f, 0f, 1f}
+        );
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(embed(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+
+        @Override
+        public float[] embed(String text) {
+            return VECTORS.get(text.substring(0, 1)).clone();
+        }
+
+        @Override
+        public int dimensions() {
+            return 3;
+        }
+    }
+
+    private OffHeapVectorStore storeWithDocuments() {
+        OffHeapVectorStore store = new OffHeapVectorStore(new FixedEmbeddingModel());
+        store.add(List.of(
+                new Document("1", "a 문서", Map.of("bucket_id", "x")),
+                new Document("2", "b 문서", Map.of("bucket_id", "y")),
+                new Document("3", "c 문서", Map.of("bucket_id", "x")),
+                new Document("4", "d 문서", Map.of("bucket_id", "y"))
+        ));
+        return store;
+    }
+
+    @Test
+    void testSimilaritySearchOrdersByCosineScore() {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+
+        // When
+        List<Document> results = store.similaritySearch(SearchRequest.builder().query("a").topK(3).build());
+
+        // Then
+        assertEquals(List.of("1", "2", "3"), results.stream().map(Document::getId).toList());
+        assertEquals(1.0, results.get(0).getScore(), 1e-6);
+        assertEquals(0.8, results.get(1).getScore(), 1e-6);
+        assertEquals(0.2, (Double) results.get(1).getMetadata().get("distance"), 1e-6);
+    }
+
+    @Test
+    void testSimilarityThresholdExcludesLowerScores() {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+
+        // When
+        List<Document> results = store.similaritySearch(
+                SearchRequest.builder().query("a").topK(4).similarityThreshold(0.5).build());
+
+        // Then
+        assertEquals(List.of("1", "2"), results.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void testUpsertAndDelete() {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+
+        // When
+        store.add(List.of(new Document("1", "d 변경", Map.of())));
+        store.delete(List.of("4"));
+
+        // Then
+        assertEquals(3, store.size());
+        List<Document> results = store.similaritySearch(SearchRequest.builder().query("d").topK(1).build());
+        assertEquals("1", results.get(0).getId());
+        assertEquals("d 변경", results.get(0).getText());
+    }
+
+    @Test
+    void testFilterExpression() {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+        // When
+        List<Document> results = store.similaritySearch(SearchRequest.builder()
+                .query("a").topK(4).filterExpression(b.eq("bucket_id", "y").build()).build());
+
+        // Then
+        assertEquals(List.of("2", "4"), results.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void testIndexedFilterFollowsUpsertAndDelete() {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+        store.add(List.of(
+                new Document("5", "b 추가", Map.of("bucket_id", "z", "page", 1)),
+                new Document("3", "c 이동", Map.of("bucket_id", "z", "page", 2))
+        ));
+        store.delete(new FilterExpressionBuilder().eq("bucket_id", "y").build());
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+        // When
+        List<Document> inBuckets = store.similaritySearch(SearchRequest.builder()
+                .query("a").topK(4).filterExpression(b.in("bucket_id", "x", "y", "z").build()).build());
+        List<Document> withPage = store.similaritySearch(SearchRequest.builder()
+                .query("a").topK(4).filterExpression(b.and(b.eq("bucket_id", "z"), b.gte("page", 2)).build()).build());
+        List<Document> oldBucket = store.similaritySearch(SearchRequest.builder()
+                .query("c").topK(4).filterExpression(b.eq("bucket_id", "x").build()).build());
+
+        // Then
+        assertEquals(3, store.size());
+        assertEquals(List.of("1", "5", "3"), inBuckets.stream().map(Document::getId).toList());
+        assertEquals(List.of("3"), withPage.stream().map(Document::getId).toList());
+        assertEquals(List.of("1"), oldBucket.stream().map(Document::getId).toList());
+    }
+
+    @Test
+    void testSnapshotRoundTrip(@TempDir Path tempDir) throws Exception {
+        // Given
+        OffHeapVectorStore store = storeWithDocuments();
+        store.delete(List.of("3"));
+        Path snapshot = tempDir.resolve("vector.snapshot");
+
+        // When
+        store.saveSnapshot(snapshot);
+        OffHeapVectorStore restored = new OffHeapVectorStore(new FixedEmbeddingModel());
+        int count = restored.loadSnapshot(snapshot);
+
+        // Then
+        assertEquals(3, count);
+        List<Document> results = restored.similaritySearch(SearchRequest.builder().query("a").topK(4).build());
+        assertEquals(List.of("1", "2", "4"), results.stream().map(Document::getId).toList());
+        assertEquals("b 문서", results.get(1).getText());
+        assertEquals("y", results.get(1).getMetadata().get("bucket_id"));
+    }
+
+    @Test
+    void testQuantizedSearchRescoresWithOriginalVectors() {
+        for (QuantizationMode mode : List.of(QuantizationMode.INT8, QuantizationMode.BINARY)) {
+            // Given
+            OffHeapVectorStore store = new OffHeapVectorStore(new FixedEmbeddingModel(), new TokenCountBatchingStrategy(), mode, 2);
+            store.add(List.of(
+                    new Document("1", "a 문서", Map.of()),
+                    new Document("2", "b 문서", Map.of()),
+                    new Document("3", "c 문서", Map.of()),
+                    new Document("4", "d 문서", Map.of())
+            ));
+
+            // When
+            List<Document> results = store.similaritySearch(
+                    SearchRequest.builder().query("a").topK(2).similarityThreshold(0.5).build());
+
+            // Then
+            assertEquals(List.of("1", "2"), results.stream().map(Document::getId).toList(), mode.name());
+            assertEquals(0.8, results.get(1).getScore(), 1e-6, mode.name());
+            assertTrue(store.quantizedBytes() > 0, mode.name());
+        }
+    }
+
+    @Test
+    void testParallelShardScanMatchesSequentialScan() {
+        // Given
+        HnswVectorStoreTest.RandomEmbeddingModel model = new HnswVectorStoreTest.RandomEmbeddingModel();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        OffHeapVectorStore parallel = new OffHeapVectorStore(model, new TokenCountBatchingStrategy(), QuantizationMode.NONE, 1, pool);
+        OffHeapVectorStore sequential = new OffHeapVectorStore(model, new TokenCountBatchingStrategy(), QuantizationMode.NONE, 1, null);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < OffHeapVectorStore.SHARD_ROWS * 5 + 17; i++) {
+            documents.add(new Document("doc-" + i, "text-" + i, Map.of("even", i % 2 == 0)));
+        }
+        parallel.add(documents);
+        sequential.add(documents);
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+        // When
+        SearchRequest request = SearchRequest.builder().query("query").topK(20).similarityThreshold(0.3)
+                .filterExpression(b.eq("even", true).build()).build();
+        List<Document> expected = sequential.similaritySearch(request);
+        List<Document> actual = parallel.similaritySearch(request);
+        pool.shutdown();
+
+        // Then
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.stream().map(Document::getId).toList(), actual.stream().map(Document::getId).toList());
+        assertTrue(actual.stream().allMatch(document -> document.getScore() >= 0.3));
+    }
+
+    @Test
+    void testBatchSearchMatchesSingleQuerySearch() {
+        // Given
+        AtomicInteger embeddingCalls = new AtomicInteger();
+        HnswVectorStoreTest.RandomEmbeddingModel model = new HnswVectorStoreTest.RandomEmbeddingModel() {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                embeddingCalls.incrementAndGet();
+                return super.call(request);
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        OffHeapVectorStore store = new OffHeapVectorStore(model, new TokenCountBatchingStrategy(), QuantizationMode.NONE, 1, pool);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < OffHeapVectorStore.SHARD_ROWS * 3 + 5; i++) {
+            documents.add(new Document("doc-" + i, "text-" + i, Map.of("bucket_id", "bucket-" + (i % 3))));
+        }
+        store.add(documents);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < OffHeapVectorStore.QUERY_BLOCK + 3; i++) {
+            queries.add("query-" + i);
+        }
+        SearchRequest options = SearchRequest.builder().topK(5)
+                .filterExpression(new FilterExpressionBuilder().in("bucket_id", "bucket-0", "bucket-2").build()).build();
+        embeddingCalls.set(0);
+
+        // When
+        List<List<Document>> batch = store.similaritySearch(queries, options);
+        int batchEmbeddingCalls = embeddingCalls.get();
+
+        // Then
+        assertEquals(1, batchEmbeddingCalls);
+        assertEquals(queries.size(), batch.size());
+        for (int i = 0; i < queries.size(); i++) {
+            List<Document> single = store.similaritySearch(SearchRequest.from(options).query(queries.get(i)).build());
+            assertEquals(single.stream().map(Document::getId).toList(), batch.get(i).stream().map(Document::getId).toList());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void testMetadataFilterMatchesSimpleVectorStoreEvaluation() {
+        // Given
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        List<Filter.Expression> expressions = List.of(
+                b.eq("bucket_id", "x").build(),
+                b.ne("bucket_id", "x").build(),
+                b.in("bucket_id", "x", "z").build(),
+                b.nin("bucket_id", "x", "z").build(),
+                b.and(b.eq("bucket_id", "z"), b.gte("page", 2)).build(),
+                b.or(b.lt("page", 2), b.not(b.eq("even", true))).build(),
+                b.eq("title", "#metadata[bucket_id]").build());
+        Map<String, Object> withMissingKeys = new HashMap<>();
+        withMissingKeys.put("bucket_id", "y");
+        List<Map<String, Object>> rows = List.of(
+                Map.of("bucket_id", "x", "page", 1, "even", false, "title", "a"),
+                Map.of("bucket_id", "z", "page", 3, "even", true, "title", "#metadata[bucket_id]"),
+                withMissingKeys);
+        SimpleVectorStoreFilterExpressionConverter converter = new SimpleVectorStoreFilterExpressionConverter();
+        SpelExpressionParser parser = new SpelExpressionParser();
+
+        for (Filter.Expression expression : expressions) {
+            // When : SimpleVectorStore 는 행마다 컨텍스트를 만들어 #metadata 변수에 넣는다
+            var reference = parser.parseExpression(converter.convertExpression(expression));
+            var filter = MetadataFilter.of(expression);
+
+            // Then
+            for (Map<String, Object> row : rows) {
+                StandardEvaluationContext context = new StandardEvaluationContext();
+                context.setVariable("metadata", row);
+                boolean expected = Boolean.TRUE.equals(reference.getValue(context, Boolean.class));
+                assertEquals(expected, filter.test(row), expression + " / " + row);
+            }
+        }
+    }
+}
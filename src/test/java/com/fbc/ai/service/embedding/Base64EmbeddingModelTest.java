@@ -0,0 +1,52 @@
+package com.fbc.ai.service.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class Base64EmbeddingModelTest {
+
+    @Test
+    void testDecodesBase64Response() {
+        // Given
+        RestClient.Builder builder = RestClient.builder().baseUrl("https://api.openai.com");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        Base64EmbeddingModel model = new Base64EmbeddingModel(builder.build(), "text-embedding-ada-002",
+                MetadataMode.EMBED, RetryUtils.DEFAULT_RETRY_TEMPLATE);
+        server.expect(requestTo("https://api.openai.com/v1/embeddings"))
+                .andExpect(jsonPath("$.encoding_format").value("base64"))
+                .andExpect(jsonPath("$.model").value("text-embedding-ada-002"))
+                .andRespond(withSuccess("{\"object\":\"list\",\"data\":["
+                        + "{\"object\":\"embedding\",\"index\":1,\"embedding\":\"" + encode(0.5f, -2f) + "\"},"
+                        + "{\"object\":\"embedding\",\"index\":0,\"embedding\":\"" + encode(1f, 0.25f) + "\"}],"
+                        + "\"model\":\"text-embedding-ada-002\",\"usage\":{\"prompt_tokens\":4,\"total_tokens\":4}}",
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        List<float[]> vectors = model.embed(List.of("체크인", "조식"));
+
+        // Then
+        server.verify();
+        assertArrayEquals(new float[]{1f, 0.25f}, vectors.get(0));
+        assertArrayEquals(new float[]{0.5f, -2f}, vectors.get(1));
+    }
+
+    private static String encode(float... vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+}
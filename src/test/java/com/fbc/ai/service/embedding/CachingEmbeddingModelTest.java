@@ -0,0 +1,68 @@
+package com.fbc.ai.service.embedding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingEmbeddingModelTest {
+
+    /**
+     * 요청받은 텍스트를 기록하고 텍스트 길이로 벡터를 만드는 테스트용 임베딩 모델
+     */
+    static class RecordingEmbeddingModel implements EmbeddingModel {
+        final List<List<String>> requests = new ArrayList<>();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            requests.add(request.getInstructions());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(new float[]{request.getInstructions().get(i).length(), 1f}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+
+        @Override
+        public int dimensions() {
+            return 2;
+        }
+    }
+
+    @Test
+    void testRepeatedQueriesSkipDelegate() {
+        // Given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, "test-model", 100, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        model.bindTo(registry, "embedding.query");
+
+        // When
+        float[] first = model.embed("체크인 시간은?");
+        first[0] = -1f;
+        float[] second = model.embed("  체크인   시간은? ");
+        List<float[]> batch = model.embed(List.of("체크인 시간은?", "조식 시간은?"));
+
+        // Then
+        assertEquals(List.of(List.of("체크인 시간은?"), List.of("조식 시간은?")), delegate.requests);
+        assertEquals(8f, second[0]);
+        assertEquals(2, batch.size());
+        assertEquals(7f, batch.get(1)[0]);
+        assertEquals(2, model.size());
+        assertEquals(0.5, registry.get("embedding.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+}
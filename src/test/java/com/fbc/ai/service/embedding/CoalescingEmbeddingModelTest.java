@@ -0,0 +1,83 @@
+package com.fbc.ai.service.embedding;
+
+import com.fbc.ai.service.embedding.CachingEmbeddingModelTest.RecordingEmbeddingModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingEmbeddingModelTest {
+
+    @Test
+    void testConcurrentRequestsShareOneBatch() throws Exception {
+        // Given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<float[]>> results = new ArrayList<>();
+
+        // When
+        try (CoalescingEmbeddingModel model = new CoalescingEmbeddingModel(delegate, 64, Duration.ofMillis(200), 8191, 1)) {
+            for (int i = 0; i < callers; i++) {
+                String text = "질".repeat(i + 1);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return model.embed(text);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < callers; i++) {
+                // Then : 각 호출자는 자기 텍스트(길이 i + 1)의 벡터를 받는다
+                assertEquals(i + 1, results.get(i).get()[0]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(delegate.requests.size() < callers);
+        assertEquals(callers, delegate.requests.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void testStuckBatchFallsBackToDirectCall() {
+        // Given : 첫 배치 요청은 응답 없이 멈추고, 그 다음 요청부터는 바로 응답하는 모델
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel() {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                if (requests.isEmpty()) {
+                    requests.add(request.getInstructions());
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalStateException("응답 없음");
+                }
+                return super.call(request);
+            }
+        };
+
+        // When
+        float[] vector;
+        try (CoalescingEmbeddingModel model = new CoalescingEmbeddingModel(delegate, 64, Duration.ofMillis(1), 8191, 1,
+                Duration.ofMillis(200))) {
+            vector = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> model.embed("질문"));
+        } finally {
+            release.countDown();
+        }
+
+        // Then : 멈춘 배치를 기다리지 않고 원래 모델을 직접 호출한 결과를 받는다
+        assertEquals(2, vector[0]);
+        assertEquals(2, delegate.requests.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.fbc.ai.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testRequestsWaitForRefillAfterBurst() {
+        // Given - 분당 60회 (초당 1회), 토큰 제한 없음
+        EmbeddingRateLimiter limiter = new EmbeddingRateLimiter(60, 0, 0);
+
+        // When
+        for (int i = 0; i < 60; i++) {
+            assertEquals(0, limiter.reserve(100, 0));
+        }
+        long wait = limiter.reserve(100, 0);
+        long waitAfterRefill = limiter.reserve(100, 3 * SECOND);
+
+        // Then - 1분 한도를 다 쓰면 1회가 찰 때까지 1초, 3초 뒤에는 2회를 예약해 두었으므로 대기 없음
+        assertEquals(SECOND, wait);
+        assertEquals(0, waitAfterRefill);
+    }
+
+    @Test
+    void testTokenBudgetDecidesWait() {
+        // Given - 분당 1000회, 6000 토큰 (초당 100 토큰)
+        EmbeddingRateLimiter limiter = new EmbeddingRateLimiter(1000, 6000, 0);
+
+        // When
+        long first = limiter.reserve(6000, 0);
+        long second = limiter.reserve(500, 0);
+        long oversized = limiter.reserve(12000, 5 * SECOND);
+
+        // Then - 한도보다 큰 요청도 막히지 않고 예약만큼 다음 요청이 기다린다
+        assertEquals(0, first);
+        assertEquals(5 * SECOND, second);
+        assertEquals(2 * TimeUnit.MINUTES.toNanos(1), oversized);
+    }
+}
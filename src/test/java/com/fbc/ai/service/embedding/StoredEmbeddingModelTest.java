@@ -0,0 +1,80 @@
+package com.fbc.ai.service.embedding;
+
+import com.fbc.ai.service.embedding.CachingEmbeddingModelTest.RecordingEmbeddingModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoredEmbeddingModelTest {
+
+    @Test
+    void testReuploadedChunksAreNotEmbeddedAgain() {
+        // Given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:embedding_store;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcEmbeddingStore store = new JdbcEmbeddingStore(new JdbcTemplate(dataSource), "embedding_store");
+        store.initializeSchema();
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        StoredEmbeddingModel model = new StoredEmbeddingModel(delegate, store, "test-model");
+        List<Document> firstUpload = List.of(new Document("체크인은 15시부터입니다."), new Document("조식은 7시부터입니다."));
+        List<Document> revisedUpload = List.of(new Document("체크인은  15시부터입니다. "), new Document("주차는 무료입니다."));
+
+        // When
+        List<float[]> first = new ArrayList<>();
+        StoredEmbeddingModel.ReuseReport firstReport = StoredEmbeddingModel.track(() -> first.addAll(embed(model, firstUpload)));
+        List<float[]> revised = new ArrayList<>();
+        StoredEmbeddingModel.ReuseReport revisedReport = StoredEmbeddingModel.track(() -> revised.addAll(embed(model, revisedUpload)));
+
+        // Then
+        assertEquals(new StoredEmbeddingModel.ReuseReport(2, 0), firstReport);
+        assertEquals(new StoredEmbeddingModel.ReuseReport(2, 1), revisedReport);
+        assertEquals(List.of(List.of("체크인은 15시부터입니다.", "조식은 7시부터입니다."), List.of("주차는 무료입니다.")),
+                delegate.requests);
+        assertArrayEquals(first.get(0), revised.get(0));
+        assertNotNull(store.findAll(List.of(EmbeddingStore.contentHash("test-model", "주차는 무료입니다."))).get(
+                EmbeddingStore.contentHash("test-model", "주차는 무료입니다.")));
+    }
+
+    @Test
+    void testSingleDocumentIsEmbeddedByDelegateAndKeyedByFormattedContent() {
+        // Given
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:embedding_store_single;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcEmbeddingStore store = new JdbcEmbeddingStore(new JdbcTemplate(dataSource), "embedding_store");
+        store.initializeSchema();
+        List<Document> embedded = new ArrayList<>();
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel() {
+            @Override
+            public float[] embed(Document document) {
+                embedded.add(document);
+                return super.embed(document);
+            }
+        };
+        StoredEmbeddingModel model = new StoredEmbeddingModel(delegate, store, "test-model");
+        Document hotel = new Document("체크인은 15시부터입니다.", Map.of("source", "hotel"));
+        Document resort = new Document("체크인은 15시부터입니다.", Map.of("source", "resort"));
+
+        // When
+        float[] first = model.embed(hotel);
+        StoredEmbeddingModel.ReuseReport report = StoredEmbeddingModel.track(() -> model.embed(hotel));
+        model.embed(resort);
+
+        // Then - 문서 1건은 원래 모델에 그대로 전달하고, 메타데이터가 다르면 같은 본문이어도 따로 임베딩한다
+        assertEquals(List.of(hotel, resort), embedded);
+        assertEquals(new StoredEmbeddingModel.ReuseReport(1, 1), report);
+        assertArrayEquals(delegate.embed(hotel), first);
+    }
+
+    private static List<float[]> embed(StoredEmbeddingModel model, List<Document> documents) {
+        return model.embed(documents, EmbeddingOptionsBuilder.builder().build(), new TokenCountBatchingStrategy());
+    }
+}
@@ -0,0 +1,171 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.document.DocumentParser;
+import com.fbc.ai.domain.dto.BulkIngestionFileResultDto;
+import com.fbc.ai.domain.dto.BulkIngestionResultDto;
+import com.fbc.ai.exception.DocumentProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkIngestionServiceTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    private BulkIngestionService bulkService;
+    private StreamingIngestionPipelineTest.SlowRecordingVectorStore vectorStore;
+
+    /**
+     * txt 파일의 줄을 페이지로 보는 테스트용 파서 (본문이 broken 이면 실패)
+     */
+    static class LineParser implements DocumentParser {
+        @Override
+        public boolean supports(String fileExtension) {
+            return "txt".equalsIgnoreCase(fileExtension);
+        }
+
+        @Override
+        public List<Document> parse(MultipartFile file) throws IOException {
+            String text = new String(file.getBytes(), StandardCharsets.UTF_8);
+            if (text.startsWith("broken")) {
+                throw new IOException("손상된 파일");
+            }
+            return text.lines().map(Document::new).toList();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bulkService != null) {
+            bulkService.close();
+        }
+    }
+
+    private BulkIngestionService createService(String allowedRoot) {
+        vectorStore = new StreamingIngestionPipelineTest.SlowRecordingVectorStore(new AtomicInteger());
+        StreamingIngestionPipeline pipeline = new StreamingIngestionPipeline(vectorStore, null,
+                new TokenTextSplitter(), 4, 2, 4);
+        SemanticAnswerCache answerCache = new SemanticAnswerCache(new SemanticAnswerCacheTest.FixedEmbeddingModel(Map.of()),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        bulkService = new BulkIngestionService(List.of(new LineParser()), pipeline, answerCache, "default-bucket",
+                3, allowedRoot, tempDirectory.resolve("spool"), 100, DataSize.ofMegabytes(1));
+        return bulkService;
+    }
+
+    private static MockMultipartFile zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "docs.zip", "application/zip", bytes.toByteArray());
+    }
+
+    @Test
+    void testZipEntriesAreRoutedAndBatchedTogether() throws IOException {
+        // Given
+        BulkIngestionService service = createService("");
+        MockMultipartFile archive = zip(Map.of(
+                "guide.txt", "체크인은 15시입니다.\n체크아웃은 11시입니다.\n조식은 7시부터입니다.",
+                "faq/parking.txt", "주차는 무료입니다.\n발렛은 유료입니다.",
+                "logo.png", "PNG",
+                "faq/broken.txt", "broken",
+                "empty.txt", "",
+                "__MACOSX/._guide.txt", "메타데이터"));
+
+        // When
+        BulkIngestionResultDto result = service.ingestZip(archive, "hotel-faq");
+
+        // Then
+        Map<String, BulkIngestionFileResultDto> files = result.getFiles().stream()
+                .collect(Collectors.toMap(BulkIngestionFileResultDto::getFileName, Function.identity()));
+        assertEquals(5, result.getTotalFiles());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, result.getSkipped());
+        assertEquals(1, result.getFailed());
+        assertEquals("SUCCESS", files.get("guide.txt").getStatus());
+        assertEquals(3, files.get("guide.txt").getChunks());
+        assertEquals(2, files.get("faq/parking.txt").getPages());
+        assertEquals("SKIPPED", files.get("logo.png").getStatus());
+        assertEquals("SKIPPED", files.get("empty.txt").getStatus());
+        assertEquals("FAILED", files.get("faq/broken.txt").getStatus());
+        assertEquals("손상된 파일", files.get("faq/broken.txt").getError());
+        // 두 파일의 청크 5개가 배치 크기 4로 함께 묶인다 (파일마다 배치를 따로 만들면 3개)
+        assertEquals(5, result.getChunks());
+        assertEquals(2, result.getBatches());
+        assertEquals(5, vectorStore.stored.size());
+        assertTrue(vectorStore.stored.stream().allMatch(chunk -> "hotel-faq".equals(chunk.getMetadata().get("bucket_id"))));
+        // 임시로 푼 파일은 지운다
+        try (var spooled = Files.list(tempDirectory.resolve("spool"))) {
+            assertEquals(0, spooled.count());
+        }
+    }
+
+    @Test
+    void testZipSlipEntryIsRejected() throws IOException {
+        // Given
+        BulkIngestionService service = createService("");
+        MockMultipartFile archive = zip(Map.of("../escape.txt", "밖으로 나가는 항목"));
+
+        // When
+        DocumentProcessingException exception = assertThrows(DocumentProcessingException.class,
+                () -> service.ingestZip(archive, null));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertFalse(Files.exists(tempDirectory.resolve("escape.txt")));
+    }
+
+    @Test
+    void testDirectoryIngestionIsLimitedToAllowedRoot() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDirectory.resolve("customers"));
+        Files.createDirectories(root.resolve("acme/manuals"));
+        Files.writeString(root.resolve("acme/intro.txt"), "회사 소개와 연락처 안내입니다.");
+        Files.writeString(root.resolve("acme/manuals/setup.txt"), "설치 방법을 설명합니다.\n초기 설정을 설명합니다.");
+        BulkIngestionService service = createService(root.toString());
+
+        // When
+        BulkIngestionResultDto result = service.ingestDirectory("acme", null);
+
+        // Then
+        assertEquals("default-bucket", result.getBucketId());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(3, result.getChunks());
+        assertEquals(List.of("intro.txt", "manuals/setup.txt"),
+                result.getFiles().stream().map(BulkIngestionFileResultDto::getFileName).toList());
+        DocumentProcessingException outside = assertThrows(DocumentProcessingException.class,
+                () -> service.ingestDirectory("..", null));
+        assertEquals(HttpStatus.FORBIDDEN, outside.getStatusCode());
+        DocumentProcessingException disabled = assertThrows(DocumentProcessingException.class,
+                () -> createService("").ingestDirectory("acme", null));
+        assertEquals(HttpStatus.FORBIDDEN, disabled.getStatusCode());
+    }
+}
@@ -0,0 +1,278 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.config.loader.HotelLoader;
+import com.fbc.ai.config.loader.RagDataLoader;
+import com.fbc.ai.document.splitter.OffsetTokenTextSplitter;
+import com.fbc.ai.repository.keyword.Bm25Index;
+import com.fbc.ai.service.embedding.EmbeddingRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusLoaderTest {
+
+    private CorpusLoader loader;
+
+    /**
+     * ID 로 덮어쓰는(upsert) 테스트용 벡터 스토어. failAfter 번째 add 이후에는 실패한다.
+     */
+    static class UpsertVectorStore implements VectorStore {
+        final Map<String, Document> stored = new LinkedHashMap<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        int failAfter = Integer.MAX_VALUE;
+
+        @Override
+        public void add(List<Document> documents) {
+            if (batchSizes.size() >= failAfter) {
+                throw new IllegalStateException("임베딩 API 오류");
+            }
+            batchSizes.add(documents.size());
+            documents.forEach(document -> stored.put(document.getId(), document));
+        }
+
+        @Override
+        public void delete(List<String> idList) {
+        }
+
+        @Override
+        public void delete(Filter.Expression filterExpression) {
+            stored.values().removeIf(document -> matches(filterExpression, document.getMetadata()));
+        }
+
+        /**
+         * AND, EQ, NE 만 해석한다 (CorpusLoader.staleChunks)
+         */
+        private static boolean matches(Filter.Expression expression, Map<String, Object> metadata) {
+            return switch (expression.type()) {
+                case AND -> matches((Filter.Expression) expression.left(), metadata)
+                        && matches((Filter.Expression) expression.right(), metadata);
+                case EQ -> Objects.equals(metadata.get(((Filter.Key) expression.left()).key()),
+                        ((Filter.Value) expression.right()).value());
+                case NE -> !Objects.equals(metadata.get(((Filter.Key) expression.left()).key()),
+                        ((Filter.Value) expression.right()).value());
+                default -> throw new UnsupportedOperationException(expression.type().name());
+            };
+        }
+
+        @Override
+        public List<Document> similaritySearch(SearchRequest request) {
+            return List.of();
+        }
+    }
+
+    static class InMemoryCheckpointStore implements CorpusCheckpointStore {
+        final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<Checkpoint> find(String corpus) {
+            return Optional.ofNullable(checkpoints.get(corpus));
+        }
+
+        @Override
+        public void save(Checkpoint checkpoint) {
+            checkpoints.put(checkpoint.corpus(), checkpoint);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.close();
+        }
+    }
+
+    private static CorpusSource lines(String text) {
+        return CorpusSource.lines("faq.txt", new ByteArrayResource(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String corpus(int lines) {
+        return IntStream.rangeClosed(1, lines)
+                .mapToObj(i -> i == 4 ? "" : i + "번째 질문에 대한 호텔 안내 답변입니다.")
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Test
+    void testLoadsInBatchesAndResumesFromCheckpointAfterFailure() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 3, 8191);
+        UpsertVectorStore vectorStore = new UpsertVectorStore();
+        vectorStore.failAfter = 2;
+        CorpusSource source = lines(corpus(10));
+
+        // When - 배치 2개를 저장한 뒤 실패하고, 다시 실행하면 이어서 적재한다
+        assertThrows(IllegalStateException.class, () -> loader.load(source, vectorStore, new OffsetTokenTextSplitter()));
+        CorpusCheckpointStore.Checkpoint afterFailure = checkpoints.find("faq.txt").orElseThrow();
+        vectorStore.failAfter = Integer.MAX_VALUE;
+        CorpusLoader.Result resumed = loader.load(source, vectorStore, new OffsetTokenTextSplitter());
+        CorpusLoader.Result again = loader.load(source, vectorStore, new OffsetTokenTextSplitter());
+
+        // Then - 빈 4번째 줄은 건너뛰고 9줄만 중복 없이 저장된다
+        assertFalse(afterFailure.completed());
+        assertEquals(7, afterFailure.nextPosition());
+        assertEquals(7, resumed.fromPosition());
+        assertEquals(3, resumed.units());
+        assertEquals(List.of(3, 3, 3), vectorStore.batchSizes);
+        assertEquals(9, vectorStore.stored.size());
+        assertEquals(CorpusLoader.chunkId("faq.txt", 0, 0), vectorStore.stored.keySet().iterator().next());
+        assertEquals(10, vectorStore.stored.values().stream()
+                .mapToInt(document -> (int) document.getMetadata().get("line_number")).max().orElseThrow());
+        assertTrue(checkpoints.find("faq.txt").orElseThrow().completed());
+        assertTrue(again.skipped());
+    }
+
+    @Test
+    void testChangedSourceIsReloadedFromStart() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 64, 8191);
+        UpsertVectorStore vectorStore = new UpsertVectorStore();
+        loader.load(lines(corpus(5)), vectorStore, new OffsetTokenTextSplitter());
+
+        // When - 원본이 바뀌면 체크포인트를 무시하고 처음부터 적재한다 (같은 위치의 청크는 덮어씀)
+        CorpusLoader.Result result = loader.submit(lines(corpus(6)), vectorStore, new OffsetTokenTextSplitter())
+                .get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertFalse(result.skipped());
+        assertEquals(0, result.fromPosition());
+        assertEquals(5, result.units());
+        assertEquals(5, vectorStore.stored.size());
+    }
+
+    @Test
+    void testChangedSourceDeletesChunksOfPreviousSource() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 2, 8191);
+        UpsertVectorStore vectorStore = new UpsertVectorStore();
+        vectorStore.stored.put("uploaded", new Document("uploaded", "업로드한 문서", Map.of("bucket_id", "faq")));
+        loader.load(lines(corpus(8)), vectorStore, new OffsetTokenTextSplitter());
+
+        // When - 줄이 줄어든 원본을 다시 적재한다
+        CorpusSource changed = lines(corpus(3).replace("호텔", "리조트"));
+        loader.load(changed, vectorStore, new OffsetTokenTextSplitter());
+        String fingerprint = changed.fingerprint();
+
+        // Then - 지워진 5~8번째 줄의 청크는 남지 않고, 다른 코퍼스의 문서는 그대로다
+        assertEquals(4, vectorStore.stored.size());
+        assertTrue(vectorStore.stored.containsKey("uploaded"));
+        vectorStore.stored.values().stream()
+                .filter(document -> "faq.txt".equals(document.getMetadata().get(CorpusLoader.METADATA_CORPUS)))
+                .forEach(document -> {
+                    assertTrue(document.getText().contains("리조트"));
+                    assertEquals(fingerprint, document.getMetadata().get(CorpusLoader.METADATA_FINGERPRINT));
+                });
+    }
+
+    @Test
+    void testChangedSourceKeepsKeywordIndexInSync() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 2, 8191);
+        UpsertVectorStore vectorStore = new UpsertVectorStore();
+        Bm25Index bm25Index = new Bm25Index();
+        loader.load(lines(corpus(8)), vectorStore, bm25Index, new OffsetTokenTextSplitter());
+        int initial = bm25Index.size();
+
+        // When - 줄이 줄어들고 본문이 바뀐 원본을 다시 적재한다
+        loader.load(lines(corpus(3).replace("호텔", "리조트")), vectorStore, bm25Index, new OffsetTokenTextSplitter());
+
+        // Then - 키워드 색인도 벡터 스토어와 같은 청크만 남고, 이전 본문으로는 찾을 수 없다
+        assertEquals(7, initial);
+        assertEquals(vectorStore.stored.keySet(), Set.copyOf(bm25Index.ids(metadata -> true)));
+        assertTrue(bm25Index.search("호텔", 10, null).isEmpty());
+        assertEquals(3, bm25Index.search("리조트", 10, null).size());
+    }
+
+    @Test
+    void testHotelReloadEvictsCachedHotelAnswers() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 64, 8191);
+        SemanticAnswerCache cache = new SemanticAnswerCache(
+                new SemanticAnswerCacheTest.FixedEmbeddingModel(Map.of("체크인 시간은?", new float[]{1f, 0f})),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        HotelLoader hotelLoader = new HotelLoader(new UpsertVectorStore(), loader, cache);
+        hotelLoader.load(lines(corpus(5))).get(10, TimeUnit.SECONDS);
+        List<Document> chunks = List.of(new Document(CorpusLoader.chunkId("faq.txt", 0, 0), "체크인 안내", Map.of()));
+        cache.put(cache.lookup(SemanticAnswerCache.NAMESPACE_HOTEL, null, "체크인 시간은?", chunks, null), "15시부터입니다.");
+
+        // When - 같은 원본은 건너뛰어 캐시가 남고, 바뀐 원본을 적재하면 (청크 ID 가 같아도) 캐시가 비워진다
+        CorpusLoader.Result unchanged = hotelLoader.load(lines(corpus(5))).get(10, TimeUnit.SECONDS);
+        int afterUnchanged = cache.size();
+        hotelLoader.load(lines(corpus(5).replace("호텔", "리조트"))).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(unchanged.skipped());
+        assertEquals(1, afterUnchanged);
+        assertTrue(cache.lookup(SemanticAnswerCache.NAMESPACE_HOTEL, null, "체크인 시간은?", chunks, null)
+                .answer().isEmpty());
+    }
+
+    @Test
+    void testPdfReloadEvictsCachedPdfAnswers() throws Exception {
+        // Given
+        InMemoryCheckpointStore checkpoints = new InMemoryCheckpointStore();
+        loader = new CorpusLoader(checkpoints, new EmbeddingRateLimiter(0, 0), 64, 8191);
+        SemanticAnswerCache cache = new SemanticAnswerCache(
+                new SemanticAnswerCacheTest.FixedEmbeddingModel(Map.of("AI 동향은?", new float[]{1f, 0f})),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        RagDataLoader pdfLoader = new RagDataLoader(new UpsertVectorStore(), loader, new Bm25Index(), cache);
+        pdfLoader.load(lines(corpus(5))).get(10, TimeUnit.SECONDS);
+        List<Document> chunks = List.of(new Document(CorpusLoader.chunkId("faq.txt", 0, 0), "AI 동향", Map.of()));
+        cache.put(cache.lookup(SemanticAnswerCache.NAMESPACE_PDF, null, "AI 동향은?", chunks, null), "생성형 AI 입니다.");
+
+        // When - 같은 원본은 건너뛰어 캐시가 남고, 바뀐 원본을 적재하면 캐시가 비워진다
+        CorpusLoader.Result unchanged = pdfLoader.load(lines(corpus(5))).get(10, TimeUnit.SECONDS);
+        int afterUnchanged = cache.size();
+        pdfLoader.load(lines(corpus(5).replace("호텔", "리조트"))).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(unchanged.skipped());
+        assertEquals(1, afterUnchanged);
+        assertTrue(cache.lookup(SemanticAnswerCache.NAMESPACE_PDF, null, "AI 동향은?", chunks, null)
+                .answer().isEmpty());
+    }
+
+    @Test
+    void testPdfPagesResumeWithoutExtractingSkippedPages() throws IOException {
+        // Given
+        CorpusSource pdf = CorpusSource.pdfPages("brief.pdf", new ClassPathResource("SPRi_AI_Brief_7월호_산업동향.pdf"));
+
+        // When
+        List<CorpusSource.Unit> units;
+        try (var stream = pdf.open(20)) {
+            units = stream.toList();
+        }
+
+        // Then
+        assertFalse(units.isEmpty());
+        assertEquals(20, units.get(0).position());
+        assertEquals(21, units.get(0).document().getMetadata().get("page_number"));
+        assertEquals(64, pdf.fingerprint().length());
+    }
+}
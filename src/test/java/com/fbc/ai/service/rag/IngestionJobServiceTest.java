@@ -0,0 +1,189 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.domain.dto.IngestionJobDto;
+import com.fbc.ai.exception.DocumentProcessingException;
+import com.fbc.ai.service.RagService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionJobServiceTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    private IngestionJobService jobService;
+
+    /**
+     * 파일 본문의 줄을 페이지로 보고 진행 알림만 보내는 테스트용 RagService
+     */
+    static class FakeRagService implements RagService {
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blockUntilReleased;
+
+        @Override
+        public Mono<StreamingIngestionPipeline.Result> ingest(MultipartFile file, String bucketId,
+                                                              StreamingIngestionPipeline.Progress progress) {
+            return Mono.fromCallable(() -> {
+                if (blockUntilReleased) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                List<String> lines = new String(file.getBytes(), StandardCharsets.UTF_8).lines().toList();
+                if (lines.contains("broken")) {
+                    throw new IllegalStateException("파싱 실패");
+                }
+                lines.forEach(line -> progress.pageParsed(2));
+                List<Document> chunks = lines.stream()
+                        .flatMap(line -> Stream.of(new Document(line + " 앞"), new Document(line + " 뒤")))
+                        .toList();
+                progress.batchStored(chunks, 1);
+                return new StreamingIngestionPipeline.Result(lines.size(), lines.size() * 2, 1, 1);
+            });
+        }
+
+        @Override
+        public Mono<String> uploadFile(MultipartFile file) {
+            return Mono.just("success");
+        }
+
+        @Override
+        public Mono<String> uploadFile(MultipartFile file, String bucketId) {
+            return Mono.just("success");
+        }
+
+        @Override
+        public String findSimilarData(String question) {
+            return "";
+        }
+
+        @Override
+        public String findSimilarData(String question, List<String> bucketIds) {
+            return "";
+        }
+
+        @Override
+        public List<Document> findSimilarDocuments(String question, List<String> bucketIds) {
+            return List.of();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) {
+            jobService.close();
+        }
+    }
+
+    private static MockMultipartFile upload(String content) {
+        return new MockMultipartFile("file", "guide.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testJobReportsProgressAndCompletes() throws IOException {
+        // Given
+        FakeRagService ragService = new FakeRagService();
+        jobService = new IngestionJobService(ragService, "default-bucket", 2, 4, Duration.ofHours(1), spoolDirectory);
+
+        // When
+        IngestionJobDto accepted = jobService.submit(upload("1페이지\n2페이지\n3페이지"), null);
+        List<IngestionJobDto> events = jobService.events(accepted.getJobId()).orElseThrow()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertEquals("default-bucket", accepted.getBucketId());
+        assertNotNull(events);
+        IngestionJobDto last = events.get(events.size() - 1);
+        assertEquals("COMPLETED", last.getStatus());
+        assertEquals(3, last.getPagesParsed());
+        assertEquals(6, last.getChunksSplit());
+        assertEquals(6, last.getChunksStored());
+        assertEquals(1, last.getChunksReused());
+        assertNotNull(last.getFinishedAt());
+        assertEquals("COMPLETED", jobService.find(accepted.getJobId()).orElseThrow().getStatus());
+        // 작업이 끝나면 임시 업로드 파일을 지운다
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testFailedJobKeepsErrorMessage() {
+        // Given
+        jobService = new IngestionJobService(new FakeRagService(), "default-bucket", 1, 4,
+                Duration.ofHours(1), spoolDirectory);
+
+        // When
+        IngestionJobDto accepted = jobService.submit(upload("broken"), "bucket-a");
+        IngestionJobDto last = jobService.events(accepted.getJobId()).orElseThrow()
+                .last()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertNotNull(last);
+        assertEquals("FAILED", last.getStatus());
+        assertEquals("파싱 실패", last.getError());
+        assertEquals("bucket-a", last.getBucketId());
+    }
+
+    @Test
+    void testFinishedJobIsEvictedAfterRetentionOnLookup() throws InterruptedException {
+        // Given
+        jobService = new IngestionJobService(new FakeRagService(), "default-bucket", 1, 4,
+                Duration.ofMillis(100), spoolDirectory);
+        IngestionJobDto accepted = jobService.submit(upload("1페이지"), null);
+        IngestionJobDto last = jobService.events(accepted.getJobId()).orElseThrow()
+                .last()
+                .block(Duration.ofSeconds(10));
+
+        // When - 새 작업을 접수하지 않아도 조회할 때 보관 시간이 지난 작업을 지운다
+        Thread.sleep(300);
+
+        // Then
+        assertNotNull(last);
+        assertEquals("COMPLETED", last.getStatus());
+        assertTrue(jobService.find(accepted.getJobId()).isEmpty());
+        assertTrue(jobService.events(accepted.getJobId()).isEmpty());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        // Given
+        FakeRagService ragService = new FakeRagService();
+        ragService.blockUntilReleased = true;
+        jobService = new IngestionJobService(ragService, "default-bucket", 1, 1, Duration.ofHours(1), spoolDirectory);
+        IngestionJobDto running = jobService.submit(upload("1페이지"), null);
+        jobService.submit(upload("2페이지"), null);
+
+        // When
+        DocumentProcessingException exception = assertThrows(DocumentProcessingException.class,
+                () -> jobService.submit(upload("3페이지"), null));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        ragService.release.countDown();
+        IngestionJobDto last = jobService.events(running.getJobId()).orElseThrow()
+                .last()
+                .block(Duration.ofSeconds(10));
+        assertNotNull(last);
+        assertEquals("COMPLETED", last.getStatus());
+        assertTrue(jobService.find("unknown").isEmpty());
+    }
+}
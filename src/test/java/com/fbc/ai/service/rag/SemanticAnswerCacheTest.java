@@ -0,0 +1,75 @@
+package com.fbc.ai.service.rag;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemanticAnswerCacheTest {
+
+    /**
+     * 질문마다 정해 둔 벡터를 돌려주는 테스트용 임베딩 모델
+     */
+    static class FixedEmbeddingModel implements EmbeddingModel {
+        private final Map<String, float[]> vectors;
+
+        FixedEmbeddingModel(Map<String, float[]> vectors) {
+            this.vectors = vectors;
+        }
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(vectors.get(request.getInstructions().get(i)), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+    }
+
+    @Test
+    void testParaphraseHitsOnlyWithSameChunksAndBucket() {
+        // Given
+        SemanticAnswerCache cache = new SemanticAnswerCache(new FixedEmbeddingModel(Map.of(
+                "체크인 시간은?", new float[]{1f, 0f, 0f},
+                "체크인은 몇 시부터인가요?", new float[]{0.99f, 0.1f, 0f},
+                "주차 요금은?", new float[]{0f, 1f, 0f})),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        List<Document> checkInChunks = List.of(new Document("chunk-1", "체크인은 15시부터입니다.", Map.of()));
+        List<Document> otherChunks = List.of(new Document("chunk-2", "체크인 안내", Map.of()));
+        List<String> buckets = List.of("hotel-faq");
+        SemanticAnswerCache.Probe first = cache.lookup("rag", "gpt-4o-mini", "체크인 시간은?", checkInChunks, buckets);
+        cache.put(first, "15시부터입니다.");
+
+        // When
+        SemanticAnswerCache.Probe paraphrase = cache.lookup("rag", "gpt-4o-mini", "체크인은 몇 시부터인가요?", checkInChunks, buckets);
+        SemanticAnswerCache.Probe differentQuestion = cache.lookup("rag", "gpt-4o-mini", "주차 요금은?", checkInChunks, buckets);
+        SemanticAnswerCache.Probe differentChunks = cache.lookup("rag", "gpt-4o-mini", "체크인은 몇 시부터인가요?", otherChunks, buckets);
+        SemanticAnswerCache.Probe differentModel = cache.lookup("rag", "gpt-4o", "체크인은 몇 시부터인가요?", checkInChunks, buckets);
+        int removed = cache.invalidateBucket("hotel-faq");
+        SemanticAnswerCache.Probe afterReupload = cache.lookup("rag", "gpt-4o-mini", "체크인 시간은?", checkInChunks, buckets);
+
+        // Then
+        assertEquals("15시부터입니다.", paraphrase.answer().orElseThrow());
+        assertTrue(differentQuestion.answer().isEmpty());
+        assertTrue(differentChunks.answer().isEmpty());
+        assertTrue(differentModel.answer().isEmpty());
+        assertEquals(1, removed);
+        assertTrue(afterReupload.answer().isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.fbc.ai.service.rag;
+
+import com.fbc.ai.repository.dedup.MinHashLshIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingIngestionPipelineTest {
+
+    /**
+     * 저장 호출을 기록하고 동시에 진행 중인 저장 수를 세는 테스트용 벡터 스토어
+     */
+    static class SlowRecordingVectorStore implements VectorStore {
+        final List<Document> stored = new CopyOnWriteArrayList<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger pagesEmittedAtFirstStore = new AtomicInteger(-1);
+        private final AtomicInteger pagesEmitted;
+
+        SlowRecordingVectorStore(AtomicInteger pagesEmitted) {
+            this.pagesEmitted = pagesEmitted;
+        }
+
+        @Override
+        public void add(List<Document> documents) {
+            pagesEmittedAtFirstStore.compareAndSet(-1, pagesEmitted.get());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stored.addAll(documents);
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void delete(List<String> idList) {
+        }
+
+        @Override
+        public void delete(Filter.Expression filterExpression) {
+        }
+
+        @Override
+        public List<Document> similaritySearch(SearchRequest request) {
+            return List.of();
+        }
+    }
+
+    @Test
+    void testPagesFlowThroughBoundedStages() {
+        // Given
+        int totalPages = 200;
+        AtomicInteger pagesEmitted = new AtomicInteger();
+        SlowRecordingVectorStore vectorStore = new SlowRecordingVectorStore(pagesEmitted);
+        StreamingIngestionPipeline pipeline = new StreamingIngestionPipeline(vectorStore, null,
+                new TokenTextSplitter(), 4, 2, 4);
+        Flux<Document> pages = Flux.range(1, totalPages)
+                .map(page -> new Document("호텔 안내 " + page + "페이지 본문입니다. 체크인은 15시부터입니다."))
+                .doOnNext(page -> pagesEmitted.incrementAndGet());
+
+        // When
+        StreamingIngestionPipeline.Result result = pipeline.ingest(pages, Map.of("bucket_id", "hotel-faq"))
+                .block(Duration.ofSeconds(30));
+
+        // Then
+        assertNotNull(result);
+        assertEquals(totalPages, result.pages());
+        assertEquals(totalPages, result.chunks());
+        assertEquals(totalPages / 4, result.batches());
+        assertEquals(totalPages, vectorStore.stored.size());
+        assertTrue(vectorStore.stored.stream().allMatch(chunk -> "hotel-faq".equals(chunk.getMetadata().get("bucket_id"))));
+        // 저장은 최대 2 배치까지 동시에 진행되고, 첫 배치는 전체 파싱이 끝나기 전에 저장된다
+        assertTrue(vectorStore.maxInFlight.get() <= 2);
+        assertTrue(vectorStore.pagesEmittedAtFirstStore.get() < 50,
+                "첫 저장 시점 파싱 페이지 수: " + vectorStore.pagesEmittedAtFirstStore.get());
+    }
+
+    @Test
+    void testSkipsNearDuplicateChunksWithinBucket() {
+        // Given
+        String disclaimer = "본 자료는 참고용으로만 제공되며 어떠한 법적 책임의 근거가 될 수 없습니다. "
+                + "자료에 포함된 수치와 전망은 작성 시점의 공개 정보를 바탕으로 하며 사전 통지 없이 변경될 수 있습니다. "
+                + "무단 전재 및 재배포를 금합니다. 문의: 고객지원팀";
+        List<String> bodies = List.of(
+                "생성형 AI 시장은 빠르게 성장하고 있으며 기업 도입이 늘고 있다.",
+                "호텔 체크인은 오후 3시부터이며 체크아웃은 오전 11시입니다.",
+                "가디언 에이전트가 2030년까지 에이전틱 AI 시장의 10~15%를 차지할 것으로 전망된다.");
+        SlowRecordingVectorStore vectorStore = new SlowRecordingVectorStore(new AtomicInteger());
+        ChunkDeduplicator deduplicator = new ChunkDeduplicator(new MinHashLshIndex(0.85), ChunkDeduplicator.Scope.BUCKET);
+        StreamingIngestionPipeline pipeline = new StreamingIngestionPipeline(vectorStore, null, deduplicator,
+                new TokenTextSplitter(), 4, 2, 4);
+        AtomicInteger skipped = new AtomicInteger();
+        StreamingIngestionPipeline.Progress progress = new StreamingIngestionPipeline.Progress() {
+            @Override
+            public void duplicateSkipped(Document chunk, MinHashLshIndex.Match match) {
+                skipped.incrementAndGet();
+            }
+        };
+
+        // When : 면책 문구 페이지가 3번(쪽 번호만 다름), 본문 3페이지
+        Flux<Document> pages = Flux.range(0, 6).map(page -> new Document(page % 2 == 0
+                ? disclaimer + " - " + (page + 1) + " -"
+                : bodies.get(page / 2)));
+        StreamingIngestionPipeline.Result first = pipeline.ingest(pages, Map.of("bucket_id", "spri"), progress)
+                .block(Duration.ofSeconds(30));
+        StreamingIngestionPipeline.Result otherBucket = pipeline.ingest(
+                        Flux.just(new Document(disclaimer)), Map.of("bucket_id", "hotel"))
+                .block(Duration.ofSeconds(30));
+
+        // Then
+        assertNotNull(first);
+        assertEquals(6, first.pages());
+        assertEquals(4, first.chunks());
+        assertEquals(2, first.duplicates());
+        assertEquals(2, skipped.get());
+        // 다른 버킷에는 같은 문구도 저장한다 (버킷 필터 검색 결과 유지)
+        assertEquals(1, otherBucket.chunks());
+        assertEquals(0, otherBucket.duplicates());
+        assertEquals(5, vectorStore.stored.size());
+        assertEquals(5, deduplicator.size());
+    }
+}